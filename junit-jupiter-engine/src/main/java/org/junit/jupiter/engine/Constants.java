@@ -12,6 +12,8 @@ package org.junit.jupiter.engine;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.STABLE;
+import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME;
+import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME;
 import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_CUSTOM_CLASS_PROPERTY_NAME;
 import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME;
 import static org.junit.platform.engine.support.hierarchical.DefaultParallelExecutionConfigurationStrategy.CONFIG_FIXED_PARALLELISM_PROPERTY_NAME;
@@ -103,6 +105,23 @@ public final class Constants {
 	@API(status = EXPERIMENTAL, since = "5.3")
 	public static final String PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME = JupiterConfiguration.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME;
 
+	/**
+	 * Property name used to execute tests in virtual threads instead of a
+	 * {@link java.util.concurrent.ForkJoinPool ForkJoinPool}: {@value}
+	 *
+	 * <p>This setting is only effective if parallel execution is enabled and
+	 * requires Java 21 or later. The number of carrier threads is not
+	 * changed by the configured {@link ParallelExecutionConfigurationStrategy}
+	 * but can only be set when starting the JVM via the
+	 * {@code jdk.virtualThreadScheduler.parallelism} system property.
+	 *
+	 * <p>By default, tests are executed using a {@code ForkJoinPool}.
+	 *
+	 * @since 5.4
+	 */
+	@API(status = EXPERIMENTAL, since = "5.4")
+	public static final String PARALLEL_EXECUTION_VIRTUAL_THREADS_ENABLED_PROPERTY_NAME = JupiterConfiguration.PARALLEL_EXECUTION_VIRTUAL_THREADS_ENABLED_PROPERTY_NAME;
+
 	/**
 	 * Property name used to set the default parallel test execution mode: {@value}
 	 *
@@ -123,14 +142,90 @@ public final class Constants {
 	@API(status = EXPERIMENTAL, since = "5.4")
 	public static final String DEFAULT_PARALLEL_EXECUTION_MODE = JupiterConfiguration.DEFAULT_EXECUTION_MODE_PROPERTY_NAME;
 
+	/**
+	 * Property name used to set the resource locking mode: {@value}
+	 *
+	 * <p>This setting is only effective if parallel execution is enabled.
+	 *
+	 * <h3>Supported Values</h3>
+	 *
+	 * <p>Supported values include names of enum constants defined in
+	 * {@link org.junit.platform.engine.support.hierarchical.ResourceLockingMode},
+	 * ignoring case.
+	 *
+	 * <p>If not specified, the default is "coarse_grained" which executes all
+	 * descendants of a test class or method that declares a
+	 * {@link org.junit.jupiter.api.parallel.ResourceLock @ResourceLock} in the
+	 * same thread. Using "hierarchical" allows such descendants to be executed
+	 * concurrently as long as their own resource locks do not conflict.
+	 *
+	 * @see org.junit.jupiter.api.parallel.ResourceLock
+	 * @since 5.4
+	 */
+	@API(status = EXPERIMENTAL, since = "5.4")
+	public static final String PARALLEL_RESOURCE_LOCKING_MODE_PROPERTY_NAME = JupiterConfiguration.RESOURCE_LOCKING_MODE_PROPERTY_NAME;
+
+	/**
+	 * Property name used to set the scheduling mode: {@value}
+	 *
+	 * <h3>Supported Values</h3>
+	 *
+	 * <p>Supported values include names of enum constants defined in
+	 * {@link org.junit.platform.engine.support.hierarchical.SchedulingMode},
+	 * ignoring case.
+	 *
+	 * <p>If not specified, the default is "declaration_order". Using
+	 * "longest_first" starts concurrent tests and containers that took the
+	 * longest during their previous execution first, according to the
+	 * execution history configured via {@link #EXECUTION_HISTORY_FILE_PROPERTY_NAME}.
+	 * Using "failed_first" executes test classes that failed during their
+	 * previous execution first, followed by test classes whose class files
+	 * have been modified since, and starts concurrent tests and containers in
+	 * the same order.
+	 *
+	 * @since 5.4
+	 */
+	@API(status = EXPERIMENTAL, since = "5.4")
+	public static final String SCHEDULING_MODE_PROPERTY_NAME = JupiterConfiguration.SCHEDULING_MODE_PROPERTY_NAME;
+
+	/**
+	 * Property name used to set the path of the file used to load and store
+	 * the execution history: {@value}
+	 *
+	 * <p>Relative paths are resolved against the current working directory.
+	 * If not specified, no execution history is recorded.
+	 *
+	 * @see org.junit.platform.engine.support.history.ExecutionHistory
+	 * @since 5.4
+	 */
+	@API(status = EXPERIMENTAL, since = "5.4")
+	public static final String EXECUTION_HISTORY_FILE_PROPERTY_NAME = JupiterConfiguration.EXECUTION_HISTORY_FILE_PROPERTY_NAME;
+
+	/**
+	 * Property name used to set the maximum number of dynamic tests of a
+	 * single {@code @TestFactory} method or {@code @TestTemplate} method that
+	 * may be pending execution at the same time: {@value}
+	 *
+	 * <p>Once the window is full, the next dynamic test is only requested from
+	 * the factory after one of the pending dynamic tests has finished. Thus,
+	 * memory consumption stays constant regardless of how many dynamic tests
+	 * a factory produces.
+	 *
+	 * <p>Value must be a positive integer; defaults to an unbounded window.
+	 *
+	 * @since 5.4
+	 */
+	@API(status = EXPERIMENTAL, since = "5.4")
+	public static final String DYNAMIC_TEST_WINDOW_SIZE_PROPERTY_NAME = JupiterConfiguration.DYNAMIC_TEST_WINDOW_SIZE_PROPERTY_NAME;
+
 	static final String PARALLEL_CONFIG_PREFIX = "junit.jupiter.execution.parallel.config.";
 
 	/**
 	 * Property name used to select the
 	 * {@link ParallelExecutionConfigurationStrategy}: {@value}
 	 *
-	 * <p>Potential values: {@code dynamic} (default), {@code fixed}, or
-	 * {@code custom}.
+	 * <p>Potential values: {@code dynamic} (default), {@code fixed},
+	 * {@code adaptive}, or {@code custom}.
 	 *
 	 * @since 5.3
 	 */
@@ -163,6 +258,31 @@ public final class Constants {
 	public static final String PARALLEL_CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME = PARALLEL_CONFIG_PREFIX
 			+ CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME;
 
+	/**
+	 * Property name used to set the minimum parallelism for the
+	 * {@code adaptive} configuration strategy: {@value}
+	 *
+	 * <p>Value must be a positive integer; defaults to {@code 1}.
+	 *
+	 * @since 5.4
+	 */
+	@API(status = EXPERIMENTAL, since = "5.4")
+	public static final String PARALLEL_CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME = PARALLEL_CONFIG_PREFIX
+			+ CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME;
+
+	/**
+	 * Property name used to set the maximum parallelism for the
+	 * {@code adaptive} configuration strategy: {@value}
+	 *
+	 * <p>Value must be a positive integer; defaults to four times the number
+	 * of available processors/cores.
+	 *
+	 * @since 5.4
+	 */
+	@API(status = EXPERIMENTAL, since = "5.4")
+	public static final String PARALLEL_CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME = PARALLEL_CONFIG_PREFIX
+			+ CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME;
+
 	/**
 	 * Property name used to specify the fully qualified class name of the
 	 * {@link ParallelExecutionConfigurationStrategy} to be used for the
@@ -12,6 +12,7 @@ package org.junit.jupiter.engine;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
+import java.nio.file.Path;
 import java.util.Optional;
 
 import org.apiguardian.api.API;
@@ -22,6 +23,7 @@ import org.junit.jupiter.engine.descriptor.JupiterEngineDescriptor;
 import org.junit.jupiter.engine.discovery.DiscoverySelectorResolver;
 import org.junit.jupiter.engine.execution.JupiterEngineExecutionContext;
 import org.junit.jupiter.engine.support.JupiterThrowableCollectorFactory;
+import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.EngineDiscoveryRequest;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.TestDescriptor;
@@ -30,7 +32,10 @@ import org.junit.platform.engine.support.config.PrefixedConfigurationParameters;
 import org.junit.platform.engine.support.hierarchical.ForkJoinPoolHierarchicalTestExecutorService;
 import org.junit.platform.engine.support.hierarchical.HierarchicalTestEngine;
 import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService;
+import org.junit.platform.engine.support.hierarchical.ResourceLockingMode;
+import org.junit.platform.engine.support.hierarchical.SchedulingMode;
 import org.junit.platform.engine.support.hierarchical.ThrowableCollector;
+import org.junit.platform.engine.support.hierarchical.VirtualThreadHierarchicalTestExecutorService;
 
 /**
  * The JUnit Jupiter {@link org.junit.platform.engine.TestEngine TestEngine}.
@@ -74,12 +79,48 @@ public final class JupiterTestEngine extends HierarchicalTestEngine<JupiterEngin
 	protected HierarchicalTestExecutorService createExecutorService(ExecutionRequest request) {
 		JupiterConfiguration configuration = getJupiterConfiguration(request);
 		if (configuration.isParallelExecutionEnabled()) {
-			return new ForkJoinPoolHierarchicalTestExecutorService(new PrefixedConfigurationParameters(
-				request.getConfigurationParameters(), Constants.PARALLEL_CONFIG_PREFIX));
+			ConfigurationParameters parallelConfigurationParameters = new PrefixedConfigurationParameters(
+				request.getConfigurationParameters(), Constants.PARALLEL_CONFIG_PREFIX);
+			if (configuration.isVirtualThreadExecutionEnabled()) {
+				return new VirtualThreadHierarchicalTestExecutorService(parallelConfigurationParameters);
+			}
+			return new ForkJoinPoolHierarchicalTestExecutorService(parallelConfigurationParameters);
 		}
 		return super.createExecutorService(request);
 	}
 
+	/**
+	 * @since 5.4
+	 */
+	@Override
+	protected ResourceLockingMode getResourceLockingMode(ExecutionRequest request) {
+		return getJupiterConfiguration(request).getResourceLockingMode();
+	}
+
+	/**
+	 * @since 5.4
+	 */
+	@Override
+	protected SchedulingMode getSchedulingMode(ExecutionRequest request) {
+		return getJupiterConfiguration(request).getSchedulingMode();
+	}
+
+	/**
+	 * @since 5.4
+	 */
+	@Override
+	protected Optional<Path> getExecutionHistoryFile(ExecutionRequest request) {
+		return getJupiterConfiguration(request).getExecutionHistoryFile();
+	}
+
+	/**
+	 * @since 5.4
+	 */
+	@Override
+	protected int getDynamicTestWindowSize(ExecutionRequest request) {
+		return getJupiterConfiguration(request).getDynamicTestWindowSize();
+	}
+
 	@Override
 	protected JupiterEngineExecutionContext createExecutionContext(ExecutionRequest request) {
 		return new JupiterEngineExecutionContext(request.getEngineExecutionListener(),
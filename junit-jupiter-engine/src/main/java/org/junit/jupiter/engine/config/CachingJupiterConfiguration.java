@@ -12,6 +12,7 @@ package org.junit.jupiter.engine.config;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
@@ -20,6 +21,8 @@ import org.apiguardian.api.API;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExecutionCondition;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.engine.support.hierarchical.ResourceLockingMode;
+import org.junit.platform.engine.support.hierarchical.SchedulingMode;
 
 /**
  * Caching implementation of the {@link JupiterConfiguration} API.
@@ -47,6 +50,12 @@ public class CachingJupiterConfiguration implements JupiterConfiguration {
 			key -> delegate.isParallelExecutionEnabled());
 	}
 
+	@Override
+	public boolean isVirtualThreadExecutionEnabled() {
+		return (boolean) cache.computeIfAbsent(PARALLEL_EXECUTION_VIRTUAL_THREADS_ENABLED_PROPERTY_NAME,
+			key -> delegate.isVirtualThreadExecutionEnabled());
+	}
+
 	@Override
 	public boolean isExtensionAutoDetectionEnabled() {
 		return (boolean) cache.computeIfAbsent(EXTENSIONS_AUTODETECTION_ENABLED_PROPERTY_NAME,
@@ -59,6 +68,31 @@ public class CachingJupiterConfiguration implements JupiterConfiguration {
 			key -> delegate.getDefaultExecutionMode());
 	}
 
+	@Override
+	public ResourceLockingMode getResourceLockingMode() {
+		return (ResourceLockingMode) cache.computeIfAbsent(RESOURCE_LOCKING_MODE_PROPERTY_NAME,
+			key -> delegate.getResourceLockingMode());
+	}
+
+	@Override
+	public SchedulingMode getSchedulingMode() {
+		return (SchedulingMode) cache.computeIfAbsent(SCHEDULING_MODE_PROPERTY_NAME,
+			key -> delegate.getSchedulingMode());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Optional<Path> getExecutionHistoryFile() {
+		return (Optional<Path>) cache.computeIfAbsent(EXECUTION_HISTORY_FILE_PROPERTY_NAME,
+			key -> delegate.getExecutionHistoryFile());
+	}
+
+	@Override
+	public int getDynamicTestWindowSize() {
+		return (int) cache.computeIfAbsent(DYNAMIC_TEST_WINDOW_SIZE_PROPERTY_NAME,
+			key -> delegate.getDynamicTestWindowSize());
+	}
+
 	@Override
 	public TestInstance.Lifecycle getDefaultTestInstanceLifecycle() {
 		return (TestInstance.Lifecycle) cache.computeIfAbsent(DEFAULT_TEST_INSTANCE_LIFECYCLE_PROPERTY_NAME,
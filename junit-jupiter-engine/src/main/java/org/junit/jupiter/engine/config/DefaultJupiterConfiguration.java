@@ -12,6 +12,8 @@ package org.junit.jupiter.engine.config;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -19,8 +21,12 @@ import org.apiguardian.api.API;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExecutionCondition;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
 import org.junit.platform.commons.util.Preconditions;
 import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ResourceLockingMode;
+import org.junit.platform.engine.support.hierarchical.SchedulingMode;
 
 /**
  * Default implementation of the {@link JupiterConfiguration} API.
@@ -30,9 +36,17 @@ import org.junit.platform.engine.ConfigurationParameters;
 @API(status = INTERNAL, since = "5.4")
 public class DefaultJupiterConfiguration implements JupiterConfiguration {
 
+	private static final Logger logger = LoggerFactory.getLogger(DefaultJupiterConfiguration.class);
+
 	private static final EnumConfigurationParameterConverter<ExecutionMode> executionModeConverter = //
 		new EnumConfigurationParameterConverter<>(ExecutionMode.class, "parallel execution mode");
 
+	private static final EnumConfigurationParameterConverter<ResourceLockingMode> resourceLockingModeConverter = //
+		new EnumConfigurationParameterConverter<>(ResourceLockingMode.class, "resource locking mode");
+
+	private static final EnumConfigurationParameterConverter<SchedulingMode> schedulingModeConverter = //
+		new EnumConfigurationParameterConverter<>(SchedulingMode.class, "scheduling mode");
+
 	private static final EnumConfigurationParameterConverter<Lifecycle> lifecycleConverter = //
 		new EnumConfigurationParameterConverter<>(Lifecycle.class, "test instance lifecycle mode");
 
@@ -53,6 +67,12 @@ public class DefaultJupiterConfiguration implements JupiterConfiguration {
 		return configurationParameters.getBoolean(PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME).orElse(false);
 	}
 
+	@Override
+	public boolean isVirtualThreadExecutionEnabled() {
+		return configurationParameters.getBoolean(PARALLEL_EXECUTION_VIRTUAL_THREADS_ENABLED_PROPERTY_NAME).orElse(
+			false);
+	}
+
 	@Override
 	public boolean isExtensionAutoDetectionEnabled() {
 		return configurationParameters.getBoolean(EXTENSIONS_AUTODETECTION_ENABLED_PROPERTY_NAME).orElse(false);
@@ -64,6 +84,38 @@ public class DefaultJupiterConfiguration implements JupiterConfiguration {
 			ExecutionMode.SAME_THREAD);
 	}
 
+	@Override
+	public ResourceLockingMode getResourceLockingMode() {
+		return resourceLockingModeConverter.get(configurationParameters, RESOURCE_LOCKING_MODE_PROPERTY_NAME,
+			ResourceLockingMode.COARSE_GRAINED);
+	}
+
+	@Override
+	public SchedulingMode getSchedulingMode() {
+		return schedulingModeConverter.get(configurationParameters, SCHEDULING_MODE_PROPERTY_NAME,
+			SchedulingMode.DECLARATION_ORDER);
+	}
+
+	@Override
+	public Optional<Path> getExecutionHistoryFile() {
+		return configurationParameters.get(EXECUTION_HISTORY_FILE_PROPERTY_NAME).map(String::trim).filter(
+			path -> !path.isEmpty()).map(Paths::get);
+	}
+
+	@Override
+	public int getDynamicTestWindowSize() {
+		Optional<Integer> windowSize = configurationParameters.get(DYNAMIC_TEST_WINDOW_SIZE_PROPERTY_NAME,
+			value -> Integer.valueOf(value.trim()));
+		if (windowSize.isPresent() && windowSize.get() <= 0) {
+			logger.warn(() -> String.format(
+				"Invalid dynamic test window size '%d' set via the '%s' configuration parameter. "
+						+ "Falling back to an unbounded window.",
+				windowSize.get(), DYNAMIC_TEST_WINDOW_SIZE_PROPERTY_NAME));
+			return Integer.MAX_VALUE;
+		}
+		return windowSize.orElse(Integer.MAX_VALUE);
+	}
+
 	@Override
 	public Lifecycle getDefaultTestInstanceLifecycle() {
 		return lifecycleConverter.get(configurationParameters, DEFAULT_TEST_INSTANCE_LIFECYCLE_PROPERTY_NAME,
@@ -12,6 +12,7 @@ package org.junit.jupiter.engine.config;
 
 import static org.apiguardian.api.API.Status.INTERNAL;
 
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -19,6 +20,8 @@ import org.apiguardian.api.API;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExecutionCondition;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.engine.support.hierarchical.ResourceLockingMode;
+import org.junit.platform.engine.support.hierarchical.SchedulingMode;
 
 /**
  * @since 5.4
@@ -28,6 +31,11 @@ public interface JupiterConfiguration {
 
 	String DEACTIVATE_CONDITIONS_PATTERN_PROPERTY_NAME = "junit.jupiter.conditions.deactivate";
 	String PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME = "junit.jupiter.execution.parallel.enabled";
+	String PARALLEL_EXECUTION_VIRTUAL_THREADS_ENABLED_PROPERTY_NAME = "junit.jupiter.execution.parallel.virtualthreads.enabled";
+	String RESOURCE_LOCKING_MODE_PROPERTY_NAME = "junit.jupiter.execution.parallel.resourcelocking.mode";
+	String SCHEDULING_MODE_PROPERTY_NAME = "junit.jupiter.execution.scheduling.mode";
+	String EXECUTION_HISTORY_FILE_PROPERTY_NAME = "junit.jupiter.execution.history.file";
+	String DYNAMIC_TEST_WINDOW_SIZE_PROPERTY_NAME = "junit.jupiter.execution.parallel.dynamic.window.size";
 	String DEFAULT_EXECUTION_MODE_PROPERTY_NAME = "junit.jupiter.execution.parallel.mode.default";
 	String EXTENSIONS_AUTODETECTION_ENABLED_PROPERTY_NAME = "junit.jupiter.extensions.autodetection.enabled";
 	String DEFAULT_TEST_INSTANCE_LIFECYCLE_PROPERTY_NAME = "junit.jupiter.testinstance.lifecycle.default";
@@ -37,10 +45,20 @@ public interface JupiterConfiguration {
 
 	boolean isParallelExecutionEnabled();
 
+	boolean isVirtualThreadExecutionEnabled();
+
 	boolean isExtensionAutoDetectionEnabled();
 
 	ExecutionMode getDefaultExecutionMode();
 
+	ResourceLockingMode getResourceLockingMode();
+
+	SchedulingMode getSchedulingMode();
+
+	Optional<Path> getExecutionHistoryFile();
+
+	int getDynamicTestWindowSize();
+
 	TestInstance.Lifecycle getDefaultTestInstanceLifecycle();
 
 	Predicate<ExecutionCondition> getExecutionConditionFilter();
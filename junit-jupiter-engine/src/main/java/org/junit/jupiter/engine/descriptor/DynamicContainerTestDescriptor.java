@@ -12,8 +12,8 @@ package org.junit.jupiter.engine.descriptor;
 
 import static org.junit.jupiter.engine.descriptor.TestFactoryTestDescriptor.createDynamicDescriptor;
 
+import java.util.Iterator;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DynamicContainer;
@@ -55,15 +55,13 @@ class DynamicContainerTestDescriptor extends DynamicNodeTestDescriptor {
 	public JupiterEngineExecutionContext execute(JupiterEngineExecutionContext context,
 			DynamicTestExecutor dynamicTestExecutor) throws Exception {
 
-		AtomicInteger index = new AtomicInteger(1);
+		int index = 1;
 		try (Stream<? extends DynamicNode> children = dynamicContainer.getChildren()) {
-			// @formatter:off
-			children.peek(child -> Preconditions.notNull(child, "individual dynamic node must not be null"))
-					.map(child -> toDynamicDescriptor(index.getAndIncrement(), child))
-					.filter(Optional::isPresent)
-					.map(Optional::get)
-					.forEachOrdered(dynamicTestExecutor::execute);
-			// @formatter:on
+			Iterator<? extends DynamicNode> iterator = children.iterator();
+			while (!dynamicTestExecutor.isCancellationRequested() && iterator.hasNext()) {
+				DynamicNode child = Preconditions.notNull(iterator.next(), "individual dynamic node must not be null");
+				toDynamicDescriptor(index++, child).ifPresent(dynamicTestExecutor::execute);
+			}
 		}
 		return context;
 	}
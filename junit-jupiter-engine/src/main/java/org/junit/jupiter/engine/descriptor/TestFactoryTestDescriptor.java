@@ -94,7 +94,7 @@ public class TestFactoryTestDescriptor extends TestMethodTestDescriptor implemen
 			try (Stream<DynamicNode> dynamicNodeStream = toDynamicNodeStream(testFactoryMethodResult)) {
 				int index = 1;
 				Iterator<DynamicNode> iterator = dynamicNodeStream.iterator();
-				while (iterator.hasNext()) {
+				while (!dynamicTestExecutor.isCancellationRequested() && iterator.hasNext()) {
 					DynamicNode dynamicNode = iterator.next();
 					Optional<JupiterTestDescriptor> descriptor = createDynamicDescriptor(this, dynamicNode, index++,
 						defaultTestSource, getDynamicDescendantFilter(), configuration);
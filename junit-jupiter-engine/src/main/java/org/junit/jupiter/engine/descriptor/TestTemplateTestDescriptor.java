@@ -15,9 +15,10 @@ import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.junit.jupiter.engine.descriptor.ExtensionUtils.populateNewExtensionRegistryFromExtendWithAnnotation;
 
 import java.lang.reflect.Method;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.apiguardian.api.API;
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -94,16 +95,20 @@ public class TestTemplateTestDescriptor extends MethodBasedTestDescriptor implem
 		ExtensionContext extensionContext = context.getExtensionContext();
 		List<TestTemplateInvocationContextProvider> providers = validateProviders(extensionContext,
 			context.getExtensionRegistry());
-		AtomicInteger invocationIndex = new AtomicInteger();
-		// @formatter:off
-		providers.stream()
-				.flatMap(provider -> provider.provideTestTemplateInvocationContexts(extensionContext))
-				.map(invocationContext -> createInvocationTestDescriptor(invocationContext, invocationIndex.incrementAndGet()))
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.forEach(invocationTestDescriptor -> execute(dynamicTestExecutor, invocationTestDescriptor));
-		// @formatter:on
-		validateWasAtLeastInvokedOnce(invocationIndex.get());
+		int invocationIndex = 0;
+		for (TestTemplateInvocationContextProvider provider : providers) {
+			try (Stream<TestTemplateInvocationContext> invocationContexts = provider.provideTestTemplateInvocationContexts(
+				extensionContext)) {
+				Iterator<TestTemplateInvocationContext> iterator = invocationContexts.iterator();
+				while (!dynamicTestExecutor.isCancellationRequested() && iterator.hasNext()) {
+					createInvocationTestDescriptor(iterator.next(), ++invocationIndex).ifPresent(
+						invocationTestDescriptor -> execute(dynamicTestExecutor, invocationTestDescriptor));
+				}
+			}
+		}
+		if (!dynamicTestExecutor.isCancellationRequested()) {
+			validateWasAtLeastInvokedOnce(invocationIndex);
+		}
 		return context;
 	}
 
@@ -13,11 +13,14 @@ package org.junit.jupiter.engine.discovery;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.junit.platform.engine.support.filter.ClasspathScanningSupport.buildClassFilter;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apiguardian.api.API;
 import org.junit.jupiter.engine.config.JupiterConfiguration;
+import org.junit.jupiter.engine.discovery.predicates.IsPotentialTestClassFile;
 import org.junit.jupiter.engine.discovery.predicates.IsTestClassWithTests;
 import org.junit.platform.commons.util.ClassFilter;
 import org.junit.platform.engine.EngineDiscoveryRequest;
@@ -28,6 +31,9 @@ import org.junit.platform.engine.discovery.MethodSelector;
 import org.junit.platform.engine.discovery.ModuleSelector;
 import org.junit.platform.engine.discovery.PackageSelector;
 import org.junit.platform.engine.discovery.UniqueIdSelector;
+import org.junit.platform.engine.support.hierarchical.FailedFirstComparator;
+import org.junit.platform.engine.support.hierarchical.SchedulingMode;
+import org.junit.platform.engine.support.history.ExecutionHistory;
 
 /**
  * {@code DiscoverySelectorResolver} resolves {@link TestDescriptor TestDescriptors}
@@ -42,14 +48,17 @@ import org.junit.platform.engine.discovery.UniqueIdSelector;
 @API(status = INTERNAL, since = "5.0")
 public class DiscoverySelectorResolver {
 
+	private static final IsPotentialTestClassFile isPotentialTestClassFile = new IsPotentialTestClassFile();
+
 	private static final IsTestClassWithTests isTestClassWithTests = new IsTestClassWithTests();
 
 	public void resolveSelectors(EngineDiscoveryRequest request, JupiterConfiguration configuration,
 			TestDescriptor engineDescriptor) {
-		ClassFilter classFilter = buildClassFilter(request, isTestClassWithTests);
+		ClassFilter classFilter = buildClassFilter(request, isPotentialTestClassFile, isTestClassWithTests);
 		resolve(request, configuration, engineDescriptor, classFilter);
 		filter(engineDescriptor, classFilter);
 		pruneTree(engineDescriptor);
+		orderTestClasses(engineDescriptor, configuration);
 	}
 
 	private void resolve(EngineDiscoveryRequest request, JupiterConfiguration configuration,
@@ -73,6 +82,31 @@ public class DiscoverySelectorResolver {
 		rootDescriptor.accept(TestDescriptor::prune);
 	}
 
+	/**
+	 * Order the test classes according to the execution history if the
+	 * {@linkplain SchedulingMode#FAILED_FIRST failed-first} scheduling mode is
+	 * configured so that they are executed in this order even if they are not
+	 * executed concurrently.
+	 *
+	 * @since 5.4
+	 */
+	private void orderTestClasses(TestDescriptor engineDescriptor, JupiterConfiguration configuration) {
+		if (configuration.getSchedulingMode() != SchedulingMode.FAILED_FIRST) {
+			return;
+		}
+		ExecutionHistory executionHistory = configuration.getExecutionHistoryFile().map(
+			ExecutionHistory::load).orElseGet(ExecutionHistory::empty);
+		if (executionHistory.isEmpty()) {
+			return;
+		}
+		List<TestDescriptor> classDescriptors = new ArrayList<>(engineDescriptor.getChildren());
+		classDescriptors.sort(new FailedFirstComparator(executionHistory));
+
+		// Currently no way to removeAll or addAll children at once.
+		classDescriptors.forEach(engineDescriptor::removeChild);
+		classDescriptors.forEach(engineDescriptor::addChild);
+	}
+
 	private JavaElementsResolver createJavaElementsResolver(JupiterConfiguration configuration,
 			TestDescriptor engineDescriptor, ClassFilter classFilter) {
 
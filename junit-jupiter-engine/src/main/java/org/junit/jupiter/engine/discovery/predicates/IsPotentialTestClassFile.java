@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.jupiter.engine.discovery.predicates;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.util.function.Predicate;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.util.ClassFileInfo;
+
+/**
+ * Test if the class file of a class indicates that the class might be a
+ * top-level JUnit Jupiter test class with tests.
+ *
+ * <p>This predicate is applied before the class is loaded and only rejects
+ * classes that {@link IsTestClassWithTests} would reject as well. Since test
+ * methods may be declared using composed annotations and may be inherited
+ * from superclasses and interfaces, a class is only rejected if it is not a
+ * {@linkplain IsPotentialTestContainer potential test container} or if it
+ * does not declare any annotated methods, does not extend a class other than
+ * {@code Object}, does not implement any interfaces, and does not declare any
+ * member classes.
+ *
+ * @since 5.4
+ */
+@API(status = INTERNAL, since = "5.4")
+public class IsPotentialTestClassFile implements Predicate<ClassFileInfo> {
+
+	private static final String OBJECT_CLASS_NAME = Object.class.getName();
+
+	@Override
+	public boolean test(ClassFileInfo candidate) {
+		// Please do not collapse the following into a single statement.
+		if (candidate.isPrivate()) {
+			return false;
+		}
+		if (candidate.isAbstract()) {
+			return false;
+		}
+		if (candidate.isLocalOrAnonymousClass()) {
+			return false;
+		}
+		if (candidate.isInnerClass()) {
+			return false;
+		}
+		return mayDeclareOrInheritTests(candidate);
+	}
+
+	private boolean mayDeclareOrInheritTests(ClassFileInfo candidate) {
+		if (!candidate.getMethodAnnotationDescriptors().isEmpty()) {
+			return true;
+		}
+		if (!OBJECT_CLASS_NAME.equals(candidate.getSuperclassName().orElse(OBJECT_CLASS_NAME))) {
+			return true;
+		}
+		if (!candidate.getInterfaceNames().isEmpty()) {
+			return true;
+		}
+		return candidate.hasMemberClasses();
+	}
+
+}
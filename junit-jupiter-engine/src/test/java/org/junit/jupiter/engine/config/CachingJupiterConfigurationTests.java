@@ -17,6 +17,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -24,6 +26,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExecutionCondition;
 import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.engine.support.hierarchical.ResourceLockingMode;
+import org.junit.platform.engine.support.hierarchical.SchedulingMode;
 
 class CachingJupiterConfigurationTests {
 
@@ -41,6 +45,40 @@ class CachingJupiterConfigurationTests {
 		verifyNoMoreInteractions(delegate);
 	}
 
+	@Test
+	void cachesResourceLockingMode() {
+		when(delegate.getResourceLockingMode()).thenReturn(ResourceLockingMode.HIERARCHICAL);
+
+		assertThat(cache.getResourceLockingMode()).isEqualTo(ResourceLockingMode.HIERARCHICAL);
+		assertThat(cache.getResourceLockingMode()).isEqualTo(ResourceLockingMode.HIERARCHICAL);
+
+		verify(delegate, times(1)).getResourceLockingMode();
+		verifyNoMoreInteractions(delegate);
+	}
+
+	@Test
+	void cachesSchedulingMode() {
+		when(delegate.getSchedulingMode()).thenReturn(SchedulingMode.LONGEST_FIRST);
+
+		assertThat(cache.getSchedulingMode()).isEqualTo(SchedulingMode.LONGEST_FIRST);
+		assertThat(cache.getSchedulingMode()).isEqualTo(SchedulingMode.LONGEST_FIRST);
+
+		verify(delegate, times(1)).getSchedulingMode();
+		verifyNoMoreInteractions(delegate);
+	}
+
+	@Test
+	void cachesExecutionHistoryFile() {
+		Optional<Path> file = Optional.of(Paths.get("history.txt"));
+		when(delegate.getExecutionHistoryFile()).thenReturn(file);
+
+		assertThat(cache.getExecutionHistoryFile()).isSameAs(file);
+		assertThat(cache.getExecutionHistoryFile()).isSameAs(file);
+
+		verify(delegate, times(1)).getExecutionHistoryFile();
+		verifyNoMoreInteractions(delegate);
+	}
+
 	@Test
 	void cachesDefaultTestInstanceLifecycle() {
 		when(delegate.getDefaultTestInstanceLifecycle()).thenReturn(Lifecycle.PER_CLASS);
@@ -86,6 +124,28 @@ class CachingJupiterConfigurationTests {
 		verifyNoMoreInteractions(delegate);
 	}
 
+	@Test
+	void cachesVirtualThreadExecutionEnabled() {
+		when(delegate.isVirtualThreadExecutionEnabled()).thenReturn(true);
+
+		assertThat(cache.isVirtualThreadExecutionEnabled()).isEqualTo(true);
+		assertThat(cache.isVirtualThreadExecutionEnabled()).isEqualTo(true);
+
+		verify(delegate, times(1)).isVirtualThreadExecutionEnabled();
+		verifyNoMoreInteractions(delegate);
+	}
+
+	@Test
+	void cachesDynamicTestWindowSize() {
+		when(delegate.getDynamicTestWindowSize()).thenReturn(42);
+
+		assertThat(cache.getDynamicTestWindowSize()).isEqualTo(42);
+		assertThat(cache.getDynamicTestWindowSize()).isEqualTo(42);
+
+		verify(delegate, times(1)).getDynamicTestWindowSize();
+		verifyNoMoreInteractions(delegate);
+	}
+
 	@Test
 	void doesNotCacheRawParameters() {
 		when(delegate.getRawConfigurationParameter("foo")).thenReturn(Optional.of("bar")).thenReturn(
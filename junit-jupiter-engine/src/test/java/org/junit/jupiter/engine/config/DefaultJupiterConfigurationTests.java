@@ -16,6 +16,8 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_METHOD;
 import static org.junit.jupiter.engine.Constants.DEFAULT_TEST_INSTANCE_LIFECYCLE_PROPERTY_NAME;
+import static org.junit.jupiter.engine.Constants.DYNAMIC_TEST_WINDOW_SIZE_PROPERTY_NAME;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -59,6 +61,25 @@ class DefaultJupiterConfigurationTests {
 		);
 	}
 
+	@Test
+	void getDynamicTestWindowSizeWithConfigParamSet() {
+		assertAll(//
+			() -> assertDynamicTestWindowSize(null, Integer.MAX_VALUE), //
+			() -> assertDynamicTestWindowSize("0", Integer.MAX_VALUE), //
+			() -> assertDynamicTestWindowSize("-1", Integer.MAX_VALUE), //
+			() -> assertDynamicTestWindowSize("1", 1), //
+			() -> assertDynamicTestWindowSize(" 42 ", 42) //
+		);
+	}
+
+	private void assertDynamicTestWindowSize(String configValue, int expected) {
+		ConfigurationParameters configParams = mock(ConfigurationParameters.class);
+		when(configParams.get(any(), any())).thenCallRealMethod();
+		when(configParams.get(DYNAMIC_TEST_WINDOW_SIZE_PROPERTY_NAME)).thenReturn(Optional.ofNullable(configValue));
+		int windowSize = new DefaultJupiterConfiguration(configParams).getDynamicTestWindowSize();
+		assertThat(windowSize).isEqualTo(expected);
+	}
+
 	private void assertDefaultConfigParam(String configValue, Lifecycle expected) {
 		ConfigurationParameters configParams = mock(ConfigurationParameters.class);
 		when(configParams.get(KEY)).thenReturn(Optional.ofNullable(configValue));
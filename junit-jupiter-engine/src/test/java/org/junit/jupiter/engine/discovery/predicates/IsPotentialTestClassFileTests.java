@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.jupiter.engine.discovery.predicates;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.util.ClassFileInfo;
+
+/**
+ * @since 5.4
+ */
+class IsPotentialTestClassFileTests {
+
+	private final IsPotentialTestClassFile isPotentialTestClassFile = new IsPotentialTestClassFile();
+
+	@Test
+	void classWithAnnotatedMethodEvaluatesToTrue() throws Exception {
+		assertTrue(isPotentialTestClassFile.test(read(ClassWithTestMethod.class)));
+	}
+
+	@Test
+	void classWithSuperclassEvaluatesToTrue() throws Exception {
+		assertTrue(isPotentialTestClassFile.test(read(ClassWithSuperclass.class)));
+	}
+
+	@Test
+	void classWithInterfaceEvaluatesToTrue() throws Exception {
+		assertTrue(isPotentialTestClassFile.test(read(ClassWithInterface.class)));
+	}
+
+	@Test
+	void classWithMemberClassEvaluatesToTrue() throws Exception {
+		assertTrue(isPotentialTestClassFile.test(read(ClassWithNestedClass.class)));
+	}
+
+	@Test
+	void classWithoutAnnotatedMethodsEvaluatesToFalse() throws Exception {
+		assertFalse(isPotentialTestClassFile.test(read(ClassWithoutAnnotatedMethods.class)));
+	}
+
+	@Test
+	void privateStaticClassEvaluatesToFalse() throws Exception {
+		assertFalse(isPotentialTestClassFile.test(read(PrivateStaticClass.class)));
+	}
+
+	@Test
+	void abstractClassEvaluatesToFalse() throws Exception {
+		assertFalse(isPotentialTestClassFile.test(read(AbstractClassWithTestMethod.class)));
+	}
+
+	@Test
+	void innerClassEvaluatesToFalse() throws Exception {
+		assertFalse(isPotentialTestClassFile.test(read(ClassWithNestedClass.InnerClass.class)));
+	}
+
+	@Test
+	void localClassEvaluatesToFalse() throws Exception {
+
+		class LocalClass {
+			@Test
+			void test() {
+			}
+		}
+
+		assertFalse(isPotentialTestClassFile.test(read(LocalClass.class)));
+	}
+
+	private static ClassFileInfo read(Class<?> type) throws IOException {
+		String resourceName = "/" + type.getName().replace('.', '/') + ".class";
+		try (InputStream in = type.getResourceAsStream(resourceName);
+				ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return ClassFileInfo.read(out.toByteArray());
+		}
+	}
+
+	static class ClassWithTestMethod {
+
+		@Test
+		void test() {
+		}
+	}
+
+	static class ClassWithSuperclass extends ClassWithTestMethod {
+	}
+
+	static class ClassWithInterface implements Runnable {
+
+		@Override
+		public void run() {
+		}
+	}
+
+	static class ClassWithNestedClass {
+
+		@Nested
+		class InnerClass {
+
+			@Test
+			void test() {
+			}
+		}
+	}
+
+	static class ClassWithoutAnnotatedMethods {
+
+		void test() {
+		}
+	}
+
+	private static class PrivateStaticClass {
+
+		@Test
+		void test() {
+		}
+	}
+
+	static abstract class AbstractClassWithTestMethod {
+
+		@Test
+		void test() {
+		}
+	}
+
+}
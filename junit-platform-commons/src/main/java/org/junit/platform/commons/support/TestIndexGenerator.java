@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.support;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.commons.util.TestIndex;
+
+/**
+ * {@code TestIndexGenerator} generates an index of the candidate test classes
+ * of a classpath root at build time, e.g. from a build tool plugin or an
+ * annotation processor.
+ *
+ * <p>If a classpath root, i.e. a directory or a JAR file, contains an index
+ * in its {@value #RESOURCE_NAME} resource, classpath scanning via
+ * {@link ReflectionSupport#findAllClassesInClasspathRoot} and
+ * {@link ReflectionSupport#findAllClassesInPackage} does not walk the
+ * classpath root but only considers the indexed classes. The index must
+ * therefore list <em>all</em> classes of the classpath root that test engines
+ * should be able to discover and has to be regenerated whenever these
+ * classes change.
+ *
+ * <p>In addition to the class names, the index may contain the names of the
+ * annotation types and the tags of each class for use by tools.
+ *
+ * @since 1.4
+ */
+@API(status = EXPERIMENTAL, since = "1.4")
+public final class TestIndexGenerator {
+
+	/**
+	 * Name of the resource that contains the index within a classpath root:
+	 * {@value}
+	 */
+	public static final String RESOURCE_NAME = TestIndex.RESOURCE_NAME;
+
+	private final List<TestIndex.Entry> entries = new ArrayList<>();
+
+	/**
+	 * Add a candidate test class to the index.
+	 *
+	 * @param className the fully qualified name of the class; never
+	 * {@code null} or blank
+	 * @param annotationTypeNames the fully qualified names of the annotation
+	 * types present on the class or its methods; never {@code null}
+	 * @param tags the tags of the class; never {@code null}
+	 * @return this generator for method chaining
+	 */
+	public TestIndexGenerator addTestClass(String className, Collection<String> annotationTypeNames,
+			Collection<String> tags) {
+		this.entries.add(TestIndex.Entry.of(className, annotationTypeNames, tags));
+		return this;
+	}
+
+	/**
+	 * Write the index to the supplied writer, e.g. one obtained for
+	 * {@value #RESOURCE_NAME} from an annotation processor's
+	 * {@code Filer}.
+	 *
+	 * @param writer the writer to write to; never {@code null}
+	 */
+	public void writeTo(Writer writer) throws IOException {
+		Preconditions.notNull(writer, "writer must not be null");
+		TestIndex.from(this.entries).write(writer);
+	}
+
+	/**
+	 * Write the index into the supplied classpath root directory, replacing
+	 * an existing index.
+	 *
+	 * @param classpathRoot the classpath root directory; never {@code null}
+	 * @return the path of the written index file
+	 */
+	public Path writeTo(Path classpathRoot) throws IOException {
+		Preconditions.notNull(classpathRoot, "classpathRoot must not be null");
+		Path indexFile = classpathRoot.resolve(RESOURCE_NAME);
+		Files.createDirectories(indexFile.getParent());
+		try (Writer writer = Files.newBufferedWriter(indexFile, UTF_8)) {
+			writeTo(writer);
+		}
+		return indexFile;
+	}
+
+}
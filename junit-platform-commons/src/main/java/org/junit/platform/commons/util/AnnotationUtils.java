@@ -19,7 +19,9 @@ import java.lang.annotation.Inherited;
 import java.lang.annotation.Repeatable;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -27,9 +29,12 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import org.apiguardian.api.API;
 import org.junit.platform.commons.JUnitException;
@@ -55,6 +60,29 @@ import org.junit.platform.commons.util.ReflectionUtils.HierarchyTraversalMode;
 @API(status = INTERNAL, since = "1.0")
 public final class AnnotationUtils {
 
+	/**
+	 * Maximum number of classes whose annotation lookup results are cached.
+	 */
+	private static final int MAX_CLASSES_WITH_CACHED_LOOKUPS = 8192;
+
+	/**
+	 * Internal cache of the results of {@link #findAnnotation(AnnotatedElement, Class)}
+	 * and {@link #findRepeatableAnnotations(AnnotatedElement, Class)} per class
+	 * declaring the annotated element.
+	 *
+	 * @since 1.4
+	 */
+	private static final BoundedClassCache<Map<LookupKey, Object>> lookupResultsCache = new BoundedClassCache<>(
+		MAX_CLASSES_WITH_CACHED_LOOKUPS, type -> new ConcurrentHashMap<>());
+
+	/**
+	 * Internal cache of the types of all annotations that are directly or
+	 * transitively meta-present on an annotation type.
+	 *
+	 * @since 1.4
+	 */
+	private static final MetaAnnotationTypes metaAnnotationTypesCache = new MetaAnnotationTypes();
+
 	private AnnotationUtils() {
 		/* no-op */
 	}
@@ -107,8 +135,10 @@ public final class AnnotationUtils {
 	 */
 	public static <A extends Annotation> Optional<A> findAnnotation(AnnotatedElement element, Class<A> annotationType) {
 		Preconditions.notNull(annotationType, "annotationType must not be null");
-		boolean inherited = annotationType.isAnnotationPresent(Inherited.class);
-		return findAnnotation(element, annotationType, inherited, new HashSet<>());
+		return findCached(element, annotationType, false, () -> {
+			boolean inherited = annotationType.isAnnotationPresent(Inherited.class);
+			return findAnnotation(element, annotationType, inherited, new HashSet<>());
+		});
 	}
 
 	private static <A extends Annotation> Optional<A> findAnnotation(AnnotatedElement element, Class<A> annotationType,
@@ -168,7 +198,8 @@ public final class AnnotationUtils {
 
 		for (Annotation candidateAnnotation : candidates) {
 			Class<? extends Annotation> candidateAnnotationType = candidateAnnotation.annotationType();
-			if (!isInJavaLangAnnotationPackage(candidateAnnotationType) && visited.add(candidateAnnotation)) {
+			if (!isInJavaLangAnnotationPackage(candidateAnnotationType)
+					&& isMetaPresent(annotationType, candidateAnnotationType) && visited.add(candidateAnnotation)) {
 				Optional<A> metaAnnotation = findAnnotation(candidateAnnotationType, annotationType, inherited,
 					visited);
 				if (metaAnnotation.isPresent()) {
@@ -196,12 +227,14 @@ public final class AnnotationUtils {
 			return Collections.emptyList();
 		}
 
-		// We use a LinkedHashSet because the search algorithm may discover
-		// duplicates, but we need to maintain the original order.
-		Set<A> found = new LinkedHashSet<>(16);
-		findRepeatableAnnotations(element, annotationType, containerType, inherited, found, new HashSet<>(16));
-		// unmodifiable since returned from public, non-internal method(s)
-		return Collections.unmodifiableList(new ArrayList<>(found));
+		return findCached(element, annotationType, true, () -> {
+			// We use a LinkedHashSet because the search algorithm may discover
+			// duplicates, but we need to maintain the original order.
+			Set<A> found = new LinkedHashSet<>(16);
+			findRepeatableAnnotations(element, annotationType, containerType, inherited, found, new HashSet<>(16));
+			// unmodifiable since returned from public, non-internal method(s)
+			return Collections.unmodifiableList(new ArrayList<>(found));
+		});
 	}
 
 	private static <A extends Annotation> void findRepeatableAnnotations(AnnotatedElement element,
@@ -261,7 +294,8 @@ public final class AnnotationUtils {
 					found.addAll((Collection<? extends A>) asList(containedAnnotations));
 				}
 				// Otherwise search recursively through the meta-annotation hierarchy...
-				else {
+				else if (isMetaPresent(annotationType, candidateAnnotationType)
+						|| isMetaPresent(containerType, candidateAnnotationType)) {
 					findRepeatableAnnotations(candidateAnnotationType, annotationType, containerType, inherited, found,
 						visited);
 				}
@@ -339,4 +373,136 @@ public final class AnnotationUtils {
 		return (annotationType != null && annotationType.getName().startsWith("java.lang.annotation"));
 	}
 
+	/**
+	 * Determine if an annotation of {@code annotationType} is directly or
+	 * transitively meta-present on {@code candidateAnnotationType}, allowing
+	 * the search to skip meta-annotation hierarchies that cannot contain it.
+	 */
+	private static boolean isMetaPresent(Class<? extends Annotation> annotationType,
+			Class<? extends Annotation> candidateAnnotationType) {
+
+		return metaAnnotationTypesCache.get(candidateAnnotationType).contains(annotationType);
+	}
+
+	private static Set<Class<? extends Annotation>> computeMetaAnnotationTypes(Class<?> annotationType) {
+		Set<Class<? extends Annotation>> metaAnnotationTypes = new HashSet<>();
+		List<Class<?>> pending = new ArrayList<>();
+		pending.add(annotationType);
+		while (!pending.isEmpty()) {
+			Class<?> current = pending.remove(pending.size() - 1);
+			for (Annotation metaAnnotation : current.getDeclaredAnnotations()) {
+				Class<? extends Annotation> metaAnnotationType = metaAnnotation.annotationType();
+				// Annotations in java.lang.annotation are found when directly present on
+				// a meta-annotation but are not searched recursively; see findMetaAnnotation().
+				if (metaAnnotationTypes.add(metaAnnotationType) && !isInJavaLangAnnotationPackage(metaAnnotationType)) {
+					pending.add(metaAnnotationType);
+				}
+			}
+		}
+		return Collections.unmodifiableSet(metaAnnotationTypes);
+	}
+
+	/**
+	 * Look up the cached result of a search for annotations of
+	 * {@code annotationType} on the supplied element or perform the search via
+	 * the supplied {@code finder} and cache its result.
+	 *
+	 * <p>Results are only cached for classes, their members, and parameters
+	 * and only if the annotation type is visible from the class declaring the
+	 * element so that the cache never prevents a class loader from being
+	 * garbage collected.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T findCached(AnnotatedElement element, Class<? extends Annotation> annotationType,
+			boolean repeatable, Supplier<T> finder) {
+
+		Class<?> declaringClass = getDeclaringClass(element);
+		if (declaringClass == null || !isVisible(annotationType, declaringClass)) {
+			return finder.get();
+		}
+
+		Map<LookupKey, Object> results = lookupResultsCache.get(declaringClass);
+		LookupKey key = new LookupKey(element, annotationType, repeatable);
+		Object result = results.get(key);
+		if (result == null) {
+			// Not using computeIfAbsent() since the finder may look up other
+			// annotations of the same class.
+			result = finder.get();
+			Object previous = results.putIfAbsent(key, result);
+			if (previous != null) {
+				result = previous;
+			}
+		}
+		return (T) result;
+	}
+
+	private static Class<?> getDeclaringClass(AnnotatedElement element) {
+		if (element instanceof Class) {
+			return (Class<?>) element;
+		}
+		if (element instanceof Member) {
+			return ((Member) element).getDeclaringClass();
+		}
+		if (element instanceof Parameter) {
+			return ((Parameter) element).getDeclaringExecutable().getDeclaringClass();
+		}
+		return null;
+	}
+
+	private static boolean isVisible(Class<?> type, Class<?> fromClass) {
+		ClassLoader typeClassLoader = type.getClassLoader();
+		if (typeClassLoader == null) {
+			return true;
+		}
+		ClassLoader classLoader = fromClass.getClassLoader();
+		while (classLoader != null) {
+			if (classLoader == typeClassLoader) {
+				return true;
+			}
+			classLoader = classLoader.getParent();
+		}
+		return false;
+	}
+
+	private static final class LookupKey {
+
+		private final AnnotatedElement element;
+		private final Class<? extends Annotation> annotationType;
+		private final boolean repeatable;
+
+		LookupKey(AnnotatedElement element, Class<? extends Annotation> annotationType, boolean repeatable) {
+			this.element = element;
+			this.annotationType = annotationType;
+			this.repeatable = repeatable;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			LookupKey that = (LookupKey) obj;
+			return this.element.equals(that.element) && this.annotationType == that.annotationType
+					&& this.repeatable == that.repeatable;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.element.hashCode();
+			result = 31 * result + this.annotationType.hashCode();
+			return 31 * result + Boolean.hashCode(this.repeatable);
+		}
+	}
+
+	private static final class MetaAnnotationTypes extends ClassValue<Set<Class<? extends Annotation>>> {
+
+		@Override
+		protected Set<Class<? extends Annotation>> computeValue(Class<?> annotationType) {
+			return computeMetaAnnotationTypes(annotationType);
+		}
+	}
+
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.util;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipFile;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+
+/**
+ * Opens the archives scanned by the {@link ClasspathScanner} as
+ * {@link ZipFile ZipFiles}, which only read their central directory, and
+ * keeps them open for subsequent scans while at least one
+ * {@link ClasspathScanningScope} is open.
+ *
+ * <p>Cached archives are reference-counted so that an archive that is still
+ * in use when the last scope is closed is only closed once its last user is
+ * done with it.
+ *
+ * @since 1.4
+ */
+class ArchiveCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(ArchiveCache.class);
+
+	private final Map<Path, CachedArchive> openArchives = new HashMap<>();
+	private int openScopes;
+
+	/**
+	 * Open a new scope; the archives are closed once all scopes have been
+	 * closed and they are no longer in use.
+	 */
+	synchronized ClasspathScanningScope openScope() {
+		this.openScopes++;
+		AtomicBoolean closed = new AtomicBoolean();
+		return () -> {
+			if (closed.compareAndSet(false, true)) {
+				closeScope();
+			}
+		};
+	}
+
+	/**
+	 * Apply the supplied function to the archive at the supplied path.
+	 *
+	 * <p>If a scope is open, the archive is opened at most once and reused;
+	 * otherwise, it is opened for the duration of the call.
+	 */
+	<T> T withArchive(Path path, ArchiveFunction<T> function) throws IOException {
+		CachedArchive cachedArchive = acquireCachedArchive(path);
+		if (cachedArchive != null) {
+			try {
+				return function.apply(cachedArchive.zipFile);
+			}
+			finally {
+				releaseCachedArchive(cachedArchive);
+			}
+		}
+		try (ZipFile archive = new ZipFile(path.toFile())) {
+			return function.apply(archive);
+		}
+	}
+
+	private synchronized CachedArchive acquireCachedArchive(Path path) throws IOException {
+		if (this.openScopes == 0) {
+			return null;
+		}
+		CachedArchive archive = this.openArchives.get(path);
+		if (archive == null) {
+			archive = new CachedArchive(new ZipFile(path.toFile()));
+			this.openArchives.put(path, archive);
+		}
+		archive.users++;
+		return archive;
+	}
+
+	private void releaseCachedArchive(CachedArchive archive) {
+		synchronized (this) {
+			if (--archive.users > 0 || !archive.evicted) {
+				return;
+			}
+		}
+		close(archive.zipFile);
+	}
+
+	private void closeScope() {
+		List<ZipFile> archivesToClose = new ArrayList<>();
+		synchronized (this) {
+			if (--this.openScopes > 0) {
+				return;
+			}
+			for (CachedArchive archive : this.openArchives.values()) {
+				archive.evicted = true;
+				if (archive.users == 0) {
+					archivesToClose.add(archive.zipFile);
+				}
+			}
+			this.openArchives.clear();
+		}
+		archivesToClose.forEach(ArchiveCache::close);
+	}
+
+	private static void close(ZipFile archive) {
+		try {
+			archive.close();
+		}
+		catch (IOException ex) {
+			logger.warn(ex, () -> "Failed to close archive " + archive.getName());
+		}
+	}
+
+	/**
+	 * A cached archive along with the number of calls to
+	 * {@link #withArchive} that are currently using it; guarded by the
+	 * enclosing {@link ArchiveCache}.
+	 */
+	private static class CachedArchive {
+
+		private final ZipFile zipFile;
+		private int users;
+		private boolean evicted;
+
+		CachedArchive(ZipFile zipFile) {
+			this.zipFile = zipFile;
+		}
+
+	}
+
+	@FunctionalInterface
+	interface ArchiveFunction<T> {
+
+		T apply(ZipFile archive) throws IOException;
+
+	}
+
+}
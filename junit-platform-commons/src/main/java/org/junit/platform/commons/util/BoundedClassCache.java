@@ -0,0 +1,115 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of values computed per class.
+ *
+ * <p>The values are stored in a {@link ClassValue} so that they are
+ * reclaimed together with their class and its class loader, even if a value
+ * references the class itself, e.g. via its {@link java.lang.reflect.Method
+ * Methods}. Once more than the maximum number of classes have been cached, the
+ * values of the classes that were cached first are evicted. The queue used to
+ * track the order in which classes were cached only holds
+ * {@link WeakReference WeakReferences} to them so that the cache never
+ * prevents classes from being unloaded.
+ *
+ * <p>Values are only cached for classes loaded by the class loader of this
+ * class or one of its descendants. Since the values are instances of classes
+ * loaded by that class loader, storing them in the {@code ClassValue} of a
+ * class loaded by one of its ancestors, e.g. a JDK class such as
+ * {@link String}, would prevent it from ever being garbage collected
+ * (see JDK-8136353). For such classes, the value is computed on each call.
+ *
+ * @param <V> the type of the cached values
+ * @since 1.4
+ */
+class BoundedClassCache<V> {
+
+	private final int maxSize;
+	private final Deque<WeakReference<Class<?>>> cachedClasses = new ArrayDeque<>();
+	private final Function<Class<?>, V> valueFactory;
+	private final ClassValue<V> values;
+
+	BoundedClassCache(int maxSize, Function<Class<?>, V> valueFactory) {
+		Preconditions.condition(maxSize > 0, "maxSize must be greater than 0");
+		this.maxSize = maxSize;
+		this.valueFactory = valueFactory;
+		this.values = new ClassValue<V>() {
+			@Override
+			protected V computeValue(Class<?> type) {
+				V value = valueFactory.apply(type);
+				cached(type);
+				return value;
+			}
+		};
+	}
+
+	/**
+	 * Get the value for the supplied class, computing it if it is not
+	 * cached.
+	 */
+	V get(Class<?> type) {
+		if (!isCacheable(type)) {
+			return this.valueFactory.apply(type);
+		}
+		return this.values.get(type);
+	}
+
+	/**
+	 * Determine if values for the supplied class may be cached, i.e. if it
+	 * has been loaded by the class loader of this class or one of its
+	 * descendants.
+	 */
+	static boolean isCacheable(Class<?> type) {
+		ClassLoader cacheClassLoader = BoundedClassCache.class.getClassLoader();
+		if (cacheClassLoader == null) {
+			return true;
+		}
+		ClassLoader classLoader = type.getClassLoader();
+		while (classLoader != null) {
+			if (classLoader == cacheClassLoader) {
+				return true;
+			}
+			classLoader = classLoader.getParent();
+		}
+		return false;
+	}
+
+	/**
+	 * Get the number of classes tracked by this cache, which may include
+	 * classes that have since been unloaded.
+	 */
+	int size() {
+		synchronized (this.cachedClasses) {
+			return this.cachedClasses.size();
+		}
+	}
+
+	private void cached(Class<?> type) {
+		Class<?> evicted = null;
+		synchronized (this.cachedClasses) {
+			this.cachedClasses.addLast(new WeakReference<>(type));
+			if (this.cachedClasses.size() > this.maxSize) {
+				evicted = this.cachedClasses.removeFirst().get();
+			}
+		}
+		if (evicted != null && evicted != type) {
+			this.values.remove(evicted);
+		}
+	}
+
+}
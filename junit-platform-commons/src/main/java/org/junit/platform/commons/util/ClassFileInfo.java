@@ -0,0 +1,410 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.util;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+
+/**
+ * Information about a class that is read directly from its class file,
+ * i.e. without loading the class.
+ *
+ * <p>Only the parts of the class file required to decide whether a class
+ * might be of interest to a test engine are read: the access flags, the
+ * names of the class, its superclass and interfaces, its relation to
+ * enclosing and member classes, and the types of the runtime-visible
+ * annotations declared on the class and its methods.
+ *
+ * <h3>DISCLAIMER</h3>
+ *
+ * <p>These utilities are intended solely for usage within the JUnit framework
+ * itself. <strong>Any usage by external parties is not supported.</strong>
+ * Use at your own risk!
+ *
+ * @since 1.4
+ * @see ClassFilter
+ */
+@API(status = INTERNAL, since = "1.4")
+public final class ClassFileInfo {
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final int ACC_PRIVATE = 0x0002;
+	private static final int ACC_STATIC = 0x0008;
+	private static final int ACC_INTERFACE = 0x0200;
+	private static final int ACC_ABSTRACT = 0x0400;
+	private static final int ACC_ANNOTATION = 0x2000;
+	private static final int ACC_ENUM = 0x4000;
+
+	private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+	private static final String INNER_CLASSES = "InnerClasses";
+
+	/**
+	 * Read the information about a class from the supplied bytes of its
+	 * class file.
+	 *
+	 * @param bytes the content of the class file; never {@code null}
+	 * @return the information about the class; never {@code null}
+	 * @throws IOException if the supplied bytes are not a valid class file
+	 */
+	public static ClassFileInfo read(byte[] bytes) throws IOException {
+		Preconditions.notNull(bytes, "bytes must not be null");
+		try {
+			return new Reader(ByteBuffer.wrap(bytes)).read();
+		}
+		catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+			throw new IOException("Malformed class file", ex);
+		}
+	}
+
+	private final int accessFlags;
+	private final String className;
+	private final String superclassName;
+	private final List<String> interfaceNames;
+	private final int nestedClassAccessFlags;
+	private final boolean memberClass;
+	private final boolean localOrAnonymousClass;
+	private final boolean hasMemberClasses;
+	private final Set<String> classAnnotationDescriptors;
+	private final Set<String> methodAnnotationDescriptors;
+
+	private ClassFileInfo(Reader reader) {
+		this.accessFlags = reader.accessFlags;
+		this.className = reader.className;
+		this.superclassName = reader.superclassName;
+		this.interfaceNames = unmodifiableList(reader.interfaceNames);
+		this.nestedClassAccessFlags = reader.nestedClassAccessFlags;
+		this.memberClass = reader.memberClass;
+		this.localOrAnonymousClass = reader.localOrAnonymousClass;
+		this.hasMemberClasses = reader.hasMemberClasses;
+		this.classAnnotationDescriptors = unmodifiableSet(reader.classAnnotationDescriptors);
+		this.methodAnnotationDescriptors = unmodifiableSet(reader.methodAnnotationDescriptors);
+	}
+
+	/**
+	 * Get the fully qualified name of the class, e.g. {@code com.example.Outer$Inner}.
+	 */
+	public String getClassName() {
+		return this.className;
+	}
+
+	/**
+	 * Get the fully qualified name of the superclass, which is empty for
+	 * {@code java.lang.Object} and {@code module-info}.
+	 */
+	public Optional<String> getSuperclassName() {
+		return Optional.ofNullable(this.superclassName);
+	}
+
+	/**
+	 * Get the fully qualified names of the directly implemented interfaces.
+	 */
+	public List<String> getInterfaceNames() {
+		return this.interfaceNames;
+	}
+
+	public boolean isAbstract() {
+		return (this.accessFlags & ACC_ABSTRACT) != 0;
+	}
+
+	public boolean isInterface() {
+		return (this.accessFlags & ACC_INTERFACE) != 0;
+	}
+
+	public boolean isAnnotation() {
+		return (this.accessFlags & ACC_ANNOTATION) != 0;
+	}
+
+	public boolean isEnum() {
+		return (this.accessFlags & ACC_ENUM) != 0;
+	}
+
+	/**
+	 * Determine if the class is a nested class declared {@code private}.
+	 */
+	public boolean isPrivate() {
+		return (this.nestedClassAccessFlags & ACC_PRIVATE) != 0;
+	}
+
+	/**
+	 * Determine if the class is a member class, i.e. a nested class that is
+	 * neither local nor anonymous.
+	 */
+	public boolean isMemberClass() {
+		return this.memberClass;
+	}
+
+	/**
+	 * Determine if the class is a non-static member class.
+	 *
+	 * @see ReflectionUtils#isInnerClass(Class)
+	 */
+	public boolean isInnerClass() {
+		return this.memberClass && (this.nestedClassAccessFlags & ACC_STATIC) == 0;
+	}
+
+	/**
+	 * Determine if the class is a local or an anonymous class.
+	 */
+	public boolean isLocalOrAnonymousClass() {
+		return this.localOrAnonymousClass;
+	}
+
+	/**
+	 * Determine if the class declares member classes.
+	 */
+	public boolean hasMemberClasses() {
+		return this.hasMemberClasses;
+	}
+
+	/**
+	 * Get the type descriptors of the runtime-visible annotations declared
+	 * on the class, e.g. {@code Lorg/junit/jupiter/api/Tag;}.
+	 */
+	public Set<String> getClassAnnotationDescriptors() {
+		return this.classAnnotationDescriptors;
+	}
+
+	/**
+	 * Get the type descriptors of the runtime-visible annotations declared
+	 * on any method of the class, e.g. {@code Lorg/junit/jupiter/api/Test;}.
+	 */
+	public Set<String> getMethodAnnotationDescriptors() {
+		return this.methodAnnotationDescriptors;
+	}
+
+	@Override
+	public String toString() {
+		// @formatter:off
+		return new ToStringBuilder(this)
+				.append("className", this.className)
+				.append("superclassName", this.superclassName)
+				.append("interfaceNames", this.interfaceNames)
+				.toString();
+		// @formatter:on
+	}
+
+	private static class Reader {
+
+		private final ByteBuffer buffer;
+
+		private int[] constantPoolOffsets;
+
+		private int accessFlags;
+		private String className;
+		private String superclassName;
+		private final List<String> interfaceNames = new ArrayList<>();
+		private int nestedClassAccessFlags;
+		private boolean memberClass;
+		private boolean localOrAnonymousClass;
+		private boolean hasMemberClasses;
+		private final Set<String> classAnnotationDescriptors = new LinkedHashSet<>();
+		private final Set<String> methodAnnotationDescriptors = new LinkedHashSet<>();
+
+		Reader(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		ClassFileInfo read() throws IOException {
+			if (this.buffer.getInt() != MAGIC) {
+				throw new IOException("Not a class file");
+			}
+			skip(4); // minor_version, major_version
+			readConstantPool();
+			this.accessFlags = readUnsignedShort();
+			int thisClassIndex = readUnsignedShort();
+			this.className = toClassName(classNameAt(thisClassIndex));
+			int superclassIndex = readUnsignedShort();
+			this.superclassName = superclassIndex == 0 ? null : toClassName(classNameAt(superclassIndex));
+			int interfacesCount = readUnsignedShort();
+			for (int i = 0; i < interfacesCount; i++) {
+				this.interfaceNames.add(toClassName(classNameAt(readUnsignedShort())));
+			}
+			readMembers(null); // fields
+			readMembers(this.methodAnnotationDescriptors); // methods
+			int attributesCount = readUnsignedShort();
+			for (int i = 0; i < attributesCount; i++) {
+				String name = utf8At(readUnsignedShort());
+				int length = this.buffer.getInt();
+				int end = this.buffer.position() + length;
+				if (RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+					readAnnotationDescriptors(this.classAnnotationDescriptors);
+				}
+				else if (INNER_CLASSES.equals(name)) {
+					readInnerClasses(thisClassIndex);
+				}
+				this.buffer.position(end);
+			}
+			return new ClassFileInfo(this);
+		}
+
+		private void readConstantPool() throws IOException {
+			int count = readUnsignedShort();
+			this.constantPoolOffsets = new int[count];
+			for (int index = 1; index < count; index++) {
+				this.constantPoolOffsets[index] = this.buffer.position();
+				int tag = this.buffer.get() & 0xFF;
+				switch (tag) {
+					case 1: // Utf8
+						skip(readUnsignedShort());
+						break;
+					case 7: // Class
+					case 8: // String
+					case 16: // MethodType
+					case 19: // Module
+					case 20: // Package
+						skip(2);
+						break;
+					case 15: // MethodHandle
+						skip(3);
+						break;
+					case 3: // Integer
+					case 4: // Float
+					case 9: // Fieldref
+					case 10: // Methodref
+					case 11: // InterfaceMethodref
+					case 12: // NameAndType
+					case 17: // Dynamic
+					case 18: // InvokeDynamic
+						skip(4);
+						break;
+					case 5: // Long
+					case 6: // Double
+						skip(8);
+						index++; // occupies two entries
+						break;
+					default:
+						throw new IOException("Unknown constant pool tag " + tag + " at index " + index);
+				}
+			}
+		}
+
+		private void readMembers(Set<String> annotationDescriptors) {
+			int count = readUnsignedShort();
+			for (int i = 0; i < count; i++) {
+				skip(6); // access_flags, name_index, descriptor_index
+				int attributesCount = readUnsignedShort();
+				for (int j = 0; j < attributesCount; j++) {
+					int nameIndex = readUnsignedShort();
+					int length = this.buffer.getInt();
+					int end = this.buffer.position() + length;
+					if (annotationDescriptors != null && RUNTIME_VISIBLE_ANNOTATIONS.equals(utf8At(nameIndex))) {
+						readAnnotationDescriptors(annotationDescriptors);
+					}
+					this.buffer.position(end);
+				}
+			}
+		}
+
+		private void readAnnotationDescriptors(Set<String> annotationDescriptors) {
+			int count = readUnsignedShort();
+			for (int i = 0; i < count; i++) {
+				annotationDescriptors.add(utf8At(readUnsignedShort()));
+				skipElementValuePairs();
+			}
+		}
+
+		private void skipElementValuePairs() {
+			int count = readUnsignedShort();
+			for (int i = 0; i < count; i++) {
+				skip(2); // element_name_index
+				skipElementValue();
+			}
+		}
+
+		private void skipElementValue() {
+			char tag = (char) (this.buffer.get() & 0xFF);
+			switch (tag) {
+				case 'e': // enum constant
+					skip(4);
+					break;
+				case '@': // nested annotation
+					skip(2);
+					skipElementValuePairs();
+					break;
+				case '[': // array
+					int count = readUnsignedShort();
+					for (int i = 0; i < count; i++) {
+						skipElementValue();
+					}
+					break;
+				default: // constant or class
+					skip(2);
+			}
+		}
+
+		private void readInnerClasses(int thisClassIndex) {
+			String thisClassName = classNameAt(thisClassIndex);
+			int count = readUnsignedShort();
+			for (int i = 0; i < count; i++) {
+				int innerClassIndex = readUnsignedShort();
+				int outerClassIndex = readUnsignedShort();
+				skip(2); // inner_name_index
+				int innerClassAccessFlags = readUnsignedShort();
+				String innerClassName = classNameAt(innerClassIndex);
+				if (innerClassName.equals(thisClassName)) {
+					this.nestedClassAccessFlags = innerClassAccessFlags;
+					this.memberClass = outerClassIndex != 0;
+					this.localOrAnonymousClass = outerClassIndex == 0;
+				}
+				else if (outerClassIndex != 0 && classNameAt(outerClassIndex).equals(thisClassName)) {
+					this.hasMemberClasses = true;
+				}
+			}
+		}
+
+		private String classNameAt(int index) {
+			return utf8At(unsignedShortAt(this.constantPoolOffsets[index] + 1));
+		}
+
+		private String utf8At(int index) {
+			int offset = this.constantPoolOffsets[index];
+			if (this.buffer.get(offset) != 1) {
+				throw new IllegalArgumentException("Constant pool entry " + index + " is not a Utf8 entry");
+			}
+			int length = unsignedShortAt(offset + 1);
+			// Modified UTF-8 only differs for NUL and supplementary characters which
+			// do not occur in the names and descriptors read here.
+			return new String(this.buffer.array(), this.buffer.arrayOffset() + offset + 3, length,
+				StandardCharsets.UTF_8);
+		}
+
+		private int unsignedShortAt(int offset) {
+			return this.buffer.getShort(offset) & 0xFFFF;
+		}
+
+		private int readUnsignedShort() {
+			return this.buffer.getShort() & 0xFFFF;
+		}
+
+		private void skip(int bytes) {
+			this.buffer.position(this.buffer.position() + bytes);
+		}
+
+		private static String toClassName(String internalName) {
+			return internalName.replace('/', '.');
+		}
+	}
+
+}
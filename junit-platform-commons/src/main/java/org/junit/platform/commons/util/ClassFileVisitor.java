@@ -41,7 +41,7 @@ class ClassFileVisitor extends SimpleFileVisitor<Path> {
 
 	@Override
 	public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
-		if (isNotPackageInfo(file) && isNotModuleInfo(file) && isClassFile(file)) {
+		if (isCandidateClassFile(file)) {
 			classFileConsumer.accept(file);
 		}
 		return CONTINUE;
@@ -61,6 +61,27 @@ class ClassFileVisitor extends SimpleFileVisitor<Path> {
 		return CONTINUE;
 	}
 
+	/**
+	 * Determine if the supplied file is a class file that may contain a
+	 * class, i.e. neither a {@code package-info} nor a {@code module-info}.
+	 */
+	static boolean isCandidateClassFile(Path file) {
+		return isNotPackageInfo(file) && isNotModuleInfo(file) && isClassFile(file);
+	}
+
+	/**
+	 * Determine if the archive entry with the supplied name is a class file
+	 * that may contain a class, i.e. neither a {@code package-info} nor a
+	 * {@code module-info}.
+	 *
+	 * @since 1.4
+	 */
+	static boolean isCandidateClassFile(String entryName) {
+		String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+		return fileName.endsWith(CLASS_FILE_SUFFIX) && !PACKAGE_INFO_FILE_NAME.equals(fileName)
+				&& !MODULE_INFO_FILE_NAME.equals(fileName);
+	}
+
 	private static boolean isNotPackageInfo(Path path) {
 		return !path.endsWith(PACKAGE_INFO_FILE_NAME);
 	}
@@ -41,15 +41,73 @@ public class ClassFilter implements Predicate<Class<?>> {
 	 * Create a {@link ClassFilter} instance that filters by names and classes.
 	 */
 	public static ClassFilter of(Predicate<String> namePredicate, Predicate<Class<?>> classPredicate) {
-		return new ClassFilter(namePredicate, classPredicate);
+		return new ClassFilter(namePredicate, null, classPredicate);
+	}
+
+	/**
+	 * Create a {@link ClassFilter} instance that filters by names, class files,
+	 * and classes.
+	 *
+	 * <p>The class file predicate is applied to the {@link ClassFileInfo} read
+	 * from the class file of each candidate class <em>before</em> the class is
+	 * loaded. It therefore must only reject classes that would also be rejected
+	 * by the class predicate. The class file predicate is only applied while
+	 * scanning the file system for class files; it is not applied by
+	 * {@link #test(Class)}.
+	 *
+	 * @since 1.4
+	 */
+	@API(status = INTERNAL, since = "1.4")
+	public static ClassFilter of(Predicate<String> namePredicate, Predicate<ClassFileInfo> classFilePredicate,
+			Predicate<Class<?>> classPredicate) {
+		Preconditions.notNull(classFilePredicate, "class file predicate must not be null");
+		return new ClassFilter(namePredicate, classFilePredicate, classPredicate);
 	}
 
 	private final Predicate<String> namePredicate;
+	private final Predicate<ClassFileInfo> classFilePredicate;
 	private final Predicate<Class<?>> classPredicate;
+	private final boolean testIndexEnabled;
+
+	private ClassFilter(Predicate<String> namePredicate, Predicate<ClassFileInfo> classFilePredicate,
+			Predicate<Class<?>> classPredicate) {
+		this(namePredicate, classFilePredicate, classPredicate, false);
+	}
 
-	private ClassFilter(Predicate<String> namePredicate, Predicate<Class<?>> classPredicate) {
+	private ClassFilter(Predicate<String> namePredicate, Predicate<ClassFileInfo> classFilePredicate,
+			Predicate<Class<?>> classPredicate, boolean testIndexEnabled) {
 		this.namePredicate = Preconditions.notNull(namePredicate, "name predicate must not be null");
+		this.classFilePredicate = classFilePredicate;
 		this.classPredicate = Preconditions.notNull(classPredicate, "class predicate must not be null");
+		this.testIndexEnabled = testIndexEnabled;
+	}
+
+	/**
+	 * Create a copy of this filter that allows classpath scanning to consult
+	 * the {@link TestIndex} of a classpath root instead of scanning it for
+	 * class files.
+	 *
+	 * <p>Since classes that are not listed in the index are not found, this
+	 * must only be used for discovering tests.
+	 *
+	 * @since 1.4
+	 * @see #isTestIndexEnabled()
+	 */
+	@API(status = INTERNAL, since = "1.4")
+	public ClassFilter withTestIndex() {
+		return new ClassFilter(namePredicate, classFilePredicate, classPredicate, true);
+	}
+
+	/**
+	 * Determine if classpath scanning may consult the {@link TestIndex} of a
+	 * classpath root instead of scanning it for class files.
+	 *
+	 * @since 1.4
+	 * @see #withTestIndex()
+	 */
+	@API(status = INTERNAL, since = "1.4")
+	public boolean isTestIndexEnabled() {
+		return testIndexEnabled;
 	}
 
 	/**
@@ -59,6 +117,28 @@ public class ClassFilter implements Predicate<Class<?>> {
 		return namePredicate.test(name);
 	}
 
+	/**
+	 * Determine if this filter has a class file predicate that may be used to
+	 * reject classes before loading them.
+	 *
+	 * @since 1.4
+	 * @see #match(ClassFileInfo)
+	 */
+	@API(status = INTERNAL, since = "1.4")
+	public boolean hasClassFilePredicate() {
+		return classFilePredicate != null;
+	}
+
+	/**
+	 * Test class file using the stored class file predicate, if any.
+	 *
+	 * @since 1.4
+	 */
+	@API(status = INTERNAL, since = "1.4")
+	public boolean match(ClassFileInfo classFileInfo) {
+		return classFilePredicate == null || classFilePredicate.test(classFileInfo);
+	}
+
 	/**
 	 * Test class using the stored class predicate.
 	 */
@@ -11,25 +11,47 @@
 package org.junit.platform.commons.util;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.junit.platform.commons.util.BlacklistedExceptions.rethrowIfBlacklisted;
 import static org.junit.platform.commons.util.ClassFileVisitor.CLASS_FILE_SUFFIX;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.junit.platform.commons.function.Try;
 import org.junit.platform.commons.logging.Logger;
@@ -52,20 +74,53 @@ class ClasspathScanner {
 	private static final char PACKAGE_SEPARATOR_CHAR = '.';
 	private static final String PACKAGE_SEPARATOR_STRING = String.valueOf(PACKAGE_SEPARATOR_CHAR);
 
+	private static final String FILE_URI_SCHEME = "file";
+	private static final String JAR_URI_SCHEME = "jar";
+	private static final String JAR_FILE_EXTENSION = ".jar";
+	private static final String JAR_URI_SEPARATOR = "!";
+
 	/**
 	 * Malformed class name InternalError like reported in #401.
 	 */
 	private static final String MALFORMED_CLASS_NAME_ERROR_MESSAGE = "Malformed class name";
 
+	/**
+	 * Name of the JVM system property used to enable parallel scanning:
+	 * {@value}
+	 *
+	 * <p>If set to {@code true}, all roots and their subdirectories are walked
+	 * and candidate classes are loaded concurrently using the common
+	 * {@link java.util.concurrent.ForkJoinPool ForkJoinPool}. The scanned
+	 * classes are returned in the same order regardless of thread scheduling,
+	 * namely in the order of the roots and, for each root, in the order of the
+	 * names of the visited files and directories.
+	 *
+	 * @since 1.4
+	 */
+	static final String PARALLEL_SCANNING_PROPERTY_NAME = "junit.platform.discovery.classpath.scanning.parallel";
+
 	private final Supplier<ClassLoader> classLoaderSupplier;
 
 	private final BiFunction<String, ClassLoader, Try<Class<?>>> loadClass;
 
+	private final BooleanSupplier parallelScanningEnabled;
+
+	private final ArchiveCache archiveCache = new ArchiveCache();
+
+	private final Set<URI> classpathRootsResolvedFromTestIndex = ConcurrentHashMap.newKeySet();
+
 	ClasspathScanner(Supplier<ClassLoader> classLoaderSupplier,
 			BiFunction<String, ClassLoader, Try<Class<?>>> loadClass) {
 
+		this(classLoaderSupplier, loadClass, () -> Boolean.getBoolean(PARALLEL_SCANNING_PROPERTY_NAME));
+	}
+
+	ClasspathScanner(Supplier<ClassLoader> classLoaderSupplier,
+			BiFunction<String, ClassLoader, Try<Class<?>>> loadClass, BooleanSupplier parallelScanningEnabled) {
+
 		this.classLoaderSupplier = classLoaderSupplier;
 		this.loadClass = loadClass;
+		this.parallelScanningEnabled = parallelScanningEnabled;
 	}
 
 	List<Class<?>> scanForClassesInPackage(String basePackageName, ClassFilter classFilter) {
@@ -81,26 +136,57 @@ class ClasspathScanner {
 		Preconditions.notNull(root, "root must not be null");
 		Preconditions.notNull(classFilter, "classFilter must not be null");
 
-		return findClassesForUri(root, PackageUtils.DEFAULT_PACKAGE_NAME, classFilter);
+		return findClassesForUris(singletonList(root), PackageUtils.DEFAULT_PACKAGE_NAME, classFilter);
 	}
 
 	/**
 	 * Recursively scan for classes in all of the supplied source directories.
 	 */
 	private List<Class<?>> findClassesForUris(List<URI> baseUris, String basePackageName, ClassFilter classFilter) {
+		Stream<List<Class<?>>> classesPerUri;
+		if (this.parallelScanningEnabled.getAsBoolean()) {
+			// Worker threads do not share the context class loader of the current thread
+			ClassLoader classLoader = getClassLoader();
+			classesPerUri = baseUris.parallelStream().map(baseUri -> findClassesForUri(baseUri, basePackageName,
+				classFilter, () -> classLoader,
+				baseDir -> findClassesForPathInParallel(baseDir, basePackageName, classFilter, classLoader)));
+		}
+		else {
+			classesPerUri = baseUris.stream().map(baseUri -> findClassesForUri(baseUri, basePackageName, classFilter,
+				this::getClassLoader, baseDir -> findClassesForPath(baseDir, basePackageName, classFilter)));
+		}
 		// @formatter:off
-		return baseUris.stream()
-				.map(baseUri -> findClassesForUri(baseUri, basePackageName, classFilter))
+		return classesPerUri
 				.flatMap(Collection::stream)
 				.distinct()
 				.collect(toList());
 		// @formatter:on
 	}
 
-	private List<Class<?>> findClassesForUri(URI baseUri, String basePackageName, ClassFilter classFilter) {
-		try (CloseablePath closeablePath = CloseablePath.create(baseUri)) {
-			Path baseDir = closeablePath.getPath();
-			return findClassesForPath(baseDir, basePackageName, classFilter);
+	ClasspathScanningScope openScope() {
+		return this.archiveCache.openScope();
+	}
+
+	private List<Class<?>> findClassesForUri(URI baseUri, String basePackageName, ClassFilter classFilter,
+			Supplier<ClassLoader> classLoaderSupplier, Function<Path, List<Class<?>>> pathScanner) {
+		try {
+			if (classFilter.isTestIndexEnabled()) {
+				Optional<URI> classpathRoot = determineClasspathRoot(baseUri, basePackageName);
+				Optional<List<String>> indexedClassNames = classpathRoot.flatMap(
+					root -> findIndexedClassNames(root, baseUri, basePackageName));
+				if (indexedClassNames.isPresent()) {
+					return findClassesForTestIndex(classpathRoot.get(), indexedClassNames.get(), classFilter,
+						classLoaderSupplier);
+				}
+			}
+			Optional<ArchiveRoot> archiveRoot = ArchiveRoot.from(baseUri);
+			if (archiveRoot.isPresent()) {
+				return findClassesForArchive(archiveRoot.get(), classFilter, classLoaderSupplier);
+			}
+			try (CloseablePath closeablePath = CloseablePath.create(baseUri)) {
+				Path baseDir = closeablePath.getPath();
+				return pathScanner.apply(baseDir);
+			}
 		}
 		catch (PreconditionViolationException ex) {
 			throw ex;
@@ -115,8 +201,8 @@ class ClasspathScanner {
 		Preconditions.condition(Files.exists(baseDir), () -> "baseDir must exist: " + baseDir);
 		List<Class<?>> classes = new ArrayList<>();
 		try {
-			Files.walkFileTree(baseDir, new ClassFileVisitor(
-				classFile -> processClassFileSafely(baseDir, basePackageName, classFilter, classFile, classes::add)));
+			Files.walkFileTree(baseDir, new ClassFileVisitor(classFile -> processClassFileSafely(baseDir,
+				basePackageName, classFilter, classFile, this::getClassLoader, classes::add)));
 		}
 		catch (IOException ex) {
 			logger.warn(ex, () -> "I/O error scanning files in " + baseDir);
@@ -124,14 +210,176 @@ class ClasspathScanner {
 		return classes;
 	}
 
+	/**
+	 * Determine the URI of the classpath root that contains the supplied base
+	 * URI of the supplied package.
+	 */
+	private static Optional<URI> determineClasspathRoot(URI baseUri, String basePackageName) {
+		if (basePackageName.isEmpty()) {
+			return Optional.of(baseUri);
+		}
+		String uri = baseUri.toString();
+		if (uri.endsWith(String.valueOf(CLASSPATH_RESOURCE_PATH_SEPARATOR))) {
+			uri = uri.substring(0, uri.length() - 1);
+		}
+		String packagePath = CLASSPATH_RESOURCE_PATH_SEPARATOR + packagePath(basePackageName);
+		if (!uri.endsWith(packagePath)) {
+			return Optional.empty();
+		}
+		return Optional.of(URI.create(uri.substring(0, uri.length() - packagePath.length() + 1)));
+	}
+
+	/**
+	 * Find the names of the classes of the supplied package listed in the
+	 * {@link TestIndex} of the supplied classpath root, if present.
+	 *
+	 * <p>The index is ignored and the classpath root is scanned as usual if
+	 * the index cannot be read, if it is older than the class files of an
+	 * archive or than the classpath root or base directory, or if one of the
+	 * listed classes does not exist in the classpath root.
+	 */
+	private Optional<List<String>> findIndexedClassNames(URI classpathRoot, URI baseUri, String basePackageName) {
+		try {
+			Optional<ArchiveRoot> archiveRoot = ArchiveRoot.from(classpathRoot);
+			if (archiveRoot.isPresent()) {
+				if (!archiveRoot.get().entryNamePrefix.isEmpty()) {
+					return Optional.empty();
+				}
+				return this.archiveCache.withArchive(archiveRoot.get().archive,
+					archive -> findIndexedClassNames(classpathRoot, archive, basePackageName));
+			}
+			if (FILE_URI_SCHEME.equals(classpathRoot.getScheme())) {
+				return findIndexedClassNames(classpathRoot, Paths.get(classpathRoot), Paths.get(baseUri),
+					basePackageName);
+			}
+		}
+		catch (Exception ex) {
+			logger.warn(ex, () -> "Failed to read test index of classpath root " + classpathRoot
+					+ "; scanning it for class files instead");
+		}
+		return Optional.empty();
+	}
+
+	private Optional<List<String>> findIndexedClassNames(URI classpathRoot, ZipFile archive, String basePackageName)
+			throws IOException {
+		ZipEntry indexEntry = archive.getEntry(TestIndex.RESOURCE_NAME);
+		if (indexEntry == null) {
+			return Optional.empty();
+		}
+		boolean stale = archive.stream().anyMatch(entry -> ClassFileVisitor.isCandidateClassFile(entry.getName())
+				&& entry.getTime() > indexEntry.getTime());
+		if (stale) {
+			logStaleTestIndex(classpathRoot);
+			return Optional.empty();
+		}
+		TestIndex testIndex;
+		try (Reader reader = new InputStreamReader(archive.getInputStream(indexEntry), UTF_8)) {
+			testIndex = TestIndex.read(reader);
+		}
+		return verifyIndexedClassNames(classpathRoot, testIndex.getClassNames(basePackageName),
+			resourceName -> archive.getEntry(resourceName) != null);
+	}
+
+	private Optional<List<String>> findIndexedClassNames(URI classpathRoot, Path rootDir, Path baseDir,
+			String basePackageName) throws IOException {
+		Path indexFile = rootDir.resolve(TestIndex.RESOURCE_NAME);
+		if (!Files.isRegularFile(indexFile)) {
+			return Optional.empty();
+		}
+		FileTime indexTime = Files.getLastModifiedTime(indexFile);
+		if (Files.getLastModifiedTime(rootDir).compareTo(indexTime) > 0
+				|| Files.getLastModifiedTime(baseDir).compareTo(indexTime) > 0) {
+			logStaleTestIndex(classpathRoot);
+			return Optional.empty();
+		}
+		TestIndex testIndex;
+		try (Reader reader = Files.newBufferedReader(indexFile, UTF_8)) {
+			testIndex = TestIndex.read(reader);
+		}
+		return verifyIndexedClassNames(classpathRoot, testIndex.getClassNames(basePackageName),
+			resourceName -> Files.isRegularFile(rootDir.resolve(resourceName)));
+	}
+
+	private Optional<List<String>> verifyIndexedClassNames(URI classpathRoot, List<String> classNames,
+			Predicate<String> classFileExists) {
+		for (String className : classNames) {
+			if (!classFileExists.test(packagePath(className) + CLASS_FILE_SUFFIX)) {
+				logger.info(() -> format("Test index of classpath root %s lists class %s which does not exist; "
+						+ "scanning it for class files instead",
+					classpathRoot, className));
+				return Optional.empty();
+			}
+		}
+		if (this.classpathRootsResolvedFromTestIndex.add(classpathRoot)) {
+			logger.info(() -> "Resolving classes of classpath root " + classpathRoot + " from its test index");
+		}
+		return Optional.of(classNames);
+	}
+
+	private static void logStaleTestIndex(URI classpathRoot) {
+		logger.info(() -> "Test index of classpath root " + classpathRoot
+				+ " is older than its class files; scanning it for class files instead");
+	}
+
+	/**
+	 * Load the supplied indexed classes instead of scanning the classpath root
+	 * for class files.
+	 */
+	private List<Class<?>> findClassesForTestIndex(URI classpathRoot, List<String> classNames,
+			ClassFilter classFilter, Supplier<ClassLoader> classLoaderSupplier) {
+		List<Class<?>> classes = new ArrayList<>();
+		for (String className : classNames) {
+			processClassFileSafely(classFilter, new IndexedClassFile(classpathRoot, className, classLoaderSupplier),
+				classLoaderSupplier, classes::add);
+		}
+		return classes;
+	}
+
+	/**
+	 * Scan the entries of an archive as listed in its central directory,
+	 * which avoids creating a zip {@link java.nio.file.FileSystem FileSystem}
+	 * per archive.
+	 */
+	private List<Class<?>> findClassesForArchive(ArchiveRoot archiveRoot, ClassFilter classFilter,
+			Supplier<ClassLoader> classLoaderSupplier) throws IOException {
+		return this.archiveCache.withArchive(archiveRoot.archive, archive -> {
+			// @formatter:off
+			List<ZipEntry> entries = archive.stream()
+					.filter(entry -> !entry.isDirectory())
+					.filter(entry -> entry.getName().startsWith(archiveRoot.entryNamePrefix))
+					.filter(entry -> ClassFileVisitor.isCandidateClassFile(entry.getName()))
+					.sorted(comparing(ZipEntry::getName))
+					.collect(toList());
+			// @formatter:on
+			List<Class<?>> classes = new ArrayList<>();
+			for (ZipEntry entry : entries) {
+				processClassFileSafely(classFilter, new ArchiveClassFile(archive, entry), classLoaderSupplier,
+					classes::add);
+			}
+			return classes;
+		});
+	}
+
+	private List<Class<?>> findClassesForPathInParallel(Path baseDir, String basePackageName, ClassFilter classFilter,
+			ClassLoader classLoader) {
+		Preconditions.condition(Files.exists(baseDir), () -> "baseDir must exist: " + baseDir);
+		return new DirectoryScanTask(baseDir, basePackageName, classFilter, classLoader, baseDir).invoke();
+	}
+
 	private void processClassFileSafely(Path baseDir, String basePackageName, ClassFilter classFilter, Path classFile,
-			Consumer<Class<?>> classConsumer) {
+			Supplier<ClassLoader> classLoaderSupplier, Consumer<Class<?>> classConsumer) {
+		processClassFileSafely(classFilter, new PathClassFile(baseDir, basePackageName, classFile),
+			classLoaderSupplier, classConsumer);
+	}
+
+	private void processClassFileSafely(ClassFilter classFilter, ClassFile classFile,
+			Supplier<ClassLoader> classLoaderSupplier, Consumer<Class<?>> classConsumer) {
 		try {
-			String fullyQualifiedClassName = determineFullyQualifiedClassName(baseDir, basePackageName, classFile);
-			if (classFilter.match(fullyQualifiedClassName)) {
+			String fullyQualifiedClassName = classFile.getClassName();
+			if (classFilter.match(fullyQualifiedClassName) && matchesClassFile(classFilter, classFile)) {
 				try {
 					// @formatter:off
-					loadClass.apply(fullyQualifiedClassName, getClassLoader())
+					loadClass.apply(fullyQualifiedClassName, classLoaderSupplier.get())
 							.toOptional()
 							.filter(classFilter) // Always use ".filter(classFilter)" to include future predicates.
 							.ifPresent(classConsumer);
@@ -147,6 +395,29 @@ class ClasspathScanner {
 		}
 	}
 
+	/**
+	 * Apply the class file predicate of the supplied filter, if any, to the
+	 * supplied class file so that rejected classes are never loaded.
+	 *
+	 * <p>If the class file cannot be read or parsed, the class is loaded and
+	 * filtered as usual.
+	 */
+	private boolean matchesClassFile(ClassFilter classFilter, ClassFile classFile) {
+		if (!classFilter.hasClassFilePredicate()) {
+			return true;
+		}
+		ClassFileInfo classFileInfo;
+		try {
+			classFileInfo = ClassFileInfo.read(classFile.readBytes());
+		}
+		catch (IOException ex) {
+			logger.debug(ex,
+				() -> format("Failed to read class file [%s] during classpath scanning.", classFile.getLocation()));
+			return true;
+		}
+		return classFilter.match(classFileInfo);
+	}
+
 	private String determineFullyQualifiedClassName(Path baseDir, String basePackageName, Path classFile) {
 		// @formatter:off
 		return Stream.of(
@@ -175,7 +446,7 @@ class ClasspathScanner {
 		return subpackageName;
 	}
 
-	private void handleInternalError(Path classFile, String fullyQualifiedClassName, InternalError ex) {
+	private void handleInternalError(ClassFile classFile, String fullyQualifiedClassName, InternalError ex) {
 		if (MALFORMED_CLASS_NAME_ERROR_MESSAGE.equals(ex.getMessage())) {
 			logMalformedClassName(classFile, fullyQualifiedClassName, ex);
 		}
@@ -184,15 +455,15 @@ class ClasspathScanner {
 		}
 	}
 
-	private void handleThrowable(Path classFile, Throwable throwable) {
+	private void handleThrowable(ClassFile classFile, Throwable throwable) {
 		rethrowIfBlacklisted(throwable);
 		logGenericFileProcessingException(classFile, throwable);
 	}
 
-	private void logMalformedClassName(Path classFile, String fullyQualifiedClassName, InternalError ex) {
+	private void logMalformedClassName(ClassFile classFile, String fullyQualifiedClassName, InternalError ex) {
 		try {
 			logger.debug(ex, () -> format("The java.lang.Class loaded from path [%s] has a malformed class name [%s].",
-				classFile.toAbsolutePath(), fullyQualifiedClassName));
+				classFile.getLocation(), fullyQualifiedClassName));
 		}
 		catch (Throwable t) {
 			rethrowIfBlacklisted(t);
@@ -201,15 +472,32 @@ class ClasspathScanner {
 		}
 	}
 
-	private void logGenericFileProcessingException(Path classFile, Throwable throwable) {
+	private void logGenericFileProcessingException(ClassFile classFile, Throwable throwable) {
 		logger.debug(throwable, () -> format("Failed to load java.lang.Class for path [%s] during classpath scanning.",
-			classFile.toAbsolutePath()));
+			classFile.getLocation()));
 	}
 
 	private ClassLoader getClassLoader() {
 		return this.classLoaderSupplier.get();
 	}
 
+	/**
+	 * Read all bytes of the supplied stream and close it.
+	 *
+	 * @param expectedSize the expected number of bytes or {@code -1} if unknown
+	 */
+	private static byte[] readAllBytes(InputStream inputStream, long expectedSize) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(expectedSize < 0 ? 1024 : (int) expectedSize);
+		try (InputStream in = inputStream) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+		}
+		return out.toByteArray();
+	}
+
 	private static String packagePath(String packageName) {
 		return packageName.replace(PACKAGE_SEPARATOR_CHAR, CLASSPATH_RESOURCE_PATH_SEPARATOR);
 	}
@@ -230,4 +518,243 @@ class ClasspathScanner {
 		}
 	}
 
+	/**
+	 * Scans a single directory: subdirectories are scanned by forked tasks
+	 * while the class files of the directory itself are processed by the
+	 * current thread. The results are joined in the order of the names of the
+	 * directory's entries to make them independent of thread scheduling.
+	 */
+	// this class cannot be serialized because Path and ClassLoader are not Serializable
+	@SuppressWarnings("serial")
+	private class DirectoryScanTask extends RecursiveTask<List<Class<?>>> {
+
+		private final Path baseDir;
+		private final String basePackageName;
+		private final ClassFilter classFilter;
+		private final ClassLoader classLoader;
+		private final Path directory;
+
+		DirectoryScanTask(Path baseDir, String basePackageName, ClassFilter classFilter, ClassLoader classLoader,
+				Path directory) {
+			this.baseDir = baseDir;
+			this.basePackageName = basePackageName;
+			this.classFilter = classFilter;
+			this.classLoader = classLoader;
+			this.directory = directory;
+		}
+
+		@Override
+		protected List<Class<?>> compute() {
+			List<Path> entries = listEntriesSortedByName();
+			List<DirectoryScanTask> subtasks = new ArrayList<>(entries.size());
+			for (Path entry : entries) {
+				// Like Files.walkFileTree(), do not follow symbolic links to directories
+				if (Files.isDirectory(entry, NOFOLLOW_LINKS)) {
+					DirectoryScanTask subtask = new DirectoryScanTask(this.baseDir, this.basePackageName,
+						this.classFilter, this.classLoader, entry);
+					subtask.fork();
+					subtasks.add(subtask);
+				}
+				else {
+					subtasks.add(null);
+				}
+			}
+			List<Class<?>> classes = new ArrayList<>();
+			for (int i = 0; i < entries.size(); i++) {
+				DirectoryScanTask subtask = subtasks.get(i);
+				if (subtask != null) {
+					classes.addAll(subtask.join());
+				}
+				else if (ClassFileVisitor.isCandidateClassFile(entries.get(i))) {
+					processClassFileSafely(this.baseDir, this.basePackageName, this.classFilter, entries.get(i),
+						() -> this.classLoader, classes::add);
+				}
+			}
+			return classes;
+		}
+
+		private List<Path> listEntriesSortedByName() {
+			List<Path> entries = new ArrayList<>();
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+				stream.forEach(entries::add);
+			}
+			catch (IOException | DirectoryIteratorException ex) {
+				logger.warn(ex, () -> "I/O error visiting directory: " + this.directory);
+			}
+			entries.sort(comparing(Path::toString));
+			return entries;
+		}
+	}
+
+	/**
+	 * A class file found in a directory or an archive.
+	 */
+	private interface ClassFile {
+
+		String getClassName();
+
+		byte[] readBytes() throws IOException;
+
+		/**
+		 * Get the location of the class file for use in log messages.
+		 */
+		Object getLocation();
+
+	}
+
+	private class PathClassFile implements ClassFile {
+
+		private final Path baseDir;
+		private final String basePackageName;
+		private final Path classFile;
+
+		PathClassFile(Path baseDir, String basePackageName, Path classFile) {
+			this.baseDir = baseDir;
+			this.basePackageName = basePackageName;
+			this.classFile = classFile;
+		}
+
+		@Override
+		public String getClassName() {
+			return determineFullyQualifiedClassName(this.baseDir, this.basePackageName, this.classFile);
+		}
+
+		@Override
+		public byte[] readBytes() throws IOException {
+			return Files.readAllBytes(this.classFile);
+		}
+
+		@Override
+		public Object getLocation() {
+			return this.classFile.toAbsolutePath();
+		}
+	}
+
+	private static class ArchiveClassFile implements ClassFile {
+
+		private final ZipFile archive;
+		private final ZipEntry entry;
+
+		ArchiveClassFile(ZipFile archive, ZipEntry entry) {
+			this.archive = archive;
+			this.entry = entry;
+		}
+
+		@Override
+		public String getClassName() {
+			String entryName = this.entry.getName();
+			return entryName.substring(0, entryName.length() - CLASS_FILE_SUFFIX.length()).replace(
+				CLASSPATH_RESOURCE_PATH_SEPARATOR, PACKAGE_SEPARATOR_CHAR);
+		}
+
+		@Override
+		public byte[] readBytes() throws IOException {
+			return readAllBytes(this.archive.getInputStream(this.entry), this.entry.getSize());
+		}
+
+		@Override
+		public Object getLocation() {
+			return this.archive.getName() + JAR_URI_SEPARATOR + CLASSPATH_RESOURCE_PATH_SEPARATOR
+					+ this.entry.getName();
+		}
+	}
+
+	/**
+	 * A class listed in a {@link TestIndex} whose class file is read as a
+	 * resource from the class loader used to load it.
+	 */
+	private static class IndexedClassFile implements ClassFile {
+
+		private final URI classpathRoot;
+		private final String className;
+		private final Supplier<ClassLoader> classLoaderSupplier;
+
+		IndexedClassFile(URI classpathRoot, String className, Supplier<ClassLoader> classLoaderSupplier) {
+			this.classpathRoot = classpathRoot;
+			this.className = className;
+			this.classLoaderSupplier = classLoaderSupplier;
+		}
+
+		@Override
+		public String getClassName() {
+			return this.className;
+		}
+
+		@Override
+		public byte[] readBytes() throws IOException {
+			InputStream in = this.classLoaderSupplier.get().getResourceAsStream(getResourceName());
+			if (in == null) {
+				throw new IOException("Class file not found: " + getResourceName());
+			}
+			return readAllBytes(in, -1);
+		}
+
+		@Override
+		public Object getLocation() {
+			return this.classpathRoot + getResourceName();
+		}
+
+		private String getResourceName() {
+			return packagePath(this.className) + CLASS_FILE_SUFFIX;
+		}
+	}
+
+	/**
+	 * An archive in the local file system and the prefix of the names of the
+	 * entries to scan, i.e. the path of the base package within the archive.
+	 */
+	private static class ArchiveRoot {
+
+		/**
+		 * Create an {@code ArchiveRoot} for the supplied URI if it denotes a
+		 * JAR file in the local file system or a directory within one.
+		 *
+		 * <p>Other URIs, e.g. of nested archives, are not supported and
+		 * result in an empty {@code Optional}.
+		 */
+		static Optional<ArchiveRoot> from(URI uri) throws URISyntaxException {
+			URI archiveUri = uri;
+			String entryNamePrefix = "";
+			if (JAR_URI_SCHEME.equals(uri.getScheme())) {
+				String schemeSpecificPart = uri.getRawSchemeSpecificPart();
+				int separatorIndex = schemeSpecificPart.indexOf(JAR_URI_SEPARATOR);
+				if (separatorIndex < 0 || schemeSpecificPart.indexOf(JAR_URI_SEPARATOR, separatorIndex + 1) >= 0) {
+					return Optional.empty();
+				}
+				archiveUri = new URI(schemeSpecificPart.substring(0, separatorIndex));
+				entryNamePrefix = toEntryNamePrefix(schemeSpecificPart.substring(separatorIndex + 1));
+			}
+			else if (!FILE_URI_SCHEME.equals(uri.getScheme()) || !uri.getPath().endsWith(JAR_FILE_EXTENSION)) {
+				return Optional.empty();
+			}
+			if (!FILE_URI_SCHEME.equals(archiveUri.getScheme())) {
+				return Optional.empty();
+			}
+			Path archive = Paths.get(archiveUri);
+			if (!Files.isRegularFile(archive)) {
+				return Optional.empty();
+			}
+			return Optional.of(new ArchiveRoot(archive, entryNamePrefix));
+		}
+
+		private static String toEntryNamePrefix(String path) {
+			String prefix = path;
+			while (prefix.startsWith(String.valueOf(CLASSPATH_RESOURCE_PATH_SEPARATOR))) {
+				prefix = prefix.substring(1);
+			}
+			if (!prefix.isEmpty() && prefix.charAt(prefix.length() - 1) != CLASSPATH_RESOURCE_PATH_SEPARATOR) {
+				prefix += CLASSPATH_RESOURCE_PATH_SEPARATOR;
+			}
+			return prefix;
+		}
+
+		private final Path archive;
+		private final String entryNamePrefix;
+
+		private ArchiveRoot(Path archive, String entryNamePrefix) {
+			this.archive = archive;
+			this.entryNamePrefix = entryNamePrefix;
+		}
+	}
+
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.util;
+
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import org.apiguardian.api.API;
+
+/**
+ * Scope during which the archives opened while scanning the classpath via
+ * {@link ReflectionUtils} remain open and are reused by subsequent scans.
+ *
+ * <p>Scopes may be nested and may be opened concurrently. The archives are
+ * closed once the last open scope has been closed.
+ *
+ * <h3>DISCLAIMER</h3>
+ *
+ * <p>These utilities are intended solely for usage within the JUnit framework
+ * itself. <strong>Any usage by external parties is not supported.</strong>
+ * Use at your own risk!
+ *
+ * @since 1.4
+ * @see ReflectionUtils#openClasspathScanningScope()
+ */
+@API(status = INTERNAL, since = "1.4")
+public interface ClasspathScanningScope extends AutoCloseable {
+
+	/**
+	 * Close this scope and, if it was the last open scope, all archives that
+	 * were opened while it was open.
+	 */
+	@Override
+	void close();
+
+}
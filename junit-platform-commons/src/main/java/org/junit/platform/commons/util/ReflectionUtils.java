@@ -45,6 +45,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -119,6 +121,19 @@ public final class ReflectionUtils {
 	private static final ClasspathScanner classpathScanner = new ClasspathScanner(
 		ClassLoaderUtils::getDefaultClassLoader, ReflectionUtils::tryToLoadClass);
 
+	/**
+	 * Maximum number of classes whose sorted members are cached.
+	 */
+	private static final int MAX_CLASSES_WITH_CACHED_MEMBERS = 8192;
+
+	/**
+	 * Internal cache of the sorted declared and hierarchical members per class.
+	 *
+	 * @since 1.4
+	 */
+	private static final BoundedClassCache<ClassMembers> classMembersCache = new BoundedClassCache<>(
+		MAX_CLASSES_WITH_CACHED_MEMBERS, ClassMembers::new);
+
 	/**
 	 * Internal cache of common class names mapped to their types.
 	 */
@@ -919,6 +934,19 @@ public final class ReflectionUtils {
 		return Collections.unmodifiableList(classpathScanner.scanForClassesInPackage(basePackageName, classFilter));
 	}
 
+	/**
+	 * Open a scope during which the archives opened by
+	 * {@link #findAllClassesInClasspathRoot} and {@link #findAllClassesInPackage}
+	 * remain open and are reused until the scope is closed.
+	 *
+	 * @since 1.4
+	 * @see ClasspathScanningScope
+	 */
+	@API(status = INTERNAL, since = "1.4")
+	public static ClasspathScanningScope openClasspathScanningScope() {
+		return classpathScanner.openScope();
+	}
+
 	/**
 	 * @since 1.1.1
 	 * @see org.junit.platform.commons.support.ReflectionSupport#findAllClassesInModule(String, Predicate, Predicate)
@@ -1041,6 +1069,10 @@ public final class ReflectionUtils {
 		Preconditions.notNull(clazz, "Class must not be null");
 		Preconditions.notNull(traversalMode, "HierarchyTraversalMode must not be null");
 
+		return classMembersCache.get(clazz).getFieldsInHierarchy(traversalMode);
+	}
+
+	private static List<Field> computeAllFieldsInHierarchy(Class<?> clazz, HierarchyTraversalMode traversalMode) {
 		// @formatter:off
 		List<Field> localFields = getDeclaredFields(clazz).stream()
 				.filter(field -> !field.isSynthetic())
@@ -1246,6 +1278,10 @@ public final class ReflectionUtils {
 		Preconditions.notNull(clazz, "Class must not be null");
 		Preconditions.notNull(traversalMode, "HierarchyTraversalMode must not be null");
 
+		return classMembersCache.get(clazz).getMethodsInHierarchy(traversalMode);
+	}
+
+	private static List<Method> computeAllMethodsInHierarchy(Class<?> clazz, HierarchyTraversalMode traversalMode) {
 		// @formatter:off
 		List<Method> localMethods = getDeclaredMethods(clazz, traversalMode).stream()
 				.filter(method -> !method.isSynthetic())
@@ -1289,21 +1325,25 @@ public final class ReflectionUtils {
 
 	/**
 	 * Custom alternative to {@link Class#getMethods()} that sorts the methods
-	 * and converts them to a mutable list.
+	 * and caches them in an unmodifiable list.
 	 */
 	private static List<Method> getMethods(Class<?> clazz) {
-		return toSortedMutableList(clazz.getMethods());
+		return classMembersCache.get(clazz).getMethods();
 	}
 
 	/**
 	 * Custom alternative to {@link Class#getDeclaredMethods()} that sorts the
-	 * methods and converts them to a mutable list.
+	 * methods and caches them in an unmodifiable list.
 	 *
 	 * <p>In addition, the list returned by this method includes interface
 	 * default methods which are either prepended or appended to the list of
 	 * declared methods depending on the supplied traversal mode.
 	 */
 	private static List<Method> getDeclaredMethods(Class<?> clazz, HierarchyTraversalMode traversalMode) {
+		return classMembersCache.get(clazz).getDeclaredMethods(traversalMode);
+	}
+
+	private static List<Method> computeDeclaredMethods(Class<?> clazz, HierarchyTraversalMode traversalMode) {
 		// Note: getDefaultMethods() already sorts the methods,
 		List<Method> defaultMethods = getDefaultMethods(clazz);
 		List<Method> declaredMethods = toSortedMutableList(clazz.getDeclaredMethods());
@@ -1557,4 +1597,68 @@ public final class ReflectionUtils {
 		return t;
 	}
 
+	/**
+	 * Sorted declared and hierarchical members of a single class that are
+	 * computed lazily per {@link HierarchyTraversalMode} and cached in
+	 * unmodifiable lists.
+	 *
+	 * <p>Threads racing to compute the same members compute equal lists; only
+	 * the first one is retained.
+	 *
+	 * @since 1.4
+	 */
+	private static final class ClassMembers {
+
+		private final Class<?> clazz;
+		private final Map<HierarchyTraversalMode, List<Method>> declaredMethods = new ConcurrentHashMap<>(2);
+		private final Map<HierarchyTraversalMode, List<Method>> methodsInHierarchy = new ConcurrentHashMap<>(2);
+		private final Map<HierarchyTraversalMode, List<Field>> fieldsInHierarchy = new ConcurrentHashMap<>(2);
+		private volatile List<Method> methods;
+
+		ClassMembers(Class<?> clazz) {
+			this.clazz = clazz;
+		}
+
+		List<Method> getMethods() {
+			List<Method> result = this.methods;
+			if (result == null) {
+				result = Collections.unmodifiableList(toSortedMutableList(this.clazz.getMethods()));
+				this.methods = result;
+			}
+			return result;
+		}
+
+		List<Method> getDeclaredMethods(HierarchyTraversalMode traversalMode) {
+			return getOrCompute(this.declaredMethods, traversalMode,
+				mode -> computeDeclaredMethods(this.clazz, mode));
+		}
+
+		List<Method> getMethodsInHierarchy(HierarchyTraversalMode traversalMode) {
+			return getOrCompute(this.methodsInHierarchy, traversalMode,
+				mode -> computeAllMethodsInHierarchy(this.clazz, mode));
+		}
+
+		List<Field> getFieldsInHierarchy(HierarchyTraversalMode traversalMode) {
+			return getOrCompute(this.fieldsInHierarchy, traversalMode,
+				mode -> computeAllFieldsInHierarchy(this.clazz, mode));
+		}
+
+		/**
+		 * Not using {@link Map#computeIfAbsent} since computing the members
+		 * of a class recursively computes the members of its superclasses.
+		 */
+		private static <T> List<T> getOrCompute(Map<HierarchyTraversalMode, List<T>> cache,
+				HierarchyTraversalMode traversalMode, Function<HierarchyTraversalMode, List<T>> computer) {
+			List<T> members = cache.get(traversalMode);
+			if (members == null) {
+				members = Collections.unmodifiableList(computer.apply(traversalMode));
+				List<T> previous = cache.putIfAbsent(traversalMode, members);
+				if (previous != null) {
+					members = previous;
+				}
+			}
+			return members;
+		}
+	}
+
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.util;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+import static org.apiguardian.api.API.Status.INTERNAL;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.apiguardian.api.API;
+
+/**
+ * Index of the candidate test classes of a classpath root that is generated
+ * at build time and consulted by {@link ReflectionUtils} instead of scanning
+ * the classpath root for class files.
+ *
+ * <p>The index is stored as the {@value #RESOURCE_NAME} resource in the
+ * classpath root, i.e. the directory or JAR file, it describes. It is a UTF-8
+ * encoded text file that contains one line per candidate test class. Each
+ * line consists of up to three tab-separated columns:
+ *
+ * <ol>
+ * <li>the fully qualified name of the class</li>
+ * <li>the comma-separated fully qualified names of the annotation types
+ * present on the class or its methods (optional)</li>
+ * <li>the comma-separated tags of the class (optional)</li>
+ * </ol>
+ *
+ * <p>Blank lines and lines starting with {@code #} are ignored.
+ *
+ * <h3>DISCLAIMER</h3>
+ *
+ * <p>These utilities are intended solely for usage within the JUnit framework
+ * itself. <strong>Any usage by external parties is not supported.</strong>
+ * Use at your own risk!
+ *
+ * @since 1.4
+ * @see org.junit.platform.commons.support.TestIndexGenerator
+ */
+@API(status = INTERNAL, since = "1.4")
+public final class TestIndex {
+
+	/**
+	 * Name of the resource that contains the index within a classpath root:
+	 * {@value}
+	 */
+	public static final String RESOURCE_NAME = "META-INF/junit-platform/test-index";
+
+	private static final String HEADER = "# JUnit Platform test index";
+	private static final String COMMENT_PREFIX = "#";
+	private static final char COLUMN_SEPARATOR = '\t';
+	private static final String VALUE_SEPARATOR = ",";
+
+	/**
+	 * Create a {@code TestIndex} containing the supplied entries.
+	 */
+	public static TestIndex from(List<Entry> entries) {
+		Preconditions.notNull(entries, "entries must not be null");
+		Preconditions.containsNoNullElements(entries, "entries must not contain null elements");
+		return new TestIndex(new ArrayList<>(entries));
+	}
+
+	/**
+	 * Read a {@code TestIndex} from the supplied reader.
+	 *
+	 * @throws IOException if reading fails or a line contains more than three
+	 * columns
+	 */
+	public static TestIndex read(Reader reader) throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		BufferedReader bufferedReader = new BufferedReader(reader);
+		String line;
+		int lineNumber = 0;
+		while ((line = bufferedReader.readLine()) != null) {
+			lineNumber++;
+			if (StringUtils.isBlank(line) || line.startsWith(COMMENT_PREFIX)) {
+				continue;
+			}
+			String[] columns = line.split(String.valueOf(COLUMN_SEPARATOR), -1);
+			if (columns.length > 3 || StringUtils.isBlank(columns[0])) {
+				throw new IOException("Malformed test index entry in line " + lineNumber + ": " + line);
+			}
+			entries.add(new Entry(columns[0].trim(), splitValues(columns, 1), splitValues(columns, 2)));
+		}
+		return new TestIndex(entries);
+	}
+
+	private static List<String> splitValues(String[] columns, int index) {
+		if (columns.length <= index || StringUtils.isBlank(columns[index])) {
+			return emptyList();
+		}
+		// @formatter:off
+		return Arrays.stream(columns[index].split(VALUE_SEPARATOR))
+				.map(String::trim)
+				.filter(StringUtils::isNotBlank)
+				.collect(toList());
+		// @formatter:on
+	}
+
+	private final List<Entry> entries;
+
+	private TestIndex(List<Entry> entries) {
+		this.entries = unmodifiableList(entries);
+	}
+
+	/**
+	 * Get the entries of this index in the order in which they were added or
+	 * read.
+	 */
+	public List<Entry> getEntries() {
+		return this.entries;
+	}
+
+	/**
+	 * Get the names of all indexed classes in the supplied package or any of
+	 * its subpackages.
+	 *
+	 * @param basePackageName the name of the base package; an empty string
+	 * denotes the default package and matches all classes
+	 */
+	public List<String> getClassNames(String basePackageName) {
+		String prefix = basePackageName.isEmpty() ? "" : basePackageName + ".";
+		// @formatter:off
+		return this.entries.stream()
+				.map(Entry::getClassName)
+				.filter(className -> className.startsWith(prefix))
+				.collect(toList());
+		// @formatter:on
+	}
+
+	/**
+	 * Write this index to the supplied writer.
+	 */
+	public void write(Writer writer) throws IOException {
+		writer.write(HEADER);
+		writer.write('\n');
+		for (Entry entry : this.entries) {
+			writer.write(entry.getClassName());
+			if (!entry.getAnnotationTypeNames().isEmpty() || !entry.getTags().isEmpty()) {
+				writer.write(COLUMN_SEPARATOR);
+				writer.write(String.join(VALUE_SEPARATOR, entry.getAnnotationTypeNames()));
+			}
+			if (!entry.getTags().isEmpty()) {
+				writer.write(COLUMN_SEPARATOR);
+				writer.write(String.join(VALUE_SEPARATOR, entry.getTags()));
+			}
+			writer.write('\n');
+		}
+		writer.flush();
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this).append("entries", this.entries).toString();
+	}
+
+	/**
+	 * Entry of a {@link TestIndex} describing a single candidate test class.
+	 */
+	public static final class Entry {
+
+		/**
+		 * Create an {@code Entry} for the supplied class name, annotation
+		 * type names, and tags.
+		 *
+		 * @param className the fully qualified name of the class; never
+		 * {@code null} or blank
+		 * @param annotationTypeNames the fully qualified names of the
+		 * annotation types present on the class or its methods; never
+		 * {@code null}
+		 * @param tags the tags of the class; never {@code null}
+		 */
+		public static Entry of(String className, Collection<String> annotationTypeNames, Collection<String> tags) {
+			Preconditions.notBlank(className, "className must not be null or blank");
+			Preconditions.condition(!containsSeparator(className), "className must not contain separators");
+			return new Entry(className.trim(), validatedValues(annotationTypeNames, "annotationTypeNames"),
+				validatedValues(tags, "tags"));
+		}
+
+		private static List<String> validatedValues(Collection<String> values, String name) {
+			Preconditions.notNull(values, () -> name + " must not be null");
+			// Remove duplicates while retaining the order
+			List<String> result = new ArrayList<>(new LinkedHashSet<>(values));
+			result.forEach(value -> {
+				Preconditions.notBlank(value, () -> name + " must not contain null or blank elements");
+				Preconditions.condition(!containsSeparator(value), () -> name + " must not contain separators");
+			});
+			return result;
+		}
+
+		private static boolean containsSeparator(String value) {
+			return value.indexOf(COLUMN_SEPARATOR) >= 0 || value.contains(VALUE_SEPARATOR) || value.indexOf('\n') >= 0
+					|| value.indexOf('\r') >= 0;
+		}
+
+		private final String className;
+		private final List<String> annotationTypeNames;
+		private final List<String> tags;
+
+		private Entry(String className, List<String> annotationTypeNames, List<String> tags) {
+			this.className = className;
+			this.annotationTypeNames = unmodifiableList(annotationTypeNames);
+			this.tags = unmodifiableList(tags);
+		}
+
+		public String getClassName() {
+			return this.className;
+		}
+
+		public List<String> getAnnotationTypeNames() {
+			return this.annotationTypeNames;
+		}
+
+		public List<String> getTags() {
+			return this.tags;
+		}
+
+		@Override
+		public String toString() {
+			// @formatter:off
+			return new ToStringBuilder(this)
+					.append("className", this.className)
+					.append("annotationTypeNames", this.annotationTypeNames)
+					.append("tags", this.tags)
+					.toString();
+			// @formatter:on
+		}
+	}
+
+}
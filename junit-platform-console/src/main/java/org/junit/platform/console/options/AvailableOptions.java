@@ -84,6 +84,10 @@ class AvailableOptions {
 	@Option(names = "-reports-dir", hidden = true)
 	private Path reportsDir2;
 
+	@Option(names = "--reports-per-class", description = "EXPERIMENTAL: Write a separate report for each test class "
+			+ "as soon as it has finished instead of one report per engine.")
+	private boolean reportPerClass; // no single-dash equivalent: was introduced in 1.4
+
 	// --- Java Platform Module System -------------------------------------
 
 	@Option(names = "--scan-modules", description = "EXPERIMENTAL: Scan all resolved modules for test discovery.")
@@ -229,6 +233,18 @@ class AvailableOptions {
 	@Option(names = { "--E", "-exclude-engine" }, arity = "1", hidden = true)
 	private List<String> excludedEngines2 = new ArrayList<>();
 
+	@Option(names = "--shard-index", paramLabel = "INDEX", description = "Provide the zero-based index of the shard "
+			+ "whose tests should be executed. Requires --shard-count.")
+	private Integer shardIndex; // no single-dash equivalent: was introduced in 1.4
+
+	@Option(names = "--shard-count", paramLabel = "COUNT", description = "Provide the total number of shards the "
+			+ "top-level containers of each engine are split into. Requires --shard-index.")
+	private Integer shardCount;
+
+	@Option(names = "--shard-history-file", paramLabel = "FILE", description = "Provide the execution history file "
+			+ "used to balance the durations of shards. If not provided, shards are assigned by hashing.")
+	private Path shardHistoryFile;
+
 	// --- Configuration Parameters ----------------------------------------
 
 	// Implementation note: the @Option annotation is on a setter method to allow validation.
@@ -293,6 +309,7 @@ class AvailableOptions {
 
 		// Reports
 		result.setReportsDir(choose(this.reportsDir, this.reportsDir2, null));
+		result.setReportPerClass(this.reportPerClass);
 
 		// Java Platform Module System
 		result.setScanModulepath(this.scanModulepath || this.scanModulepath2);
@@ -318,6 +335,9 @@ class AvailableOptions {
 		result.setExcludedTagExpressions(merge(this.excludedTags, this.excludedTags2));
 		result.setIncludedEngines(merge(this.includedEngines, this.includedEngines2));
 		result.setExcludedEngines(merge(this.excludedEngines, this.excludedEngines2));
+		result.setShardIndex(this.shardIndex);
+		result.setShardCount(this.shardCount);
+		result.setShardHistoryFile(this.shardHistoryFile);
 
 		// Configuration Parameters
 		result.setConfigurationParameters(this.configurationParameters);
@@ -67,7 +67,12 @@ public class CommandLineOptions {
 	private List<String> includedTagExpressions = emptyList();
 	private List<String> excludedTagExpressions = emptyList();
 
+	private Integer shardIndex;
+	private Integer shardCount;
+	private Path shardHistoryFile;
+
 	private Path reportsDir;
+	private boolean reportPerClass;
 
 	private Map<String, String> configurationParameters = emptyMap();
 
@@ -278,6 +283,30 @@ public class CommandLineOptions {
 		this.excludedTagExpressions = excludedTags;
 	}
 
+	public Optional<Integer> getShardIndex() {
+		return Optional.ofNullable(this.shardIndex);
+	}
+
+	public void setShardIndex(Integer shardIndex) {
+		this.shardIndex = shardIndex;
+	}
+
+	public Optional<Integer> getShardCount() {
+		return Optional.ofNullable(this.shardCount);
+	}
+
+	public void setShardCount(Integer shardCount) {
+		this.shardCount = shardCount;
+	}
+
+	public Optional<Path> getShardHistoryFile() {
+		return Optional.ofNullable(this.shardHistoryFile);
+	}
+
+	public void setShardHistoryFile(Path shardHistoryFile) {
+		this.shardHistoryFile = shardHistoryFile;
+	}
+
 	public Optional<Path> getReportsDir() {
 		return Optional.ofNullable(this.reportsDir);
 	}
@@ -286,6 +315,14 @@ public class CommandLineOptions {
 		this.reportsDir = reportsDir;
 	}
 
+	public boolean isReportPerClass() {
+		return this.reportPerClass;
+	}
+
+	public void setReportPerClass(boolean reportPerClass) {
+		this.reportPerClass = reportPerClass;
+	}
+
 	public Map<String, String> getConfigurationParameters() {
 		return this.configurationParameters;
 	}
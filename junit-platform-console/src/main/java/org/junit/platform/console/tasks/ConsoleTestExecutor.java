@@ -123,7 +123,9 @@ public class ConsoleTestExecutor {
 	}
 
 	private Optional<TestExecutionListener> createXmlWritingListener(PrintWriter out) {
-		return options.getReportsDir().map(reportsDir -> new LegacyXmlReportGeneratingListener(reportsDir, out));
+		return options.getReportsDir().map(reportsDir -> options.isReportPerClass() //
+				? LegacyXmlReportGeneratingListener.perClass(reportsDir, out)
+				: new LegacyXmlReportGeneratingListener(reportsDir, out));
 	}
 
 	private void printSummary(TestExecutionSummary summary, PrintWriter out) {
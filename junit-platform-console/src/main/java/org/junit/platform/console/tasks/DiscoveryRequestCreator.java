@@ -18,6 +18,7 @@ import static org.junit.platform.engine.discovery.PackageNameFilter.excludePacka
 import static org.junit.platform.engine.discovery.PackageNameFilter.includePackageNames;
 import static org.junit.platform.launcher.EngineFilter.excludeEngines;
 import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.ShardingFilter.includeShard;
 import static org.junit.platform.launcher.TagFilter.excludeTags;
 import static org.junit.platform.launcher.TagFilter.includeTags;
 import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
@@ -26,6 +27,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.junit.platform.commons.util.ModuleUtils;
@@ -125,6 +127,17 @@ class DiscoveryRequestCreator {
 		if (!options.getExcludedEngines().isEmpty()) {
 			requestBuilder.filters(excludeEngines(options.getExcludedEngines()));
 		}
+
+		Optional<Integer> shardIndex = options.getShardIndex();
+		Optional<Integer> shardCount = options.getShardCount();
+		Preconditions.condition(shardIndex.isPresent() == shardCount.isPresent(),
+			"--shard-index and --shard-count must be specified together");
+		if (shardIndex.isPresent() && shardCount.isPresent()) {
+			Optional<Path> historyFile = options.getShardHistoryFile();
+			requestBuilder.filters(historyFile.isPresent() //
+					? includeShard(shardIndex.get(), shardCount.get(), historyFile.get())
+					: includeShard(shardIndex.get(), shardCount.get()));
+		}
 	}
 
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.BlacklistedExceptions;
+import org.junit.platform.commons.util.Preconditions;
+
+/**
+ * Token that allows the caller of a {@link TestEngine} to request the
+ * cancellation of an {@linkplain ExecutionRequest execution request}.
+ *
+ * <p>Cancellation is cooperative: engines should check
+ * {@link #isCancellationRequested()} before starting the execution of a test
+ * or container and report tests and containers that have not been started
+ * as {@linkplain EngineExecutionListener#executionSkipped skipped}. Engines
+ * may additionally {@linkplain #addCancellationCallback register callbacks},
+ * e.g. to interrupt threads executing tests.
+ *
+ * @since 1.4
+ * @see ExecutionRequest#getCancellationToken()
+ */
+@API(status = EXPERIMENTAL, since = "1.4")
+public final class CancellationToken {
+
+	private static final Logger logger = LoggerFactory.getLogger(CancellationToken.class);
+
+	/**
+	 * Create a new {@code CancellationToken} for which cancellation has not
+	 * been requested yet.
+	 */
+	public static CancellationToken create() {
+		return new CancellationToken();
+	}
+
+	private final List<Runnable> callbacks = new ArrayList<>();
+	private volatile boolean cancellationRequested;
+
+	private CancellationToken() {
+	}
+
+	/**
+	 * Request cancellation and invoke all registered callbacks.
+	 *
+	 * <p>Subsequent invocations of this method have no effect.
+	 */
+	public void cancel() {
+		List<Runnable> callbacksToInvoke;
+		synchronized (this.callbacks) {
+			if (this.cancellationRequested) {
+				return;
+			}
+			this.cancellationRequested = true;
+			callbacksToInvoke = new ArrayList<>(this.callbacks);
+			this.callbacks.clear();
+		}
+		callbacksToInvoke.forEach(CancellationToken::invoke);
+	}
+
+	/**
+	 * Determine if cancellation has been requested.
+	 */
+	public boolean isCancellationRequested() {
+		return this.cancellationRequested;
+	}
+
+	/**
+	 * Register a callback that is invoked when cancellation is requested.
+	 *
+	 * <p>If cancellation has already been requested, the callback is invoked
+	 * immediately in the calling thread.
+	 *
+	 * @param callback the callback to register; never {@code null}
+	 */
+	public void addCancellationCallback(Runnable callback) {
+		Preconditions.notNull(callback, "callback must not be null");
+		synchronized (this.callbacks) {
+			if (!this.cancellationRequested) {
+				this.callbacks.add(callback);
+				return;
+			}
+		}
+		invoke(callback);
+	}
+
+	private static void invoke(Runnable callback) {
+		try {
+			callback.run();
+		}
+		catch (Throwable t) {
+			BlacklistedExceptions.rethrowIfBlacklisted(t);
+			logger.warn(t, () -> "Cancellation callback failed");
+		}
+	}
+
+}
@@ -10,6 +10,7 @@
 
 package org.junit.platform.engine;
 
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
@@ -20,9 +21,10 @@ import org.apiguardian.api.API;
  * execute its tests.
  *
  * <p>A request contains an engine's root {@link TestDescriptor}, the
- * {@link EngineExecutionListener} to be notified of test execution events, and
+ * {@link EngineExecutionListener} to be notified of test execution events,
  * {@link ConfigurationParameters} that the engine may use to influence test
- * execution.
+ * execution, and a {@link CancellationToken} that signals when execution
+ * should be cancelled.
  *
  * @see TestEngine
  * @since 1.0
@@ -36,12 +38,21 @@ public class ExecutionRequest {
 
 	private final ConfigurationParameters configurationParameters;
 
+	private final CancellationToken cancellationToken;
+
 	@API(status = INTERNAL, since = "1.0")
 	public ExecutionRequest(TestDescriptor rootTestDescriptor, EngineExecutionListener engineExecutionListener,
 			ConfigurationParameters configurationParameters) {
+		this(rootTestDescriptor, engineExecutionListener, configurationParameters, CancellationToken.create());
+	}
+
+	@API(status = INTERNAL, since = "1.4")
+	public ExecutionRequest(TestDescriptor rootTestDescriptor, EngineExecutionListener engineExecutionListener,
+			ConfigurationParameters configurationParameters, CancellationToken cancellationToken) {
 		this.rootTestDescriptor = rootTestDescriptor;
 		this.engineExecutionListener = engineExecutionListener;
 		this.configurationParameters = configurationParameters;
+		this.cancellationToken = cancellationToken;
 	}
 
 	/**
@@ -72,4 +83,15 @@ public class ExecutionRequest {
 		return this.configurationParameters;
 	}
 
+	/**
+	 * Get the {@link CancellationToken} that signals when the engine should
+	 * stop executing tests.
+	 *
+	 * @since 1.4
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public CancellationToken getCancellationToken() {
+		return this.cancellationToken;
+	}
+
 }
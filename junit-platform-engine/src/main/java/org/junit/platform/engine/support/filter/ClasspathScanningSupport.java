@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.function.Predicate;
 
 import org.apiguardian.api.API;
+import org.junit.platform.commons.util.ClassFileInfo;
 import org.junit.platform.commons.util.ClassFilter;
 import org.junit.platform.engine.DiscoveryFilter;
 import org.junit.platform.engine.EngineDiscoveryRequest;
@@ -32,6 +33,18 @@ import org.junit.platform.engine.discovery.PackageNameFilter;
 @API(status = INTERNAL, since = "1.0")
 public final class ClasspathScanningSupport {
 
+	/**
+	 * Property name used to enable consulting the build-time test index of
+	 * classpath roots instead of scanning them for class files: {@value}
+	 *
+	 * <p>By default, classpath roots are always scanned for class files.
+	 *
+	 * @since 1.4
+	 * @see ClassFilter#withTestIndex()
+	 */
+	@API(status = INTERNAL, since = "1.4")
+	public static final String TEST_INDEX_PROPERTY_NAME = "junit.platform.discovery.classpath.testIndex.enabled";
+
 	private ClasspathScanningSupport() {
 		/* no-op */
 	}
@@ -54,11 +67,46 @@ public final class ClasspathScanningSupport {
 	 * {@link #buildClassNamePredicate(EngineDiscoveryRequest)} and the passed-in
 	 * class predicate.
 	 *
+	 * <p>If the {@value #TEST_INDEX_PROPERTY_NAME} configuration
+	 * parameter of the request is set to {@code true}, the filter allows
+	 * consulting the build-time test index of classpath roots.
+	 *
 	 * @param request the request to build a name predicate from
 	 * @param classPredicate the class predicate
 	 */
 	public static ClassFilter buildClassFilter(EngineDiscoveryRequest request, Predicate<Class<?>> classPredicate) {
-		return ClassFilter.of(buildClassNamePredicate(request), classPredicate);
+		return withTestIndexIfEnabled(request, ClassFilter.of(buildClassNamePredicate(request), classPredicate));
+	}
+
+	/**
+	 * Build a {@link ClassFilter} by combining the name predicate built by
+	 * {@link #buildClassNamePredicate(EngineDiscoveryRequest)} and the passed-in
+	 * class file and class predicates.
+	 *
+	 * <p>The class file predicate is used to reject classes during classpath
+	 * scanning without loading them and must therefore only reject classes
+	 * that the class predicate would reject as well.
+	 *
+	 * <p>If the {@value #TEST_INDEX_PROPERTY_NAME} configuration
+	 * parameter of the request is set to {@code true}, the filter allows
+	 * consulting the build-time test index of classpath roots.
+	 *
+	 * @param request the request to build a name predicate from
+	 * @param classFilePredicate the class file predicate
+	 * @param classPredicate the class predicate
+	 * @since 1.4
+	 * @see ClassFilter#of(Predicate, Predicate, Predicate)
+	 */
+	public static ClassFilter buildClassFilter(EngineDiscoveryRequest request,
+			Predicate<ClassFileInfo> classFilePredicate, Predicate<Class<?>> classPredicate) {
+		return withTestIndexIfEnabled(request,
+			ClassFilter.of(buildClassNamePredicate(request), classFilePredicate, classPredicate));
+	}
+
+	private static ClassFilter withTestIndexIfEnabled(EngineDiscoveryRequest request, ClassFilter classFilter) {
+		boolean enabled = request.getConfigurationParameters().getBoolean(TEST_INDEX_PROPERTY_NAME).orElse(
+			false);
+		return enabled ? classFilter.withTestIndex() : classFilter;
 	}
 
 }
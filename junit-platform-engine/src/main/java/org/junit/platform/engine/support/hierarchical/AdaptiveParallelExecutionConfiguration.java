@@ -0,0 +1,50 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+/**
+ * {@link ParallelExecutionConfiguration} created by the
+ * {@link DefaultParallelExecutionConfigurationStrategy#ADAPTIVE ADAPTIVE}
+ * strategy.
+ *
+ * <p>The {@linkplain #getParallelism() parallelism} is the maximum
+ * parallelism; the effective parallelism is adjusted between the
+ * {@linkplain #getMinParallelism() minimum} and the maximum during execution,
+ * starting with the {@linkplain #getInitialParallelism() initial parallelism}.
+ *
+ * @since 1.4
+ * @see AdaptiveParallelismController
+ */
+class AdaptiveParallelExecutionConfiguration extends DefaultParallelExecutionConfiguration {
+
+	private final int minParallelism;
+	private final int initialParallelism;
+
+	AdaptiveParallelExecutionConfiguration(int minParallelism, int initialParallelism, int maxParallelism,
+			int keepAliveSeconds) {
+		super(maxParallelism, minParallelism, 256 + maxParallelism, initialParallelism, keepAliveSeconds);
+		this.minParallelism = minParallelism;
+		this.initialParallelism = initialParallelism;
+	}
+
+	int getMinParallelism() {
+		return minParallelism;
+	}
+
+	int getInitialParallelism() {
+		return initialParallelism;
+	}
+
+	int getMaxParallelism() {
+		return getParallelism();
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+
+/**
+ * Controls the effective parallelism of a {@link ForkJoinPool} whose
+ * parallelism is fixed at creation time by limiting the number of tasks that
+ * may be forked at the same time.
+ *
+ * <p>The limit is periodically adjusted between the configured bounds based
+ * on the number of worker threads that are blocked while executing a task, as
+ * reported by the {@link ThreadMXBean}, the number of tasks queued in the
+ * {@link ForkJoinPool}, and the system load average: the limit grows while
+ * workers are blocked and no forked tasks are waiting to be executed, and it
+ * shrinks while the system is overloaded or no workers are blocked and the
+ * limit exceeds the initial parallelism.
+ *
+ * <p>Tasks that cannot be forked are executed in the calling thread.
+ *
+ * @since 1.4
+ * @see DefaultParallelExecutionConfigurationStrategy#ADAPTIVE
+ */
+class AdaptiveParallelismController implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdaptiveParallelismController.class);
+
+	private static final long SAMPLING_INTERVAL_MILLIS = 500;
+	private static final int MAX_STACK_DEPTH = 16;
+
+	private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+	private final OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+	private final AtomicInteger forkedTasks = new AtomicInteger();
+
+	private final int minParallelism;
+	private final int initialParallelism;
+	private final int maxParallelism;
+	private final int availableProcessors;
+	private final ForkJoinPool forkJoinPool;
+	private final Supplier<Collection<Thread>> busyWorkerThreads;
+
+	private volatile int targetParallelism;
+	private ScheduledExecutorService scheduler;
+
+	AdaptiveParallelismController(AdaptiveParallelExecutionConfiguration configuration, ForkJoinPool forkJoinPool,
+			Supplier<Collection<Thread>> busyWorkerThreads) {
+		this(configuration, forkJoinPool, busyWorkerThreads, Runtime.getRuntime().availableProcessors());
+	}
+
+	AdaptiveParallelismController(AdaptiveParallelExecutionConfiguration configuration, ForkJoinPool forkJoinPool,
+			Supplier<Collection<Thread>> busyWorkerThreads, int availableProcessors) {
+		this.minParallelism = configuration.getMinParallelism();
+		this.initialParallelism = configuration.getInitialParallelism();
+		this.maxParallelism = configuration.getMaxParallelism();
+		this.availableProcessors = availableProcessors;
+		this.forkJoinPool = forkJoinPool;
+		this.busyWorkerThreads = busyWorkerThreads;
+		this.targetParallelism = initialParallelism;
+	}
+
+	void start() {
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "junit-adaptive-parallelism");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::sample, SAMPLING_INTERVAL_MILLIS, SAMPLING_INTERVAL_MILLIS,
+			TimeUnit.MILLISECONDS);
+	}
+
+	int getTargetParallelism() {
+		return targetParallelism;
+	}
+
+	/**
+	 * Try to reserve a slot for forking a task.
+	 *
+	 * <p>Since the thread that executes the root task counts towards the
+	 * parallelism, at most one task less than the target parallelism may be
+	 * forked at the same time.
+	 *
+	 * @return {@code true} if the task may be forked, in which case
+	 * {@link #release()} must be called once it has been executed
+	 */
+	boolean tryAcquire() {
+		while (true) {
+			int current = forkedTasks.get();
+			if (current >= targetParallelism - 1) {
+				return false;
+			}
+			if (forkedTasks.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	void release() {
+		forkedTasks.decrementAndGet();
+	}
+
+	private void sample() {
+		try {
+			adjustTargetParallelism(countBlockedThreads(busyWorkerThreads.get()), forkJoinPool.getQueuedTaskCount(),
+				operatingSystemMXBean.getSystemLoadAverage());
+		}
+		catch (Throwable t) {
+			logger.debug(t, () -> "Failed to sample parallel execution statistics");
+		}
+	}
+
+	int adjustTargetParallelism(int blockedWorkers, long queuedTasks, double systemLoadAverage) {
+		int current = targetParallelism;
+		int updated = current;
+		if (systemLoadAverage > availableProcessors) {
+			updated = current - 1;
+		}
+		else if (blockedWorkers > 0 && queuedTasks == 0) {
+			updated = current + blockedWorkers;
+		}
+		else if (blockedWorkers == 0 && current > initialParallelism) {
+			updated = current - 1;
+		}
+		updated = Math.max(minParallelism, Math.min(maxParallelism, updated));
+		if (updated != current) {
+			int newValue = updated;
+			logger.debug(() -> String.format(
+				"Adjusting parallelism from %d to %d (blocked workers: %d, queued tasks: %d, system load: %.2f)",
+				current, newValue, blockedWorkers, queuedTasks, systemLoadAverage));
+			targetParallelism = updated;
+		}
+		return updated;
+	}
+
+	private int countBlockedThreads(Collection<Thread> threads) {
+		if (threads.isEmpty()) {
+			return 0;
+		}
+		long[] threadIds = threads.stream().mapToLong(Thread::getId).toArray();
+		int blocked = 0;
+		for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(threadIds, MAX_STACK_DEPTH)) {
+			if (threadInfo != null && isBlockedOutsideForkJoinPool(threadInfo)) {
+				blocked++;
+			}
+		}
+		return blocked;
+	}
+
+	private static boolean isBlockedOutsideForkJoinPool(ThreadInfo threadInfo) {
+		switch (threadInfo.getThreadState()) {
+			case BLOCKED:
+			case WAITING:
+			case TIMED_WAITING:
+				// Threads waiting to join forked tasks are compensated for by
+				// the ForkJoinPool itself
+				return !isWaitingInForkJoinPool(threadInfo.getStackTrace());
+			default:
+				return false;
+		}
+	}
+
+	private static boolean isWaitingInForkJoinPool(StackTraceElement[] stackTrace) {
+		for (StackTraceElement element : stackTrace) {
+			String className = element.getClassName();
+			if (className.startsWith("java.util.concurrent.ForkJoin")) {
+				return true;
+			}
+			if (!isParkingFrame(className)) {
+				return false;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isParkingFrame(String className) {
+		return className.equals("java.lang.Object") || className.equals("java.util.concurrent.locks.LockSupport")
+				|| className.endsWith(".Unsafe");
+	}
+
+	@Override
+	public void close() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+}
@@ -69,6 +69,41 @@ public enum DefaultParallelExecutionConfigurationStrategy implements ParallelExe
 		}
 	},
 
+	/**
+	 * Adjusts the effective parallelism during execution between the
+	 * {@value CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME} and
+	 * {@value CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME} configuration
+	 * parameters, starting with the number of available processors/cores.
+	 *
+	 * <p>The parallelism grows while worker threads are blocked, e.g. waiting
+	 * for I/O, and shrinks while the system is overloaded.
+	 *
+	 * @since 1.4
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	ADAPTIVE {
+		@Override
+		public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+			int availableProcessors = Runtime.getRuntime().availableProcessors();
+			int minParallelism = configurationParameters.get(CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME,
+				Integer::valueOf).orElse(1);
+			int maxParallelism = configurationParameters.get(CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME,
+				Integer::valueOf).orElse(DEFAULT_ADAPTIVE_MAX_PARALLELISM_FACTOR * availableProcessors);
+
+			Preconditions.condition(minParallelism > 0 && minParallelism <= maxParallelism,
+				() -> String.format(
+					"Minimum parallelism '%d' specified via configuration parameter '%s' must be greater than 0 "
+							+ "and must not exceed maximum parallelism '%d' specified via configuration parameter '%s'",
+					minParallelism, CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME, maxParallelism,
+					CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME));
+
+			int initialParallelism = Math.max(minParallelism, Math.min(maxParallelism, availableProcessors));
+
+			return new AdaptiveParallelExecutionConfiguration(minParallelism, initialParallelism, maxParallelism,
+				KEEP_ALIVE_SECONDS);
+		}
+	},
+
 	/**
 	 * Allows the specification of a custom {@link ParallelExecutionConfigurationStrategy}
 	 * implementation via the mandatory {@value CONFIG_CUSTOM_CLASS_PROPERTY_NAME}
@@ -95,11 +130,13 @@ public enum DefaultParallelExecutionConfigurationStrategy implements ParallelExe
 
 	private static final int KEEP_ALIVE_SECONDS = 30;
 
+	private static final int DEFAULT_ADAPTIVE_MAX_PARALLELISM_FACTOR = 4;
+
 	/**
 	 * Property name used to determine the desired configuration strategy.
 	 *
-	 * <p>Value must be one of {@code dynamic}, {@code fixed}, or
-	 * {@code custom}.
+	 * <p>Value must be one of {@code dynamic}, {@code fixed},
+	 * {@code adaptive}, or {@code custom}.
 	 */
 	public static final String CONFIG_STRATEGY_PROPERTY_NAME = "strategy";
 
@@ -123,6 +160,31 @@ public enum DefaultParallelExecutionConfigurationStrategy implements ParallelExe
 	 */
 	public static final String CONFIG_DYNAMIC_FACTOR_PROPERTY_NAME = "dynamic.factor";
 
+	/**
+	 * Property name used to determine the minimum parallelism for the
+	 * {@link #ADAPTIVE} configuration strategy.
+	 *
+	 * <p>Value must be a positive integer; defaults to {@code 1}.
+	 *
+	 * @see #ADAPTIVE
+	 * @since 1.4
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME = "adaptive.minParallelism";
+
+	/**
+	 * Property name used to determine the maximum parallelism for the
+	 * {@link #ADAPTIVE} configuration strategy.
+	 *
+	 * <p>Value must be a positive integer; defaults to four times the number
+	 * of available processors/cores.
+	 *
+	 * @see #ADAPTIVE
+	 * @since 1.4
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME = "adaptive.maxParallelism";
+
 	/**
 	 * Property name used to specify the fully qualified class name of the
 	 * {@link ParallelExecutionConfigurationStrategy} to be used by the
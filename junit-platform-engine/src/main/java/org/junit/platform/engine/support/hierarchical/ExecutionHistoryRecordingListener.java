@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.support.history.ExecutionHistory;
+
+/**
+ * {@link EngineExecutionListener} that records the duration, status, and
+ * class file last-modified time of each executed test and container in an
+ * {@link ExecutionHistory} and stores it once the root descriptor has
+ * finished.
+ *
+ * @since 1.4
+ */
+class ExecutionHistoryRecordingListener implements EngineExecutionListener {
+
+	private final Map<TestDescriptor, Long> startNanoTimes = new ConcurrentHashMap<>();
+	private final EngineExecutionListener delegate;
+	private final ExecutionHistory executionHistory;
+	private final Path historyFile;
+
+	ExecutionHistoryRecordingListener(EngineExecutionListener delegate, ExecutionHistory executionHistory,
+			Path historyFile) {
+		this.delegate = delegate;
+		this.executionHistory = executionHistory;
+		this.historyFile = historyFile;
+	}
+
+	@Override
+	public void dynamicTestRegistered(TestDescriptor testDescriptor) {
+		delegate.dynamicTestRegistered(testDescriptor);
+	}
+
+	@Override
+	public void executionSkipped(TestDescriptor testDescriptor, String reason) {
+		delegate.executionSkipped(testDescriptor, reason);
+	}
+
+	@Override
+	public void executionStarted(TestDescriptor testDescriptor) {
+		startNanoTimes.put(testDescriptor, System.nanoTime());
+		delegate.executionStarted(testDescriptor);
+	}
+
+	@Override
+	public void executionFinished(TestDescriptor testDescriptor, TestExecutionResult testExecutionResult) {
+		Long startNanoTime = startNanoTimes.remove(testDescriptor);
+		if (startNanoTime != null) {
+			Duration duration = Duration.ofNanos(System.nanoTime() - startNanoTime);
+			executionHistory.recordDuration(testDescriptor.getUniqueId(), duration);
+		}
+		executionHistory.recordStatus(testDescriptor.getUniqueId(), testExecutionResult.getStatus());
+		executionHistory.recordClassFileLastModified(testDescriptor);
+		if (testDescriptor.isRoot()) {
+			executionHistory.store(historyFile);
+		}
+		delegate.executionFinished(testDescriptor, testExecutionResult);
+	}
+
+	@Override
+	public void reportingEntryPublished(TestDescriptor testDescriptor, ReportEntry entry) {
+		delegate.reportingEntryPublished(testDescriptor, entry);
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import java.util.Comparator;
+
+import org.apiguardian.api.API;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.history.ExecutionHistory;
+
+/**
+ * {@link Comparator} that orders test descriptors according to an
+ * {@link ExecutionHistory}: descriptors that {@linkplain
+ * ExecutionHistory#hasFailed failed} during their previous execution come
+ * first, followed by descriptors whose {@linkplain
+ * ExecutionHistory#isClassFileModified class file has been modified}, followed
+ * by all other descriptors.
+ *
+ * <p>All descriptors within one of these groups are considered equal so that
+ * a stable sort retains their relative order.
+ *
+ * @since 1.4
+ * @see SchedulingMode#FAILED_FIRST
+ */
+@API(status = EXPERIMENTAL, since = "1.4")
+public class FailedFirstComparator implements Comparator<TestDescriptor> {
+
+	private static final int FAILED = 0;
+	private static final int MODIFIED = 1;
+	private static final int OTHER = 2;
+
+	private final ExecutionHistory executionHistory;
+
+	public FailedFirstComparator(ExecutionHistory executionHistory) {
+		this.executionHistory = executionHistory;
+	}
+
+	@Override
+	public int compare(TestDescriptor first, TestDescriptor second) {
+		return Integer.compare(getPriority(first), getPriority(second));
+	}
+
+	int getPriority(TestDescriptor testDescriptor) {
+		if (executionHistory.hasFailed(testDescriptor.getUniqueId())) {
+			return FAILED;
+		}
+		if (executionHistory.isClassFileModified(testDescriptor)) {
+			return MODIFIED;
+		}
+		return OTHER;
+	}
+
+}
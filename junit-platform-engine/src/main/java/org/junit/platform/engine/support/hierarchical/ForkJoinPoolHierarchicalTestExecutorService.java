@@ -16,9 +16,12 @@ import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.
 
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
 import java.util.concurrent.ForkJoinTask;
@@ -26,6 +29,7 @@ import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
 import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import org.apiguardian.api.API;
@@ -40,6 +44,11 @@ import org.junit.platform.engine.ConfigurationParameters;
  * {@linkplain HierarchicalTestExecutorService executor service} that executes
  * {@linkplain TestTask test tasks} with the configured parallelism.
  *
+ * <p>If the {@link DefaultParallelExecutionConfigurationStrategy#ADAPTIVE
+ * ADAPTIVE} configuration strategy is used, the number of concurrently
+ * executing tasks is adjusted during execution; tasks that would exceed the
+ * current limit are executed in the calling thread instead of being forked.
+ *
  * @see ForkJoinPool
  * @see DefaultParallelExecutionConfigurationStrategy
  * @since 1.3
@@ -47,8 +56,10 @@ import org.junit.platform.engine.ConfigurationParameters;
 @API(status = EXPERIMENTAL, since = "1.3")
 public class ForkJoinPoolHierarchicalTestExecutorService implements HierarchicalTestExecutorService {
 
+	private final WorkerThreadFactory threadFactory = new WorkerThreadFactory();
 	private final ForkJoinPool forkJoinPool;
 	private final int parallelism;
+	private final AdaptiveParallelismController adaptiveParallelismController;
 
 	/**
 	 * Create a new {@code ForkJoinPoolHierarchicalTestExecutorService} based on
@@ -57,16 +68,17 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 	 * @see DefaultParallelExecutionConfigurationStrategy
 	 */
 	public ForkJoinPoolHierarchicalTestExecutorService(ConfigurationParameters configurationParameters) {
-		forkJoinPool = createForkJoinPool(configurationParameters);
+		ParallelExecutionConfigurationStrategy strategy = DefaultParallelExecutionConfigurationStrategy.getStrategy(
+			configurationParameters);
+		ParallelExecutionConfiguration configuration = strategy.createConfiguration(configurationParameters);
+		forkJoinPool = createForkJoinPool(configuration);
 		parallelism = forkJoinPool.getParallelism();
+		adaptiveParallelismController = createAdaptiveParallelismController(configuration);
 		LoggerFactory.getLogger(getClass()).config(() -> "Using ForkJoinPool with parallelism of " + parallelism);
 	}
 
-	private ForkJoinPool createForkJoinPool(ConfigurationParameters configurationParameters) {
-		ParallelExecutionConfigurationStrategy strategy = DefaultParallelExecutionConfigurationStrategy.getStrategy(
-			configurationParameters);
-		ParallelExecutionConfiguration configuration = strategy.createConfiguration(configurationParameters);
-		ForkJoinWorkerThreadFactory threadFactory = new WorkerThreadFactory();
+	private ForkJoinPool createForkJoinPool(ParallelExecutionConfiguration configuration) {
+		ForkJoinWorkerThreadFactory threadFactory = this.threadFactory;
 		return Try.call(() -> {
 			// Try to use constructor available in Java >= 9
 			Constructor<ForkJoinPool> constructor = ForkJoinPool.class.getDeclaredConstructor(Integer.TYPE,
@@ -81,13 +93,23 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 		}).getOrThrow(cause -> new JUnitException("Failed to create ForkJoinPool", cause));
 	}
 
+	private AdaptiveParallelismController createAdaptiveParallelismController(
+			ParallelExecutionConfiguration configuration) {
+		if (!(configuration instanceof AdaptiveParallelExecutionConfiguration)) {
+			return null;
+		}
+		AdaptiveParallelismController controller = new AdaptiveParallelismController(
+			(AdaptiveParallelExecutionConfiguration) configuration, forkJoinPool, threadFactory::getBusyWorkerThreads);
+		controller.start();
+		return controller;
+	}
+
 	@Override
 	public Future<Void> submit(TestTask testTask) {
-		ExclusiveTask exclusiveTask = new ExclusiveTask(testTask);
 		if (!isAlreadyRunningInForkJoinPool()) {
 			// ensure we're running inside the ForkJoinPool so we
 			// can use ForkJoinTask API in invokeAll etc.
-			return forkJoinPool.submit(exclusiveTask);
+			return forkJoinPool.submit(new ExclusiveTask(testTask));
 		}
 		// Limit the amount of queued work so we don't consume dynamic tests too eagerly
 		// by forking only if the current worker thread's queue length is below the
@@ -99,12 +121,29 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 		// longer, parallelism will drop. However, that only happens if the enclosing test
 		// task is the only one remaining which should rarely be the case.
 		if (testTask.getExecutionMode() == CONCURRENT && ForkJoinTask.getSurplusQueuedTaskCount() < parallelism) {
-			return exclusiveTask.fork();
+			ExclusiveTask forkedTask = tryFork(testTask);
+			if (forkedTask != null) {
+				return forkedTask;
+			}
 		}
-		exclusiveTask.compute();
+		new ExclusiveTask(testTask).compute();
 		return completedFuture(null);
 	}
 
+	private ExclusiveTask tryFork(TestTask testTask) {
+		if (adaptiveParallelismController == null) {
+			ExclusiveTask exclusiveTask = new ExclusiveTask(testTask);
+			exclusiveTask.fork();
+			return exclusiveTask;
+		}
+		if (adaptiveParallelismController.tryAcquire()) {
+			ExclusiveTask exclusiveTask = new ExclusiveTask(testTask, adaptiveParallelismController::release);
+			exclusiveTask.fork();
+			return exclusiveTask;
+		}
+		return null;
+	}
+
 	private boolean isAlreadyRunningInForkJoinPool() {
 		return ForkJoinTask.getPool() == forkJoinPool;
 	}
@@ -116,22 +155,28 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 			return;
 		}
 		Deque<ExclusiveTask> nonConcurrentTasks = new LinkedList<>();
+		Deque<TestTask> deferredConcurrentTasks = new LinkedList<>();
 		Deque<ExclusiveTask> concurrentTasksInReverseOrder = new LinkedList<>();
-		forkConcurrentTasks(tasks, nonConcurrentTasks, concurrentTasksInReverseOrder);
+		forkConcurrentTasks(tasks, nonConcurrentTasks, deferredConcurrentTasks, concurrentTasksInReverseOrder);
 		executeNonConcurrentTasks(nonConcurrentTasks);
+		forkOrExecuteDeferredConcurrentTasks(deferredConcurrentTasks, concurrentTasksInReverseOrder);
 		joinConcurrentTasksInReverseOrderToEnableWorkStealing(concurrentTasksInReverseOrder);
 	}
 
 	private void forkConcurrentTasks(List<? extends TestTask> tasks, Deque<ExclusiveTask> nonConcurrentTasks,
-			Deque<ExclusiveTask> concurrentTasksInReverseOrder) {
+			Deque<TestTask> deferredConcurrentTasks, Deque<ExclusiveTask> concurrentTasksInReverseOrder) {
 		for (TestTask testTask : tasks) {
-			ExclusiveTask exclusiveTask = new ExclusiveTask(testTask);
 			if (testTask.getExecutionMode() == CONCURRENT) {
-				exclusiveTask.fork();
-				concurrentTasksInReverseOrder.addFirst(exclusiveTask);
+				ExclusiveTask forkedTask = tryFork(testTask);
+				if (forkedTask != null) {
+					concurrentTasksInReverseOrder.addFirst(forkedTask);
+				}
+				else {
+					deferredConcurrentTasks.add(testTask);
+				}
 			}
 			else {
-				nonConcurrentTasks.add(exclusiveTask);
+				nonConcurrentTasks.add(new ExclusiveTask(testTask));
 			}
 		}
 	}
@@ -142,6 +187,22 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 		}
 	}
 
+	private void forkOrExecuteDeferredConcurrentTasks(Deque<TestTask> deferredConcurrentTasks,
+			Deque<ExclusiveTask> concurrentTasksInReverseOrder) {
+		// Concurrent tasks that could not be forked due to the current
+		// parallelism limit are forked as soon as the limit permits it;
+		// otherwise, they are executed in the current thread.
+		for (TestTask testTask : deferredConcurrentTasks) {
+			ExclusiveTask forkedTask = tryFork(testTask);
+			if (forkedTask != null) {
+				concurrentTasksInReverseOrder.addFirst(forkedTask);
+			}
+			else {
+				new ExclusiveTask(testTask).compute();
+			}
+		}
+	}
+
 	private void joinConcurrentTasksInReverseOrderToEnableWorkStealing(
 			Deque<ExclusiveTask> concurrentTasksInReverseOrder) {
 		for (ExclusiveTask forkedTask : concurrentTasksInReverseOrder) {
@@ -151,6 +212,9 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 
 	@Override
 	public void close() {
+		if (adaptiveParallelismController != null) {
+			adaptiveParallelismController.close();
+		}
 		forkJoinPool.shutdownNow();
 	}
 
@@ -159,20 +223,37 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 	static class ExclusiveTask extends RecursiveAction {
 
 		private final TestTask testTask;
+		private final Runnable completionCallback;
 
 		ExclusiveTask(TestTask testTask) {
+			this(testTask, () -> {
+			});
+		}
+
+		ExclusiveTask(TestTask testTask, Runnable completionCallback) {
 			this.testTask = testTask;
+			this.completionCallback = completionCallback;
 		}
 
 		@SuppressWarnings("try")
 		@Override
 		public void compute() {
+			WorkerThread workerThread = WorkerThread.current();
+			if (workerThread != null) {
+				workerThread.executionStarted();
+			}
 			try (ResourceLock lock = testTask.getResourceLock().acquire()) {
 				testTask.execute();
 			}
 			catch (InterruptedException e) {
 				ExceptionUtils.throwAsUncheckedException(e);
 			}
+			finally {
+				if (workerThread != null) {
+					workerThread.executionFinished();
+				}
+				completionCallback.run();
+			}
 		}
 
 	}
@@ -180,18 +261,60 @@ public class ForkJoinPoolHierarchicalTestExecutorService implements Hierarchical
 	static class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
 
 		private final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		private final Collection<WorkerThread> workerThreads = ConcurrentHashMap.newKeySet();
 
 		@Override
 		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
-			return new WorkerThread(pool, contextClassLoader);
+			WorkerThread workerThread = new WorkerThread(pool, contextClassLoader, workerThreads::remove);
+			workerThreads.add(workerThread);
+			return workerThread;
+		}
+
+		Collection<Thread> getBusyWorkerThreads() {
+			Collection<Thread> busyWorkerThreads = new ArrayList<>();
+			for (WorkerThread workerThread : workerThreads) {
+				if (workerThread.isExecuting()) {
+					busyWorkerThreads.add(workerThread);
+				}
+			}
+			return busyWorkerThreads;
 		}
 	}
 
 	static class WorkerThread extends ForkJoinWorkerThread {
 
-		WorkerThread(ForkJoinPool pool, ClassLoader contextClassLoader) {
+		private final Consumer<WorkerThread> terminationCallback;
+		private volatile int executionDepth;
+
+		WorkerThread(ForkJoinPool pool, ClassLoader contextClassLoader,
+				Consumer<WorkerThread> terminationCallback) {
 			super(pool);
 			setContextClassLoader(contextClassLoader);
+			this.terminationCallback = terminationCallback;
+		}
+
+		static WorkerThread current() {
+			Thread currentThread = Thread.currentThread();
+			return currentThread instanceof WorkerThread ? (WorkerThread) currentThread : null;
+		}
+
+		// executionDepth is only ever modified by this thread itself
+		void executionStarted() {
+			executionDepth++;
+		}
+
+		void executionFinished() {
+			executionDepth--;
+		}
+
+		boolean isExecuting() {
+			return executionDepth > 0;
+		}
+
+		@Override
+		protected void onTermination(Throwable exception) {
+			terminationCallback.accept(this);
+			super.onTermination(exception);
 		}
 	}
 
@@ -13,10 +13,14 @@ package org.junit.platform.engine.support.hierarchical;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
 import org.apiguardian.api.API;
 import org.junit.platform.commons.JUnitException;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.support.history.ExecutionHistory;
 
 /**
  * Abstract base class for all {@link TestEngine} implementations that wish
@@ -47,8 +51,10 @@ public abstract class HierarchicalTestEngine<C extends EngineExecutionContext> i
 		try (HierarchicalTestExecutorService executorService = createExecutorService(request)) {
 			C executionContext = createExecutionContext(request);
 			ThrowableCollector.Factory throwableCollectorFactory = createThrowableCollectorFactory(request);
-			new HierarchicalTestExecutor<>(request, executionContext, executorService,
-				throwableCollectorFactory).execute().get();
+			new HierarchicalTestExecutor<>(request, executionContext, executorService, throwableCollectorFactory,
+				getResourceLockingMode(request), getSchedulingMode(request),
+				getExecutionHistoryFile(request), getDynamicTestWindowSize(request),
+				isResourceLockReportingEnabled(request)).execute().get();
 		}
 		catch (Exception exception) {
 			throw new JUnitException("Error executing tests for engine " + getId(), exception);
@@ -69,6 +75,7 @@ public abstract class HierarchicalTestEngine<C extends EngineExecutionContext> i
 	 *
 	 * @param request the request about to be executed
 	 * @see ForkJoinPoolHierarchicalTestExecutorService
+	 * @see VirtualThreadHierarchicalTestExecutorService
 	 * @see SameThreadHierarchicalTestExecutorService
 	 * @since 1.3
 	 */
@@ -100,6 +107,119 @@ public abstract class HierarchicalTestEngine<C extends EngineExecutionContext> i
 		return OpenTest4JAwareThrowableCollector::new;
 	}
 
+	/**
+	 * Get the {@linkplain ResourceLockingMode resource locking mode} to use for
+	 * executing the supplied {@linkplain ExecutionRequest request}.
+	 *
+	 * <p>An engine may use the information in the supplied <em>request</em>
+	 * such as the contained
+	 * {@linkplain ExecutionRequest#getConfigurationParameters() configuration parameters}
+	 * to decide which mode to return.
+	 *
+	 * <p>By default, this method returns
+	 * {@link ResourceLockingMode#COARSE_GRAINED}.
+	 *
+	 * @param request the request about to be executed
+	 * @see ResourceLockingMode
+	 * @since 1.4
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	protected ResourceLockingMode getResourceLockingMode(ExecutionRequest request) {
+		return ResourceLockingMode.COARSE_GRAINED;
+	}
+
+	/**
+	 * Get the {@linkplain SchedulingMode scheduling mode} to use for ordering
+	 * sibling nodes while executing the supplied
+	 * {@linkplain ExecutionRequest request}.
+	 *
+	 * <p>An engine may use the information in the supplied <em>request</em>
+	 * such as the contained
+	 * {@linkplain ExecutionRequest#getConfigurationParameters() configuration parameters}
+	 * to decide which mode to return.
+	 *
+	 * <p>By default, this method returns
+	 * {@link SchedulingMode#DECLARATION_ORDER}.
+	 *
+	 * @param request the request about to be executed
+	 * @see SchedulingMode
+	 * @see #getExecutionHistoryFile(ExecutionRequest)
+	 * @since 1.4
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	protected SchedulingMode getSchedulingMode(ExecutionRequest request) {
+		return SchedulingMode.DECLARATION_ORDER;
+	}
+
+	/**
+	 * Get the file used to load and store the {@link ExecutionHistory} when
+	 * executing the supplied {@linkplain ExecutionRequest request}.
+	 *
+	 * <p>If present, the history is loaded before execution starts, is used
+	 * by the {@linkplain #getSchedulingMode(ExecutionRequest) scheduling mode},
+	 * and is updated with the results of the current execution once it has
+	 * finished.
+	 *
+	 * <p>By default, this method returns {@link Optional#empty()}.
+	 *
+	 * @param request the request about to be executed
+	 * @see ExecutionHistory
+	 * @since 1.4
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	protected Optional<Path> getExecutionHistoryFile(ExecutionRequest request) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Get the maximum number of dynamic tests registered by a single node that
+	 * may be pending execution at the same time when executing the supplied
+	 * {@linkplain ExecutionRequest request}.
+	 *
+	 * <p>Once the window is full,
+	 * {@link Node.DynamicTestExecutor#execute(org.junit.platform.engine.TestDescriptor)}
+	 * blocks until
+	 * one of the pending dynamic tests has been executed. Thus, nodes that
+	 * lazily produce dynamic tests are only asked for the next one once
+	 * there is capacity to execute it, and memory consumption does not grow
+	 * with the number of dynamic tests.
+	 *
+	 * <p>By default, this method returns {@link Integer#MAX_VALUE}, i.e. the
+	 * window is unbounded.
+	 *
+	 * @param request the request about to be executed
+	 * @return the window size; must be positive
+	 * @see Node.DynamicTestExecutor
+	 * @since 1.4
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	protected int getDynamicTestWindowSize(ExecutionRequest request) {
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Determine whether the {@linkplain ResourceLock resource locks} acquired
+	 * while executing the supplied {@linkplain ExecutionRequest request}
+	 * should be reported.
+	 *
+	 * <p>If enabled, a {@link org.junit.platform.engine.reporting.ReportEntry}
+	 * containing the locked resources and the time spent waiting for them is
+	 * published for each node that acquired a resource lock.
+	 *
+	 * <p>By default, this method returns the value of the
+	 * {@value ResourceLockReporting#ENABLED_PROPERTY_NAME} configuration
+	 * parameter or {@code false} if it is not set.
+	 *
+	 * @param request the request about to be executed
+	 * @see ResourceLockReporting
+	 * @since 1.4
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	protected boolean isResourceLockReportingEnabled(ExecutionRequest request) {
+		return request.getConfigurationParameters().getBoolean(ResourceLockReporting.ENABLED_PROPERTY_NAME).orElse(
+			false);
+	}
+
 	/**
 	 * Create the initial execution context for executing the supplied
 	 * {@linkplain ExecutionRequest request}.
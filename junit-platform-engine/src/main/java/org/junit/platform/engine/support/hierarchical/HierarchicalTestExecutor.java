@@ -10,12 +10,15 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.concurrent.Future;
 
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.support.history.ExecutionHistory;
 
 /**
  * Implementation core of all {@link TestEngine TestEngines} that wish to
@@ -37,24 +40,59 @@ class HierarchicalTestExecutor<C extends EngineExecutionContext> {
 	private final C rootContext;
 	private final HierarchicalTestExecutorService executorService;
 	private final ThrowableCollector.Factory throwableCollectorFactory;
+	private final ResourceLockingMode resourceLockingMode;
+	private final SchedulingMode schedulingMode;
+	private final Optional<Path> executionHistoryFile;
+	private final int dynamicTestWindowSize;
+	private final boolean resourceLockReportingEnabled;
 
 	HierarchicalTestExecutor(ExecutionRequest request, C rootContext, HierarchicalTestExecutorService executorService,
 			ThrowableCollector.Factory throwableCollectorFactory) {
+		this(request, rootContext, executorService, throwableCollectorFactory, ResourceLockingMode.COARSE_GRAINED,
+			SchedulingMode.DECLARATION_ORDER, Optional.empty(), Integer.MAX_VALUE, false);
+	}
+
+	HierarchicalTestExecutor(ExecutionRequest request, C rootContext, HierarchicalTestExecutorService executorService,
+			ThrowableCollector.Factory throwableCollectorFactory, ResourceLockingMode resourceLockingMode,
+			SchedulingMode schedulingMode, Optional<Path> executionHistoryFile, int dynamicTestWindowSize,
+			boolean resourceLockReportingEnabled) {
 		this.request = request;
 		this.rootContext = rootContext;
 		this.executorService = executorService;
 		this.throwableCollectorFactory = throwableCollectorFactory;
+		this.resourceLockingMode = resourceLockingMode;
+		this.schedulingMode = schedulingMode;
+		this.executionHistoryFile = executionHistoryFile;
+		this.dynamicTestWindowSize = dynamicTestWindowSize;
+		this.resourceLockReportingEnabled = resourceLockReportingEnabled;
 	}
 
 	Future<Void> execute() {
 		TestDescriptor rootTestDescriptor = this.request.getRootTestDescriptor();
-		EngineExecutionListener executionListener = this.request.getEngineExecutionListener();
-		NodeExecutionAdvisor executionAdvisor = new NodeTreeWalker().walk(rootTestDescriptor);
+		ExecutionHistory executionHistory = this.executionHistoryFile.map(ExecutionHistory::load).orElseGet(
+			ExecutionHistory::empty);
+		EngineExecutionListener executionListener = createExecutionListener(executionHistory);
+		Optional<ResourceLockStatistics> resourceLockStatistics = this.resourceLockReportingEnabled
+				? Optional.of(new ResourceLockStatistics())
+				: Optional.empty();
+		NodeExecutionAdvisor executionAdvisor = new NodeTreeWalker(this.resourceLockingMode,
+			resourceLockStatistics).walk(rootTestDescriptor);
+		SiblingTaskOrderer siblingTaskOrderer = new SiblingTaskOrderer(this.schedulingMode, executionHistory);
 		NodeTestTaskContext taskContext = new NodeTestTaskContext(executionListener, this.executorService,
-			this.throwableCollectorFactory, executionAdvisor);
+			this.throwableCollectorFactory, executionAdvisor, siblingTaskOrderer, this.dynamicTestWindowSize,
+			this.request.getCancellationToken(), resourceLockStatistics);
 		NodeTestTask<C> rootTestTask = new NodeTestTask<>(taskContext, rootTestDescriptor);
 		rootTestTask.setParentContext(this.rootContext);
 		return this.executorService.submit(rootTestTask);
 	}
 
+	private EngineExecutionListener createExecutionListener(ExecutionHistory executionHistory) {
+		EngineExecutionListener executionListener = this.request.getEngineExecutionListener();
+		if (this.executionHistoryFile.isPresent()) {
+			return new ExecutionHistoryRecordingListener(executionListener, executionHistory,
+				this.executionHistoryFile.get());
+		}
+		return executionListener;
+	}
+
 }
@@ -20,6 +20,7 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -34,6 +35,15 @@ class LockManager {
 		ExclusiveResource::getLockMode);
 
 	private final Map<String, ReadWriteLock> locksByKey = new ConcurrentHashMap<>();
+	private final Optional<ResourceLockStatistics> statistics;
+
+	LockManager() {
+		this(Optional.empty());
+	}
+
+	LockManager(Optional<ResourceLockStatistics> statistics) {
+		this.statistics = statistics;
+	}
 
 	ResourceLock getLockForResources(Collection<ExclusiveResource> resources) {
 		List<Lock> locks = getDistinctSortedLocks(resources);
@@ -52,7 +62,8 @@ class LockManager {
 				.map(resource -> {
 					ReadWriteLock lock = this.locksByKey.computeIfAbsent(resource.getKey(),
 							key -> new ReentrantReadWriteLock());
-					return resource.getLockMode() == READ ? lock.readLock() : lock.writeLock();
+					Lock modeLock = resource.getLockMode() == READ ? lock.readLock() : lock.writeLock();
+					return statistics.map(s -> s.instrument(resource.getKey(), modeLock)).orElse(modeLock);
 				})
 				.collect(toList());
 		// @formatter:on
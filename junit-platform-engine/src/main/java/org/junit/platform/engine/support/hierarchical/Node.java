@@ -282,6 +282,11 @@ public interface Node<C extends EngineExecutionContext> {
 		/**
 		 * Submit a dynamic test descriptor for immediate execution.
 		 *
+		 * <p>This method may block until previously submitted dynamic test
+		 * descriptors have finished if the configured
+		 * {@linkplain HierarchicalTestEngine#getDynamicTestWindowSize window}
+		 * of pending dynamic tests is full.
+		 *
 		 * @param testDescriptor the test descriptor to be executed
 		 */
 		void execute(TestDescriptor testDescriptor);
@@ -297,6 +302,23 @@ public interface Node<C extends EngineExecutionContext> {
 		 * @throws InterruptedException if interrupted while waiting
 		 */
 		void awaitFinished() throws InterruptedException;
+
+		/**
+		 * Determine if cancellation of the current execution has been
+		 * requested.
+		 *
+		 * <p>Nodes that generate dynamic test descriptors should stop
+		 * generating further descriptors once this method returns
+		 * {@code true}. Descriptors that are still submitted are reported as
+		 * skipped.
+		 *
+		 * @since 1.4
+		 * @see org.junit.platform.engine.ExecutionRequest#getCancellationToken()
+		 */
+		@API(status = EXPERIMENTAL, since = "1.4")
+		default boolean isCancellationRequested() {
+			return false;
+		}
 	}
 
 	/**
@@ -10,9 +10,14 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import static java.util.Collections.emptySet;
+
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
@@ -22,30 +27,100 @@ import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
  */
 class NodeExecutionAdvisor {
 
+	private static final Map<ExecutionMode, Optional<ExecutionMode>> OPTIONAL_EXECUTION_MODES = new EnumMap<>(
+		ExecutionMode.class);
+
+	static {
+		for (ExecutionMode executionMode : ExecutionMode.values()) {
+			OPTIONAL_EXECUTION_MODES.put(executionMode, Optional.of(executionMode));
+		}
+	}
+
 	private final Map<TestDescriptor, ExecutionMode> forcedDescendantExecutionModeByTestDescriptor = new HashMap<>();
 	private final Map<TestDescriptor, ResourceLock> resourceLocksByTestDescriptor = new HashMap<>();
+	private final Map<TestDescriptor, Set<ExclusiveResource>> lockedResourcesByTestDescriptor = new HashMap<>();
+	private final Map<TestDescriptor, Advice> adviceByTestDescriptor = new IdentityHashMap<>();
 
 	void forceDescendantExecutionMode(TestDescriptor testDescriptor, ExecutionMode executionMode) {
 		forcedDescendantExecutionModeByTestDescriptor.put(testDescriptor, executionMode);
 	}
 
-	void useResourceLock(TestDescriptor testDescriptor, ResourceLock resourceLock) {
+	void useResourceLock(TestDescriptor testDescriptor, Set<ExclusiveResource> resources, ResourceLock resourceLock) {
 		resourceLocksByTestDescriptor.put(testDescriptor, resourceLock);
+		lockedResourcesByTestDescriptor.put(testDescriptor, resources);
+	}
+
+	/**
+	 * Resolve the effective advice for the supplied descriptor and all of its
+	 * descendants so that subsequent lookups do not have to traverse the
+	 * hierarchy.
+	 */
+	void resolve(TestDescriptor root) {
+		resolve(root, Optional.empty());
+		forcedDescendantExecutionModeByTestDescriptor.clear();
+		resourceLocksByTestDescriptor.clear();
+		lockedResourcesByTestDescriptor.clear();
+	}
+
+	private void resolve(TestDescriptor testDescriptor, Optional<ExecutionMode> forcedExecutionMode) {
+		ExecutionMode forcedDescendantExecutionMode = forcedDescendantExecutionModeByTestDescriptor.get(
+			testDescriptor);
+		Optional<ExecutionMode> descendantExecutionMode = forcedDescendantExecutionMode == null ? forcedExecutionMode
+				: OPTIONAL_EXECUTION_MODES.get(forcedDescendantExecutionMode);
+		ResourceLock resourceLock = resourceLocksByTestDescriptor.getOrDefault(testDescriptor, NopLock.INSTANCE);
+		Set<ExclusiveResource> lockedResources = lockedResourcesByTestDescriptor.getOrDefault(testDescriptor,
+			emptySet());
+		adviceByTestDescriptor.put(testDescriptor,
+			new Advice(forcedExecutionMode, descendantExecutionMode, resourceLock, lockedResources));
+		testDescriptor.getChildren().forEach(child -> resolve(child, descendantExecutionMode));
 	}
 
 	Optional<ExecutionMode> getForcedExecutionMode(TestDescriptor testDescriptor) {
-		return testDescriptor.getParent().flatMap(this::lookupExecutionModeForcedByAncestor);
+		Advice advice = adviceByTestDescriptor.get(testDescriptor);
+		if (advice != null) {
+			return advice.forcedExecutionMode;
+		}
+		return lookupExecutionModeForcedByResolvedAncestor(testDescriptor);
 	}
 
-	private Optional<ExecutionMode> lookupExecutionModeForcedByAncestor(TestDescriptor testDescriptor) {
-		ExecutionMode value = forcedDescendantExecutionModeByTestDescriptor.get(testDescriptor);
-		if (value != null) {
-			return Optional.of(value);
+	private Optional<ExecutionMode> lookupExecutionModeForcedByResolvedAncestor(TestDescriptor testDescriptor) {
+		// Descriptors registered dynamically during execution have not been
+		// resolved, so they inherit the advice of their closest resolved ancestor.
+		TestDescriptor ancestor = testDescriptor.getParent().orElse(null);
+		while (ancestor != null) {
+			Advice advice = adviceByTestDescriptor.get(ancestor);
+			if (advice != null) {
+				return advice.forcedDescendantExecutionMode;
+			}
+			ancestor = ancestor.getParent().orElse(null);
 		}
-		return testDescriptor.getParent().flatMap(this::lookupExecutionModeForcedByAncestor);
+		return Optional.empty();
 	}
 
 	ResourceLock getResourceLock(TestDescriptor testDescriptor) {
-		return resourceLocksByTestDescriptor.getOrDefault(testDescriptor, NopLock.INSTANCE);
+		Advice advice = adviceByTestDescriptor.get(testDescriptor);
+		return advice == null ? NopLock.INSTANCE : advice.resourceLock;
+	}
+
+	Set<ExclusiveResource> getLockedResources(TestDescriptor testDescriptor) {
+		Advice advice = adviceByTestDescriptor.get(testDescriptor);
+		return advice == null ? emptySet() : advice.lockedResources;
 	}
+
+	private static class Advice {
+
+		private final Optional<ExecutionMode> forcedExecutionMode;
+		private final Optional<ExecutionMode> forcedDescendantExecutionMode;
+		private final ResourceLock resourceLock;
+		private final Set<ExclusiveResource> lockedResources;
+
+		Advice(Optional<ExecutionMode> forcedExecutionMode, Optional<ExecutionMode> forcedDescendantExecutionMode,
+				ResourceLock resourceLock, Set<ExclusiveResource> lockedResources) {
+			this.forcedExecutionMode = forcedExecutionMode;
+			this.forcedDescendantExecutionMode = forcedDescendantExecutionMode;
+			this.resourceLock = resourceLock;
+			this.lockedResources = lockedResources;
+		}
+	}
+
 }
@@ -10,14 +10,22 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toCollection;
 import static org.junit.platform.engine.TestExecutionResult.failed;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.platform.commons.JUnitException;
 import org.junit.platform.commons.logging.Logger;
@@ -25,6 +33,7 @@ import org.junit.platform.commons.logging.LoggerFactory;
 import org.junit.platform.commons.util.BlacklistedExceptions;
 import org.junit.platform.commons.util.ExceptionUtils;
 import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.reporting.ReportEntry;
 import org.junit.platform.engine.support.hierarchical.HierarchicalTestExecutorService.TestTask;
 import org.junit.platform.engine.support.hierarchical.Node.DynamicTestExecutor;
 import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
@@ -47,6 +56,7 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 	private SkipResult skipResult;
 	private boolean started;
 	private ThrowableCollector throwableCollector;
+	private long resourceLockWaitNanos = -1;
 
 	NodeTestTask(NodeTestTaskContext taskContext, TestDescriptor testDescriptor) {
 		this.taskContext = taskContext;
@@ -56,7 +66,11 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 
 	@Override
 	public ResourceLock getResourceLock() {
-		return taskContext.getExecutionAdvisor().getResourceLock(testDescriptor);
+		ResourceLock resourceLock = taskContext.getExecutionAdvisor().getResourceLock(testDescriptor);
+		if (taskContext.isResourceLockReportingEnabled() && resourceLock != NopLock.INSTANCE) {
+			return new WaitTimeRecordingResourceLock(resourceLock);
+		}
+		return resourceLock;
 	}
 
 	@Override
@@ -64,6 +78,10 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 		return taskContext.getExecutionAdvisor().getForcedExecutionMode(testDescriptor).orElse(node.getExecutionMode());
 	}
 
+	TestDescriptor getTestDescriptor() {
+		return testDescriptor;
+	}
+
 	void setParentContext(C parentContext) {
 		this.parentContext = parentContext;
 	}
@@ -112,13 +130,35 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 	}
 
 	private void checkWhetherSkipped() {
+		if (taskContext.isCancellationRequested()) {
+			skipResult = SkipResult.skip("Execution was cancelled before this node was started");
+			return;
+		}
 		throwableCollector.execute(() -> skipResult = node.shouldBeSkipped(context));
 	}
 
 	private void executeRecursively() {
 		taskContext.getListener().executionStarted(testDescriptor);
 		started = true;
+		reportResourceLock();
 
+		// Only threads executing tests are interrupted upon cancellation since
+		// containers need to wait for their children to be reported as skipped
+		if (testDescriptor.isTest()) {
+			taskContext.testStarted(Thread.currentThread());
+			try {
+				executeNode();
+			}
+			finally {
+				taskContext.testFinished(Thread.currentThread());
+			}
+		}
+		else {
+			executeNode();
+		}
+	}
+
+	private void executeNode() {
 		throwableCollector.execute(() -> {
 			node.around(context, ctx -> {
 				context = ctx;
@@ -131,11 +171,13 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 
 					context = node.before(context);
 
-					final DynamicTestExecutor dynamicTestExecutor = new DefaultDynamicTestExecutor();
+					final DynamicTestExecutor dynamicTestExecutor = new DefaultDynamicTestExecutor(
+						taskContext.getDynamicTestWindowSize());
 					context = node.execute(context, dynamicTestExecutor);
 
 					if (!children.isEmpty()) {
 						children.forEach(child -> child.setParentContext(context));
+						taskContext.getSiblingTaskOrderer().order(children);
 						taskContext.getExecutorService().invokeAll(children);
 					}
 
@@ -147,6 +189,33 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 		});
 	}
 
+	private void reportResourceLock() {
+		if (resourceLockWaitNanos < 0) {
+			return;
+		}
+		// @formatter:off
+		String resources = taskContext.getExecutionAdvisor().getLockedResources(testDescriptor).stream()
+				.sorted(comparing(ExclusiveResource::getKey).thenComparing(ExclusiveResource::getLockMode))
+				.map(resource -> resource.getKey() + " [" + resource.getLockMode() + "]")
+				.collect(joining(", "));
+		// @formatter:on
+		Map<String, String> values = new LinkedHashMap<>();
+		values.put(ResourceLockReporting.RESOURCES_REPORT_ENTRY_KEY, resources);
+		values.put(ResourceLockReporting.WAIT_TIME_REPORT_ENTRY_KEY,
+			String.valueOf(TimeUnit.NANOSECONDS.toMicros(resourceLockWaitNanos)));
+		taskContext.getListener().reportingEntryPublished(testDescriptor, ReportEntry.from(values));
+	}
+
+	private void reportResourceLockStatistics() {
+		// @formatter:off
+		taskContext.getResourceLockStatistics()
+				.map(ResourceLockStatistics::toReportEntryValues)
+				.filter(values -> !values.isEmpty())
+				.ifPresent(values -> taskContext.getListener().reportingEntryPublished(testDescriptor,
+						ReportEntry.from(values)));
+		// @formatter:on
+	}
+
 	private void cleanUp() {
 		throwableCollector.execute(() -> node.cleanUp(context));
 	}
@@ -168,6 +237,9 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 			// Call executionStarted first to comply with the contract of EngineExecutionListener.
 			taskContext.getListener().executionStarted(testDescriptor);
 		}
+		if (testDescriptor.isRoot()) {
+			reportResourceLockStatistics();
+		}
 		try {
 			node.nodeFinished(context, testDescriptor, throwableCollector.toTestExecutionResult());
 		}
@@ -181,10 +253,18 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 	}
 
 	private class DefaultDynamicTestExecutor implements DynamicTestExecutor {
-		private final List<Future<?>> futures = new ArrayList<>();
+
+		// Only ever accessed by the thread executing the enclosing node
+		private final Deque<Future<?>> futures = new ArrayDeque<>();
+		private final int windowSize;
+
+		DefaultDynamicTestExecutor(int windowSize) {
+			this.windowSize = windowSize;
+		}
 
 		@Override
 		public void execute(TestDescriptor dynamicTestDescriptor) {
+			awaitCapacity();
 			taskContext.getListener().dynamicTestRegistered(dynamicTestDescriptor);
 			Set<ExclusiveResource> exclusiveResources = NodeUtils.asNode(dynamicTestDescriptor).getExclusiveResources();
 			if (!exclusiveResources.isEmpty()) {
@@ -199,16 +279,83 @@ class NodeTestTask<C extends EngineExecutionContext> implements TestTask {
 			}
 		}
 
-		@Override
-		public void awaitFinished() throws InterruptedException {
-			for (Future<?> future : futures) {
-				try {
-					future.get();
+		private void awaitCapacity() {
+			try {
+				releaseLeadingCompletedFutures();
+				if (futures.size() >= windowSize) {
+					releaseCompletedFutures();
 				}
-				catch (ExecutionException e) {
-					ExceptionUtils.throwAsUncheckedException(e.getCause());
+				while (futures.size() >= windowSize) {
+					await(futures.remove());
 				}
 			}
+			catch (InterruptedException e) {
+				ExceptionUtils.throwAsUncheckedException(e);
+			}
+		}
+
+		private void releaseLeadingCompletedFutures() throws InterruptedException {
+			while (!futures.isEmpty() && futures.peek().isDone()) {
+				await(futures.remove());
+			}
+		}
+
+		private void releaseCompletedFutures() throws InterruptedException {
+			for (Iterator<Future<?>> iterator = futures.iterator(); iterator.hasNext();) {
+				Future<?> future = iterator.next();
+				if (future.isDone()) {
+					iterator.remove();
+					await(future);
+				}
+			}
+		}
+
+		@Override
+		public boolean isCancellationRequested() {
+			return taskContext.isCancellationRequested();
+		}
+
+		@Override
+		public void awaitFinished() throws InterruptedException {
+			while (!futures.isEmpty()) {
+				await(futures.remove());
+			}
+		}
+
+		private void await(Future<?> future) throws InterruptedException {
+			try {
+				future.get();
+			}
+			catch (ExecutionException e) {
+				ExceptionUtils.throwAsUncheckedException(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Records the time spent waiting for the delegate lock so that it can be
+	 * reported once this task has been started. Executor services acquire the
+	 * lock in the thread that subsequently executes this task.
+	 */
+	private class WaitTimeRecordingResourceLock implements ResourceLock {
+
+		private final ResourceLock delegate;
+
+		WaitTimeRecordingResourceLock(ResourceLock delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public ResourceLock acquire() throws InterruptedException {
+			long startNanoTime = System.nanoTime();
+			delegate.acquire();
+			resourceLockWaitNanos = System.nanoTime() - startNanoTime;
+			return this;
+		}
+
+		@Override
+		public void release() {
+			delegate.release();
 		}
 	}
 
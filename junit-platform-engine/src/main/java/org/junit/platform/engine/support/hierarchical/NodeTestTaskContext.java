@@ -10,6 +10,11 @@
 
 package org.junit.platform.engine.support.hierarchical;
 
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.EngineExecutionListener;
 
 /**
@@ -21,13 +26,27 @@ class NodeTestTaskContext {
 	private final HierarchicalTestExecutorService executorService;
 	private final ThrowableCollector.Factory throwableCollectorFactory;
 	private final NodeExecutionAdvisor executionAdvisor;
+	private final SiblingTaskOrderer siblingTaskOrderer;
+	private final int dynamicTestWindowSize;
+	private final CancellationToken cancellationToken;
+	private final Optional<ResourceLockStatistics> resourceLockStatistics;
+
+	// Guarded by itself so that no thread is interrupted after it finished executing its test
+	private final Set<Thread> threadsExecutingTests = new HashSet<>();
 
 	public NodeTestTaskContext(EngineExecutionListener listener, HierarchicalTestExecutorService executorService,
-			ThrowableCollector.Factory throwableCollectorFactory, NodeExecutionAdvisor executionAdvisor) {
+			ThrowableCollector.Factory throwableCollectorFactory, NodeExecutionAdvisor executionAdvisor,
+			SiblingTaskOrderer siblingTaskOrderer, int dynamicTestWindowSize, CancellationToken cancellationToken,
+			Optional<ResourceLockStatistics> resourceLockStatistics) {
 		this.listener = listener;
 		this.executorService = executorService;
 		this.throwableCollectorFactory = throwableCollectorFactory;
 		this.executionAdvisor = executionAdvisor;
+		this.siblingTaskOrderer = siblingTaskOrderer;
+		this.dynamicTestWindowSize = dynamicTestWindowSize;
+		this.cancellationToken = cancellationToken;
+		this.resourceLockStatistics = resourceLockStatistics;
+		cancellationToken.addCancellationCallback(this::interruptThreadsExecutingTests);
 	}
 
 	EngineExecutionListener getListener() {
@@ -45,4 +64,46 @@ class NodeTestTaskContext {
 	NodeExecutionAdvisor getExecutionAdvisor() {
 		return executionAdvisor;
 	}
+
+	SiblingTaskOrderer getSiblingTaskOrderer() {
+		return siblingTaskOrderer;
+	}
+
+	int getDynamicTestWindowSize() {
+		return dynamicTestWindowSize;
+	}
+
+	boolean isResourceLockReportingEnabled() {
+		return resourceLockStatistics.isPresent();
+	}
+
+	Optional<ResourceLockStatistics> getResourceLockStatistics() {
+		return resourceLockStatistics;
+	}
+
+	boolean isCancellationRequested() {
+		return cancellationToken.isCancellationRequested();
+	}
+
+	void testStarted(Thread thread) {
+		synchronized (threadsExecutingTests) {
+			threadsExecutingTests.add(thread);
+		}
+		// Cancellation may have been requested after this test was checked for being skipped
+		if (isCancellationRequested()) {
+			thread.interrupt();
+		}
+	}
+
+	void testFinished(Thread thread) {
+		synchronized (threadsExecutingTests) {
+			threadsExecutingTests.remove(thread);
+		}
+	}
+
+	private void interruptThreadsExecutingTests() {
+		synchronized (threadsExecutingTests) {
+			threadsExecutingTests.forEach(Thread::interrupt);
+		}
+	}
 }
@@ -13,6 +13,7 @@ package org.junit.platform.engine.support.hierarchical;
 import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.SAME_THREAD;
 
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -23,18 +24,45 @@ import org.junit.platform.engine.TestDescriptor;
  */
 class NodeTreeWalker {
 
-	private final LockManager lockManager = new LockManager();
+	private final LockManager lockManager;
+	private final ResourceLockingMode resourceLockingMode;
+	private final Optional<ResourceLockStatistics> resourceLockStatistics;
+
+	NodeTreeWalker() {
+		this(ResourceLockingMode.COARSE_GRAINED);
+	}
+
+	NodeTreeWalker(ResourceLockingMode resourceLockingMode) {
+		this(resourceLockingMode, Optional.empty());
+	}
+
+	NodeTreeWalker(ResourceLockingMode resourceLockingMode, Optional<ResourceLockStatistics> resourceLockStatistics) {
+		this.resourceLockingMode = resourceLockingMode;
+		this.resourceLockStatistics = resourceLockStatistics;
+		this.lockManager = new LockManager(resourceLockStatistics);
+	}
 
 	NodeExecutionAdvisor walk(TestDescriptor testDescriptor) {
 		NodeExecutionAdvisor advisor = new NodeExecutionAdvisor();
-		walk(testDescriptor, advisor);
+		walk(testDescriptor, lockManager, advisor);
+		advisor.resolve(testDescriptor);
 		return advisor;
 	}
 
-	private void walk(TestDescriptor testDescriptor, NodeExecutionAdvisor advisor) {
+	private void walk(TestDescriptor testDescriptor, LockManager scopedLockManager, NodeExecutionAdvisor advisor) {
 		Set<ExclusiveResource> exclusiveResources = getExclusiveResources(testDescriptor);
 		if (exclusiveResources.isEmpty()) {
-			testDescriptor.getChildren().forEach(child -> walk(child, advisor));
+			testDescriptor.getChildren().forEach(child -> walk(child, scopedLockManager, advisor));
+		}
+		else if (resourceLockingMode == ResourceLockingMode.HIERARCHICAL) {
+			Set<ExclusiveResource> allResources = new HashSet<>(exclusiveResources);
+			doForChildrenRecursively(testDescriptor, child -> allResources.addAll(getExclusiveResources(child)));
+			advisor.useResourceLock(testDescriptor, allResources, scopedLockManager.getLockForResources(allResources));
+			// Descendants only compete with each other for the resources already
+			// held by this node, so they use locks scoped to this node.
+			LockManager nestedLockManager = new LockManager(
+				resourceLockStatistics.map(statistics -> statistics.nestedIn(testDescriptor.getUniqueId())));
+			testDescriptor.getChildren().forEach(child -> walk(child, nestedLockManager, advisor));
 		}
 		else {
 			Set<ExclusiveResource> allResources = new HashSet<>(exclusiveResources);
@@ -43,7 +71,7 @@ class NodeTreeWalker {
 				allResources.addAll(getExclusiveResources(child));
 				advisor.forceDescendantExecutionMode(child, SAME_THREAD);
 			});
-			advisor.useResourceLock(testDescriptor, lockManager.getLockForResources(allResources));
+			advisor.useResourceLock(testDescriptor, allResources, scopedLockManager.getLockForResources(allResources));
 		}
 	}
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import org.apiguardian.api.API;
+import org.junit.platform.engine.reporting.ReportEntry;
+
+/**
+ * Collection of constants related to reporting the {@link ResourceLock
+ * ResourceLocks} acquired while executing nodes.
+ *
+ * <p>If enabled via {@link #ENABLED_PROPERTY_NAME}, the
+ * {@link HierarchicalTestEngine} publishes a {@link ReportEntry} for each
+ * node that acquired a resource lock immediately after reporting the node as
+ * started. In addition, it publishes a {@link ReportEntry} containing
+ * statistics about the lock acquisitions per resource key for the root node
+ * before reporting it as finished.
+ *
+ * @since 1.4
+ * @see org.junit.platform.engine.EngineExecutionListener#reportingEntryPublished
+ */
+@API(status = EXPERIMENTAL, since = "1.4")
+public final class ResourceLockReporting {
+
+	/**
+	 * Property name used to enable reporting of acquired resource locks:
+	 * {@value}
+	 *
+	 * <p>By default, resource locks are not reported.
+	 */
+	public static final String ENABLED_PROPERTY_NAME = "junit.platform.execution.resourcelocks.report";
+
+	/**
+	 * Key used to publish the comma-separated list of exclusive resources
+	 * locked by a node as part of a {@link ReportEntry}: {@value}
+	 *
+	 * <p>Each resource is formatted as its key followed by its lock mode in
+	 * square brackets, e.g. {@code java.lang.System.properties [READ_WRITE]}.
+	 */
+	public static final String RESOURCES_REPORT_ENTRY_KEY = "resourceLocks";
+
+	/**
+	 * Key used to publish the number of microseconds a node waited to acquire
+	 * its resource lock as part of a {@link ReportEntry}: {@value}
+	 */
+	public static final String WAIT_TIME_REPORT_ENTRY_KEY = "resourceLocks.waitMicros";
+
+	/**
+	 * Prefix of the keys used to publish the lock statistics of each
+	 * resource key as part of a {@link ReportEntry}: {@value}
+	 *
+	 * <p>The prefix is followed by the key of the resource, e.g.
+	 * {@code resourceLocks.statistics.java.lang.System.properties}. The value
+	 * contains the number of acquisitions, the total and maximum time spent
+	 * waiting to acquire the lock in microseconds, the number of nodes that
+	 * currently hold the lock, and the maximum number of nodes that held the
+	 * lock at the same time, e.g. {@code acquisitions=3, totalWaitMicros=1500,
+	 * maxWaitMicros=1000, currentHolders=0, maxHolders=1}.
+	 *
+	 * <p>Locks that nodes acquire within the resources already locked by one
+	 * of their ancestors, e.g. in hierarchical resource locking mode, are
+	 * independent of the locks for the same resources acquired elsewhere.
+	 * Their keys are therefore suffixed with {@code @} followed by the unique
+	 * ID of that ancestor.
+	 */
+	public static final String STATISTICS_REPORT_ENTRY_KEY_PREFIX = "resourceLocks.statistics.";
+
+	private ResourceLockReporting() {
+		/* no-op */
+	}
+
+}
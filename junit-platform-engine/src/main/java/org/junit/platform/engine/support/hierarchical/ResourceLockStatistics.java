@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * Collects statistics about the acquisition of the locks handed out by
+ * {@link LockManager LockManagers} per key of the locked
+ * {@link ExclusiveResource}.
+ *
+ * <p>The locks handed out by {@link LockManager LockManagers} that are nested
+ * in a node, e.g. in {@link ResourceLockingMode#HIERARCHICAL hierarchical}
+ * resource locking mode, are independent of the locks for the same keys that
+ * are handed out by other lock managers. Hence, their statistics are recorded
+ * separately via {@link #nestedIn(UniqueId)}.
+ *
+ * @since 1.4
+ * @see ResourceLockReporting
+ */
+class ResourceLockStatistics {
+
+	private final Map<String, KeyStatistics> statisticsByKey;
+	private final String keySuffix;
+
+	ResourceLockStatistics() {
+		this(new ConcurrentHashMap<>(), "");
+	}
+
+	private ResourceLockStatistics(Map<String, KeyStatistics> statisticsByKey, String keySuffix) {
+		this.statisticsByKey = statisticsByKey;
+		this.keySuffix = keySuffix;
+	}
+
+	/**
+	 * Create statistics for the locks of a {@link LockManager} that is nested
+	 * in the node with the supplied unique ID.
+	 *
+	 * <p>The returned statistics are reported along with these statistics,
+	 * but the keys of their resources are suffixed with {@code @} followed by
+	 * the supplied unique ID.
+	 */
+	ResourceLockStatistics nestedIn(UniqueId uniqueId) {
+		return new ResourceLockStatistics(this.statisticsByKey, "@" + uniqueId);
+	}
+
+	/**
+	 * Wrap the supplied lock so that its acquisitions and releases are
+	 * recorded for the supplied key.
+	 */
+	Lock instrument(String key, Lock lock) {
+		return new InstrumentedLock(lock,
+			this.statisticsByKey.computeIfAbsent(key + this.keySuffix, k -> new KeyStatistics()));
+	}
+
+	KeyStatistics get(String key) {
+		return this.statisticsByKey.get(key + this.keySuffix);
+	}
+
+	/**
+	 * Format the statistics of all keys whose locks have been acquired at
+	 * least once, including the ones of {@linkplain #nestedIn nested} lock
+	 * managers, sorted by key.
+	 */
+	Map<String, String> toReportEntryValues() {
+		Map<String, String> values = new TreeMap<>();
+		this.statisticsByKey.forEach((key, statistics) -> {
+			if (statistics.getAcquisitions() > 0) {
+				values.put(ResourceLockReporting.STATISTICS_REPORT_ENTRY_KEY_PREFIX + key, statistics.toString());
+			}
+		});
+		return values;
+	}
+
+	static class KeyStatistics {
+
+		private final LongAdder acquisitions = new LongAdder();
+		private final LongAdder totalWaitNanos = new LongAdder();
+		private final AtomicLong maxWaitNanos = new AtomicLong();
+		private final AtomicInteger currentHolders = new AtomicInteger();
+		private final AtomicInteger maxHolders = new AtomicInteger();
+
+		void acquired(long waitNanos) {
+			this.acquisitions.increment();
+			this.totalWaitNanos.add(waitNanos);
+			this.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+			this.maxHolders.accumulateAndGet(this.currentHolders.incrementAndGet(), Math::max);
+		}
+
+		void released() {
+			this.currentHolders.decrementAndGet();
+		}
+
+		long getAcquisitions() {
+			return this.acquisitions.sum();
+		}
+
+		long getTotalWaitNanos() {
+			return this.totalWaitNanos.sum();
+		}
+
+		long getMaxWaitNanos() {
+			return this.maxWaitNanos.get();
+		}
+
+		int getCurrentHolders() {
+			return this.currentHolders.get();
+		}
+
+		int getMaxHolders() {
+			return this.maxHolders.get();
+		}
+
+		@Override
+		public String toString() {
+			return String.format(
+				"acquisitions=%d, totalWaitMicros=%d, maxWaitMicros=%d, currentHolders=%d, maxHolders=%d",
+				getAcquisitions(), NANOSECONDS.toMicros(getTotalWaitNanos()), NANOSECONDS.toMicros(getMaxWaitNanos()),
+				getCurrentHolders(), getMaxHolders());
+		}
+	}
+
+	private static class InstrumentedLock implements Lock {
+
+		private final Lock delegate;
+		private final KeyStatistics statistics;
+
+		InstrumentedLock(Lock delegate, KeyStatistics statistics) {
+			this.delegate = delegate;
+			this.statistics = statistics;
+		}
+
+		@Override
+		public void lock() {
+			long startNanoTime = System.nanoTime();
+			this.delegate.lock();
+			this.statistics.acquired(System.nanoTime() - startNanoTime);
+		}
+
+		@Override
+		public void lockInterruptibly() throws InterruptedException {
+			long startNanoTime = System.nanoTime();
+			this.delegate.lockInterruptibly();
+			this.statistics.acquired(System.nanoTime() - startNanoTime);
+		}
+
+		@Override
+		public boolean tryLock() {
+			if (this.delegate.tryLock()) {
+				this.statistics.acquired(0);
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+			long startNanoTime = System.nanoTime();
+			if (this.delegate.tryLock(time, unit)) {
+				this.statistics.acquired(System.nanoTime() - startNanoTime);
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void unlock() {
+			// Record the release first so the next holder is not counted alongside this one
+			this.statistics.released();
+			this.delegate.unlock();
+		}
+
+		@Override
+		public Condition newCondition() {
+			return this.delegate.newCondition();
+		}
+	}
+
+}
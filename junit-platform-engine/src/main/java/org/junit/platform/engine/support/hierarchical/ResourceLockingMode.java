@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import org.apiguardian.api.API;
+
+/**
+ * Supported modes for acquiring the {@linkplain ResourceLock resource locks}
+ * of nodes that declare {@linkplain Node#getExclusiveResources() exclusive
+ * resources}.
+ *
+ * @see HierarchicalTestEngine#getResourceLockingMode(org.junit.platform.engine.ExecutionRequest)
+ * @since 1.4
+ */
+@API(status = EXPERIMENTAL, since = "1.4")
+public enum ResourceLockingMode {
+
+	/**
+	 * The topmost node that declares exclusive resources acquires the
+	 * resources of all of its descendants, and all of its descendants are
+	 * executed in the {@linkplain Node.ExecutionMode#SAME_THREAD same thread}.
+	 *
+	 * <p>This is the default mode.
+	 */
+	COARSE_GRAINED,
+
+	/**
+	 * The topmost node that declares exclusive resources acquires the
+	 * resources of all of its descendants, but its descendants retain their
+	 * {@linkplain Node#getExecutionMode() execution mode}.
+	 *
+	 * <p>Descendants that declare exclusive resources themselves synchronize
+	 * with each other using locks that are scoped to their closest ancestor
+	 * that declares exclusive resources. Thus, descendants that do not
+	 * conflict with each other may be executed concurrently. Since locks of
+	 * an inner scope are only ever acquired while holding the locks of the
+	 * enclosing scope, and locks within each scope are acquired in a global
+	 * order, this mode is deadlock-free.
+	 */
+	HIERARCHICAL
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import org.apiguardian.api.API;
+import org.junit.platform.engine.support.history.ExecutionHistory;
+
+/**
+ * Supported modes for ordering sibling nodes before they are handed to the
+ * {@linkplain HierarchicalTestExecutorService executor service}.
+ *
+ * <p>Only siblings whose {@linkplain Node.ExecutionMode execution mode} is
+ * {@linkplain Node.ExecutionMode#CONCURRENT concurrent} are reordered; the
+ * relative order of all other siblings is always retained.
+ *
+ * @see HierarchicalTestEngine#getSchedulingMode(org.junit.platform.engine.ExecutionRequest)
+ * @since 1.4
+ */
+@API(status = EXPERIMENTAL, since = "1.4")
+public enum SchedulingMode {
+
+	/**
+	 * Retain the order in which the children of a node were discovered.
+	 *
+	 * <p>This is the default mode.
+	 */
+	DECLARATION_ORDER,
+
+	/**
+	 * Order concurrent siblings by the duration of their previous execution
+	 * according to the {@link ExecutionHistory}, longest first.
+	 *
+	 * <p>Starting long-running nodes first reduces the risk of a single
+	 * long-running node delaying the end of the entire execution. Nodes
+	 * without a previous duration are treated as long-running and are thus
+	 * started first.
+	 */
+	LONGEST_FIRST,
+
+	/**
+	 * Order concurrent siblings according to the {@link ExecutionHistory} so
+	 * that nodes that failed during their previous execution are started
+	 * first, followed by nodes whose class file has been modified since their
+	 * previous execution, followed by all other nodes.
+	 *
+	 * <p>Within each of these groups, siblings retain their relative order.
+	 *
+	 * @see FailedFirstComparator
+	 */
+	FAILED_FIRST
+
+}
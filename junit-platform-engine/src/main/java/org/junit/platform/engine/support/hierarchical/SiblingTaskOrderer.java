@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.Comparator.comparing;
+import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.CONCURRENT;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.history.ExecutionHistory;
+
+/**
+ * Reorders sibling {@linkplain NodeTestTask tasks} according to a
+ * {@link SchedulingMode} before they are handed to the executor service.
+ *
+ * <p>Only concurrent tasks are reordered among the positions they occupy;
+ * all other tasks keep their position. The sort key of each task is computed
+ * once per invocation of {@link #order(List)} rather than for each
+ * comparison.
+ *
+ * @since 1.4
+ */
+class SiblingTaskOrderer {
+
+	/**
+	 * Sort key of unknown durations, which are considered the longest.
+	 */
+	private static final long UNKNOWN_DURATION_SORT_KEY = Long.MIN_VALUE;
+
+	private final ToLongFunction<TestDescriptor> sortKey;
+
+	SiblingTaskOrderer(SchedulingMode schedulingMode, ExecutionHistory executionHistory) {
+		this.sortKey = createSortKey(schedulingMode, executionHistory);
+	}
+
+	private static ToLongFunction<TestDescriptor> createSortKey(SchedulingMode schedulingMode,
+			ExecutionHistory executionHistory) {
+		if (schedulingMode == SchedulingMode.LONGEST_FIRST && !executionHistory.isEmpty()) {
+			// @formatter:off
+			return descriptor -> executionHistory.getDuration(descriptor.getUniqueId())
+					.map(duration -> -duration.toNanos())
+					.orElse(UNKNOWN_DURATION_SORT_KEY);
+			// @formatter:on
+		}
+		if (schedulingMode == SchedulingMode.FAILED_FIRST && !executionHistory.isEmpty()) {
+			return new FailedFirstComparator(executionHistory)::getPriority;
+		}
+		return null;
+	}
+
+	<T extends NodeTestTask<?>> void order(List<T> siblings) {
+		if (sortKey == null || siblings.size() < 2) {
+			return;
+		}
+		List<Integer> positions = new ArrayList<>();
+		List<T> concurrentSiblings = new ArrayList<>();
+		for (int i = 0; i < siblings.size(); i++) {
+			T sibling = siblings.get(i);
+			if (sibling.getExecutionMode() == CONCURRENT) {
+				positions.add(i);
+				concurrentSiblings.add(sibling);
+			}
+		}
+		if (concurrentSiblings.size() < 2) {
+			return;
+		}
+		Map<T, Long> sortKeys = new IdentityHashMap<>(concurrentSiblings.size());
+		for (T sibling : concurrentSiblings) {
+			sortKeys.put(sibling, sortKey.applyAsLong(sibling.getTestDescriptor()));
+		}
+		concurrentSiblings.sort(comparing(sortKeys::get));
+		for (int i = 0; i < positions.size(); i++) {
+			siblings.set(positions.get(i), concurrentSiblings.get(i));
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.junit.platform.engine.support.hierarchical.Node.ExecutionMode.CONCURRENT;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.function.Try;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.ExceptionUtils;
+import org.junit.platform.engine.ConfigurationParameters;
+
+/**
+ * An {@linkplain HierarchicalTestExecutorService executor service} that
+ * executes each {@linkplain TestTask test task} that may be executed
+ * {@linkplain Node.ExecutionMode#CONCURRENT concurrently} in its own virtual
+ * thread.
+ *
+ * <p>Since virtual threads are cheap to create and release their carrier
+ * thread while being blocked, this service is well suited for test suites
+ * that spend most of their time waiting for I/O. Tasks that must be executed
+ * in the {@linkplain Node.ExecutionMode#SAME_THREAD same thread} are executed
+ * in the thread of their parent task, and each task's
+ * {@linkplain TestTask#getResourceLock() resource lock} is acquired before
+ * and released after its execution.
+ *
+ * <p>Since the JVM uses a single scheduler for all virtual threads that
+ * reads its configuration only once, this service does not change the number
+ * of carrier threads. It can only be configured when starting the JVM via the
+ * {@code jdk.virtualThreadScheduler.parallelism} system property and defaults
+ * to the number of available processors. If it differs from the
+ * {@linkplain ParallelExecutionConfiguration#getParallelism() parallelism}
+ * of the configured {@link ParallelExecutionConfigurationStrategy}, a warning
+ * is logged.
+ *
+ * <p>Virtual threads are only available on Java 21 or later. Attempting to
+ * create an instance of this service on earlier versions results in a
+ * {@link JUnitException}.
+ *
+ * @see DefaultParallelExecutionConfigurationStrategy
+ * @see ForkJoinPoolHierarchicalTestExecutorService
+ * @since 1.4
+ */
+@API(status = EXPERIMENTAL, since = "1.4")
+public class VirtualThreadHierarchicalTestExecutorService implements HierarchicalTestExecutorService {
+
+	static final String CARRIER_PARALLELISM_SYSTEM_PROPERTY_NAME = "jdk.virtualThreadScheduler.parallelism";
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadHierarchicalTestExecutorService.class);
+
+	private final ThreadLocal<Boolean> workerThread = ThreadLocal.withInitial(() -> false);
+	private final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+	private final ExecutorService executorService;
+
+	/**
+	 * Create a new {@code VirtualThreadHierarchicalTestExecutorService} based
+	 * on the supplied {@link ConfigurationParameters}.
+	 *
+	 * @see DefaultParallelExecutionConfigurationStrategy
+	 */
+	public VirtualThreadHierarchicalTestExecutorService(ConfigurationParameters configurationParameters) {
+		ParallelExecutionConfigurationStrategy strategy = DefaultParallelExecutionConfigurationStrategy.getStrategy(
+			configurationParameters);
+		ParallelExecutionConfiguration configuration = strategy.createConfiguration(configurationParameters);
+		executorService = createThreadPerTaskExecutor();
+		int carrierParallelism = getCarrierParallelism();
+		if (carrierParallelism != configuration.getParallelism()) {
+			logger.warn(() -> String.format(
+				"Configured parallelism of %d is not applied to the carrier threads of virtual threads, which use a "
+						+ "parallelism of %d. Start the JVM with -D%s=%d to change it.",
+				configuration.getParallelism(), carrierParallelism, CARRIER_PARALLELISM_SYSTEM_PROPERTY_NAME,
+				configuration.getParallelism()));
+		}
+		logger.config(() -> "Using virtual threads with a carrier thread parallelism of " + carrierParallelism);
+	}
+
+	private static int getCarrierParallelism() {
+		String value = System.getProperty(CARRIER_PARALLELISM_SYSTEM_PROPERTY_NAME);
+		if (value != null) {
+			try {
+				return Integer.parseInt(value.trim());
+			}
+			catch (NumberFormatException e) {
+				// fall through to the JDK's default
+			}
+		}
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	private static ExecutorService createThreadPerTaskExecutor() {
+		return Try.call(() -> {
+			// Virtual threads are only available in Java >= 21
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			builder = builderClass.getMethod("name", String.class, Long.TYPE).invoke(builder, "junit-virtual-", 0L);
+			ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+			Method factoryMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			return (ExecutorService) factoryMethod.invoke(null, threadFactory);
+		}).getOrThrow(cause -> new JUnitException("Virtual threads require Java 21 or later", cause));
+	}
+
+	@Override
+	public Future<Void> submit(TestTask testTask) {
+		if (isWorkerThread() && testTask.getExecutionMode() != CONCURRENT) {
+			executeExclusively(testTask);
+			return completedFuture(null);
+		}
+		return executorService.submit(() -> {
+			executeInWorkerThread(testTask);
+			return null;
+		});
+	}
+
+	@Override
+	public void invokeAll(List<? extends TestTask> testTasks) {
+		if (testTasks.size() == 1) {
+			executeExclusively(testTasks.get(0));
+			return;
+		}
+		List<Future<Void>> concurrentTasks = new ArrayList<>();
+		List<TestTask> nonConcurrentTasks = new ArrayList<>();
+		for (TestTask testTask : testTasks) {
+			if (testTask.getExecutionMode() == CONCURRENT) {
+				concurrentTasks.add(submit(testTask));
+			}
+			else {
+				nonConcurrentTasks.add(testTask);
+			}
+		}
+		nonConcurrentTasks.forEach(this::executeExclusively);
+		awaitAll(concurrentTasks);
+	}
+
+	private void awaitAll(List<Future<Void>> futures) {
+		for (Future<Void> future : futures) {
+			try {
+				future.get();
+			}
+			catch (ExecutionException e) {
+				ExceptionUtils.throwAsUncheckedException(e.getCause());
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				ExceptionUtils.throwAsUncheckedException(e);
+			}
+		}
+	}
+
+	private boolean isWorkerThread() {
+		return workerThread.get();
+	}
+
+	private void executeInWorkerThread(TestTask testTask) {
+		Thread currentThread = Thread.currentThread();
+		currentThread.setContextClassLoader(contextClassLoader);
+		workerThread.set(true);
+		try {
+			executeExclusively(testTask);
+		}
+		finally {
+			workerThread.remove();
+		}
+	}
+
+	@SuppressWarnings("try")
+	private void executeExclusively(TestTask testTask) {
+		try (ResourceLock lock = testTask.getResourceLock().acquire()) {
+			testTask.execute();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			ExceptionUtils.throwAsUncheckedException(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		executorService.shutdownNow();
+	}
+
+}
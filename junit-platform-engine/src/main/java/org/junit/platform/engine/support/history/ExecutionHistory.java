@@ -0,0 +1,431 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.history;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.ClassLoaderUtils;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.commons.util.ToStringBuilder;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult.Status;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+/**
+ * History of previous test executions keyed by {@link UniqueId}.
+ *
+ * <p>An {@code ExecutionHistory} is {@linkplain #load(Path) loaded} from a
+ * plain text file that contains one line per test or container consisting of
+ * its duration in milliseconds, its {@linkplain Status status}, the
+ * last-modified time of its class file in milliseconds since the epoch, and
+ * its unique ID, separated by tab characters. Unknown values are written as
+ * {@code -}. Lines starting with {@code #} are ignored; lines only consisting
+ * of a duration and a unique ID are supported as well.
+ *
+ * <p>Entries {@linkplain #recordDuration recorded} during the current
+ * execution are merged into the file when the history is
+ * {@linkplain #store(Path) stored}; entries of tests that have not been
+ * executed are retained.
+ *
+ * <p>Since the history is only used to optimize test execution, errors while
+ * reading or writing the file are logged instead of being propagated.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @since 1.4
+ */
+@API(status = EXPERIMENTAL, since = "1.4")
+public final class ExecutionHistory {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExecutionHistory.class);
+
+	private static final String COMMENT_PREFIX = "#";
+	private static final char SEPARATOR = '\t';
+	private static final String UNKNOWN_VALUE = "-";
+	private static final long UNKNOWN = -1;
+	private static final String SEGMENT_END = "]";
+	private static final String SEGMENT_DELIMITER = SEGMENT_END + "/";
+	private static final Object STORE_LOCK = new Object();
+
+	private final Map<String, Entry> loadedEntries;
+	private final Set<String> previouslyFailedUniqueIds;
+	private final Map<String, Entry> recordedEntries = new ConcurrentHashMap<>();
+	private final Map<String, Long> classFileLastModifiedTimes = new ConcurrentHashMap<>();
+
+	/**
+	 * Create an empty {@code ExecutionHistory}.
+	 */
+	public static ExecutionHistory empty() {
+		return new ExecutionHistory(new ConcurrentHashMap<>());
+	}
+
+	/**
+	 * Load the {@code ExecutionHistory} stored in the supplied file.
+	 *
+	 * <p>If the file does not exist or cannot be read, an empty history is
+	 * returned.
+	 *
+	 * @param file the file to read; never {@code null}
+	 * @return the loaded history; never {@code null}
+	 */
+	public static ExecutionHistory load(Path file) {
+		Preconditions.notNull(file, "file must not be null");
+		return new ExecutionHistory(readEntries(file));
+	}
+
+	private static Map<String, Entry> readEntries(Path file) {
+		Map<String, Entry> entries = new ConcurrentHashMap<>();
+		if (!Files.isRegularFile(file)) {
+			return entries;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				parseLine(line, entries);
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			logger.warn(e, () -> "Failed to read execution history from " + file);
+		}
+		return entries;
+	}
+
+	private static void parseLine(String line, Map<String, Entry> entries) {
+		if (line.startsWith(COMMENT_PREFIX)) {
+			return;
+		}
+		// Unique IDs never contain tab characters
+		String[] values = line.split(String.valueOf(SEPARATOR), 4);
+		try {
+			if (values.length == 2) {
+				entries.put(values[1], new Entry(parseLong(values[0]), null, UNKNOWN));
+			}
+			else if (values.length == 4) {
+				Status status = UNKNOWN_VALUE.equals(values[1]) ? null : Status.valueOf(values[1]);
+				entries.put(values[3], new Entry(parseLong(values[0]), status, parseLong(values[2])));
+			}
+		}
+		catch (IllegalArgumentException e) {
+			logger.debug(() -> "Ignoring malformed execution history entry: " + line);
+		}
+	}
+
+	private static long parseLong(String value) {
+		return UNKNOWN_VALUE.equals(value) ? UNKNOWN : Long.parseLong(value);
+	}
+
+	private ExecutionHistory(Map<String, Entry> loadedEntries) {
+		this.loadedEntries = loadedEntries;
+		this.previouslyFailedUniqueIds = collectFailedUniqueIdsAndAncestors(loadedEntries);
+	}
+
+	private static Set<String> collectFailedUniqueIdsAndAncestors(Map<String, Entry> entries) {
+		Set<String> uniqueIds = new HashSet<>();
+		entries.forEach((uniqueId, entry) -> {
+			if (entry.status == Status.FAILED) {
+				// Segments are delimited by "]/[" which is encoded within types and values
+				int index = uniqueId.indexOf(SEGMENT_DELIMITER);
+				while (index >= 0) {
+					uniqueIds.add(uniqueId.substring(0, index + SEGMENT_END.length()));
+					index = uniqueId.indexOf(SEGMENT_DELIMITER, index + 1);
+				}
+				uniqueIds.add(uniqueId);
+			}
+		});
+		return uniqueIds;
+	}
+
+	/**
+	 * Determine whether this history contains neither loaded nor recorded
+	 * entries.
+	 */
+	public boolean isEmpty() {
+		return loadedEntries.isEmpty() && recordedEntries.isEmpty();
+	}
+
+	/**
+	 * Get the duration of the previous execution of the test or container
+	 * with the supplied {@link UniqueId}.
+	 *
+	 * <p>Durations recorded during the current execution take precedence over
+	 * loaded ones.
+	 *
+	 * @param uniqueId the unique ID of the test or container; never
+	 * {@code null}
+	 * @return the previous duration, or {@link Optional#empty()} if unknown
+	 */
+	public Optional<Duration> getDuration(UniqueId uniqueId) {
+		long durationInMillis = getEntry(uniqueId).map(entry -> entry.durationInMillis).orElse(UNKNOWN);
+		return durationInMillis == UNKNOWN ? Optional.empty() : Optional.of(Duration.ofMillis(durationInMillis));
+	}
+
+	/**
+	 * Get the status of the previous execution of the test or container with
+	 * the supplied {@link UniqueId}.
+	 *
+	 * <p>Statuses recorded during the current execution take precedence over
+	 * loaded ones.
+	 *
+	 * @param uniqueId the unique ID of the test or container; never
+	 * {@code null}
+	 * @return the previous status, or {@link Optional#empty()} if unknown
+	 */
+	public Optional<Status> getStatus(UniqueId uniqueId) {
+		return getEntry(uniqueId).map(entry -> entry.status);
+	}
+
+	private Optional<Entry> getEntry(UniqueId uniqueId) {
+		String key = uniqueId.toString();
+		Entry entry = recordedEntries.get(key);
+		Entry loadedEntry = loadedEntries.get(key);
+		return Optional.ofNullable(entry == null ? loadedEntry : loadedEntry == null ? entry : loadedEntry.merge(entry));
+	}
+
+	/**
+	 * Determine whether the test or container with the supplied
+	 * {@link UniqueId} or any of its descendants failed during the loaded
+	 * previous execution.
+	 *
+	 * <p>Results recorded during the current execution are not taken into
+	 * account.
+	 *
+	 * @param uniqueId the unique ID of the test or container; never
+	 * {@code null}
+	 */
+	public boolean hasFailed(UniqueId uniqueId) {
+		return previouslyFailedUniqueIds.contains(uniqueId.toString());
+	}
+
+	/**
+	 * Determine whether the class file of the supplied test or container has
+	 * been modified since its loaded previous execution.
+	 *
+	 * <p>Tests and containers whose {@linkplain TestDescriptor#getSource()
+	 * source} is a {@link ClassSource} or {@link MethodSource} are supported
+	 * if the class file is located in a directory. Tests and containers that
+	 * were not part of the previous execution are considered modified.
+	 *
+	 * @param testDescriptor the test or container to check; never
+	 * {@code null}
+	 * @return {@code true} if the class file has been modified or if the test
+	 * or container was not executed before; {@code false} if its class file is
+	 * unchanged or unknown
+	 */
+	public boolean isClassFileModified(TestDescriptor testDescriptor) {
+		long lastModified = getClassFileLastModified(testDescriptor);
+		if (lastModified == UNKNOWN) {
+			return false;
+		}
+		Entry loadedEntry = loadedEntries.get(testDescriptor.getUniqueId().toString());
+		return loadedEntry == null || loadedEntry.classFileLastModified != lastModified;
+	}
+
+	/**
+	 * Record the duration of the execution of the test or container with the
+	 * supplied {@link UniqueId}.
+	 *
+	 * @param uniqueId the unique ID of the test or container; never
+	 * {@code null}
+	 * @param duration the duration of its execution; never {@code null}
+	 */
+	public void recordDuration(UniqueId uniqueId, Duration duration) {
+		record(uniqueId, new Entry(duration.toMillis(), null, UNKNOWN));
+	}
+
+	/**
+	 * Record the status of the execution of the test or container with the
+	 * supplied {@link UniqueId}.
+	 *
+	 * @param uniqueId the unique ID of the test or container; never
+	 * {@code null}
+	 * @param status the status of its execution; never {@code null}
+	 */
+	public void recordStatus(UniqueId uniqueId, Status status) {
+		record(uniqueId, new Entry(UNKNOWN, status, UNKNOWN));
+	}
+
+	/**
+	 * Record the current last-modified time of the class file of the supplied
+	 * test or container, if known, so that subsequent executions can
+	 * {@linkplain #isClassFileModified determine whether it was modified}.
+	 *
+	 * @param testDescriptor the executed test or container; never
+	 * {@code null}
+	 */
+	public void recordClassFileLastModified(TestDescriptor testDescriptor) {
+		long lastModified = getClassFileLastModified(testDescriptor);
+		if (lastModified != UNKNOWN) {
+			record(testDescriptor.getUniqueId(), new Entry(UNKNOWN, null, lastModified));
+		}
+	}
+
+	private void record(UniqueId uniqueId, Entry entry) {
+		recordedEntries.merge(uniqueId.toString(), entry, Entry::merge);
+	}
+
+	private long getClassFileLastModified(TestDescriptor testDescriptor) {
+		Optional<TestSource> source = testDescriptor.getSource();
+		String className = null;
+		if (source.isPresent() && source.get() instanceof ClassSource) {
+			className = ((ClassSource) source.get()).getClassName();
+		}
+		else if (source.isPresent() && source.get() instanceof MethodSource) {
+			className = ((MethodSource) source.get()).getClassName();
+		}
+		return className == null ? UNKNOWN
+				: classFileLastModifiedTimes.computeIfAbsent(className, ExecutionHistory::readClassFileLastModified);
+	}
+
+	private static long readClassFileLastModified(String className) {
+		String resourceName = className.replace('.', '/') + ".class";
+		URL url = ClassLoaderUtils.getDefaultClassLoader().getResource(resourceName);
+		if (url == null || !"file".equals(url.getProtocol())) {
+			return UNKNOWN;
+		}
+		try {
+			return Files.getLastModifiedTime(Paths.get(url.toURI())).toMillis();
+		}
+		catch (IOException | URISyntaxException | RuntimeException e) {
+			logger.debug(e, () -> "Failed to determine last-modified time of " + url);
+			return UNKNOWN;
+		}
+	}
+
+	/**
+	 * Merge all {@linkplain #recordDuration recorded} entries into the
+	 * supplied file, creating it if necessary.
+	 *
+	 * <p>Entries that have been written to the file by other executions since
+	 * this history was loaded are retained unless they have been recorded by
+	 * this history.
+	 *
+	 * @param file the file to write; never {@code null}
+	 */
+	public void store(Path file) {
+		Preconditions.notNull(file, "file must not be null");
+		synchronized (STORE_LOCK) {
+			Map<String, Entry> entries = new TreeMap<>(readEntries(file));
+			recordedEntries.forEach((uniqueId, entry) -> entries.merge(uniqueId, entry, Entry::merge));
+			try {
+				write(file, entries);
+			}
+			catch (IOException | RuntimeException e) {
+				logger.warn(e, () -> "Failed to write execution history to " + file);
+			}
+		}
+	}
+
+	private static void write(Path file, Map<String, Entry> entries) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+		try {
+			try (BufferedWriter writer = Files.newBufferedWriter(tempFile, UTF_8)) {
+				writer.write(COMMENT_PREFIX + " JUnit Platform execution history: duration in ms <TAB> status <TAB> "
+						+ "class file last modified in ms <TAB> unique ID");
+				writer.newLine();
+				for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+					Entry value = entry.getValue();
+					writer.write(format(value.durationInMillis));
+					writer.write(SEPARATOR);
+					writer.write(value.status == null ? UNKNOWN_VALUE : value.status.name());
+					writer.write(SEPARATOR);
+					writer.write(format(value.classFileLastModified));
+					writer.write(SEPARATOR);
+					writer.write(entry.getKey());
+					writer.newLine();
+				}
+			}
+			moveReplacing(tempFile, file);
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private static String format(long value) {
+		return value == UNKNOWN ? UNKNOWN_VALUE : String.valueOf(value);
+	}
+
+	private static void moveReplacing(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, REPLACE_EXISTING, ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, REPLACE_EXISTING);
+		}
+	}
+
+	@Override
+	public String toString() {
+		// @formatter:off
+		return new ToStringBuilder(this)
+				.append("loadedEntries", loadedEntries.size())
+				.append("recordedEntries", recordedEntries.size())
+				.toString();
+		// @formatter:on
+	}
+
+	/**
+	 * Immutable entry of an {@link ExecutionHistory}; unknown values are
+	 * represented by {@link #UNKNOWN} or {@code null}.
+	 */
+	private static final class Entry {
+
+		private final long durationInMillis;
+		private final Status status;
+		private final long classFileLastModified;
+
+		Entry(long durationInMillis, Status status, long classFileLastModified) {
+			this.durationInMillis = durationInMillis;
+			this.status = status;
+			this.classFileLastModified = classFileLastModified;
+		}
+
+		/**
+		 * Merge this entry with the supplied newer one, preferring its known
+		 * values.
+		 */
+		Entry merge(Entry newer) {
+			return new Entry(newer.durationInMillis == UNKNOWN ? durationInMillis : newer.durationInMillis,
+				newer.status == null ? status : newer.status,
+				newer.classFileLastModified == UNKNOWN ? classFileLastModified : newer.classFileLastModified);
+		}
+
+	}
+
+}
@@ -0,0 +1,6 @@
+/**
+ * Support for recording and reading the results of previous test executions
+ * intended to be used by test engine implementations and build tools.
+ */
+
+package org.junit.platform.engine.support.history;
@@ -77,6 +77,30 @@ public class LauncherConstants {
 	 */
 	public static final int CAPTURE_MAX_BUFFER_DEFAULT = 4 * 1024 * 1024;
 
+	/**
+	 * Property name used to configure the directory to which captured output
+	 * exceeding the maximum buffer size is spilled: {@value}
+	 *
+	 * <p>By default, output exceeding the maximum buffer size is discarded.
+	 *
+	 * <p>If configured, the JUnit Platform keeps at most
+	 * {@value #CAPTURE_MAX_BUFFER_PROPERTY_NAME} bytes per thread and output
+	 * type in memory and appends the remaining output to a temporary file in
+	 * the configured directory. If the output of a test identifier exceeded
+	 * the maximum buffer size, its complete output is written to a new file in
+	 * the configured directory whose path is published as part of the
+	 * {@link ReportEntry} using the {@value #STDOUT_FILE_REPORT_ENTRY_KEY} or
+	 * {@value #STDERR_FILE_REPORT_ENTRY_KEY} key. These files are owned by
+	 * the {@link Launcher} and deleted once the execution of the test plan has
+	 * finished, i.e. after all listeners have been notified of
+	 * {@link TestExecutionListener#testPlanExecutionFinished}; listeners that
+	 * need to retain them must copy them before.
+	 *
+	 * @see #CAPTURE_MAX_BUFFER_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String CAPTURE_SPILL_DIRECTORY_PROPERTY_NAME = "junit.platform.output.capture.spillDir";
+
 	/**
 	 * Key used to publish captured output to {@link System#out} as part of a
 	 * {@link ReportEntry}: {@value}
@@ -89,6 +113,193 @@ public class LauncherConstants {
 	 */
 	public static final String STDERR_REPORT_ENTRY_KEY = "stderr";
 
+	/**
+	 * Key used to publish the path of the file containing the complete
+	 * captured output to {@link System#out} as part of a {@link ReportEntry}:
+	 * {@value}
+	 *
+	 * @see #CAPTURE_SPILL_DIRECTORY_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String STDOUT_FILE_REPORT_ENTRY_KEY = "stdout.file";
+
+	/**
+	 * Key used to publish the path of the file containing the complete
+	 * captured output to {@link System#err} as part of a {@link ReportEntry}:
+	 * {@value}
+	 *
+	 * @see #CAPTURE_SPILL_DIRECTORY_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String STDERR_FILE_REPORT_ENTRY_KEY = "stderr.file";
+
+	/**
+	 * Property name used to configure the number of worker JVMs used to
+	 * execute tests in forked processes: {@value}
+	 *
+	 * <p>Value must be a non-negative integer; defaults to {@code 0} which
+	 * disables forked execution.
+	 *
+	 * <p>If set to a positive value, the {@link Launcher} spawns the
+	 * configured number of JVMs using the classpath of the current JVM and
+	 * hands out the top-level containers of each engine, e.g. test classes, to
+	 * them. Events reported by the worker JVMs are forwarded to the registered
+	 * {@link TestExecutionListener TestExecutionListeners}.
+	 *
+	 * @see #FORK_JVM_ARGUMENTS_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String FORK_COUNT_PROPERTY_NAME = "junit.platform.execution.forks.count";
+
+	/**
+	 * Property name used to configure additional arguments passed to the
+	 * worker JVMs if forked execution is enabled: {@value}
+	 *
+	 * <p>Value must be a whitespace-separated list of arguments, e.g.
+	 * {@code -Xmx256m -Dkey=value}; defaults to no additional arguments.
+	 *
+	 * @see #FORK_COUNT_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String FORK_JVM_ARGUMENTS_PROPERTY_NAME = "junit.platform.execution.forks.jvmArgs";
+
+	/**
+	 * Property name used to enable concurrent execution of test engines:
+	 * {@value}
+	 *
+	 * <p>By default, test engines are executed one after another.
+	 *
+	 * <p>If enabled, the {@link Launcher} executes each test engine in a
+	 * separate thread and serializes the events reported by the test engines
+	 * so that registered {@link TestExecutionListener TestExecutionListeners}
+	 * are not notified concurrently.
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String CONCURRENT_ENGINES_PROPERTY_NAME = "junit.platform.execution.engines.concurrent";
+
+	/**
+	 * Property name used to enable concurrent test discovery in all test
+	 * engines: {@value}
+	 *
+	 * <p>By default, test engines discover their tests one after another.
+	 *
+	 * <p>If enabled, the {@link Launcher} runs the discovery of each test
+	 * engine in a separate thread. The discovered tests are added to the
+	 * {@link TestPlan} in the same order as with sequential discovery.
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String CONCURRENT_DISCOVERY_PROPERTY_NAME = "junit.platform.discovery.engines.concurrent";
+
+	/**
+	 * Property name used to configure the directory of the persistent
+	 * discovery cache: {@value}
+	 *
+	 * <p>By default, no discovery cache is used.
+	 *
+	 * <p>If configured, the {@link Launcher} stores the unique IDs of the
+	 * tests discovered by each test engine in the configured directory, keyed
+	 * by a digest of the {@link LauncherDiscoveryRequest} and the paths, sizes
+	 * and modification times of the JAR files and class files on the
+	 * classpath of the context class loader. Subsequent discoveries with
+	 * unchanged inputs only select the cached unique IDs, which avoids
+	 * scanning the classpath.
+	 *
+	 * <p>The cache is not used for requests with selectors or discovery
+	 * filters other than those provided by the JUnit Platform or if the
+	 * classpath of the context class loader cannot be determined. Cache files
+	 * that have not been used for a week are deleted, as are the least
+	 * recently used ones if there are more than 100.
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME = "junit.platform.discovery.cache.dir";
+
+	/**
+	 * Property name used to enable asynchronous notification of registered
+	 * {@link TestExecutionListener TestExecutionListeners}: {@value}
+	 *
+	 * <p>By default, listeners are notified in the thread that reports the
+	 * corresponding event.
+	 *
+	 * <p>If enabled, events are appended to a bounded queue that is drained in
+	 * batches by a dedicated thread which notifies the listeners in the order
+	 * in which the events were reported. Threads reporting events only block
+	 * while the queue is full. All events have been dispatched by the time
+	 * {@link Launcher#execute(LauncherDiscoveryRequest, TestExecutionListener...)}
+	 * returns.
+	 *
+	 * <p>Exceptions thrown by listeners are not propagated to the thread that
+	 * reported the event and do not affect the notification of subsequent
+	 * events. Instead, the first one is rethrown by
+	 * {@link Launcher#execute(LauncherDiscoveryRequest, TestExecutionListener...)}
+	 * after all events have been dispatched.
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String ASYNC_LISTENER_DISPATCH_PROPERTY_NAME = "junit.platform.execution.listeners.async";
+
+	/**
+	 * Property name used to configure the zero-based index of the shard whose
+	 * tests should be included: {@value}
+	 *
+	 * <p>Value must be a non-negative integer less than the value of
+	 * {@value #SHARD_COUNT_PROPERTY_NAME}. Sharding is only enabled if both
+	 * properties are set.
+	 *
+	 * @see ShardingFilter
+	 * @see #SHARD_COUNT_PROPERTY_NAME
+	 * @see #SHARD_HISTORY_FILE_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String SHARD_INDEX_PROPERTY_NAME = "junit.platform.discovery.shards.index";
+
+	/**
+	 * Property name used to configure the total number of shards the
+	 * discovered tests are split into: {@value}
+	 *
+	 * <p>Value must be a positive integer.
+	 *
+	 * @see ShardingFilter
+	 * @see #SHARD_INDEX_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String SHARD_COUNT_PROPERTY_NAME = "junit.platform.discovery.shards.count";
+
+	/**
+	 * Property name used to configure the execution history file whose
+	 * durations are used to balance the shards: {@value}
+	 *
+	 * <p>Typically, this is the file configured for the test engine to record
+	 * its execution history, e.g. via
+	 * {@code junit.jupiter.execution.history.file}. If not set or if the file
+	 * does not exist, tests are assigned to shards based on a stable hash of
+	 * their unique IDs.
+	 *
+	 * @see ShardingFilter
+	 * @see #SHARD_INDEX_PROPERTY_NAME
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String SHARD_HISTORY_FILE_PROPERTY_NAME = "junit.platform.discovery.shards.historyFile";
+
+	/**
+	 * Property name used to configure the number of failed tests and
+	 * containers after which the execution is cancelled: {@value}
+	 *
+	 * <p>Value must be a positive integer; by default, the execution is never
+	 * cancelled due to failures.
+	 *
+	 * <p>Once the configured number of failures has been reported, the
+	 * {@link Launcher} {@linkplain org.junit.platform.engine.CancellationToken
+	 * requests cancellation} from all test engines. Engines that support
+	 * cancellation report tests and containers that have not been started yet
+	 * as skipped and interrupt the threads executing tests; the events of all
+	 * tests and containers in the {@link TestPlan} are still reported
+	 * consistently to registered {@link TestExecutionListener
+	 * TestExecutionListeners}.
+	 *
+	 * @see org.junit.platform.engine.ExecutionRequest#getCancellationToken()
+	 */
+	@API(status = EXPERIMENTAL, since = "1.4")
+	public static final String FAIL_FAST_THRESHOLD_PROPERTY_NAME = "junit.platform.execution.failfast.threshold";
+
 	private LauncherConstants() {
 		/* no-op */
 	}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher;
+
+import static java.util.Comparator.comparing;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apiguardian.api.API;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.commons.util.ToStringBuilder;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.history.ExecutionHistory;
+
+/**
+ * A {@code ShardingFilter} splits the tests discovered by each
+ * {@link org.junit.platform.engine.TestEngine TestEngine} into a number of
+ * shards, e.g. to execute them on multiple machines, and only includes the
+ * tests of one of these shards.
+ *
+ * <p>The top-level containers of each engine, e.g. test classes, are assigned
+ * to shards as a whole. If an {@link ExecutionHistory} containing durations
+ * of previous executions is available, containers are assigned longest first
+ * to the shard with the lowest total duration so that all shards finish at
+ * about the same time; containers without a recorded duration are assumed to
+ * take the average duration of the known ones. Otherwise, containers are
+ * assigned based on a stable hash of their unique IDs.
+ *
+ * <p>The assignment only depends on the discovered tests and the execution
+ * history. Hence, executions of all shards need to use the same discovery
+ * request and history file.
+ *
+ * @since 1.4
+ * @see #includeShard(int, int)
+ * @see #includeShard(int, int, Path)
+ * @see LauncherConstants#SHARD_INDEX_PROPERTY_NAME
+ */
+@API(status = EXPERIMENTAL, since = "1.4")
+public class ShardingFilter implements PostDiscoveryFilter {
+
+	/**
+	 * Create a new {@code ShardingFilter} that includes the tests of the shard
+	 * with the supplied index, assigning containers based on a stable hash of
+	 * their unique IDs.
+	 *
+	 * @param shardIndex the zero-based index of the shard to include; must be
+	 * less than {@code shardCount}
+	 * @param shardCount the total number of shards; must be positive
+	 */
+	public static ShardingFilter includeShard(int shardIndex, int shardCount) {
+		return new ShardingFilter(shardIndex, shardCount, ExecutionHistory.empty());
+	}
+
+	/**
+	 * Create a new {@code ShardingFilter} that includes the tests of the shard
+	 * with the supplied index, assigning containers based on the durations
+	 * stored in the supplied execution history file.
+	 *
+	 * <p>If the file does not exist, containers are assigned based on a
+	 * stable hash of their unique IDs.
+	 *
+	 * @param shardIndex the zero-based index of the shard to include; must be
+	 * less than {@code shardCount}
+	 * @param shardCount the total number of shards; must be positive
+	 * @param executionHistoryFile the file to {@linkplain ExecutionHistory#load
+	 * load} the execution history from; never {@code null}
+	 */
+	public static ShardingFilter includeShard(int shardIndex, int shardCount, Path executionHistoryFile) {
+		Preconditions.notNull(executionHistoryFile, "executionHistoryFile must not be null");
+		return new ShardingFilter(shardIndex, shardCount, ExecutionHistory.load(executionHistoryFile));
+	}
+
+	private final int shardIndex;
+	private final int shardCount;
+	private final ExecutionHistory executionHistory;
+	private final Map<TestDescriptor, Map<UniqueId, Integer>> shardsByEngineDescriptor = new IdentityHashMap<>();
+
+	private ShardingFilter(int shardIndex, int shardCount, ExecutionHistory executionHistory) {
+		Preconditions.condition(shardCount > 0, () -> "shardCount must be positive but was " + shardCount);
+		Preconditions.condition(shardIndex >= 0 && shardIndex < shardCount,
+			() -> "shardIndex must be between 0 and " + (shardCount - 1) + " but was " + shardIndex);
+		this.shardIndex = shardIndex;
+		this.shardCount = shardCount;
+		this.executionHistory = executionHistory;
+	}
+
+	@Override
+	public FilterResult apply(TestDescriptor descriptor) {
+		Optional<TestDescriptor> parent = descriptor.getParent();
+		if (!parent.isPresent()) {
+			return FilterResult.included("Engines are included in all shards");
+		}
+		TestDescriptor topLevelContainer = descriptor;
+		while (!parent.get().isRoot()) {
+			topLevelContainer = parent.get();
+			parent = topLevelContainer.getParent();
+			if (!parent.isPresent()) {
+				return FilterResult.included("Not part of an engine");
+			}
+		}
+		int shard = getShard(parent.get(), topLevelContainer.getUniqueId());
+		if (shard == shardIndex) {
+			return FilterResult.included("Assigned to shard " + shardIndex);
+		}
+		return FilterResult.excluded("Assigned to shard " + shard + " instead of shard " + shardIndex);
+	}
+
+	private synchronized int getShard(TestDescriptor engineDescriptor, UniqueId topLevelContainerId) {
+		Map<UniqueId, Integer> shards = shardsByEngineDescriptor.computeIfAbsent(engineDescriptor,
+			this::assignShards);
+		Integer shard = shards.get(topLevelContainerId);
+		return shard != null ? shard : hashShard(topLevelContainerId);
+	}
+
+	private Map<UniqueId, Integer> assignShards(TestDescriptor engineDescriptor) {
+		List<TestDescriptor> containers = new ArrayList<>(engineDescriptor.getChildren());
+		Map<UniqueId, Long> durations = new HashMap<>();
+		long totalKnownDuration = 0;
+		for (TestDescriptor container : containers) {
+			Optional<Duration> duration = executionHistory.getDuration(container.getUniqueId());
+			if (duration.isPresent()) {
+				durations.put(container.getUniqueId(), duration.get().toMillis());
+				totalKnownDuration += duration.get().toMillis();
+			}
+		}
+		Map<UniqueId, Integer> shards = new HashMap<>();
+		if (durations.isEmpty()) {
+			containers.forEach(container -> shards.put(container.getUniqueId(), hashShard(container.getUniqueId())));
+			return shards;
+		}
+		long averageDuration = totalKnownDuration / durations.size();
+		for (TestDescriptor container : containers) {
+			// Containers that took no time still need to be spread across shards
+			durations.compute(container.getUniqueId(),
+				(uniqueId, duration) -> Math.max(1, duration == null ? averageDuration : duration));
+		}
+		Comparator<TestDescriptor> longestFirst = comparing(
+			(TestDescriptor container) -> durations.get(container.getUniqueId())).reversed();
+		containers.sort(longestFirst.thenComparing(container -> container.getUniqueId().toString()));
+		long[] totalDurations = new long[shardCount];
+		for (TestDescriptor container : containers) {
+			int shard = 0;
+			for (int i = 1; i < shardCount; i++) {
+				if (totalDurations[i] < totalDurations[shard]) {
+					shard = i;
+				}
+			}
+			totalDurations[shard] += durations.get(container.getUniqueId());
+			shards.put(container.getUniqueId(), shard);
+		}
+		return shards;
+	}
+
+	private int hashShard(UniqueId uniqueId) {
+		// String#hashCode() is specified and therefore stable across JVMs
+		return Math.floorMod(uniqueId.toString().hashCode(), shardCount);
+	}
+
+	@Override
+	public String toString() {
+		// @formatter:off
+		return new ToStringBuilder(this)
+				.append("shardIndex", shardIndex)
+				.append("shardCount", shardCount)
+				.append("executionHistory", executionHistory)
+				.toString();
+		// @formatter:on
+	}
+
+}
@@ -10,6 +10,7 @@
 
 package org.junit.platform.launcher;
 
+import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.STABLE;
@@ -54,13 +55,17 @@ public final class TestIdentifier implements Serializable {
 	@API(status = INTERNAL, since = "1.0")
 	public static TestIdentifier from(TestDescriptor testDescriptor) {
 		Preconditions.notNull(testDescriptor, "TestDescriptor must not be null");
+		String parentId = testDescriptor.getParent().map(
+			parentDescriptor -> parentDescriptor.getUniqueId().toString()).orElse(null);
+		return from(testDescriptor, parentId);
+	}
+
+	static TestIdentifier from(TestDescriptor testDescriptor, String parentId) {
 		String uniqueId = testDescriptor.getUniqueId().toString();
 		String displayName = testDescriptor.getDisplayName();
 		TestSource source = testDescriptor.getSource().orElse(null);
 		Set<TestTag> tags = testDescriptor.getTags();
 		Type type = testDescriptor.getType();
-		String parentId = testDescriptor.getParent().map(
-			parentDescriptor -> parentDescriptor.getUniqueId().toString()).orElse(null);
 		String legacyReportingName = testDescriptor.getLegacyReportingName();
 		return new TestIdentifier(uniqueId, displayName, source, tags, type, parentId, legacyReportingName);
 	}
@@ -72,11 +77,36 @@ public final class TestIdentifier implements Serializable {
 		this.parentId = parentId;
 		this.displayName = displayName;
 		this.source = source;
-		this.tags = unmodifiableSet(new LinkedHashSet<>(tags));
+		this.tags = tags.isEmpty() ? emptySet() : unmodifiableSet(new LinkedHashSet<>(tags));
 		this.type = type;
 		this.legacyReportingName = legacyReportingName;
 	}
 
+	private TestIdentifier(TestIdentifier original, String parentId, Set<TestTag> tags) {
+		this.uniqueId = original.uniqueId;
+		this.parentId = parentId;
+		this.displayName = original.displayName;
+		this.source = original.source;
+		this.tags = tags;
+		this.type = original.type;
+		this.legacyReportingName = original.legacyReportingName;
+	}
+
+	/**
+	 * Get an identifier equal to this one that references the supplied parent
+	 * ID and tags, which are shared with other identifiers in a
+	 * {@link TestPlan}, instead of its own copies.
+	 *
+	 * @param parentId the parent ID equal to the one of this identifier
+	 * @param tags the unmodifiable tags equal to the ones of this identifier
+	 */
+	TestIdentifier withSharedState(String parentId, Set<TestTag> tags) {
+		if (this.parentId == parentId && this.tags == tags) {
+			return this;
+		}
+		return new TestIdentifier(this, parentId, tags);
+	}
+
 	/**
 	 * Get the unique ID of the represented test or container.
 	 *
@@ -10,26 +10,32 @@
 
 package org.junit.platform.launcher;
 
-import static java.util.Collections.emptySet;
-import static java.util.Collections.unmodifiableSet;
 import static org.apiguardian.api.API.Status.DEPRECATED;
 import static org.apiguardian.api.API.Status.INTERNAL;
 import static org.apiguardian.api.API.Status.STABLE;
 
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedHashSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
 
 import org.apiguardian.api.API;
 import org.junit.platform.commons.util.PreconditionViolationException;
 import org.junit.platform.commons.util.Preconditions;
 import org.junit.platform.engine.TestDescriptor;
-import org.junit.platform.engine.TestDescriptor.Visitor;
+import org.junit.platform.engine.TestTag;
 
 /**
  * {@code TestPlan} describes the tree of tests and containers as discovered
@@ -48,6 +54,14 @@ import org.junit.platform.engine.TestDescriptor.Visitor;
  * test is registered at runtime, it is added to the original test plan and
  * reported to {@link TestExecutionListener} implementations.
  *
+ * <p>Internally, each identifier is assigned an {@code int} index and the
+ * links between parents and children are stored in primitive arrays. Parent
+ * IDs and tags are shared between identifiers where possible. The sets
+ * returned by {@link #getRoots()} and {@link #getChildren(String)} are
+ * unmodifiable views that reflect subsequent modifications, whereas the set
+ * returned by {@link #getDescendants(TestIdentifier)} is an unmodifiable
+ * snapshot.
+ *
  * <p>This class is not intended to be extended by clients.
  *
  * @since 1.0
@@ -57,11 +71,43 @@ import org.junit.platform.engine.TestDescriptor.Visitor;
 @API(status = STABLE, since = "1.0")
 public class TestPlan {
 
-	private final Set<TestIdentifier> roots = Collections.synchronizedSet(new LinkedHashSet<>(4));
+	private static final int NONE = -1;
+
+	private static final int LINEAR_SEARCH_THRESHOLD = 8;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<Set<TestTag>, Set<TestTag>> sharedTags = new HashMap<>();
+
+	private final Map<String, List<TestIdentifier>> orphans = new HashMap<>();
+
+	private TestIdentifier[] identifiers = new TestIdentifier[32];
+
+	private int[] parents = new int[32];
+
+	private int[] firstChildren = new int[32];
+
+	private int[] lastChildren = new int[32];
+
+	private int[] nextSiblings = new int[32];
+
+	/**
+	 * Open-addressing hash table mapping unique IDs to indexes; slots contain
+	 * the index incremented by one or {@code 0} if they are empty.
+	 */
+	private int[] indexTable = new int[64];
+
+	private int size;
 
-	private final Map<String, Set<TestIdentifier>> children = new ConcurrentHashMap<>(32);
+	private int firstRoot = NONE;
 
-	private final Map<String, TestIdentifier> allIdentifiers = new ConcurrentHashMap<>(32);
+	private int lastRoot = NONE;
+
+	/**
+	 * Incremented whenever this test plan is modified so that views can
+	 * detect modifications without acquiring the lock.
+	 */
+	private volatile int modificationCount;
 
 	private final boolean containsTests;
 
@@ -80,11 +126,18 @@ public class TestPlan {
 	public static TestPlan from(Collection<TestDescriptor> engineDescriptors) {
 		Preconditions.notNull(engineDescriptors, "Cannot create TestPlan from a null collection of TestDescriptors");
 		TestPlan testPlan = new TestPlan(engineDescriptors.stream().anyMatch(TestDescriptor::containsTests));
-		Visitor visitor = descriptor -> testPlan.add(TestIdentifier.from(descriptor));
-		engineDescriptors.forEach(engineDescriptor -> engineDescriptor.accept(visitor));
+		engineDescriptors.forEach(engineDescriptor -> testPlan.addDescriptor(engineDescriptor, null));
 		return testPlan;
 	}
 
+	private void addDescriptor(TestDescriptor descriptor, String parentId) {
+		TestIdentifier testIdentifier = TestIdentifier.from(descriptor, parentId);
+		addIdentifier(testIdentifier);
+		for (TestDescriptor child : descriptor.getChildren()) {
+			addDescriptor(child, testIdentifier.getUniqueId());
+		}
+	}
+
 	@API(status = INTERNAL, since = "1.4")
 	protected TestPlan(boolean containsTests) {
 		this.containsTests = containsTests;
@@ -100,16 +153,119 @@ public class TestPlan {
 	@API(status = DEPRECATED, since = "1.4")
 	public void add(TestIdentifier testIdentifier) {
 		Preconditions.notNull(testIdentifier, "testIdentifier must not be null");
-		allIdentifiers.put(testIdentifier.getUniqueId(), testIdentifier);
-		if (testIdentifier.getParentId().isPresent()) {
-			String parentId = testIdentifier.getParentId().get();
-			Set<TestIdentifier> directChildren = children.computeIfAbsent(parentId,
-				key -> Collections.synchronizedSet(new LinkedHashSet<>(16)));
-			directChildren.add(testIdentifier);
+		addIdentifier(testIdentifier);
+	}
+
+	private void addIdentifier(TestIdentifier testIdentifier) {
+		Lock writeLock = lock.writeLock();
+		writeLock.lock();
+		try {
+			modificationCount++;
+			int existingIndex = indexOf(testIdentifier.getUniqueId());
+			if (existingIndex != NONE) {
+				identifiers[existingIndex] = share(testIdentifier, parents[existingIndex]);
+				return;
+			}
+			Optional<String> parentId = testIdentifier.getParentId();
+			int parentIndex = parentId.isPresent() ? indexOf(parentId.get()) : NONE;
+			if (parentId.isPresent() && parentIndex == NONE) {
+				// Link children whose parent has not been added yet once it is
+				orphans.computeIfAbsent(parentId.get(), key -> new ArrayList<>()).add(testIdentifier);
+				return;
+			}
+			appendWithOrphanedChildren(testIdentifier, parentIndex);
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	private void appendWithOrphanedChildren(TestIdentifier testIdentifier, int parentIndex) {
+		int index = append(share(testIdentifier, parentIndex), parentIndex);
+		List<TestIdentifier> children = orphans.isEmpty() ? null : orphans.remove(testIdentifier.getUniqueId());
+		if (children != null) {
+			children.forEach(child -> appendWithOrphanedChildren(child, index));
+		}
+	}
+
+	private TestIdentifier share(TestIdentifier testIdentifier, int parentIndex) {
+		String parentId = parentIndex == NONE ? null : identifiers[parentIndex].getUniqueId();
+		Set<TestTag> tags = testIdentifier.getTags();
+		if (!tags.isEmpty()) {
+			tags = sharedTags.computeIfAbsent(tags, key -> key);
+		}
+		return testIdentifier.withSharedState(parentId, tags);
+	}
+
+	private int append(TestIdentifier testIdentifier, int parentIndex) {
+		if (size == identifiers.length) {
+			int capacity = size * 2;
+			identifiers = Arrays.copyOf(identifiers, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			firstChildren = Arrays.copyOf(firstChildren, capacity);
+			lastChildren = Arrays.copyOf(lastChildren, capacity);
+			nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+		}
+		int index = size++;
+		identifiers[index] = testIdentifier;
+		parents[index] = parentIndex;
+		firstChildren[index] = NONE;
+		lastChildren[index] = NONE;
+		nextSiblings[index] = NONE;
+		if (parentIndex == NONE) {
+			if (lastRoot == NONE) {
+				firstRoot = index;
+			}
+			else {
+				nextSiblings[lastRoot] = index;
+			}
+			lastRoot = index;
+		}
+		else {
+			if (lastChildren[parentIndex] == NONE) {
+				firstChildren[parentIndex] = index;
+			}
+			else {
+				nextSiblings[lastChildren[parentIndex]] = index;
+			}
+			lastChildren[parentIndex] = index;
+		}
+		if (size * 2 > indexTable.length) {
+			indexTable = new int[indexTable.length * 2];
+			for (int i = 0; i < size; i++) {
+				insertIntoIndexTable(i);
+			}
 		}
 		else {
-			roots.add(testIdentifier);
+			insertIntoIndexTable(index);
+		}
+		return index;
+	}
+
+	private void insertIntoIndexTable(int index) {
+		int mask = indexTable.length - 1;
+		int slot = spread(identifiers[index].getUniqueId().hashCode()) & mask;
+		while (indexTable[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		indexTable[slot] = index + 1;
+	}
+
+	private int indexOf(String uniqueId) {
+		int mask = indexTable.length - 1;
+		int slot = spread(uniqueId.hashCode()) & mask;
+		while (indexTable[slot] != 0) {
+			int index = indexTable[slot] - 1;
+			if (identifiers[index].getUniqueId().equals(uniqueId)) {
+				return index;
+			}
+			slot = (slot + 1) & mask;
 		}
+		return NONE;
+	}
+
+	private static int spread(int hashCode) {
+		return hashCode ^ (hashCode >>> 16);
 	}
 
 	/**
@@ -118,7 +274,7 @@ public class TestPlan {
 	 * @return an unmodifiable set of the root identifiers
 	 */
 	public Set<TestIdentifier> getRoots() {
-		return unmodifiableSet(roots);
+		return new LiveIdentifierSet(null);
 	}
 
 	/**
@@ -154,7 +310,32 @@ public class TestPlan {
 	 */
 	public Set<TestIdentifier> getChildren(String parentId) {
 		Preconditions.notBlank(parentId, "parent ID must not be null or blank");
-		return children.containsKey(parentId) ? unmodifiableSet(children.get(parentId)) : emptySet();
+		return new LiveIdentifierSet(parentId);
+	}
+
+	/**
+	 * Create a snapshot of the children of the supplied parent ID or of the
+	 * roots if it is {@code null}.
+	 */
+	private IdentifierSet snapshotChildren(String parentId) {
+		Lock readLock = lock.readLock();
+		readLock.lock();
+		try {
+			if (parentId == null) {
+				return snapshot(collectSiblings(firstRoot, new IndexList()));
+			}
+			int parentIndex = indexOf(parentId);
+			if (parentIndex == NONE) {
+				List<TestIdentifier> children = orphans.get(parentId);
+				TestIdentifier[] elements = children == null ? new TestIdentifier[0]
+						: children.toArray(new TestIdentifier[0]);
+				return new IdentifierSet(elements, modificationCount);
+			}
+			return snapshot(collectSiblings(firstChildren[parentIndex], new IndexList()));
+		}
+		finally {
+			readLock.unlock();
+		}
 	}
 
 	/**
@@ -168,9 +349,27 @@ public class TestPlan {
 	 */
 	public TestIdentifier getTestIdentifier(String uniqueId) throws PreconditionViolationException {
 		Preconditions.notBlank(uniqueId, "unique ID must not be null or blank");
-		Preconditions.condition(allIdentifiers.containsKey(uniqueId),
-			() -> "No TestIdentifier with unique ID [" + uniqueId + "] has been added to this TestPlan.");
-		return allIdentifiers.get(uniqueId);
+		Lock readLock = lock.readLock();
+		readLock.lock();
+		try {
+			int index = indexOf(uniqueId);
+			if (index != NONE) {
+				return identifiers[index];
+			}
+			// Children whose parent has not been added yet
+			for (List<TestIdentifier> children : orphans.values()) {
+				for (TestIdentifier child : children) {
+					if (child.getUniqueId().equals(uniqueId)) {
+						return child;
+					}
+				}
+			}
+		}
+		finally {
+			readLock.unlock();
+		}
+		throw new PreconditionViolationException(
+			"No TestIdentifier with unique ID [" + uniqueId + "] has been added to this TestPlan.");
 	}
 
 	/**
@@ -183,7 +382,26 @@ public class TestPlan {
 	 */
 	public long countTestIdentifiers(Predicate<? super TestIdentifier> predicate) {
 		Preconditions.notNull(predicate, "Predicate must not be null");
-		return allIdentifiers.values().stream().filter(predicate).count();
+		TestIdentifier[] snapshot;
+		int snapshotSize;
+		List<TestIdentifier> orphanedIdentifiers = new ArrayList<>();
+		Lock readLock = lock.readLock();
+		readLock.lock();
+		try {
+			snapshot = identifiers;
+			snapshotSize = size;
+			orphans.values().forEach(orphanedIdentifiers::addAll);
+		}
+		finally {
+			readLock.unlock();
+		}
+		long count = orphanedIdentifiers.stream().filter(predicate).count();
+		for (int i = 0; i < snapshotSize; i++) {
+			if (predicate.test(snapshot[i])) {
+				count++;
+			}
+		}
+		return count;
 	}
 
 	/**
@@ -195,13 +413,51 @@ public class TestPlan {
 	 */
 	public Set<TestIdentifier> getDescendants(TestIdentifier parent) {
 		Preconditions.notNull(parent, "parent must not be null");
-		Set<TestIdentifier> result = new LinkedHashSet<>(16);
-		Set<TestIdentifier> children = getChildren(parent);
-		result.addAll(children);
-		for (TestIdentifier child : children) {
-			result.addAll(getDescendants(child));
+		Lock readLock = lock.readLock();
+		readLock.lock();
+		try {
+			int parentIndex = indexOf(parent.getUniqueId());
+			if (parentIndex == NONE) {
+				return snapshotChildren(parent.getUniqueId());
+			}
+			return snapshot(collectDescendants(parentIndex, new IndexList()));
 		}
-		return unmodifiableSet(result);
+		finally {
+			readLock.unlock();
+		}
+	}
+
+	private IndexList collectSiblings(int first, IndexList result) {
+		for (int index = first; index != NONE; index = nextSiblings[index]) {
+			result.add(index);
+		}
+		return result;
+	}
+
+	/**
+	 * Collect all children of the supplied parent followed by the descendants
+	 * of each child.
+	 */
+	private IndexList collectDescendants(int parentIndex, IndexList result) {
+		int start = result.size;
+		collectSiblings(firstChildren[parentIndex], result);
+		int end = result.size;
+		for (int i = start; i < end; i++) {
+			collectDescendants(result.indexes[i], result);
+		}
+		return result;
+	}
+
+	/**
+	 * Create a snapshot of the identifiers with the supplied indexes; must be
+	 * called while holding the lock.
+	 */
+	private IdentifierSet snapshot(IndexList indexList) {
+		TestIdentifier[] elements = new TestIdentifier[indexList.size];
+		for (int i = 0; i < indexList.size; i++) {
+			elements[i] = identifiers[indexList.indexes[i]];
+		}
+		return new IdentifierSet(elements, modificationCount);
 	}
 
 	/**
@@ -218,4 +474,125 @@ public class TestPlan {
 		return containsTests;
 	}
 
+	private static class IndexList {
+
+		private int[] indexes = new int[16];
+		private int size;
+
+		void add(int index) {
+			if (size == indexes.length) {
+				indexes = Arrays.copyOf(indexes, size * 2);
+			}
+			indexes[size++] = index;
+		}
+
+	}
+
+	/**
+	 * Unmodifiable view of the roots or of the children of a parent that
+	 * reflects subsequent modifications of the test plan.
+	 *
+	 * <p>Operations are answered by a snapshot that is only recreated if the
+	 * test plan has been modified since it was created. Hence, the lock is
+	 * only acquired after modifications.
+	 */
+	private class LiveIdentifierSet extends AbstractSet<TestIdentifier> {
+
+		private final String parentId;
+		private volatile IdentifierSet snapshot;
+
+		LiveIdentifierSet(String parentId) {
+			this.parentId = parentId;
+		}
+
+		private IdentifierSet currentSnapshot() {
+			IdentifierSet current = snapshot;
+			if (current == null || current.modificationCount != modificationCount) {
+				current = snapshotChildren(parentId);
+				snapshot = current;
+			}
+			return current;
+		}
+
+		@Override
+		public Iterator<TestIdentifier> iterator() {
+			return currentSnapshot().iterator();
+		}
+
+		@Override
+		public int size() {
+			return currentSnapshot().size();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return currentSnapshot().contains(o);
+		}
+
+	}
+
+	/**
+	 * Unmodifiable set of identifiers backed by an array; membership checks
+	 * of larger sets use a hash set that is created on first use.
+	 */
+	private static class IdentifierSet extends AbstractSet<TestIdentifier> {
+
+		private final TestIdentifier[] elements;
+		private final int modificationCount;
+		private volatile Set<TestIdentifier> lookup;
+
+		IdentifierSet(TestIdentifier[] elements, int modificationCount) {
+			this.elements = elements;
+			this.modificationCount = modificationCount;
+		}
+
+		@Override
+		public Iterator<TestIdentifier> iterator() {
+			return new Iterator<TestIdentifier>() {
+
+				private int next;
+
+				@Override
+				public boolean hasNext() {
+					return next < elements.length;
+				}
+
+				@Override
+				public TestIdentifier next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return elements[next++];
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return elements.length;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof TestIdentifier)) {
+				return false;
+			}
+			if (elements.length <= LINEAR_SEARCH_THRESHOLD) {
+				for (TestIdentifier element : elements) {
+					if (element.equals(o)) {
+						return true;
+					}
+				}
+				return false;
+			}
+			Set<TestIdentifier> current = lookup;
+			if (current == null) {
+				current = new HashSet<>(Arrays.asList(elements));
+				lookup = current;
+			}
+			return current.contains(o);
+		}
+
+	}
+
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.junit.platform.launcher.LauncherConstants.ASYNC_LISTENER_DISPATCH_PROPERTY_NAME;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.platform.commons.util.ExceptionUtils;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.launcher.TestExecutionListener;
+
+/**
+ * {@link Executor} that notifies {@link TestExecutionListener
+ * TestExecutionListeners} in a dedicated dispatcher thread.
+ *
+ * <p>Events are appended to a lock-free queue whose capacity is bounded by
+ * a {@link Semaphore}; threads reporting events block while the queue is
+ * full. The dispatcher thread drains the queue in batches and notifies the
+ * listeners in the order in which the events were reported.
+ *
+ * <p>Exceptions thrown by listeners do not affect the dispatching of
+ * subsequent events. Instead, the first one is rethrown by {@link #close()}
+ * with all subsequent ones added as suppressed exceptions.
+ *
+ * @since 1.4
+ * @see org.junit.platform.launcher.LauncherConstants#ASYNC_LISTENER_DISPATCH_PROPERTY_NAME
+ */
+class AsyncListenerDispatcher implements Executor, AutoCloseable {
+
+	static final int DEFAULT_CAPACITY = 8192;
+	private static final int BATCH_SIZE = 256;
+
+	static Optional<AsyncListenerDispatcher> create(ConfigurationParameters configurationParameters) {
+		if (!configurationParameters.getBoolean(ASYNC_LISTENER_DISPATCH_PROPERTY_NAME).orElse(false)) {
+			return Optional.empty();
+		}
+		AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher(DEFAULT_CAPACITY);
+		dispatcher.start();
+		return Optional.of(dispatcher);
+	}
+
+	private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+	private final Semaphore freeSlots;
+	private final Thread thread;
+
+	private volatile boolean waiting;
+	private volatile boolean closed;
+
+	// only accessed by the dispatcher thread until it has been joined
+	private Throwable failure;
+
+	AsyncListenerDispatcher(int capacity) {
+		this.freeSlots = new Semaphore(capacity);
+		this.thread = new Thread(this::dispatchUntilClosed, "junit-platform-listener-dispatcher");
+		this.thread.setDaemon(true);
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	@Override
+	public void execute(Runnable event) {
+		if (Thread.currentThread() == thread) {
+			// Listeners reporting events themselves must not wait for free slots
+			event.run();
+			return;
+		}
+		freeSlots.acquireUninterruptibly();
+		events.add(event);
+		if (waiting) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	private void dispatchUntilClosed() {
+		while (true) {
+			if (dispatchBatch() > 0) {
+				continue;
+			}
+			if (closed && events.isEmpty()) {
+				return;
+			}
+			waiting = true;
+			if (events.isEmpty() && !closed) {
+				LockSupport.park(this);
+			}
+			waiting = false;
+		}
+	}
+
+	private int dispatchBatch() {
+		int count = 0;
+		Runnable event;
+		while (count < BATCH_SIZE && (event = events.poll()) != null) {
+			count++;
+			dispatch(event);
+		}
+		if (count > 0) {
+			freeSlots.release(count);
+		}
+		return count;
+	}
+
+	private void dispatch(Runnable event) {
+		try {
+			event.run();
+		}
+		catch (Throwable t) {
+			if (failure == null) {
+				failure = t;
+			}
+			else if (failure != t) {
+				failure.addSuppressed(t);
+			}
+		}
+	}
+
+	/**
+	 * Wait until all previously reported events have been dispatched and stop
+	 * the dispatcher thread.
+	 *
+	 * <p>If listeners threw exceptions while handling events, the first one
+	 * is rethrown once all events have been dispatched.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		LockSupport.unpark(thread);
+		boolean interrupted = false;
+		while (thread.isAlive()) {
+			try {
+				thread.join();
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (failure != null) {
+			throw ExceptionUtils.throwAsUncheckedException(failure);
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.platform.commons.JUnitException;
+
+/**
+ * Determines the classpath entries of a {@link ClassLoader} and its parents
+ * up to the system class loader, whose entries are determined by the
+ * {@code java.class.path} system property.
+ *
+ * @since 1.4
+ */
+final class ClassLoaderClasspath {
+
+	private ClassLoaderClasspath() {
+		/* no-op */
+	}
+
+	/**
+	 * Get the distinct classpath entries of the supplied class loader, parents
+	 * first in accordance with parent-first delegation.
+	 *
+	 * @throws JUnitException if one of the class loaders is neither the system
+	 * class loader nor a {@link URLClassLoader} or if it references entries
+	 * that are not files
+	 */
+	static List<String> getEntries(ClassLoader classLoader) {
+		ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+		Set<ClassLoader> jdkClassLoaders = new HashSet<>();
+		for (ClassLoader parent = systemClassLoader.getParent(); parent != null; parent = parent.getParent()) {
+			jdkClassLoaders.add(parent);
+		}
+		Deque<List<String>> entriesPerClassLoader = new ArrayDeque<>();
+		ClassLoader current = classLoader;
+		while (current != null && !jdkClassLoaders.contains(current)) {
+			if (current == systemClassLoader) {
+				String javaClassPath = System.getProperty("java.class.path", "");
+				entriesPerClassLoader.push(Arrays.asList(javaClassPath.split(File.pathSeparator)));
+				break;
+			}
+			entriesPerClassLoader.push(getUrlClassLoaderEntries(current));
+			current = current.getParent();
+		}
+		Set<String> entries = new LinkedHashSet<>();
+		entriesPerClassLoader.forEach(entries::addAll);
+		entries.remove("");
+		return new ArrayList<>(entries);
+	}
+
+	private static List<String> getUrlClassLoaderEntries(ClassLoader classLoader) {
+		if (!(classLoader instanceof URLClassLoader)) {
+			throw new JUnitException(
+				"Cannot determine the classpath of class loader " + classLoader + " since it is not a URLClassLoader");
+		}
+		List<String> entries = new ArrayList<>();
+		for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+			if (!"file".equals(url.getProtocol())) {
+				throw new JUnitException("Cannot determine the classpath of class loader " + classLoader
+						+ " since it references " + url + " which is not a file");
+			}
+			try {
+				entries.add(Paths.get(url.toURI()).toString());
+			}
+			catch (URISyntaxException | IllegalArgumentException e) {
+				throw new JUnitException("Cannot determine the classpath of class loader " + classLoader
+						+ " since it references invalid URL " + url,
+					e);
+			}
+		}
+		return entries;
+	}
+
+}
@@ -10,17 +10,31 @@
 
 package org.junit.platform.launcher.core;
 
+import static org.junit.platform.launcher.LauncherConstants.CONCURRENT_DISCOVERY_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.CONCURRENT_ENGINES_PROPERTY_NAME;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.junit.platform.commons.JUnitException;
 import org.junit.platform.commons.logging.Logger;
 import org.junit.platform.commons.logging.LoggerFactory;
 import org.junit.platform.commons.util.BlacklistedExceptions;
+import org.junit.platform.commons.util.ClasspathScanningScope;
+import org.junit.platform.commons.util.ExceptionUtils;
 import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.commons.util.ReflectionUtils;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.FilterResult;
 import org.junit.platform.engine.TestDescriptor;
@@ -144,6 +158,7 @@ class DefaultLauncher implements Launcher {
 	private Root discoverRoot(LauncherDiscoveryRequest discoveryRequest, String phase) {
 		Root root = new Root(discoveryRequest.getConfigurationParameters());
 
+		List<TestEngine> includedTestEngines = new ArrayList<>();
 		for (TestEngine testEngine : this.testEngines) {
 			// @formatter:off
 			boolean engineIsExcluded = discoveryRequest.getEngineFilters().stream()
@@ -158,24 +173,64 @@ class DefaultLauncher implements Launcher {
 				continue;
 			}
 
-			logger.debug(() -> String.format("Discovering tests during Launcher %s phase in engine '%s'.", phase,
-				testEngine.getId()));
+			includedTestEngines.add(testEngine);
+		}
 
-			Optional<TestDescriptor> engineRoot = discoverEngineRoot(testEngine, discoveryRequest);
-			engineRoot.ifPresent(rootDescriptor -> root.add(testEngine, rootDescriptor));
+		DiscoveryCache discoveryCache = DiscoveryCache.create(discoveryRequest);
+		List<Optional<TestDescriptor>> engineRoots;
+		// Reuse the archives scanned for multiple selectors or by multiple engines
+		ClasspathScanningScope classpathScanningScope = ReflectionUtils.openClasspathScanningScope();
+		try {
+			engineRoots = discoverEngineRoots(includedTestEngines, discoveryRequest, discoveryCache, phase);
+		}
+		finally {
+			classpathScanningScope.close();
+		}
+		discoveryCache.store();
+		// Add engine roots in the order of the engines regardless of when discovery finished
+		for (int i = 0; i < includedTestEngines.size(); i++) {
+			TestEngine testEngine = includedTestEngines.get(i);
+			engineRoots.get(i).ifPresent(rootDescriptor -> root.add(testEngine, rootDescriptor));
 		}
 		root.applyPostDiscoveryFilters(discoveryRequest);
 		root.prune();
 		return root;
 	}
 
+	private List<Optional<TestDescriptor>> discoverEngineRoots(List<TestEngine> testEngines,
+			LauncherDiscoveryRequest discoveryRequest, DiscoveryCache discoveryCache, String phase) {
+
+		List<Optional<TestDescriptor>> engineRoots = new ArrayList<>(
+			Collections.nCopies(testEngines.size(), Optional.empty()));
+		Map<String, Runnable> actionsByThreadName = new LinkedHashMap<>();
+		for (int i = 0; i < testEngines.size(); i++) {
+			TestEngine testEngine = testEngines.get(i);
+			int index = i;
+			actionsByThreadName.put("junit-platform-discovery-" + testEngine.getId(), () -> {
+				logger.debug(() -> String.format("Discovering tests during Launcher %s phase in engine '%s'.", phase,
+					testEngine.getId()));
+				engineRoots.set(index, discoverEngineRoot(testEngine, discoveryRequest, discoveryCache));
+			});
+		}
+		if (testEngines.size() > 1 && discoveryRequest.getConfigurationParameters().getBoolean(
+			CONCURRENT_DISCOVERY_PROPERTY_NAME).orElse(false)) {
+			runConcurrently(actionsByThreadName);
+		}
+		else {
+			actionsByThreadName.values().forEach(Runnable::run);
+		}
+		return engineRoots;
+	}
+
 	private Optional<TestDescriptor> discoverEngineRoot(TestEngine testEngine,
-			LauncherDiscoveryRequest discoveryRequest) {
+			LauncherDiscoveryRequest discoveryRequest, DiscoveryCache discoveryCache) {
 
 		UniqueId uniqueEngineId = UniqueId.forEngine(testEngine.getId());
 		try {
-			TestDescriptor engineRoot = testEngine.discover(discoveryRequest, uniqueEngineId);
+			TestDescriptor engineRoot = testEngine.discover(
+				discoveryCache.getDiscoveryRequest(testEngine, discoveryRequest), uniqueEngineId);
 			discoveryResultValidator.validate(testEngine, engineRoot);
+			discoveryCache.record(testEngine, engineRoot);
 			return Optional.of(engineRoot);
 		}
 		catch (Throwable throwable) {
@@ -188,22 +243,97 @@ class DefaultLauncher implements Launcher {
 		Root root = internalTestPlan.getRoot();
 		ConfigurationParameters configurationParameters = root.getConfigurationParameters();
 		TestExecutionListenerRegistry listenerRegistry = buildListenerRegistryForExecution(listeners);
-		withInterceptedStreams(configurationParameters, listenerRegistry, testExecutionListener -> {
+		withInterceptedStreams(configurationParameters, listenerRegistry, compositeTestExecutionListener -> {
+			CancellationToken cancellationToken = CancellationToken.create();
+			TestExecutionListener testExecutionListener = FailFastTestExecutionListener.wrapIfEnabled(
+				configurationParameters, cancellationToken, compositeTestExecutionListener);
 			testExecutionListener.testPlanExecutionStarted(internalTestPlan);
-			ExecutionListenerAdapter engineExecutionListener = new ExecutionListenerAdapter(internalTestPlan,
-				testExecutionListener);
-			for (TestEngine testEngine : root.getTestEngines()) {
-				TestDescriptor testDescriptor = root.getTestDescriptorFor(testEngine);
-				execute(testEngine,
-					new ExecutionRequest(testDescriptor, engineExecutionListener, configurationParameters));
+			int forkCount = ForkedTestExecutor.getForkCount(configurationParameters);
+			if (forkCount > 0) {
+				new ForkedTestExecutor(internalTestPlan, forkCount, cancellationToken).execute(testExecutionListener);
+			}
+			else if (isConcurrentEngineExecutionEnabled(root)) {
+				EngineExecutionListener engineExecutionListener = new SynchronizedEngineExecutionListener(
+					new ExecutionListenerAdapter(internalTestPlan, testExecutionListener));
+				executeConcurrently(root, engineExecutionListener, configurationParameters, cancellationToken);
+			}
+			else {
+				ExecutionListenerAdapter engineExecutionListener = new ExecutionListenerAdapter(internalTestPlan,
+					testExecutionListener);
+				for (TestEngine testEngine : root.getTestEngines()) {
+					TestDescriptor testDescriptor = root.getTestDescriptorFor(testEngine);
+					execute(testEngine, new ExecutionRequest(testDescriptor, engineExecutionListener,
+						configurationParameters, cancellationToken));
+				}
 			}
 			testExecutionListener.testPlanExecutionFinished(internalTestPlan);
 		});
 	}
 
+	private static boolean isConcurrentEngineExecutionEnabled(Root root) {
+		return root.getEngineDescriptors().size() > 1
+				&& root.getConfigurationParameters().getBoolean(CONCURRENT_ENGINES_PROPERTY_NAME).orElse(false);
+	}
+
+	private void executeConcurrently(Root root, EngineExecutionListener engineExecutionListener,
+			ConfigurationParameters configurationParameters, CancellationToken cancellationToken) {
+		Map<String, Runnable> actionsByThreadName = new LinkedHashMap<>();
+		for (TestEngine testEngine : root.getTestEngines()) {
+			TestDescriptor testDescriptor = root.getTestDescriptorFor(testEngine);
+			ExecutionRequest executionRequest = new ExecutionRequest(testDescriptor, engineExecutionListener,
+				configurationParameters, cancellationToken);
+			actionsByThreadName.put("junit-platform-execution-" + testEngine.getId(),
+				() -> execute(testEngine, executionRequest));
+		}
+		runConcurrently(actionsByThreadName);
+	}
+
+	/**
+	 * Run each of the supplied actions in a new thread with the corresponding
+	 * name and wait for all of them to complete.
+	 *
+	 * <p>Throwables that are not handled by an action are rethrown in the
+	 * calling thread.
+	 */
+	private static void runConcurrently(Map<String, Runnable> actionsByThreadName) {
+		AtomicReference<Throwable> uncaughtThrowable = new AtomicReference<>();
+		List<Thread> threads = new ArrayList<>();
+		actionsByThreadName.forEach((threadName, action) -> {
+			Thread thread = new Thread(action, threadName);
+			thread.setUncaughtExceptionHandler((t, throwable) -> uncaughtThrowable.compareAndSet(null, throwable));
+			thread.start();
+			threads.add(thread);
+		});
+		joinUninterruptibly(threads);
+		if (uncaughtThrowable.get() != null) {
+			ExceptionUtils.throwAsUncheckedException(uncaughtThrowable.get());
+		}
+	}
+
+	private static void joinUninterruptibly(List<Thread> threads) {
+		boolean interrupted = false;
+		for (Thread thread : threads) {
+			while (thread.isAlive()) {
+				try {
+					thread.join();
+				}
+				catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	private void withInterceptedStreams(ConfigurationParameters configurationParameters,
 			TestExecutionListenerRegistry listenerRegistry, Consumer<TestExecutionListener> action) {
-		TestExecutionListener testExecutionListener = listenerRegistry.getCompositeTestExecutionListener();
+		Optional<AsyncListenerDispatcher> asyncListenerDispatcher = AsyncListenerDispatcher.create(
+			configurationParameters);
+		TestExecutionListener testExecutionListener = asyncListenerDispatcher.isPresent()
+				? listenerRegistry.getCompositeTestExecutionListener(asyncListenerDispatcher.get())
+				: listenerRegistry.getCompositeTestExecutionListener();
 		Optional<StreamInterceptingTestExecutionListener> streamInterceptingTestExecutionListener = StreamInterceptingTestExecutionListener.create(
 			configurationParameters, testExecutionListener::reportingEntryPublished);
 		streamInterceptingTestExecutionListener.ifPresent(listenerRegistry::registerListeners);
@@ -211,7 +341,13 @@ class DefaultLauncher implements Launcher {
 			action.accept(testExecutionListener);
 		}
 		finally {
-			streamInterceptingTestExecutionListener.ifPresent(StreamInterceptingTestExecutionListener::unregister);
+			try {
+				// Dispatch all pending events before returning to the caller
+				asyncListenerDispatcher.ifPresent(AsyncListenerDispatcher::close);
+			}
+			finally {
+				streamInterceptingTestExecutionListener.ifPresent(StreamInterceptingTestExecutionListener::unregister);
+			}
 		}
 	}
 
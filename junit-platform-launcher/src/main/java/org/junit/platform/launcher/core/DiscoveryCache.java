@@ -0,0 +1,474 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.stream.Collectors.toList;
+import static org.junit.platform.launcher.LauncherConstants.DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.ClassLoaderUtils;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.DiscoveryFilter;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestEngine;
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+/**
+ * Persistent cache of the tests discovered by each {@link TestEngine}.
+ *
+ * <p>The cache stores the unique IDs of the leaves of the {@link TestDescriptor}
+ * tree returned by each engine, i.e. before post-discovery filters are applied,
+ * in a file whose name is a digest of the selectors, discovery filters and
+ * explicit configuration parameters of the {@link LauncherDiscoveryRequest}
+ * and of the classpath of the {@linkplain ClassLoaderUtils#getDefaultClassLoader()
+ * default class loader}: the paths, sizes and modification times of its JAR
+ * files, including the ones referenced by their manifests, and the relative
+ * paths, sizes and modification times of all class files in its directories.
+ * If the classpath of the default class loader cannot be determined, e.g.
+ * since it is not a {@link java.net.URLClassLoader}, the cache is not used.
+ *
+ * <p>The cache is only used if the request consists of configuration
+ * parameters supplied via the {@link LauncherDiscoveryRequestBuilder} and of
+ * the selectors and discovery filters provided by the JUnit Platform, e.g.
+ * {@link DiscoverySelectors} and {@link ClassNameFilter}, since only those
+ * have a well-defined identity. Cache files that have not been used for
+ * {@linkplain #MAX_FILE_AGE some time} are deleted, as are the least recently
+ * used ones if there are more than {@value #MAX_FILE_COUNT}.
+ *
+ * <p>If a matching entry exists, the engine is asked to discover only the
+ * cached unique IDs instead of the original selectors. Since descriptors hold
+ * references to the classes and methods they represent, engines still load the
+ * test classes, but they no longer need to scan the classpath or load classes
+ * that do not contain tests.
+ *
+ * <p>Since the cache is only used to speed up discovery, errors while
+ * reading or writing the cache are logged instead of being propagated.
+ *
+ * @since 1.4
+ * @see org.junit.platform.launcher.LauncherConstants#DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME
+ */
+class DiscoveryCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(DiscoveryCache.class);
+
+	private static final String FILE_EXTENSION = ".discovery";
+	private static final String COMMENT_PREFIX = "#";
+	private static final String ENGINE_PREFIX = "engine ";
+	private static final String CLASS_FILE_SUFFIX = ".class";
+	private static final String WELL_DEFINED_IDENTITY_PACKAGE = DiscoverySelectors.class.getPackage().getName();
+
+	static final Duration MAX_FILE_AGE = Duration.ofDays(7);
+	static final int MAX_FILE_COUNT = 100;
+
+	private static final DiscoveryCache DISABLED = new DiscoveryCache(null, Collections.emptyMap());
+
+	static DiscoveryCache create(LauncherDiscoveryRequest discoveryRequest) {
+		Optional<String> directory = discoveryRequest.getConfigurationParameters().get(
+			DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME).map(String::trim).filter(value -> !value.isEmpty());
+		if (!directory.isPresent()) {
+			return DISABLED;
+		}
+		Optional<Object> unidentifiable = findElementWithoutWellDefinedIdentity(discoveryRequest);
+		if (unidentifiable.isPresent()) {
+			logger.info(() -> String.format(
+				"Discovering tests without cache since %s does not have a well-defined identity.",
+				unidentifiable.get()));
+			return DISABLED;
+		}
+		List<String> classpathEntries;
+		try {
+			classpathEntries = ClassLoaderClasspath.getEntries(ClassLoaderUtils.getDefaultClassLoader());
+		}
+		catch (JUnitException e) {
+			logger.info(() -> "Discovering tests without cache since the classpath cannot be determined: "
+					+ e.getMessage());
+			return DISABLED;
+		}
+		try {
+			Path file = Paths.get(directory.get()).resolve(
+				computeKey(discoveryRequest, classpathEntries) + FILE_EXTENSION);
+			return new DiscoveryCache(file, read(file));
+		}
+		catch (IOException | RuntimeException e) {
+			logger.warn(e, () -> "Failed to compute discovery cache key; discovering tests without cache");
+			return DISABLED;
+		}
+	}
+
+	private final Path file;
+	private final Map<String, List<String>> cachedLeafUniqueIds;
+	private final Map<String, List<String>> recordedLeafUniqueIds = new ConcurrentHashMap<>();
+
+	private DiscoveryCache(Path file, Map<String, List<String>> cachedLeafUniqueIds) {
+		this.file = file;
+		this.cachedLeafUniqueIds = cachedLeafUniqueIds;
+	}
+
+	/**
+	 * Get the request the supplied engine should use for discovery: a request
+	 * that selects the cached unique IDs if this cache contains an entry for
+	 * the engine, or the original request otherwise.
+	 */
+	LauncherDiscoveryRequest getDiscoveryRequest(TestEngine testEngine, LauncherDiscoveryRequest discoveryRequest) {
+		List<String> leafUniqueIds = cachedLeafUniqueIds.get(testEngine.getId());
+		if (leafUniqueIds == null) {
+			return discoveryRequest;
+		}
+		logger.debug(() -> String.format("Discovering %d cached unique IDs in engine '%s'.", leafUniqueIds.size(),
+			testEngine.getId()));
+		List<DiscoverySelector> selectors = leafUniqueIds.stream().map(DiscoverySelectors::selectUniqueId).collect(
+			toList());
+		return new CachedDiscoveryRequest(selectors, discoveryRequest);
+	}
+
+	/**
+	 * Record the tests discovered by the supplied engine unless they have
+	 * been discovered using the cached unique IDs.
+	 */
+	void record(TestEngine testEngine, TestDescriptor engineRoot) {
+		if (file == null || cachedLeafUniqueIds.containsKey(testEngine.getId())) {
+			return;
+		}
+		List<String> leafUniqueIds = new ArrayList<>();
+		engineRoot.getChildren().forEach(child -> child.accept(descriptor -> {
+			if (descriptor.getChildren().isEmpty()) {
+				leafUniqueIds.add(descriptor.getUniqueId().toString());
+			}
+		}));
+		recordedLeafUniqueIds.put(testEngine.getId(), leafUniqueIds);
+	}
+
+	/**
+	 * Write the recorded tests to the cache if there are any.
+	 */
+	void store() {
+		if (file == null || recordedLeafUniqueIds.isEmpty()) {
+			return;
+		}
+		Map<String, List<String>> entries = new TreeMap<>(cachedLeafUniqueIds);
+		entries.putAll(recordedLeafUniqueIds);
+		try {
+			write(file, entries);
+		}
+		catch (IOException | RuntimeException e) {
+			logger.warn(e, () -> "Failed to write discovery cache " + file);
+		}
+		evictStaleFiles(file.toAbsolutePath().getParent());
+	}
+
+	/**
+	 * Find the first selector, discovery filter, or configuration parameters
+	 * of the supplied request that do not have a well-defined identity, i.e.
+	 * whose string representation does not reflect their value.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Optional<Object> findElementWithoutWellDefinedIdentity(LauncherDiscoveryRequest discoveryRequest) {
+		List<Object> elements = new ArrayList<>(discoveryRequest.getSelectorsByType(DiscoverySelector.class));
+		Class<DiscoveryFilter<?>> filterType = (Class<DiscoveryFilter<?>>) (Class<?>) DiscoveryFilter.class;
+		elements.addAll(discoveryRequest.getFiltersByType(filterType));
+		Optional<Object> unidentifiable = elements.stream().filter(
+			element -> !hasWellDefinedIdentity(element.getClass())).findFirst();
+		if (!unidentifiable.isPresent()
+				&& !(discoveryRequest.getConfigurationParameters() instanceof LauncherConfigurationParameters)) {
+			return Optional.of(discoveryRequest.getConfigurationParameters());
+		}
+		return unidentifiable;
+	}
+
+	private static boolean hasWellDefinedIdentity(Class<?> type) {
+		return !type.isSynthetic() && type.getPackage() != null
+				&& type.getPackage().getName().equals(WELL_DEFINED_IDENTITY_PACKAGE);
+	}
+
+	/**
+	 * Delete the cache files in the supplied directory that have not been
+	 * used for {@link #MAX_FILE_AGE} and the least recently used ones if
+	 * there are more than {@link #MAX_FILE_COUNT}.
+	 */
+	static void evictStaleFiles(Path directory) {
+		long oldestAllowed = System.currentTimeMillis() - MAX_FILE_AGE.toMillis();
+		try (Stream<Path> files = Files.list(directory)) {
+			// @formatter:off
+			List<Path> cacheFiles = files
+					.filter(file -> file.getFileName().toString().endsWith(FILE_EXTENSION))
+					.sorted(Comparator.comparingLong(DiscoveryCache::getLastModifiedMillis).reversed())
+					.collect(toList());
+			// @formatter:on
+			for (int i = 0; i < cacheFiles.size(); i++) {
+				Path cacheFile = cacheFiles.get(i);
+				if (i >= MAX_FILE_COUNT || getLastModifiedMillis(cacheFile) < oldestAllowed) {
+					logger.debug(() -> "Deleting stale discovery cache " + cacheFile);
+					Files.deleteIfExists(cacheFile);
+				}
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			logger.warn(e, () -> "Failed to delete stale discovery caches in " + directory);
+		}
+	}
+
+	private static long getLastModifiedMillis(Path file) {
+		try {
+			return Files.getLastModifiedTime(file).toMillis();
+		}
+		catch (IOException e) {
+			return 0;
+		}
+	}
+
+	private static Map<String, List<String>> read(Path file) {
+		Map<String, List<String>> entries = new LinkedHashMap<>();
+		if (!Files.isRegularFile(file)) {
+			return entries;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+			List<String> current = null;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(ENGINE_PREFIX)) {
+					current = new ArrayList<>();
+					entries.put(line.substring(ENGINE_PREFIX.length()), current);
+				}
+				else if (current != null && !line.isEmpty() && !line.startsWith(COMMENT_PREFIX)) {
+					current.add(line);
+				}
+			}
+			logger.debug(() -> "Loaded discovery cache " + file);
+			// Mark the file as recently used for evictStaleFiles()
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+		}
+		catch (IOException | RuntimeException e) {
+			logger.warn(e, () -> "Failed to read discovery cache " + file);
+			entries.clear();
+		}
+		return entries;
+	}
+
+	private static void write(Path file, Map<String, List<String>> entries) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+		try {
+			try (BufferedWriter writer = Files.newBufferedWriter(tempFile, UTF_8)) {
+				writer.write(COMMENT_PREFIX + " JUnit Platform discovery cache: engine ID followed by unique IDs");
+				writer.newLine();
+				for (Map.Entry<String, List<String>> entry : entries.entrySet()) {
+					writer.write(ENGINE_PREFIX + entry.getKey());
+					writer.newLine();
+					for (String uniqueId : entry.getValue()) {
+						writer.write(uniqueId);
+						writer.newLine();
+					}
+				}
+			}
+			try {
+				Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, file, REPLACE_EXISTING);
+			}
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static String computeKey(LauncherDiscoveryRequest discoveryRequest, List<String> classpathEntries)
+			throws IOException {
+		MessageDigest digest = newMessageDigest();
+		for (DiscoverySelector selector : discoveryRequest.getSelectorsByType(DiscoverySelector.class)) {
+			update(digest, "selector", selector.toString());
+		}
+		Class<DiscoveryFilter<?>> filterType = (Class<DiscoveryFilter<?>>) (Class<?>) DiscoveryFilter.class;
+		for (DiscoveryFilter<?> filter : discoveryRequest.getFiltersByType(filterType)) {
+			update(digest, "filter", filter.toString());
+		}
+		ConfigurationParameters configurationParameters = discoveryRequest.getConfigurationParameters();
+		Map<String, String> explicitConfigurationParameters = new TreeMap<>(
+			((LauncherConfigurationParameters) configurationParameters).getExplicitConfigurationParameters());
+		explicitConfigurationParameters.forEach((key, value) -> update(digest, key, value));
+		for (Path entry : resolveManifestClassPaths(classpathEntries)) {
+			updateWithClasspathEntry(digest, entry);
+		}
+		StringBuilder key = new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(String.format("%02x", b));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Add the entries referenced by the {@code Class-Path} manifest attribute
+	 * of JAR files to the supplied classpath entries, e.g. for manifest-only
+	 * JAR files that are used to shorten the command line.
+	 */
+	private static Set<Path> resolveManifestClassPaths(List<String> classpathEntries) throws IOException {
+		Set<Path> entries = new LinkedHashSet<>();
+		Deque<Path> remaining = new ArrayDeque<>();
+		classpathEntries.forEach(entry -> remaining.add(Paths.get(entry).toAbsolutePath()));
+		while (!remaining.isEmpty()) {
+			Path entry = remaining.poll();
+			if (!entries.add(entry) || !Files.isRegularFile(entry)) {
+				continue;
+			}
+			try (JarFile jarFile = new JarFile(entry.toFile())) {
+				Manifest manifest = jarFile.getManifest();
+				String classPath = manifest == null ? null
+						: manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH);
+				if (classPath == null) {
+					continue;
+				}
+				for (String reference : classPath.trim().split("\\s+")) {
+					URI uri = entry.toUri().resolve(reference);
+					if (!reference.isEmpty() && "file".equals(uri.getScheme())) {
+						remaining.add(Paths.get(uri));
+					}
+				}
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Update the supplied digest with the path of the supplied classpath entry
+	 * and either its size and modification time or, for directories, the
+	 * relative paths, sizes and modification times of all class files they
+	 * contain.
+	 */
+	private static void updateWithClasspathEntry(MessageDigest digest, Path entry) throws IOException {
+		update(digest, "classpath", entry.toString());
+		if (Files.isDirectory(entry)) {
+			Map<String, String> classFiles = new TreeMap<>();
+			Files.walkFileTree(entry, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+					if (attributes.isRegularFile() && file.getFileName().toString().endsWith(CLASS_FILE_SUFFIX)) {
+						classFiles.put(entry.relativize(file).toString(), format(attributes));
+					}
+					return FileVisitResult.CONTINUE;
+				}
+			});
+			classFiles.forEach((classFile, attributes) -> {
+				update(digest, "class", classFile);
+				update(digest, "attributes", attributes);
+			});
+		}
+		else if (Files.exists(entry)) {
+			update(digest, "attributes", format(Files.readAttributes(entry, BasicFileAttributes.class)));
+		}
+	}
+
+	private static String format(BasicFileAttributes attributes) {
+		return attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+	}
+
+	private static void update(MessageDigest digest, String key, String value) {
+		digest.update(key.getBytes(UTF_8));
+		digest.update((byte) 0);
+		digest.update(value.getBytes(UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest newMessageDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new JUnitException("SHA-256 is not supported", e);
+		}
+	}
+
+	/**
+	 * {@link LauncherDiscoveryRequest} that replaces the selectors of the
+	 * original request with selectors for the cached unique IDs.
+	 */
+	private static class CachedDiscoveryRequest implements LauncherDiscoveryRequest {
+
+		private final List<DiscoverySelector> selectors;
+		private final LauncherDiscoveryRequest delegate;
+
+		CachedDiscoveryRequest(List<DiscoverySelector> selectors, LauncherDiscoveryRequest delegate) {
+			this.selectors = selectors;
+			this.delegate = delegate;
+		}
+
+		@Override
+		public <T extends DiscoverySelector> List<T> getSelectorsByType(Class<T> selectorType) {
+			return selectors.stream().filter(selectorType::isInstance).map(selectorType::cast).collect(toList());
+		}
+
+		@Override
+		public <T extends DiscoveryFilter<?>> List<T> getFiltersByType(Class<T> filterType) {
+			return delegate.getFiltersByType(filterType);
+		}
+
+		@Override
+		public ConfigurationParameters getConfigurationParameters() {
+			return delegate.getConfigurationParameters();
+		}
+
+		@Override
+		public List<EngineFilter> getEngineFilters() {
+			return delegate.getEngineFilters();
+		}
+
+		@Override
+		public List<PostDiscoveryFilter> getPostDiscoveryFilters() {
+			return delegate.getPostDiscoveryFilters();
+		}
+
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.junit.platform.launcher.LauncherConstants.FAIL_FAST_THRESHOLD_PROPERTY_NAME;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.CancellationToken;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * {@link TestExecutionListener} that counts failed tests and containers and
+ * cancels the execution once the configured threshold has been reached
+ * before passing all events on to its delegate.
+ *
+ * <p>Failures are counted in the thread reporting them so that cancellation
+ * is not delayed by asynchronous dispatching of events.
+ *
+ * @since 1.4
+ * @see org.junit.platform.launcher.LauncherConstants#FAIL_FAST_THRESHOLD_PROPERTY_NAME
+ */
+class FailFastTestExecutionListener implements TestExecutionListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(FailFastTestExecutionListener.class);
+
+	/**
+	 * Wrap the supplied listener if a fail-fast threshold is configured.
+	 *
+	 * @return the wrapping listener or the supplied listener if no threshold
+	 * is configured
+	 */
+	static TestExecutionListener wrapIfEnabled(ConfigurationParameters configurationParameters,
+			CancellationToken cancellationToken, TestExecutionListener delegate) {
+		int threshold = configurationParameters.get(FAIL_FAST_THRESHOLD_PROPERTY_NAME).map(String::trim).map(
+			Integer::parseInt).orElse(0);
+		if (threshold == 0) {
+			return delegate;
+		}
+		Preconditions.condition(threshold > 0,
+			() -> String.format("Invalid value for configuration parameter '%s': %d",
+				FAIL_FAST_THRESHOLD_PROPERTY_NAME, threshold));
+		return new FailFastTestExecutionListener(threshold, cancellationToken, delegate);
+	}
+
+	private final AtomicInteger failures = new AtomicInteger();
+	private final int threshold;
+	private final CancellationToken cancellationToken;
+	private final TestExecutionListener delegate;
+
+	FailFastTestExecutionListener(int threshold, CancellationToken cancellationToken,
+			TestExecutionListener delegate) {
+		this.threshold = threshold;
+		this.cancellationToken = cancellationToken;
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void testPlanExecutionStarted(TestPlan testPlan) {
+		this.delegate.testPlanExecutionStarted(testPlan);
+	}
+
+	@Override
+	public void testPlanExecutionFinished(TestPlan testPlan) {
+		this.delegate.testPlanExecutionFinished(testPlan);
+	}
+
+	@Override
+	public void dynamicTestRegistered(TestIdentifier testIdentifier) {
+		this.delegate.dynamicTestRegistered(testIdentifier);
+	}
+
+	@Override
+	public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+		this.delegate.executionSkipped(testIdentifier, reason);
+	}
+
+	@Override
+	public void executionStarted(TestIdentifier testIdentifier) {
+		this.delegate.executionStarted(testIdentifier);
+	}
+
+	@Override
+	public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+		if (testExecutionResult.getStatus() == TestExecutionResult.Status.FAILED
+				&& this.failures.incrementAndGet() == this.threshold) {
+			logger.info(() -> String.format("Cancelling execution after %d failures", this.threshold));
+			this.cancellationToken.cancel();
+		}
+		this.delegate.executionFinished(testIdentifier, testExecutionResult);
+	}
+
+	@Override
+	public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+		this.delegate.reportingEntryPublished(testIdentifier, entry);
+	}
+
+}
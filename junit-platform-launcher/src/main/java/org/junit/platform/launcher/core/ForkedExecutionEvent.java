@@ -0,0 +1,152 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestExecutionResult.Status;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+
+/**
+ * Serializable representation of a {@link TestExecutionListener} event that
+ * is sent from a {@link ForkedTestWorker} to the {@link ForkedTestExecutor}.
+ *
+ * @since 1.4
+ */
+class ForkedExecutionEvent implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	enum Type {
+		DYNAMIC_TEST_REGISTERED, EXECUTION_STARTED, EXECUTION_SKIPPED, EXECUTION_FINISHED, REPORTING_ENTRY_PUBLISHED,
+		WORK_UNIT_FINISHED
+	}
+
+	static ForkedExecutionEvent dynamicTestRegistered(TestIdentifier testIdentifier) {
+		return new ForkedExecutionEvent(Type.DYNAMIC_TEST_REGISTERED, testIdentifier, null, null, null, null);
+	}
+
+	static ForkedExecutionEvent executionStarted(TestIdentifier testIdentifier) {
+		return new ForkedExecutionEvent(Type.EXECUTION_STARTED, testIdentifier, null, null, null, null);
+	}
+
+	static ForkedExecutionEvent executionSkipped(TestIdentifier testIdentifier, String reason) {
+		return new ForkedExecutionEvent(Type.EXECUTION_SKIPPED, testIdentifier, reason, null, null, null);
+	}
+
+	static ForkedExecutionEvent executionFinished(TestIdentifier testIdentifier, TestExecutionResult result) {
+		Throwable throwable = result.getThrowable().map(ForkedExecutionEvent::toSerializableThrowable).orElse(null);
+		return new ForkedExecutionEvent(Type.EXECUTION_FINISHED, testIdentifier, null, result.getStatus(), throwable,
+			null);
+	}
+
+	static ForkedExecutionEvent reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+		return new ForkedExecutionEvent(Type.REPORTING_ENTRY_PUBLISHED, testIdentifier, null, null, null,
+			new LinkedHashMap<>(entry.getKeyValuePairs()));
+	}
+
+	static ForkedExecutionEvent workUnitFinished() {
+		return new ForkedExecutionEvent(Type.WORK_UNIT_FINISHED, null, null, null, null, null);
+	}
+
+	private final Type type;
+	private final TestIdentifier testIdentifier;
+	private final String reason;
+	private final Status status;
+	private final Throwable throwable;
+	private final LinkedHashMap<String, String> reportEntry;
+
+	private ForkedExecutionEvent(Type type, TestIdentifier testIdentifier, String reason, Status status,
+			Throwable throwable, LinkedHashMap<String, String> reportEntry) {
+		this.type = type;
+		this.testIdentifier = testIdentifier;
+		this.reason = reason;
+		this.status = status;
+		this.throwable = throwable;
+		this.reportEntry = reportEntry;
+	}
+
+	Type getType() {
+		return type;
+	}
+
+	TestIdentifier getTestIdentifier() {
+		return testIdentifier;
+	}
+
+	String getReason() {
+		return reason;
+	}
+
+	TestExecutionResult getResult() {
+		switch (status) {
+			case SUCCESSFUL:
+				return TestExecutionResult.successful();
+			case ABORTED:
+				return TestExecutionResult.aborted(throwable);
+			default:
+				return TestExecutionResult.failed(throwable);
+		}
+	}
+
+	ReportEntry getReportEntry() {
+		return ReportEntry.from(reportEntry);
+	}
+
+	/**
+	 * Replace throwables that cannot be serialized, e.g. because they
+	 * reference non-serializable state, or that reference classes that the
+	 * {@link ForkedObjectInputStream} does not allow, e.g. custom values of
+	 * assertion failures, with a {@link JUnitException} that retains their
+	 * message and stack trace.
+	 */
+	private static Throwable toSerializableThrowable(Throwable throwable) {
+		try (ObjectOutputStream out = new CheckingObjectOutputStream(new ByteArrayOutputStream())) {
+			out.writeObject(throwable);
+			return throwable;
+		}
+		catch (IOException e) {
+			JUnitException replacement = new JUnitException(throwable.toString());
+			replacement.setStackTrace(throwable.getStackTrace());
+			return replacement;
+		}
+	}
+
+	private static class CheckingObjectOutputStream extends ObjectOutputStream {
+
+		CheckingObjectOutputStream(OutputStream out) throws IOException {
+			super(out);
+		}
+
+		@Override
+		protected void annotateClass(Class<?> clazz) throws IOException {
+			ForkedObjectInputStream.checkAllowed(clazz);
+		}
+
+		@Override
+		protected void annotateProxyClass(Class<?> clazz) throws IOException {
+			throw new InvalidClassException(clazz.getName(),
+				"Proxy classes are not allowed to be exchanged with forked worker JVMs");
+		}
+
+	}
+
+}
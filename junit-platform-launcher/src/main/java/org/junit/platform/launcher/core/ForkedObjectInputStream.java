@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.platform.commons.util.ClassLoaderUtils;
+import org.junit.platform.engine.TestSource;
+
+/**
+ * {@link ObjectInputStream} for the messages exchanged between the
+ * {@link ForkedTestExecutor} and its {@link ForkedTestWorker worker JVMs}.
+ *
+ * <p>Classes are resolved via the default class loader so that exceptions
+ * declared by tests can be reconstructed. Only classes that are part of the
+ * exchanged messages may be deserialized: JUnit and OpenTest4J classes,
+ * {@link TestSource TestSources}, {@link Throwable Throwables}, enums,
+ * and a few value and collection types of the JDK. Classes that are not
+ * {@link Serializable} are allowed as well since they can only be referenced
+ * as class literals but never be instantiated by deserialization.
+ *
+ * @since 1.4
+ */
+class ForkedObjectInputStream extends ObjectInputStream {
+
+	private static final List<String> ALLOWED_PACKAGE_PREFIXES = Arrays.asList("org.junit.platform.",
+		"org.opentest4j.");
+
+	// @formatter:off
+	private static final Set<String> ALLOWED_JDK_CLASS_NAMES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+			"java.io.File",
+			"java.lang.Boolean",
+			"java.lang.Byte",
+			"java.lang.Character",
+			"java.lang.Double",
+			"java.lang.Float",
+			"java.lang.Integer",
+			"java.lang.Long",
+			"java.lang.Number",
+			"java.lang.Short",
+			"java.lang.StackTraceElement",
+			"java.lang.String",
+			"java.net.URI",
+			"java.util.ArrayList",
+			"java.util.Arrays$ArrayList",
+			"java.util.CollSer",
+			"java.util.Collections$EmptyList",
+			"java.util.Collections$EmptyMap",
+			"java.util.Collections$EmptySet",
+			"java.util.Collections$SingletonList",
+			"java.util.Collections$SingletonMap",
+			"java.util.Collections$SingletonSet",
+			"java.util.Collections$UnmodifiableCollection",
+			"java.util.Collections$UnmodifiableList",
+			"java.util.Collections$UnmodifiableMap",
+			"java.util.Collections$UnmodifiableRandomAccessList",
+			"java.util.Collections$UnmodifiableSet",
+			"java.util.HashMap",
+			"java.util.HashSet",
+			"java.util.LinkedHashMap",
+			"java.util.LinkedHashSet",
+			"java.util.LinkedList"
+	)));
+	// @formatter:on
+
+	/**
+	 * Determine if instances of the supplied class may be exchanged between
+	 * the {@link ForkedTestExecutor} and its worker JVMs.
+	 */
+	static boolean isAllowed(Class<?> clazz) {
+		Class<?> type = clazz;
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		if (type.isPrimitive() || !Serializable.class.isAssignableFrom(type)) {
+			return true;
+		}
+		if (Throwable.class.isAssignableFrom(type) || TestSource.class.isAssignableFrom(type)
+				|| Enum.class.isAssignableFrom(type)) {
+			return true;
+		}
+		String name = type.getName();
+		return ALLOWED_JDK_CLASS_NAMES.contains(name)
+				|| ALLOWED_PACKAGE_PREFIXES.stream().anyMatch(name::startsWith);
+	}
+
+	static void checkAllowed(Class<?> clazz) throws InvalidClassException {
+		if (!isAllowed(clazz)) {
+			throw new InvalidClassException(clazz.getName(),
+				"Class is not allowed to be exchanged with forked worker JVMs");
+		}
+	}
+
+	ForkedObjectInputStream(InputStream in) throws IOException {
+		super(in);
+	}
+
+	@Override
+	protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+		Class<?> clazz;
+		try {
+			clazz = Class.forName(desc.getName(), false, ClassLoaderUtils.getDefaultClassLoader());
+		}
+		catch (ClassNotFoundException e) {
+			clazz = super.resolveClass(desc);
+		}
+		checkAllowed(clazz);
+		return clazz;
+	}
+
+	@Override
+	protected Class<?> resolveProxyClass(String[] interfaces) throws InvalidClassException {
+		throw new InvalidClassException("Proxy classes are not allowed to be exchanged with forked worker JVMs");
+	}
+
+}
@@ -0,0 +1,475 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.platform.launcher.LauncherConstants.FORK_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.FORK_JVM_ARGUMENTS_PROPERTY_NAME;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Serializable;
+import java.io.Writer;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+import org.junit.platform.commons.util.ClassLoaderUtils;
+import org.junit.platform.commons.util.Preconditions;
+import org.junit.platform.engine.CancellationToken;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+
+/**
+ * Executes a {@link InternalTestPlan} in forked worker JVMs.
+ *
+ * <p>Each direct child of an engine descriptor, e.g. a test class, is a
+ * <em>work unit</em>. Work units are handed out to the {@link ForkedTestWorker
+ * worker JVMs} on demand via a loopback socket, and the events reported by
+ * the workers are forwarded to the supplied {@link TestExecutionListener}
+ * one at a time. Engine descriptors are reported as started and finished by
+ * the executor itself.
+ *
+ * <p>The worker JVMs are started with the classpath of the default class
+ * loader. Each of them receives a random token via its standard input that
+ * it has to send before anything else once it has connected; connections
+ * that do not send the token are closed without reading any object from them.
+ *
+ * <p>If a worker JVM terminates unexpectedly, the tests and containers of its
+ * current work unit that have not been reported as finished are reported as
+ * failed, and the remaining work units are executed by the other workers.
+ *
+ * <p>Once cancellation has been requested, no further work units are handed
+ * out and the remaining ones are reported as skipped. Work units that are
+ * currently executed by a worker JVM are not affected; however, workers
+ * receive the explicit configuration parameters and hence apply the same
+ * fail-fast threshold to the tests they execute.
+ *
+ * @since 1.4
+ * @see org.junit.platform.launcher.LauncherConstants#FORK_COUNT_PROPERTY_NAME
+ */
+class ForkedTestExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(ForkedTestExecutor.class);
+
+	private static final long CONNECT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+	private static final int ACCEPT_POLL_INTERVAL_MILLIS = 500;
+	private static final int HANDSHAKE_TIMEOUT_MILLIS = (int) TimeUnit.SECONDS.toMillis(10);
+	private static final int TOKEN_LENGTH = 32;
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+	static int getForkCount(ConfigurationParameters configurationParameters) {
+		int forkCount = configurationParameters.get(FORK_COUNT_PROPERTY_NAME).map(String::trim).map(
+			Integer::parseInt).orElse(0);
+		Preconditions.condition(forkCount >= 0,
+			() -> String.format("Invalid value for configuration parameter '%s': %d", FORK_COUNT_PROPERTY_NAME,
+				forkCount));
+		return forkCount;
+	}
+
+	private final Object listenerLock = new Object();
+	private final AtomicInteger connectedWorkers = new AtomicInteger();
+	private final Map<String, TestExecutionResult> engineResults = new HashMap<>();
+	private final InternalTestPlan testPlan;
+	private final int forkCount;
+	private final Map<String, String> configurationParameters;
+	private final List<String> jvmArguments;
+	private final String classpath;
+	private final String token = createToken();
+	private final CancellationToken cancellationToken;
+
+	ForkedTestExecutor(InternalTestPlan testPlan, int forkCount, CancellationToken cancellationToken) {
+		this.testPlan = testPlan;
+		this.forkCount = forkCount;
+		this.cancellationToken = cancellationToken;
+		ConfigurationParameters configurationParameters = testPlan.getRoot().getConfigurationParameters();
+		this.configurationParameters = getExplicitConfigurationParameters(configurationParameters);
+		this.jvmArguments = getJvmArguments(configurationParameters);
+		this.classpath = getClasspath(ClassLoaderUtils.getDefaultClassLoader());
+	}
+
+	private static String createToken() {
+		byte[] bytes = new byte[TOKEN_LENGTH];
+		new SecureRandom().nextBytes(bytes);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	/**
+	 * Determine the classpath of the worker JVMs from the supplied class
+	 * loader and its parents up to the system class loader, whose entries are
+	 * determined by the {@code java.class.path} system property.
+	 *
+	 * @throws JUnitException if the classpath cannot be determined
+	 * @see ClassLoaderClasspath#getEntries(ClassLoader)
+	 */
+	static String getClasspath(ClassLoader classLoader) {
+		List<String> entries = ClassLoaderClasspath.getEntries(classLoader);
+		if (entries.isEmpty()) {
+			throw new JUnitException(
+				"Cannot determine the classpath of forked worker JVMs from class loader " + classLoader);
+		}
+		return String.join(File.pathSeparator, entries);
+	}
+
+	private static Map<String, String> getExplicitConfigurationParameters(
+			ConfigurationParameters configurationParameters) {
+		if (configurationParameters instanceof LauncherConfigurationParameters) {
+			return ((LauncherConfigurationParameters) configurationParameters).getExplicitConfigurationParameters();
+		}
+		logger.warn(() -> "Configuration parameters of type " + configurationParameters.getClass().getName()
+				+ " cannot be passed to forked worker JVMs");
+		return Collections.emptyMap();
+	}
+
+	private static List<String> getJvmArguments(ConfigurationParameters configurationParameters) {
+		// @formatter:off
+		return configurationParameters.get(FORK_JVM_ARGUMENTS_PROPERTY_NAME)
+				.map(String::trim)
+				.filter(value -> !value.isEmpty())
+				.map(value -> Arrays.asList(value.split("\\s+")))
+				.orElse(Collections.emptyList());
+		// @formatter:on
+	}
+
+	void execute(TestExecutionListener listener) {
+		Queue<WorkUnit> workUnits = new ConcurrentLinkedQueue<>();
+		List<TestIdentifier> engineIdentifiers = new ArrayList<>();
+		for (TestDescriptor engineDescriptor : testPlan.getRoot().getEngineDescriptors()) {
+			engineIdentifiers.add(getTestIdentifier(engineDescriptor.getUniqueId().toString()));
+			engineDescriptor.getChildren().forEach(child -> workUnits.add(WorkUnit.from(engineDescriptor, child)));
+		}
+		engineIdentifiers.forEach(listener::executionStarted);
+		if (!workUnits.isEmpty()) {
+			executeInWorkers(workUnits, listener);
+		}
+		JUnitException noWorkerAvailable = new JUnitException("No forked worker JVM was available");
+		for (WorkUnit workUnit : workUnits) {
+			if (cancellationToken.isCancellationRequested()) {
+				listener.executionSkipped(getTestIdentifier(workUnit.rootUniqueId),
+					"Execution was cancelled before this node was started");
+			}
+			else {
+				failWorkUnit(workUnit, new ArrayDeque<>(), false, noWorkerAvailable, listener);
+			}
+		}
+		engineIdentifiers.forEach(engineIdentifier -> listener.executionFinished(engineIdentifier,
+			engineResults.getOrDefault(engineIdentifier.getUniqueId(), TestExecutionResult.successful())));
+	}
+
+	private void executeInWorkers(Queue<WorkUnit> workUnits, TestExecutionListener listener) {
+		int numberOfWorkers = Math.min(forkCount, workUnits.size());
+		List<Process> processes = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		try (ServerSocket serverSocket = new ServerSocket(0, numberOfWorkers, InetAddress.getLoopbackAddress())) {
+			serverSocket.setSoTimeout(ACCEPT_POLL_INTERVAL_MILLIS);
+			for (int i = 0; i < numberOfWorkers; i++) {
+				processes.add(startWorker(serverSocket.getLocalPort()));
+			}
+			for (int i = 0; i < numberOfWorkers; i++) {
+				Thread thread = new Thread(() -> runWorker(serverSocket, processes, workUnits, listener),
+					"junit-forked-worker-" + (i + 1));
+				thread.setDaemon(true);
+				thread.start();
+				threads.add(thread);
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+		}
+		catch (IOException e) {
+			logger.error(e, () -> "Failed to start forked worker JVMs");
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			threads.forEach(Thread::interrupt);
+		}
+		finally {
+			processes.forEach(ForkedTestExecutor::awaitTermination);
+		}
+	}
+
+	private Process startWorker(int port) throws IOException {
+		List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmArguments);
+		command.add("-cp");
+		command.add(classpath);
+		command.add(ForkedTestWorker.class.getName());
+		command.add(String.valueOf(port));
+		logger.debug(() -> "Starting forked worker JVM: " + command);
+		// Pass the token via standard input since command line arguments are
+		// visible to other processes
+		ProcessBuilder builder = new ProcessBuilder(command);
+		builder.redirectOutput(Redirect.INHERIT).redirectError(Redirect.INHERIT);
+		Process process = builder.start();
+		try (Writer writer = new OutputStreamWriter(process.getOutputStream(), UTF_8)) {
+			writer.write(token);
+			writer.write('\n');
+		}
+		return process;
+	}
+
+	private static void awaitTermination(Process process) {
+		try {
+			if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		}
+		catch (InterruptedException e) {
+			process.destroyForcibly();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void runWorker(ServerSocket serverSocket, List<Process> processes, Queue<WorkUnit> workUnits,
+			TestExecutionListener listener) {
+		try (Socket socket = accept(serverSocket, processes)) {
+			ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.writeObject(new HashMap<>(configurationParameters));
+			out.flush();
+			ObjectInputStream in = new ForkedObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+			WorkUnit workUnit;
+			while (!cancellationToken.isCancellationRequested() && (workUnit = workUnits.poll()) != null) {
+				if (!executeInWorker(workUnit, out, in, listener)) {
+					return;
+				}
+			}
+			out.writeObject(null);
+			out.flush();
+		}
+		catch (SocketTimeoutException e) {
+			logger.warn(() -> "Forked worker JVM did not connect");
+		}
+		catch (IOException e) {
+			logger.warn(e, () -> "Failed to communicate with forked worker JVM");
+		}
+	}
+
+	private Socket accept(ServerSocket serverSocket, List<Process> processes) throws IOException {
+		long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MILLIS;
+		while (true) {
+			Socket socket;
+			try {
+				socket = serverSocket.accept();
+			}
+			catch (SocketTimeoutException e) {
+				long aliveProcesses = processes.stream().filter(Process::isAlive).count();
+				if (aliveProcesses <= connectedWorkers.get() || System.currentTimeMillis() > deadline) {
+					throw e;
+				}
+				continue;
+			}
+			if (authenticate(socket)) {
+				connectedWorkers.incrementAndGet();
+				return socket;
+			}
+			socket.close();
+			if (System.currentTimeMillis() > deadline) {
+				throw new SocketTimeoutException("No forked worker JVM connected");
+			}
+		}
+	}
+
+	/**
+	 * Verify that the peer of the supplied socket is one of the worker JVMs
+	 * started by this executor by reading the token passed to them before any
+	 * object is read from the socket.
+	 */
+	private boolean authenticate(Socket socket) {
+		try {
+			socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+			String receivedToken = new DataInputStream(socket.getInputStream()).readUTF();
+			socket.setSoTimeout(0);
+			if (MessageDigest.isEqual(token.getBytes(UTF_8), receivedToken.getBytes(UTF_8))) {
+				return true;
+			}
+			logger.warn(() -> "Rejected connection from " + socket.getRemoteSocketAddress()
+					+ " that did not send the token of the forked worker JVMs");
+		}
+		catch (IOException e) {
+			logger.warn(e, () -> "Rejected connection from " + socket.getRemoteSocketAddress()
+					+ " that failed to send the token of the forked worker JVMs");
+		}
+		return false;
+	}
+
+	/**
+	 * Execute the supplied work unit in the worker connected via the supplied
+	 * streams.
+	 *
+	 * @return {@code true} if the worker executed the work unit and can be
+	 * used to execute further work units
+	 */
+	private boolean executeInWorker(WorkUnit workUnit, ObjectOutputStream out, ObjectInputStream in,
+			TestExecutionListener listener) {
+		Deque<TestIdentifier> unfinished = new ArrayDeque<>();
+		boolean rootStarted = false;
+		try {
+			out.writeObject(workUnit);
+			out.flush();
+			out.reset();
+			while (true) {
+				ForkedExecutionEvent event = (ForkedExecutionEvent) in.readObject();
+				if (event.getType() == ForkedExecutionEvent.Type.WORK_UNIT_FINISHED) {
+					return true;
+				}
+				rootStarted |= isStartedOrSkipped(event)
+						&& workUnit.rootUniqueId.equals(event.getTestIdentifier().getUniqueId());
+				forward(event, unfinished, listener);
+			}
+		}
+		catch (IOException | ClassNotFoundException | RuntimeException e) {
+			JUnitException exception = new JUnitException("Forked worker JVM terminated unexpectedly", e);
+			failWorkUnit(workUnit, unfinished, rootStarted, exception, listener);
+			return false;
+		}
+	}
+
+	private static boolean isStartedOrSkipped(ForkedExecutionEvent event) {
+		return event.getType() == ForkedExecutionEvent.Type.EXECUTION_STARTED
+				|| event.getType() == ForkedExecutionEvent.Type.EXECUTION_SKIPPED;
+	}
+
+	private void forward(ForkedExecutionEvent event, Deque<TestIdentifier> unfinished,
+			TestExecutionListener listener) {
+		synchronized (listenerLock) {
+			TestIdentifier remoteIdentifier = event.getTestIdentifier();
+			if (!remoteIdentifier.getParentId().isPresent()) {
+				forwardEngineEvent(event, listener);
+				return;
+			}
+			if (event.getType() == ForkedExecutionEvent.Type.DYNAMIC_TEST_REGISTERED) {
+				testPlan.addInternal(remoteIdentifier);
+				listener.dynamicTestRegistered(remoteIdentifier);
+				return;
+			}
+			TestIdentifier testIdentifier = getTestIdentifier(remoteIdentifier.getUniqueId());
+			switch (event.getType()) {
+				case EXECUTION_STARTED:
+					unfinished.push(testIdentifier);
+					listener.executionStarted(testIdentifier);
+					break;
+				case EXECUTION_SKIPPED:
+					listener.executionSkipped(testIdentifier, event.getReason());
+					break;
+				case EXECUTION_FINISHED:
+					unfinished.remove(testIdentifier);
+					listener.executionFinished(testIdentifier, event.getResult());
+					break;
+				case REPORTING_ENTRY_PUBLISHED:
+					listener.reportingEntryPublished(testIdentifier, event.getReportEntry());
+					break;
+				default:
+					throw new JUnitException("Unexpected event type: " + event.getType());
+			}
+		}
+	}
+
+	private void forwardEngineEvent(ForkedExecutionEvent event, TestExecutionListener listener) {
+		String uniqueId = event.getTestIdentifier().getUniqueId();
+		if (event.getType() == ForkedExecutionEvent.Type.EXECUTION_FINISHED) {
+			TestExecutionResult result = event.getResult();
+			if (result.getStatus() != TestExecutionResult.Status.SUCCESSFUL) {
+				engineResults.putIfAbsent(uniqueId, result);
+			}
+		}
+		else if (event.getType() == ForkedExecutionEvent.Type.REPORTING_ENTRY_PUBLISHED) {
+			listener.reportingEntryPublished(getTestIdentifier(uniqueId), event.getReportEntry());
+		}
+	}
+
+	private void failWorkUnit(WorkUnit workUnit, Deque<TestIdentifier> unfinished, boolean rootStarted,
+			Throwable throwable, TestExecutionListener listener) {
+		synchronized (listenerLock) {
+			if (!rootStarted) {
+				TestIdentifier root = getTestIdentifier(workUnit.rootUniqueId);
+				listener.executionStarted(root);
+				unfinished.push(root);
+			}
+			while (!unfinished.isEmpty()) {
+				listener.executionFinished(unfinished.pop(), TestExecutionResult.failed(throwable));
+			}
+		}
+	}
+
+	private TestIdentifier getTestIdentifier(String uniqueId) {
+		return testPlan.getTestIdentifier(uniqueId);
+	}
+
+	/**
+	 * Top-level container or test that is executed by a single worker.
+	 */
+	static class WorkUnit implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		static WorkUnit from(TestDescriptor engineDescriptor, TestDescriptor root) {
+			List<String> leafUniqueIds = new ArrayList<>();
+			root.accept(descriptor -> {
+				if (descriptor.getChildren().isEmpty()) {
+					leafUniqueIds.add(descriptor.getUniqueId().toString());
+				}
+			});
+			return new WorkUnit(engineDescriptor.getUniqueId().getEngineId().orElse(null),
+				root.getUniqueId().toString(), leafUniqueIds);
+		}
+
+		private final String engineId;
+		private final String rootUniqueId;
+		private final List<String> leafUniqueIds;
+
+		private WorkUnit(String engineId, String rootUniqueId, List<String> leafUniqueIds) {
+			this.engineId = engineId;
+			this.rootUniqueId = rootUniqueId;
+			this.leafUniqueIds = leafUniqueIds;
+		}
+
+		String getEngineId() {
+			return engineId;
+		}
+
+		List<String> getLeafUniqueIds() {
+			return leafUniqueIds;
+		}
+
+	}
+
+}
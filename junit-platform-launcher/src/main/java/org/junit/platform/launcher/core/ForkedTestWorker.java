@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.apiguardian.api.API.Status.INTERNAL;
+import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.LauncherConstants.FORK_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apiguardian.api.API;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.discovery.UniqueIdSelector;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.ForkedTestExecutor.WorkUnit;
+
+/**
+ * Entry point of the worker JVMs spawned by the {@link ForkedTestExecutor}.
+ *
+ * <p>The worker reads the token of the executor from its standard input,
+ * connects to the loopback port passed as its only argument, and sends the
+ * token. It then receives the configuration parameters and executes the work
+ * units it receives one after another until it receives {@code null},
+ * streaming all events back to the executor.
+ *
+ * @since 1.4
+ */
+@API(status = INTERNAL, since = "1.4")
+public class ForkedTestWorker {
+
+	private ForkedTestWorker() {
+		/* no-op */
+	}
+
+	public static void main(String[] args) {
+		int exitCode = 0;
+		try {
+			run(Integer.parseInt(args[0]));
+		}
+		catch (Throwable t) {
+			t.printStackTrace();
+			exitCode = 1;
+		}
+		// Terminate non-daemon threads left behind by tests
+		System.exit(exitCode);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void run(int port) throws IOException, ClassNotFoundException {
+		String token = new BufferedReader(new InputStreamReader(System.in, UTF_8)).readLine();
+		if (token == null) {
+			throw new IOException("Standard input does not contain the token of the forked test executor");
+		}
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			BufferedOutputStream bufferedOut = new BufferedOutputStream(socket.getOutputStream());
+			new DataOutputStream(bufferedOut).writeUTF(token);
+			ObjectOutputStream out = new ObjectOutputStream(bufferedOut);
+			out.flush();
+			ObjectInputStream in = new ForkedObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+			Map<String, String> configurationParameters = new HashMap<>((Map<String, String>) in.readObject());
+			configurationParameters.put(FORK_COUNT_PROPERTY_NAME, "0");
+			// Work units have already been assigned to this shard
+			configurationParameters.remove(SHARD_COUNT_PROPERTY_NAME);
+
+			Launcher launcher = LauncherFactory.create(
+				LauncherConfig.builder().enableTestExecutionListenerAutoRegistration(false).build());
+			EventForwardingListener listener = new EventForwardingListener(out);
+			Object message;
+			while ((message = in.readObject()) != null) {
+				launcher.execute(toDiscoveryRequest((WorkUnit) message, configurationParameters), listener);
+				listener.send(ForkedExecutionEvent.workUnitFinished());
+				out.reset();
+			}
+		}
+	}
+
+	private static LauncherDiscoveryRequest toDiscoveryRequest(WorkUnit workUnit,
+			Map<String, String> configurationParameters) {
+		List<UniqueIdSelector> selectors = workUnit.getLeafUniqueIds().stream().map(
+			DiscoverySelectors::selectUniqueId).collect(toList());
+		// @formatter:off
+		return request()
+				.selectors(selectors)
+				.filters(includeEngines(workUnit.getEngineId()))
+				.configurationParameters(configurationParameters)
+				.build();
+		// @formatter:on
+	}
+
+	private static class EventForwardingListener implements TestExecutionListener {
+
+		private final ObjectOutputStream out;
+
+		EventForwardingListener(ObjectOutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void dynamicTestRegistered(TestIdentifier testIdentifier) {
+			send(ForkedExecutionEvent.dynamicTestRegistered(testIdentifier));
+		}
+
+		@Override
+		public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+			send(ForkedExecutionEvent.executionSkipped(testIdentifier, reason));
+		}
+
+		@Override
+		public void executionStarted(TestIdentifier testIdentifier) {
+			send(ForkedExecutionEvent.executionStarted(testIdentifier));
+		}
+
+		@Override
+		public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+			send(ForkedExecutionEvent.executionFinished(testIdentifier, testExecutionResult));
+		}
+
+		@Override
+		public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+			send(ForkedExecutionEvent.reportingEntryPublished(testIdentifier, entry));
+		}
+
+		synchronized void send(ForkedExecutionEvent event) {
+			try {
+				out.writeObject(event);
+				out.flush();
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+	}
+
+}
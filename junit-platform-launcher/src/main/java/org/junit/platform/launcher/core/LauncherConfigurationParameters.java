@@ -97,6 +97,10 @@ class LauncherConfigurationParameters implements ConfigurationParameters {
 		return this.explicitConfigParams.size();
 	}
 
+	Map<String, String> getExplicitConfigurationParameters() {
+		return Collections.unmodifiableMap(this.explicitConfigParams);
+	}
+
 	private String getProperty(String key) {
 		Preconditions.notBlank(key, "key must not be null or blank");
 
@@ -11,16 +11,26 @@
 package org.junit.platform.launcher.core;
 
 import static org.junit.platform.engine.Filter.composeFilters;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_HISTORY_FILE_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_INDEX_PROPERTY_NAME;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.Filter;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestEngine;
 import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.junit.platform.launcher.ShardingFilter;
 
 /**
  * Represents the root of all discovered {@link TestEngine TestEngines} and
@@ -61,7 +71,9 @@ class Root {
 	}
 
 	void applyPostDiscoveryFilters(LauncherDiscoveryRequest discoveryRequest) {
-		Filter<TestDescriptor> postDiscoveryFilter = composeFilters(discoveryRequest.getPostDiscoveryFilters());
+		List<PostDiscoveryFilter> postDiscoveryFilters = new ArrayList<>(discoveryRequest.getPostDiscoveryFilters());
+		createShardingFilter().ifPresent(postDiscoveryFilters::add);
+		Filter<TestDescriptor> postDiscoveryFilter = composeFilters(postDiscoveryFilters);
 		TestDescriptor.Visitor removeExcludedTestDescriptors = descriptor -> {
 			if (!descriptor.isRoot() && isExcluded(descriptor, postDiscoveryFilter)) {
 				descriptor.removeFromHierarchy();
@@ -70,6 +82,18 @@ class Root {
 		acceptInAllTestEngines(removeExcludedTestDescriptors);
 	}
 
+	private Optional<PostDiscoveryFilter> createShardingFilter() {
+		Optional<Integer> shardCount = configurationParameters.get(SHARD_COUNT_PROPERTY_NAME, Integer::valueOf);
+		Optional<Integer> shardIndex = configurationParameters.get(SHARD_INDEX_PROPERTY_NAME, Integer::valueOf);
+		if (!shardCount.isPresent() || !shardIndex.isPresent()) {
+			return Optional.empty();
+		}
+		Optional<Path> historyFile = configurationParameters.get(SHARD_HISTORY_FILE_PROPERTY_NAME, Paths::get);
+		return Optional.of(historyFile.isPresent() //
+				? ShardingFilter.includeShard(shardIndex.get(), shardCount.get(), historyFile.get())
+				: ShardingFilter.includeShard(shardIndex.get(), shardCount.get()));
+	}
+
 	/**
 	 * Prune all branches in the tree of {@link TestDescriptor TestDescriptors}
 	 * that do not have executable tests.
@@ -12,11 +12,16 @@ package org.junit.platform.launcher.core;
 
 import static org.junit.platform.launcher.LauncherConstants.CAPTURE_MAX_BUFFER_DEFAULT;
 import static org.junit.platform.launcher.LauncherConstants.CAPTURE_MAX_BUFFER_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.CAPTURE_SPILL_DIRECTORY_PROPERTY_NAME;
 import static org.junit.platform.launcher.LauncherConstants.CAPTURE_STDERR_PROPERTY_NAME;
 import static org.junit.platform.launcher.LauncherConstants.CAPTURE_STDOUT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.STDERR_FILE_REPORT_ENTRY_KEY;
 import static org.junit.platform.launcher.LauncherConstants.STDERR_REPORT_ENTRY_KEY;
+import static org.junit.platform.launcher.LauncherConstants.STDOUT_FILE_REPORT_ENTRY_KEY;
 import static org.junit.platform.launcher.LauncherConstants.STDOUT_REPORT_ENTRY_KEY;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -27,6 +32,7 @@ import org.junit.platform.engine.ConfigurationParameters;
 import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.reporting.ReportEntry;
 import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.StreamInterceptor.CapturedOutput;
 import org.junit.platform.launcher.core.TestExecutionListenerRegistry.EagerTestExecutionListener;
 
 /**
@@ -49,10 +55,14 @@ class StreamInterceptingTestExecutionListener implements EagerTestExecutionListe
 
 		int maxSize = configurationParameters.get(CAPTURE_MAX_BUFFER_PROPERTY_NAME, Integer::valueOf) //
 				.orElse(CAPTURE_MAX_BUFFER_DEFAULT);
+		Optional<Path> spillDirectory = configurationParameters.get(CAPTURE_SPILL_DIRECTORY_PROPERTY_NAME,
+			Paths::get);
 
-		Optional<StreamInterceptor> stdoutInterceptor = captureStdout ? StreamInterceptor.registerStdout(maxSize)
+		Optional<StreamInterceptor> stdoutInterceptor = captureStdout
+				? StreamInterceptor.registerStdout(maxSize, spillDirectory)
 				: Optional.empty();
-		Optional<StreamInterceptor> stderrInterceptor = captureStderr ? StreamInterceptor.registerStderr(maxSize)
+		Optional<StreamInterceptor> stderrInterceptor = captureStderr
+				? StreamInterceptor.registerStderr(maxSize, spillDirectory)
 				: Optional.empty();
 
 		if ((!stdoutInterceptor.isPresent() && captureStdout) || (!stderrInterceptor.isPresent() && captureStderr)) {
@@ -84,16 +94,20 @@ class StreamInterceptingTestExecutionListener implements EagerTestExecutionListe
 	@Override
 	public void executionJustFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
 		Map<String, String> map = new HashMap<>();
-		String out = stdoutInterceptor.map(StreamInterceptor::consume).orElse("");
-		if (StringUtils.isNotBlank(out)) {
-			map.put(STDOUT_REPORT_ENTRY_KEY, out);
-		}
-		String err = stderrInterceptor.map(StreamInterceptor::consume).orElse("");
-		if (StringUtils.isNotBlank(err)) {
-			map.put(STDERR_REPORT_ENTRY_KEY, err);
-		}
+		stdoutInterceptor.map(StreamInterceptor::consumeOutput).ifPresent(
+			output -> putCapturedOutput(map, output, STDOUT_REPORT_ENTRY_KEY, STDOUT_FILE_REPORT_ENTRY_KEY));
+		stderrInterceptor.map(StreamInterceptor::consumeOutput).ifPresent(
+			output -> putCapturedOutput(map, output, STDERR_REPORT_ENTRY_KEY, STDERR_FILE_REPORT_ENTRY_KEY));
 		if (!map.isEmpty()) {
 			reporter.accept(testIdentifier, ReportEntry.from(map));
 		}
 	}
+
+	private static void putCapturedOutput(Map<String, String> map, CapturedOutput output, String contentKey,
+			String fileKey) {
+		if (StringUtils.isNotBlank(output.getContent())) {
+			map.put(contentKey, output.getContent());
+		}
+		output.getFile().ifPresent(file -> map.put(fileKey, file.toString()));
+	}
 }
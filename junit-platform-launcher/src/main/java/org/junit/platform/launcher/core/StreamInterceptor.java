@@ -10,49 +10,77 @@
 
 package org.junit.platform.launcher.core;
 
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Consumer;
 
+import org.junit.platform.commons.logging.Logger;
+import org.junit.platform.commons.logging.LoggerFactory;
+
 /**
  * @since 1.3
  */
 class StreamInterceptor extends PrintStream {
 
+	private static final Logger logger = LoggerFactory.getLogger(StreamInterceptor.class);
+
 	private final PrintStream originalStream;
 	private final Consumer<PrintStream> unregisterAction;
 	private final int maxNumberOfBytesPerThread;
+	private final String name;
+	private final Optional<Path> spillDirectory;
+	private final Queue<FileChannel> spillChannels = new ConcurrentLinkedQueue<>();
+	private final Queue<Path> completeOutputFiles = new ConcurrentLinkedQueue<>();
 
 	private final ThreadLocal<RewindableByteArrayOutputStream> output = ThreadLocal.withInitial(
 		RewindableByteArrayOutputStream::new);
 
-	static Optional<StreamInterceptor> registerStdout(int maxNumberOfBytesPerThread) {
-		return register(System.out, System::setOut, maxNumberOfBytesPerThread);
+	static Optional<StreamInterceptor> registerStdout(int maxNumberOfBytesPerThread, Optional<Path> spillDirectory) {
+		return register(System.out, System::setOut, maxNumberOfBytesPerThread, "stdout", spillDirectory);
 	}
 
-	static Optional<StreamInterceptor> registerStderr(int maxNumberOfBytesPerThread) {
-		return register(System.err, System::setErr, maxNumberOfBytesPerThread);
+	static Optional<StreamInterceptor> registerStderr(int maxNumberOfBytesPerThread, Optional<Path> spillDirectory) {
+		return register(System.err, System::setErr, maxNumberOfBytesPerThread, "stderr", spillDirectory);
 	}
 
 	static Optional<StreamInterceptor> register(PrintStream originalStream, Consumer<PrintStream> streamSetter,
 			int maxNumberOfBytesPerThread) {
+		return register(originalStream, streamSetter, maxNumberOfBytesPerThread, "output", Optional.empty());
+	}
+
+	static Optional<StreamInterceptor> register(PrintStream originalStream, Consumer<PrintStream> streamSetter,
+			int maxNumberOfBytesPerThread, String name, Optional<Path> spillDirectory) {
 		if (originalStream instanceof StreamInterceptor) {
 			return Optional.empty();
 		}
-		StreamInterceptor interceptor = new StreamInterceptor(originalStream, streamSetter, maxNumberOfBytesPerThread);
+		StreamInterceptor interceptor = new StreamInterceptor(originalStream, streamSetter, maxNumberOfBytesPerThread,
+			name, spillDirectory);
 		streamSetter.accept(interceptor);
 		return Optional.of(interceptor);
 	}
 
 	private StreamInterceptor(PrintStream originalStream, Consumer<PrintStream> unregisterAction,
-			int maxNumberOfBytesPerThread) {
+			int maxNumberOfBytesPerThread, String name, Optional<Path> spillDirectory) {
 		super(originalStream);
 		this.originalStream = originalStream;
 		this.unregisterAction = unregisterAction;
 		this.maxNumberOfBytesPerThread = maxNumberOfBytesPerThread;
+		this.name = name;
+		this.spillDirectory = spillDirectory;
 	}
 
 	void capture() {
@@ -60,18 +88,52 @@ class StreamInterceptor extends PrintStream {
 	}
 
 	String consume() {
+		return consumeOutput().getContent();
+	}
+
+	/**
+	 * Consume the output captured since the matching call to {@link #capture()}.
+	 *
+	 * <p>If the captured output exceeded the in-memory buffer and a spill
+	 * directory is configured, the complete output is written to a new file
+	 * in that directory that is deleted by {@link #unregister()}.
+	 */
+	CapturedOutput consumeOutput() {
 		return output.get().rewind();
 	}
 
+	/**
+	 * Restore the original stream and delete all spill files as well as the
+	 * files containing the complete output of tests and containers.
+	 */
 	void unregister() {
 		unregisterAction.accept(originalStream);
+		FileChannel channel;
+		while ((channel = spillChannels.poll()) != null) {
+			try {
+				channel.close();
+			}
+			catch (IOException e) {
+				logger.warn(e, () -> "Failed to delete spilled " + name);
+			}
+		}
+		Path file;
+		while ((file = completeOutputFiles.poll()) != null) {
+			try {
+				Files.deleteIfExists(file);
+			}
+			catch (IOException e) {
+				Path failed = file;
+				logger.warn(e, () -> "Failed to delete complete captured " + name + " in " + failed);
+			}
+		}
 	}
 
 	@Override
 	public void write(int b) {
 		RewindableByteArrayOutputStream out = output.get();
-		if (out.isMarked() && out.size() < maxNumberOfBytesPerThread) {
-			out.write(b);
+		if (out.isMarked()) {
+			out.capture(b);
 		}
 		super.write(b);
 	}
@@ -85,34 +147,138 @@ class StreamInterceptor extends PrintStream {
 	public void write(byte[] buf, int off, int len) {
 		RewindableByteArrayOutputStream out = output.get();
 		if (out.isMarked()) {
-			int actualLength = Math.max(0, Math.min(len, maxNumberOfBytesPerThread - out.size()));
-			if (actualLength > 0) {
-				out.write(buf, off, actualLength);
-			}
+			out.capture(buf, off, len);
 		}
 		super.write(buf, off, len);
 	}
 
+	/**
+	 * Output captured by a {@link StreamInterceptor}.
+	 *
+	 * <p>The content is limited to the configured maximum number of bytes; if
+	 * the output was spilled to disk, the file contains the complete output.
+	 */
+	static class CapturedOutput {
+
+		private static final CapturedOutput EMPTY = new CapturedOutput("", Optional.empty());
+
+		private final String content;
+		private final Optional<Path> file;
+
+		CapturedOutput(String content, Optional<Path> file) {
+			this.content = content;
+			this.file = file;
+		}
+
+		String getContent() {
+			return content;
+		}
+
+		Optional<Path> getFile() {
+			return file;
+		}
+
+	}
+
+	/**
+	 * Buffer that keeps up to the configured maximum number of bytes in memory
+	 * and appends the overflow to a temporary spill file, if enabled.
+	 */
 	class RewindableByteArrayOutputStream extends ByteArrayOutputStream {
 
-		private final Deque<Integer> markedPositions = new ArrayDeque<>();
+		private final Deque<Long> markedPositions = new ArrayDeque<>();
+		private final byte[] singleByte = new byte[1];
+		private FileChannel spillChannel;
+		private long spilledBytes;
+		private boolean spillFailed;
 
 		boolean isMarked() {
 			return !markedPositions.isEmpty();
 		}
 
 		void mark() {
-			markedPositions.addFirst(count);
+			markedPositions.addFirst(count + spilledBytes);
 		}
 
-		String rewind() {
-			Integer position = markedPositions.pollFirst();
-			if (position == null || position == count) {
-				return "";
+		void capture(int b) {
+			singleByte[0] = (byte) b;
+			capture(singleByte, 0, 1);
+		}
+
+		void capture(byte[] buf, int off, int len) {
+			int inMemoryLength = spilledBytes > 0 ? 0
+					: Math.max(0, Math.min(len, maxNumberOfBytesPerThread - count));
+			if (inMemoryLength > 0) {
+				write(buf, off, inMemoryLength);
+			}
+			if (inMemoryLength < len && spillDirectory.isPresent() && !spillFailed) {
+				spill(buf, off + inMemoryLength, len - inMemoryLength);
+			}
+		}
+
+		private void spill(byte[] buf, int off, int len) {
+			try {
+				if (spillChannel == null) {
+					Path file = Files.createTempFile(spillDirectory.get(), "junit-" + name + "-", ".tmp");
+					spillChannel = FileChannel.open(file, READ, WRITE, DELETE_ON_CLOSE);
+					spillChannels.add(spillChannel);
+				}
+				ByteBuffer buffer = ByteBuffer.wrap(buf, off, len);
+				while (buffer.hasRemaining()) {
+					spilledBytes += spillChannel.write(buffer, spilledBytes);
+				}
+			}
+			catch (IOException e) {
+				spillFailed = true;
+				logger.warn(e, () -> "Failed to spill captured " + name + "; discarding output exceeding "
+						+ maxNumberOfBytesPerThread + " bytes");
+			}
+		}
+
+		CapturedOutput rewind() {
+			Long position = markedPositions.pollFirst();
+			if (position == null || position == count + spilledBytes) {
+				return CapturedOutput.EMPTY;
+			}
+			int inMemoryPosition = (int) Math.min(position, count);
+			String content = new String(buf, inMemoryPosition, count - inMemoryPosition);
+			Optional<Path> file = Optional.empty();
+			if (spilledBytes > 0) {
+				long spilledPosition = Math.max(0, position - count);
+				file = writeCompleteOutput(inMemoryPosition, spilledPosition);
+				spilledBytes = spilledPosition;
+				try {
+					spillChannel.truncate(spilledPosition);
+				}
+				catch (IOException e) {
+					logger.warn(e, () -> "Failed to truncate spilled " + name);
+				}
+			}
+			count = inMemoryPosition;
+			return new CapturedOutput(content, file);
+		}
+
+		private Optional<Path> writeCompleteOutput(int inMemoryPosition, long spilledPosition) {
+			try {
+				Path file = Files.createTempFile(spillDirectory.get(), name + "-", ".log");
+				completeOutputFiles.add(file);
+				try (FileChannel channel = FileChannel.open(file, WRITE)) {
+					ByteBuffer buffer = ByteBuffer.wrap(buf, inMemoryPosition, count - inMemoryPosition);
+					while (buffer.hasRemaining()) {
+						channel.write(buffer);
+					}
+					long transferred = 0;
+					while (spilledPosition + transferred < spilledBytes) {
+						transferred += spillChannel.transferTo(spilledPosition + transferred,
+							spilledBytes - spilledPosition - transferred, channel);
+					}
+				}
+				return Optional.of(file);
+			}
+			catch (IOException e) {
+				logger.warn(e, () -> "Failed to write complete captured " + name);
+				return Optional.empty();
 			}
-			int length = count - position;
-			count -= length;
-			return new String(buf, position, length);
 		}
 	}
 }
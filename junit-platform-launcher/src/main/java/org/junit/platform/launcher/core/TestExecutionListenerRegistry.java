@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import org.junit.platform.engine.TestExecutionResult;
@@ -64,11 +65,32 @@ class TestExecutionListenerRegistry {
 	}
 
 	TestExecutionListener getCompositeTestExecutionListener() {
-		return new CompositeTestExecutionListener();
+		return getCompositeTestExecutionListener(Runnable::run);
+	}
+
+	/**
+	 * Get a composite listener that notifies all registered listeners using
+	 * the supplied {@link Executor}.
+	 *
+	 * <p>Callbacks of {@link EagerTestExecutionListener EagerTestExecutionListeners}
+	 * are always invoked in the calling thread.
+	 */
+	TestExecutionListener getCompositeTestExecutionListener(Executor executor) {
+		return new CompositeTestExecutionListener(executor);
 	}
 
 	private class CompositeTestExecutionListener implements TestExecutionListener {
 
+		private final Executor executor;
+
+		CompositeTestExecutionListener(Executor executor) {
+			this.executor = executor;
+		}
+
+		private void notifyTestExecutionListeners(Consumer<TestExecutionListener> consumer) {
+			this.executor.execute(() -> TestExecutionListenerRegistry.this.notifyTestExecutionListeners(consumer));
+		}
+
 		@Override
 		public void dynamicTestRegistered(TestIdentifier testIdentifier) {
 			notifyTestExecutionListeners(listener -> listener.dynamicTestRegistered(testIdentifier));
@@ -10,6 +10,7 @@
 
 package org.junit.platform.reporting.legacy.xml;
 
+import static java.util.stream.Collectors.toList;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 import java.io.IOException;
@@ -19,6 +20,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -26,6 +31,7 @@ import org.apiguardian.api.API;
 import org.junit.platform.engine.TestExecutionResult;
 import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.support.descriptor.ClassSource;
 import org.junit.platform.launcher.TestExecutionListener;
 import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.TestPlan;
@@ -39,6 +45,14 @@ import org.junit.platform.launcher.TestPlan;
  * de facto standard for JUnit 4 based test reports that was made popular by the
  * Ant build system.
  *
+ * <p>By default, all data required to write the report for a root is kept in
+ * memory until the root has finished. Listeners created via
+ * {@link #perClass(Path, PrintWriter)} instead write a separate report for
+ * each class-level container as soon as it has finished and release its
+ * data, which keeps the memory footprint proportional to the number of test
+ * classes being executed concurrently. Tests that do not belong to a
+ * class-level container are written to the report of their root.
+ *
  * @since 1.4
  * @see org.junit.platform.launcher.listeners.LoggingListener
  * @see org.junit.platform.launcher.listeners.SummaryGeneratingListener
@@ -49,27 +63,55 @@ public class LegacyXmlReportGeneratingListener implements TestExecutionListener
 	private final Path reportsDir;
 	private final PrintWriter out;
 	private final Clock clock;
+	private final boolean reportPerClass;
 
 	private XmlReportData reportData;
+	private Set<TestIdentifier> reportedContainers;
 
 	public LegacyXmlReportGeneratingListener(Path reportsDir, PrintWriter out) {
-		this(reportsDir, out, Clock.systemDefaultZone());
+		this(reportsDir, out, Clock.systemDefaultZone(), false);
+	}
+
+	/**
+	 * Create a {@code LegacyXmlReportGeneratingListener} that writes a
+	 * separate XML report for each class-level container as soon as it has
+	 * finished.
+	 *
+	 * <p>A class-level container is a container with a {@link ClassSource}
+	 * that does not have an ancestor with a {@code ClassSource}, i.e. the
+	 * reports of nested classes are part of the report of their enclosing
+	 * class. Reports are named after the root and the class, e.g.
+	 * {@code TEST-junit-jupiter-com.example.CalculatorTests.xml}.
+	 *
+	 * @param reportsDir the directory to write the reports to
+	 * @param out the writer to print errors to
+	 * @return a new listener; never {@code null}
+	 */
+	public static LegacyXmlReportGeneratingListener perClass(Path reportsDir, PrintWriter out) {
+		return new LegacyXmlReportGeneratingListener(reportsDir, out, Clock.systemDefaultZone(), true);
 	}
 
 	// For tests only
 	LegacyXmlReportGeneratingListener(String reportsDir, PrintWriter out, Clock clock) {
-		this(Paths.get(reportsDir), out, clock);
+		this(reportsDir, out, clock, false);
+	}
+
+	// For tests only
+	LegacyXmlReportGeneratingListener(String reportsDir, PrintWriter out, Clock clock, boolean reportPerClass) {
+		this(Paths.get(reportsDir), out, clock, reportPerClass);
 	}
 
-	private LegacyXmlReportGeneratingListener(Path reportsDir, PrintWriter out, Clock clock) {
+	private LegacyXmlReportGeneratingListener(Path reportsDir, PrintWriter out, Clock clock, boolean reportPerClass) {
 		this.reportsDir = reportsDir;
 		this.out = out;
 		this.clock = clock;
+		this.reportPerClass = reportPerClass;
 	}
 
 	@Override
 	public void testPlanExecutionStarted(TestPlan testPlan) {
 		this.reportData = new XmlReportData(testPlan, clock);
+		this.reportedContainers = ConcurrentHashMap.newKeySet();
 		try {
 			Files.createDirectories(this.reportsDir);
 		}
@@ -81,12 +123,13 @@ public class LegacyXmlReportGeneratingListener implements TestExecutionListener
 	@Override
 	public void testPlanExecutionFinished(TestPlan testPlan) {
 		this.reportData = null;
+		this.reportedContainers = null;
 	}
 
 	@Override
 	public void executionSkipped(TestIdentifier testIdentifier, String reason) {
 		this.reportData.markSkipped(testIdentifier, reason);
-		writeXmlReportInCaseOfRoot(testIdentifier);
+		writeXmlReportInCaseOfClassOrRoot(testIdentifier);
 	}
 
 	@Override
@@ -102,26 +145,88 @@ public class LegacyXmlReportGeneratingListener implements TestExecutionListener
 	@Override
 	public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult result) {
 		this.reportData.markFinished(testIdentifier, result);
-		writeXmlReportInCaseOfRoot(testIdentifier);
+		writeXmlReportInCaseOfClassOrRoot(testIdentifier);
 	}
 
-	private void writeXmlReportInCaseOfRoot(TestIdentifier testIdentifier) {
+	private void writeXmlReportInCaseOfClassOrRoot(TestIdentifier testIdentifier) {
 		if (isRoot(testIdentifier)) {
-			String rootName = UniqueId.parse(testIdentifier.getUniqueId()).getSegments().get(0).getValue();
-			writeXmlReportSafely(testIdentifier, rootName);
+			String rootName = getRootName(testIdentifier);
+			List<TestIdentifier> tests = getTestsNotYetReported(testIdentifier);
+			if (!this.reportPerClass || !tests.isEmpty()) {
+				writeXmlReportSafely(testIdentifier, tests, rootName);
+			}
+		}
+		else if (this.reportPerClass && isClassLevelContainer(testIdentifier)) {
+			String rootName = getRootName(testIdentifier);
+			String className = ((ClassSource) testIdentifier.getSource().get()).getClassName();
+			writeXmlReportSafely(testIdentifier, getTests(testIdentifier), rootName + "-" + className);
+			this.reportedContainers.add(testIdentifier);
+			this.reportData.release(testIdentifier);
 		}
 	}
 
-	private void writeXmlReportSafely(TestIdentifier testIdentifier, String rootName) {
-		Path xmlFile = this.reportsDir.resolve("TEST-" + rootName + ".xml");
+	private void writeXmlReportSafely(TestIdentifier testIdentifier, List<TestIdentifier> tests, String name) {
+		Path xmlFile = this.reportsDir.resolve("TEST-" + name + ".xml");
 		try (Writer fileWriter = Files.newBufferedWriter(xmlFile)) {
-			new XmlReportWriter(this.reportData).writeXmlReport(testIdentifier, fileWriter);
+			new XmlReportWriter(this.reportData).writeXmlReport(testIdentifier, tests, fileWriter);
 		}
 		catch (XMLStreamException | IOException e) {
 			printException("Could not write XML report: " + xmlFile, e);
 		}
 	}
 
+	private List<TestIdentifier> getTests(TestIdentifier testIdentifier) {
+		// @formatter:off
+		return this.reportData.getTestPlan().getDescendants(testIdentifier)
+				.stream()
+				.filter(TestIdentifier::isTest)
+				.collect(toList());
+		// @formatter:on
+	}
+
+	private List<TestIdentifier> getTestsNotYetReported(TestIdentifier root) {
+		List<TestIdentifier> tests = getTests(root);
+		if (!this.reportedContainers.isEmpty()) {
+			tests.removeIf(this::hasReportedAncestor);
+		}
+		return tests;
+	}
+
+	private boolean hasReportedAncestor(TestIdentifier testIdentifier) {
+		TestPlan testPlan = this.reportData.getTestPlan();
+		Optional<TestIdentifier> current = testPlan.getParent(testIdentifier);
+		while (current.isPresent()) {
+			if (this.reportedContainers.contains(current.get())) {
+				return true;
+			}
+			current = testPlan.getParent(current.get());
+		}
+		return false;
+	}
+
+	private boolean isClassLevelContainer(TestIdentifier testIdentifier) {
+		if (!testIdentifier.isContainer() || !hasClassSource(testIdentifier)) {
+			return false;
+		}
+		TestPlan testPlan = this.reportData.getTestPlan();
+		Optional<TestIdentifier> current = testPlan.getParent(testIdentifier);
+		while (current.isPresent()) {
+			if (hasClassSource(current.get())) {
+				return false;
+			}
+			current = testPlan.getParent(current.get());
+		}
+		return true;
+	}
+
+	private static boolean hasClassSource(TestIdentifier testIdentifier) {
+		return testIdentifier.getSource().filter(ClassSource.class::isInstance).isPresent();
+	}
+
+	private static String getRootName(TestIdentifier testIdentifier) {
+		return UniqueId.parse(testIdentifier.getUniqueId()).getSegments().get(0).getValue();
+	}
+
 	private boolean isRoot(TestIdentifier testIdentifier) {
 		return !testIdentifier.getParentId().isPresent();
 	}
@@ -18,9 +18,11 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
@@ -122,6 +124,20 @@ class XmlReportData {
 		return this.reportEntries.getOrDefault(testIdentifier, emptyList());
 	}
 
+	/**
+	 * Release all data recorded for the supplied container and its
+	 * descendants once they have been written.
+	 */
+	void release(TestIdentifier container) {
+		Set<TestIdentifier> testIdentifiers = new HashSet<>(this.testPlan.getDescendants(container));
+		testIdentifiers.add(container);
+		this.finishedTests.keySet().removeAll(testIdentifiers);
+		this.skippedTests.keySet().removeAll(testIdentifiers);
+		this.startInstants.keySet().removeAll(testIdentifiers);
+		this.endInstants.keySet().removeAll(testIdentifiers);
+		this.reportEntries.keySet().removeAll(testIdentifiers);
+	}
+
 	private Optional<TestIdentifier> findSkippedAncestor(TestIdentifier testIdentifier) {
 		return findAncestor(Optional.of(testIdentifier), this.skippedTests::containsKey);
 	}
@@ -70,7 +70,7 @@ class XmlReportWriter {
 		writeXmlReport(testIdentifier, tests, out);
 	}
 
-	private void writeXmlReport(TestIdentifier testIdentifier, List<TestIdentifier> tests, Writer out)
+	void writeXmlReport(TestIdentifier testIdentifier, List<TestIdentifier> tests, Writer out)
 			throws XMLStreamException {
 
 		XMLOutputFactory factory = XMLOutputFactory.newInstance();
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.reporting.trace;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.junit.platform.engine.support.hierarchical.ResourceLockReporting.RESOURCES_REPORT_ENTRY_KEY;
+import static org.junit.platform.engine.support.hierarchical.ResourceLockReporting.WAIT_TIME_REPORT_ENTRY_KEY;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apiguardian.api.API;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.support.hierarchical.ResourceLockReporting;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * {@code TraceEventReportGeneratingListener} is a {@link TestExecutionListener}
+ * that generates a timeline of the execution of the entire {@link TestPlan}
+ * in the JSON-based <em>Trace Event Format</em> which can be opened in
+ * {@code chrome://tracing} or <a href="https://ui.perfetto.dev">Perfetto</a>.
+ *
+ * <p>Each test and container is rendered as a slice on the track of the
+ * thread in which it was reported as started. Tests and containers that
+ * were skipped are rendered as instant events. If reporting of resource
+ * locks is {@linkplain ResourceLockReporting#ENABLED_PROPERTY_NAME enabled},
+ * the locked resources are attached to each slice and the time spent waiting
+ * for them is rendered as a separate slice immediately preceding it.
+ *
+ * <p>Since threads are determined when this listener is notified, the
+ * timeline is only meaningful if listeners are notified synchronously in
+ * the threads executing the tests, which is the default.
+ *
+ * @since 1.4
+ * @see ResourceLockReporting
+ * @see org.junit.platform.reporting.legacy.xml.LegacyXmlReportGeneratingListener
+ */
+@API(status = EXPERIMENTAL, since = "1.4")
+public class TraceEventReportGeneratingListener implements TestExecutionListener {
+
+	/**
+	 * Name of the file written to the reports directory: {@value}
+	 */
+	public static final String TRACE_FILE_NAME = "junit-platform-trace.json";
+
+	private static final int PROCESS_ID = 1;
+
+	private final Path reportsDir;
+	private final PrintWriter out;
+
+	private final Map<String, StartedExecution> startedExecutions = new ConcurrentHashMap<>();
+	private final Set<Long> namedThreadIds = ConcurrentHashMap.newKeySet();
+
+	private long originNanoTime;
+	private Writer writer;
+	private boolean firstEvent;
+
+	public TraceEventReportGeneratingListener(Path reportsDir, PrintWriter out) {
+		this.reportsDir = reportsDir;
+		this.out = out;
+	}
+
+	@Override
+	public synchronized void testPlanExecutionStarted(TestPlan testPlan) {
+		this.originNanoTime = System.nanoTime();
+		this.startedExecutions.clear();
+		this.namedThreadIds.clear();
+		this.firstEvent = true;
+		Path traceFile = this.reportsDir.resolve(TRACE_FILE_NAME);
+		try {
+			Files.createDirectories(this.reportsDir);
+			this.writer = Files.newBufferedWriter(traceFile, UTF_8);
+			this.writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+		}
+		catch (IOException e) {
+			printException("Could not create trace file: " + traceFile, e);
+			this.writer = null;
+			return;
+		}
+		Map<String, String> args = new LinkedHashMap<>();
+		args.put("name", "JUnit Platform");
+		writeEvent(new TraceEvent("process_name", "M", 0).withArgs(args));
+	}
+
+	@Override
+	public synchronized void testPlanExecutionFinished(TestPlan testPlan) {
+		if (this.writer == null) {
+			return;
+		}
+		try {
+			this.writer.write("\n]}\n");
+			this.writer.close();
+		}
+		catch (IOException e) {
+			printException("Could not write trace file: " + this.reportsDir.resolve(TRACE_FILE_NAME), e);
+		}
+		finally {
+			this.writer = null;
+		}
+	}
+
+	@Override
+	public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+		long threadId = currentThreadId();
+		Map<String, String> args = new LinkedHashMap<>();
+		args.put("uniqueId", testIdentifier.getUniqueId());
+		args.put("reason", reason);
+		// @formatter:off
+		writeEvent(new TraceEvent(testIdentifier.getDisplayName(), "i", currentMicros())
+				.withCategory(category(testIdentifier))
+				.withThreadId(threadId)
+				.withArgs(args));
+		// @formatter:on
+	}
+
+	@Override
+	public void executionStarted(TestIdentifier testIdentifier) {
+		this.startedExecutions.put(testIdentifier.getUniqueId(),
+			new StartedExecution(currentThreadId(), currentMicros()));
+	}
+
+	@Override
+	public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+		StartedExecution startedExecution = this.startedExecutions.get(testIdentifier.getUniqueId());
+		Map<String, String> values = entry.getKeyValuePairs();
+		if (startedExecution != null && values.containsKey(RESOURCES_REPORT_ENTRY_KEY)) {
+			startedExecution.lockedResources = values.get(RESOURCES_REPORT_ENTRY_KEY);
+			startedExecution.lockWaitMicros = parseMicros(values.get(WAIT_TIME_REPORT_ENTRY_KEY));
+		}
+	}
+
+	@Override
+	public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+		long finishMicros = currentMicros();
+		StartedExecution startedExecution = this.startedExecutions.remove(testIdentifier.getUniqueId());
+		if (startedExecution == null) {
+			return;
+		}
+		Map<String, String> args = new LinkedHashMap<>();
+		args.put("uniqueId", testIdentifier.getUniqueId());
+		args.put("status", testExecutionResult.getStatus().name());
+		if (startedExecution.lockedResources != null) {
+			args.put("resourceLocks", startedExecution.lockedResources);
+			args.put("resourceLockWaitMicros", String.valueOf(startedExecution.lockWaitMicros));
+		}
+		if (startedExecution.lockWaitMicros > 0) {
+			Map<String, String> lockArgs = new LinkedHashMap<>();
+			lockArgs.put("resourceLocks", startedExecution.lockedResources);
+			// @formatter:off
+			writeEvent(new TraceEvent("Waiting for resource locks", "X",
+						startedExecution.startMicros - startedExecution.lockWaitMicros)
+					.withCategory("lock")
+					.withThreadId(startedExecution.threadId)
+					.withDuration(startedExecution.lockWaitMicros)
+					.withArgs(lockArgs));
+			// @formatter:on
+		}
+		// @formatter:off
+		writeEvent(new TraceEvent(testIdentifier.getDisplayName(), "X", startedExecution.startMicros)
+				.withCategory(category(testIdentifier))
+				.withThreadId(startedExecution.threadId)
+				.withDuration(finishMicros - startedExecution.startMicros)
+				.withArgs(args));
+		// @formatter:on
+	}
+
+	private long currentThreadId() {
+		Thread thread = Thread.currentThread();
+		long threadId = thread.getId();
+		if (this.namedThreadIds.add(threadId)) {
+			Map<String, String> args = new LinkedHashMap<>();
+			args.put("name", thread.getName());
+			writeEvent(new TraceEvent("thread_name", "M", 0).withThreadId(threadId).withArgs(args));
+		}
+		return threadId;
+	}
+
+	private long currentMicros() {
+		return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - this.originNanoTime);
+	}
+
+	private static long parseMicros(String value) {
+		try {
+			return value == null ? 0 : Long.parseLong(value);
+		}
+		catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	private static String category(TestIdentifier testIdentifier) {
+		return testIdentifier.isTest() ? "test" : "container";
+	}
+
+	private synchronized void writeEvent(TraceEvent event) {
+		if (this.writer == null) {
+			return;
+		}
+		try {
+			if (!this.firstEvent) {
+				this.writer.write(",\n");
+			}
+			this.firstEvent = false;
+			event.writeTo(this.writer);
+		}
+		catch (IOException e) {
+			printException("Could not write trace file: " + this.reportsDir.resolve(TRACE_FILE_NAME), e);
+			closeQuietly();
+		}
+	}
+
+	private void closeQuietly() {
+		try {
+			this.writer.close();
+		}
+		catch (IOException ignore) {
+			/* ignore */
+		}
+		this.writer = null;
+	}
+
+	private void printException(String message, Exception exception) {
+		out.println(message);
+		exception.printStackTrace(out);
+	}
+
+	private static class StartedExecution {
+
+		private final long threadId;
+		private final long startMicros;
+
+		// Only set by the thread that started the execution
+		private volatile String lockedResources;
+		private volatile long lockWaitMicros;
+
+		StartedExecution(long threadId, long startMicros) {
+			this.threadId = threadId;
+			this.startMicros = startMicros;
+		}
+	}
+
+	private static class TraceEvent {
+
+		private final String name;
+		private final String phase;
+		private final long timestampMicros;
+		private String category;
+		private long threadId;
+		private long durationMicros = -1;
+		private Map<String, String> args;
+
+		TraceEvent(String name, String phase, long timestampMicros) {
+			this.name = name;
+			this.phase = phase;
+			this.timestampMicros = timestampMicros;
+		}
+
+		TraceEvent withCategory(String category) {
+			this.category = category;
+			return this;
+		}
+
+		TraceEvent withThreadId(long threadId) {
+			this.threadId = threadId;
+			return this;
+		}
+
+		TraceEvent withDuration(long durationMicros) {
+			this.durationMicros = durationMicros;
+			return this;
+		}
+
+		TraceEvent withArgs(Map<String, String> args) {
+			this.args = args;
+			return this;
+		}
+
+		void writeTo(Writer writer) throws IOException {
+			writer.write("{\"name\":");
+			writeString(writer, this.name);
+			if (this.category != null) {
+				writer.write(",\"cat\":");
+				writeString(writer, this.category);
+			}
+			writer.write(",\"ph\":\"" + this.phase + "\"");
+			writer.write(",\"ts\":" + this.timestampMicros);
+			if (this.durationMicros >= 0) {
+				writer.write(",\"dur\":" + this.durationMicros);
+			}
+			if ("i".equals(this.phase)) {
+				writer.write(",\"s\":\"t\"");
+			}
+			writer.write(",\"pid\":" + PROCESS_ID + ",\"tid\":" + this.threadId);
+			if (this.args != null) {
+				writer.write(",\"args\":{");
+				boolean first = true;
+				for (Map.Entry<String, String> arg : this.args.entrySet()) {
+					if (!first) {
+						writer.write(',');
+					}
+					first = false;
+					writeString(writer, arg.getKey());
+					writer.write(':');
+					writeString(writer, arg.getValue());
+				}
+				writer.write('}');
+			}
+			writer.write('}');
+		}
+
+		private static void writeString(Writer writer, String value) throws IOException {
+			writer.write('"');
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				switch (c) {
+					case '"':
+						writer.write("\\\"");
+						break;
+					case '\\':
+						writer.write("\\\\");
+						break;
+					case '\n':
+						writer.write("\\n");
+						break;
+					case '\r':
+						writer.write("\\r");
+						break;
+					case '\t':
+						writer.write("\\t");
+						break;
+					default:
+						if (c < 0x20) {
+							writer.write(String.format("\\u%04x", (int) c));
+						}
+						else {
+							writer.write(c);
+						}
+				}
+			}
+			writer.write('"');
+		}
+	}
+
+}
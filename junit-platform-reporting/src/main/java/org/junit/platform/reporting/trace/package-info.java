@@ -0,0 +1,7 @@
+/**
+ * Support for generating timelines of the execution of a test plan in the
+ * Trace Event Format that is understood by {@code chrome://tracing} and
+ * Perfetto.
+ */
+
+package org.junit.platform.reporting.trace;
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.support;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.support.io.TempDirectory;
+import org.junit.jupiter.api.support.io.TempDirectory.TempDir;
+
+/**
+ * Unit tests for {@link TestIndexGenerator}.
+ *
+ * @since 1.4
+ */
+@ExtendWith(TempDirectory.class)
+class TestIndexGeneratorTests {
+
+	@Test
+	void writesIndexIntoClasspathRoot(@TempDir Path tempDir) throws Exception {
+		Path indexFile = new TestIndexGenerator() //
+				.addTestClass("com.example.FirstTests", singletonList("org.junit.jupiter.api.Test"),
+					singletonList("fast")) //
+				.addTestClass("com.example.SecondTests", emptyList(), emptyList()) //
+				.writeTo(tempDir);
+
+		assertThat(indexFile).isEqualTo(tempDir.resolve("META-INF/junit-platform/test-index"));
+		assertThat(new String(Files.readAllBytes(indexFile), UTF_8)).isEqualTo("# JUnit Platform test index\n"
+				+ "com.example.FirstTests\torg.junit.jupiter.api.Test\tfast\n" + "com.example.SecondTests\n");
+	}
+
+	@Test
+	void replacesExistingIndex(@TempDir Path tempDir) throws Exception {
+		new TestIndexGenerator().addTestClass("com.example.FirstTests", emptyList(), emptyList()).writeTo(tempDir);
+
+		Path indexFile = new TestIndexGenerator().writeTo(tempDir);
+
+		assertThat(Files.readAllLines(indexFile, UTF_8)).containsExactly("# JUnit Platform test index");
+	}
+
+}
@@ -144,6 +144,34 @@ class AnnotationUtilsTests {
 		assertThat(findAnnotation(Optional.of(method), Annotation1.class)).isPresent();
 	}
 
+	@Test
+	void findAnnotationFromJavaLangAnnotationPackageMetaPresentOnMethod() throws Exception {
+		Method method = ComposedAnnotationClass.class.getDeclaredMethod("method");
+
+		assertThat(findAnnotation(method, Retention.class)).isPresent();
+		assertThat(findAnnotation(method, Target.class)).isPresent();
+		assertThat(findAnnotation(method, Inherited.class)).isNotPresent();
+	}
+
+	@Test
+	void findAnnotationMetaPresentViaCyclicMetaAnnotations() {
+		assertThat(findAnnotation(CyclicComposedAnnotationClass.class, Annotation1.class)).isPresent();
+		assertThat(findAnnotation(CyclicComposedAnnotationClass.class, Annotation2.class)).isNotPresent();
+	}
+
+	/**
+	 * @since 1.4
+	 */
+	@Test
+	void findAnnotationReturnsCachedResultForEqualMethods() throws Exception {
+		Optional<Annotation1> annotation = findAnnotation(ComposedAnnotationClass.class.getDeclaredMethod("method"),
+			Annotation1.class);
+		Optional<Annotation1> cachedAnnotation = findAnnotation(
+			ComposedAnnotationClass.class.getDeclaredMethod("method"), Annotation1.class);
+
+		assertThat(cachedAnnotation).isPresent().isSameAs(annotation);
+	}
+
 	@Test
 	void isAnnotatedForClassWithoutAnnotation() {
 		assertFalse(isAnnotated(Annotation1Class.class, Annotation2.class));
@@ -228,6 +256,17 @@ class AnnotationUtilsTests {
 		assertTagsFound(ContainerAfterComposedTaggedClass.class, "fast", "a", "b", "c");
 	}
 
+	/**
+	 * @since 1.4
+	 */
+	@Test
+	void findRepeatableAnnotationsReturnsCachedResult() {
+		List<Tag> tags = findRepeatableAnnotations(ContainerAfterComposedTaggedClass.class, Tag.class);
+
+		assertThat(findRepeatableAnnotations(ContainerAfterComposedTaggedClass.class, Tag.class)).isSameAs(tags);
+		assertThat(findRepeatableAnnotations(ContainerAfterComposedTaggedClass.class, Tag.class)).hasSize(4);
+	}
+
 	private void assertTagsFound(Class<?> clazz, String... tags) {
 		assertEquals(asList(tags),
 			findRepeatableAnnotations(clazz, Tag.class).stream().map(Tag::value).collect(toList()),
@@ -556,6 +595,19 @@ class AnnotationUtilsTests {
 	@interface NonInheritedCompositionOfInheritedAnnotation {
 	}
 
+	@Target({ ElementType.TYPE, ElementType.ANNOTATION_TYPE })
+	@Retention(RetentionPolicy.RUNTIME)
+	@CyclicComposedAnnotation2
+	@interface CyclicComposedAnnotation1 {
+	}
+
+	@Target({ ElementType.TYPE, ElementType.ANNOTATION_TYPE })
+	@Retention(RetentionPolicy.RUNTIME)
+	@CyclicComposedAnnotation1
+	@Annotation1
+	@interface CyclicComposedAnnotation2 {
+	}
+
 	@Target({ ElementType.TYPE, ElementType.METHOD })
 	@Retention(RetentionPolicy.RUNTIME)
 	// DO NOT make this @Inherited.
@@ -675,6 +727,10 @@ class AnnotationUtilsTests {
 			extends NonInheritedCompositionOfInheritedAnnotationClass {
 	}
 
+	@CyclicComposedAnnotation1
+	static class CyclicComposedAnnotationClass {
+	}
+
 	@Annotation1
 	interface TestingTrait {
 	}
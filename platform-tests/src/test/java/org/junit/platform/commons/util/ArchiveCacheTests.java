@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ArchiveCache}.
+ *
+ * @since 1.4
+ */
+class ArchiveCacheTests {
+
+	private final ArchiveCache archiveCache = new ArchiveCache();
+
+	@Test
+	void closesArchiveAfterEachUseWithoutOpenScope() throws Exception {
+		ZipFile first = archiveCache.withArchive(jarFile(), archive -> archive);
+		ZipFile second = archiveCache.withArchive(jarFile(), archive -> archive);
+
+		assertThat(second).isNotSameAs(first);
+		assertClosed(first);
+		assertClosed(second);
+	}
+
+	@Test
+	void reusesArchiveWhileScopeIsOpen() throws Exception {
+		ClasspathScanningScope scope = archiveCache.openScope();
+		ZipFile first = archiveCache.withArchive(jarFile(), archive -> archive);
+		ZipFile second = archiveCache.withArchive(jarFile(), archive -> archive);
+
+		assertThat(second).isSameAs(first);
+		assertThat(first.size()).isGreaterThan(0);
+
+		scope.close();
+		assertClosed(first);
+	}
+
+	@Test
+	void closesArchivesWhenLastOfNestedScopesIsClosed() throws Exception {
+		ClasspathScanningScope outer = archiveCache.openScope();
+		ClasspathScanningScope inner = archiveCache.openScope();
+		ZipFile archive = archiveCache.withArchive(jarFile(), zipFile -> zipFile);
+
+		inner.close();
+		inner.close(); // closing a scope twice has no effect
+		assertThat(archive.size()).isGreaterThan(0);
+
+		outer.close();
+		assertClosed(archive);
+	}
+
+	@Test
+	void keepsArchiveOpenWhileInUseWhenLastScopeIsClosed() throws Exception {
+		ClasspathScanningScope scope = archiveCache.openScope();
+
+		ZipFile archive = archiveCache.withArchive(jarFile(), zipFile -> {
+			// e.g. another thread closes its scope while this call is scanning the archive
+			scope.close();
+			assertThat(zipFile.size()).isGreaterThan(0);
+			return zipFile;
+		});
+
+		assertClosed(archive);
+	}
+
+	@Test
+	void sharesArchiveOfOpenScopeWithNestedCalls() throws Exception {
+		Path jarFile = jarFile();
+		ClasspathScanningScope scope = archiveCache.openScope();
+
+		ZipFile archive = archiveCache.withArchive(jarFile, outer -> {
+			ZipFile inner = archiveCache.withArchive(jarFile, zipFile -> zipFile);
+			assertThat(inner).isSameAs(outer);
+			scope.close();
+			return archiveCache.withArchive(jarFile, zipFile -> {
+				assertThat(zipFile).isNotSameAs(outer);
+				assertThat(outer.size()).isGreaterThan(0);
+				return outer;
+			});
+		});
+
+		assertClosed(archive);
+	}
+
+	private static void assertClosed(ZipFile archive) {
+		assertThrows(IllegalStateException.class, archive::size);
+	}
+
+	private Path jarFile() throws Exception {
+		return Paths.get(getClass().getResource("/jartest.jar").toURI());
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BoundedClassCache}.
+ *
+ * @since 1.4
+ */
+class BoundedClassCacheTests {
+
+	private final List<Class<?>> computedClasses = new ArrayList<>();
+
+	@Test
+	void computesValueOncePerClass() {
+		BoundedClassCache<String> cache = new BoundedClassCache<>(10, this::compute);
+
+		assertThat(cache.get(First.class)).isEqualTo("First");
+		assertThat(cache.get(First.class)).isEqualTo("First");
+		assertThat(cache.get(Second.class)).isEqualTo("Second");
+
+		assertThat(computedClasses).containsExactly(First.class, Second.class);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void evictsClassesCachedFirstOnceMaxSizeIsExceeded() {
+		BoundedClassCache<String> cache = new BoundedClassCache<>(2, this::compute);
+
+		cache.get(First.class);
+		cache.get(Second.class);
+		cache.get(Third.class);
+		assertThat(cache.size()).isEqualTo(2);
+
+		cache.get(Third.class);
+		cache.get(Second.class);
+		cache.get(First.class);
+
+		assertThat(computedClasses).containsExactly(First.class, Second.class, Third.class, First.class);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void doesNotCacheValuesForJdkClasses() {
+		BoundedClassCache<String> cache = new BoundedClassCache<>(10, this::compute);
+
+		assertThat(cache.get(String.class)).isEqualTo("String");
+		assertThat(cache.get(String.class)).isEqualTo("String");
+
+		assertThat(computedClasses).containsExactly(String.class, String.class);
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(BoundedClassCache.isCacheable(String.class)).isFalse();
+		assertThat(BoundedClassCache.isCacheable(First.class)).isTrue();
+	}
+
+	@Test
+	void rejectsNonPositiveMaxSize() {
+		assertThrows(PreconditionViolationException.class, () -> new BoundedClassCache<>(0, this::compute));
+	}
+
+	private String compute(Class<?> type) {
+		computedClasses.add(type);
+		return type.getSimpleName();
+	}
+
+	private static class First {
+	}
+
+	private static class Second {
+	}
+
+	private static class Third {
+	}
+
+}
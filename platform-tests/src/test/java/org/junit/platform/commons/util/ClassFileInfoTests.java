@@ -0,0 +1,151 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ClassFileInfo}.
+ *
+ * @since 1.4
+ */
+class ClassFileInfoTests {
+
+	@Test
+	void readsNamesOfClassSuperclassAndInterfaces() throws Exception {
+		ClassFileInfo info = read(AbstractSubclass.class);
+
+		assertThat(info.getClassName()).isEqualTo(AbstractSubclass.class.getName());
+		assertThat(info.getSuperclassName()).contains(Base.class.getName());
+		assertThat(info.getInterfaceNames()).containsExactly(Serializable.class.getName(),
+			Comparable.class.getName());
+		assertThat(info.isAbstract()).isTrue();
+		assertThat(info.isInterface()).isFalse();
+	}
+
+	@Test
+	void readsAnnotationDescriptorsOfClassAndMethods() throws Exception {
+		ClassFileInfo info = read(Base.class);
+
+		assertThat(info.getSuperclassName()).contains(Object.class.getName());
+		assertThat(info.getClassAnnotationDescriptors()).containsExactly(descriptor(Marker.class));
+		assertThat(info.getMethodAnnotationDescriptors()).containsExactly(descriptor(Marker.class),
+			descriptor(Deprecated.class));
+	}
+
+	@Test
+	void readsNestingOfMemberClasses() throws Exception {
+		assertThat(read(ClassFileInfoTests.class).hasMemberClasses()).isTrue();
+		assertThat(read(ClassFileInfoTests.class).isMemberClass()).isFalse();
+
+		ClassFileInfo privateStaticClass = read(PrivateStaticClass.class);
+		assertThat(privateStaticClass.isMemberClass()).isTrue();
+		assertThat(privateStaticClass.isPrivate()).isTrue();
+		assertThat(privateStaticClass.isInnerClass()).isFalse();
+		assertThat(privateStaticClass.hasMemberClasses()).isFalse();
+
+		ClassFileInfo innerClass = read(InnerClass.class);
+		assertThat(innerClass.isMemberClass()).isTrue();
+		assertThat(innerClass.isPrivate()).isFalse();
+		assertThat(innerClass.isInnerClass()).isTrue();
+	}
+
+	@Test
+	void readsNestingOfLocalAndAnonymousClasses() throws Exception {
+		class LocalClass {
+		}
+		Object anonymous = new Object() {
+		};
+
+		assertThat(read(LocalClass.class).isLocalOrAnonymousClass()).isTrue();
+		assertThat(read(LocalClass.class).isMemberClass()).isFalse();
+		assertThat(read(anonymous.getClass()).isLocalOrAnonymousClass()).isTrue();
+	}
+
+	@Test
+	void readsKindOfType() throws Exception {
+		assertThat(read(Marker.class).isAnnotation()).isTrue();
+		assertThat(read(Marker.class).isInterface()).isTrue();
+		assertThat(read(TimeUnit.class).isEnum()).isTrue();
+		assertThat(read(Object.class).getSuperclassName()).isEmpty();
+	}
+
+	@Test
+	void rejectsMalformedClassFiles() throws Exception {
+		byte[] bytes = readBytes(Base.class);
+
+		assertThrows(IOException.class, () -> ClassFileInfo.read(new byte[] { 1, 2, 3, 4 }));
+		assertThrows(IOException.class, () -> ClassFileInfo.read(Arrays.copyOf(bytes, bytes.length / 2)));
+	}
+
+	private static ClassFileInfo read(Class<?> type) throws Exception {
+		return ClassFileInfo.read(readBytes(type));
+	}
+
+	private static byte[] readBytes(Class<?> type) throws IOException {
+		String resourceName = "/" + type.getName().replace('.', '/') + ".class";
+		try (InputStream in = type.getResourceAsStream(resourceName);
+				ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	private static String descriptor(Class<?> annotationType) {
+		return "L" + annotationType.getName().replace('.', '/') + ";";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Marker {
+	}
+
+	@Marker
+	static class Base {
+
+		@Marker
+		void annotated() {
+		}
+
+		@Deprecated
+		void deprecated() {
+		}
+
+		void notAnnotated() {
+		}
+	}
+
+	@SuppressWarnings("serial")
+	static abstract class AbstractSubclass extends Base implements Serializable, Comparable<Object> {
+	}
+
+	private static class PrivateStaticClass {
+	}
+
+	class InnerClass {
+	}
+
+}
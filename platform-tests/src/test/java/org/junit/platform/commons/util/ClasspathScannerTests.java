@@ -10,6 +10,10 @@
 
 package org.junit.platform.commons.util;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -18,20 +22,26 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,6 +50,7 @@ import org.junit.jupiter.api.support.io.TempDirectory.TempDir;
 import org.junit.jupiter.engine.TrackLogRecords;
 import org.junit.platform.commons.function.Try;
 import org.junit.platform.commons.logging.LogRecordListener;
+import org.junit.platform.commons.support.TestIndexGenerator;
 
 /**
  * Unit tests for {@link ClasspathScanner}.
@@ -196,6 +207,84 @@ class ClasspathScannerTests {
 		}
 	}
 
+	@Test
+	void findAllClassesInPackageWithinJarFileAppliesClassFileFilterWithinScope() throws Exception {
+		URL jarfile = getClass().getResource("/jartest.jar");
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jarfile })) {
+			List<String> loadedClassNames = new ArrayList<>();
+			ClasspathScanner classpathScanner = new ClasspathScanner(() -> classLoader, (name, loader) -> {
+				loadedClassNames.add(name);
+				return ReflectionUtils.tryToLoadClass(name, loader);
+			});
+			ClassFilter classFilter = ClassFilter.of(name -> true,
+				classFile -> classFile.getClassName().endsWith(".Included"), type -> true);
+
+			ClasspathScanningScope scope = classpathScanner.openScope();
+			List<Class<?>> classes = classpathScanner.scanForClassesInPackage("org.junit.platform.jartest.included",
+				classFilter);
+			List<Class<?>> classesInRoot = classpathScanner.scanForClassesInClasspathRoot(jarfile.toURI(),
+				classFilter);
+			scope.close();
+
+			assertThat(classes).hasSize(1);
+			assertThat(classes.get(0).getName()).isEqualTo("org.junit.platform.jartest.included.Included");
+			assertThat(classesInRoot).isEqualTo(classes);
+			assertThat(loadedClassNames).containsExactly("org.junit.platform.jartest.included.Included",
+				"org.junit.platform.jartest.included.Included");
+		}
+	}
+
+	@Test
+	void scanForClassesInPackageInParallelFindsSameClassesInDeterministicOrder() {
+		ClasspathScanner parallelScanner = new ClasspathScanner(ClassLoaderUtils::getDefaultClassLoader,
+			ReflectionUtils::tryToLoadClass, () -> true);
+
+		List<Class<?>> classes = parallelScanner.scanForClassesInPackage("org.junit.platform.commons", allClasses);
+
+		assertThat(classes).containsExactlyInAnyOrderElementsOf(
+			classpathScanner.scanForClassesInPackage("org.junit.platform.commons", allClasses));
+		assertThat(classes).contains(NestedClassToBeFound.class, MemberClassToBeFound.class);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(classes, parallelScanner.scanForClassesInPackage("org.junit.platform.commons", allClasses));
+		}
+	}
+
+	@Test
+	void scanForClassesInClasspathRootWithinJarFileInParallelUsesClassLoaderOfCallingThread() throws Exception {
+		URL jarfile = getClass().getResource("/jartest.jar");
+		List<Thread> classLoaderRequestingThreads = new CopyOnWriteArrayList<>();
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jarfile })) {
+			ClasspathScanner classpathScanner = new ClasspathScanner(() -> {
+				classLoaderRequestingThreads.add(Thread.currentThread());
+				return classLoader;
+			}, ReflectionUtils::tryToLoadClass, () -> true);
+
+			List<Class<?>> classes = classpathScanner.scanForClassesInClasspathRoot(jarfile.toURI(), allClasses);
+			List<String> classNames = classes.stream().map(Class::getName).collect(Collectors.toList());
+			assertThat(classNames).containsExactly("org.junit.platform.jartest.included.Included",
+				"org.junit.platform.jartest.included.recursive.RecursivelyIncluded",
+				"org.junit.platform.jartest.notincluded.NotIncluded");
+			assertThat(classLoaderRequestingThreads).containsOnly(Thread.currentThread());
+		}
+	}
+
+	@Test
+	void scanForClassesInClasspathRootInParallelWhenOutOfMemoryErrorOccurs() {
+		ClasspathScanner parallelScanner = new ClasspathScanner(ClassLoaderUtils::getDefaultClassLoader,
+			ReflectionUtils::tryToLoadClass, () -> true);
+		ClassFilter classFilter = ClassFilter.of(clazz -> {
+			if (clazz.getSimpleName().equals(ClassForOutOfMemoryErrorSimulation.class.getSimpleName())) {
+				throw new OutOfMemoryError();
+			}
+			return true;
+		});
+
+		assertThrows(OutOfMemoryError.class,
+			() -> parallelScanner.scanForClassesInClasspathRoot(getTestClasspathRoot(), classFilter));
+	}
+
 	@Test
 	void scanForClassesInDefaultPackage() {
 		ClassFilter classFilter = ClassFilter.of(this::inDefaultPackage);
@@ -248,6 +337,17 @@ class ClasspathScannerTests {
 		assertThat(loadedClasses).containsExactly(ClasspathScannerTests.class);
 	}
 
+	@Test
+	void scanForClassesInPackageOnlyLoadsClassesThatAreIncludedByTheClassFileFilter() {
+		ClassFilter classFilter = ClassFilter.of(name -> true,
+			classFile -> ClasspathScannerTests.class.getName().equals(classFile.getClassName()), type -> true);
+
+		List<Class<?>> classes = classpathScanner.scanForClassesInPackage("org.junit.platform.commons", classFilter);
+
+		assertThat(classes).containsExactly(ClasspathScannerTests.class);
+		assertThat(loadedClasses).containsExactly(ClasspathScannerTests.class);
+	}
+
 	@Test
 	void findAllClassesInClasspathRoot() throws Exception {
 		ClassFilter thisClassOnly = ClassFilter.of(clazz -> clazz == ClasspathScannerTests.class);
@@ -283,6 +383,134 @@ class ClasspathScannerTests {
 		assertThat(classes).isEmpty();
 	}
 
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void findAllClassesInClasspathRootWithTestIndexOnlyLoadsIndexedClasses(@TempDir Path tempDir) throws Exception {
+		copyClassFile(ClasspathScannerTests.class, tempDir);
+		copyClassFile(MemberClassToBeFound.class, tempDir);
+		copyClassFile(ClassFilter.class, tempDir);
+		writeTestIndex(tempDir, ClasspathScannerTests.class, MemberClassToBeFound.class);
+
+		List<Class<?>> classes = classpathScanner.scanForClassesInClasspathRoot(tempDir.toUri(),
+			allClasses.withTestIndex());
+
+		assertThat(classes).containsExactly(ClasspathScannerTests.class, MemberClassToBeFound.class);
+		assertThat(loadedClasses).containsExactly(ClasspathScannerTests.class, MemberClassToBeFound.class);
+	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void findAllClassesInClasspathRootIgnoresTestIndexUnlessEnabled(@TempDir Path tempDir) throws Exception {
+		copyClassFile(ClasspathScannerTests.class, tempDir);
+		copyClassFile(ClassFilter.class, tempDir);
+		writeTestIndex(tempDir, ClasspathScannerTests.class);
+
+		List<Class<?>> classes = classpathScanner.scanForClassesInClasspathRoot(tempDir.toUri(), allClasses);
+
+		assertThat(classes).containsExactlyInAnyOrder(ClasspathScannerTests.class, ClassFilter.class);
+	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void findAllClassesInClasspathRootWithStaleTestIndexScansClassFiles(@TempDir Path tempDir) throws Exception {
+		copyClassFile(ClasspathScannerTests.class, tempDir);
+		writeTestIndex(tempDir, ClasspathScannerTests.class);
+		Files.setLastModifiedTime(tempDir.resolve(TestIndex.RESOURCE_NAME), FileTime.fromMillis(0));
+		copyClassFile(ClassFilter.class, tempDir);
+
+		List<Class<?>> classes = classpathScanner.scanForClassesInClasspathRoot(tempDir.toUri(),
+			allClasses.withTestIndex());
+
+		assertThat(classes).containsExactlyInAnyOrder(ClasspathScannerTests.class, ClassFilter.class);
+	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void findAllClassesInClasspathRootWithTestIndexListingMissingClassScansClassFiles(@TempDir Path tempDir)
+			throws Exception {
+		copyClassFile(ClasspathScannerTests.class, tempDir);
+		writeTestIndex(tempDir, ClasspathScannerTests.class, MemberClassToBeFound.class);
+
+		List<Class<?>> classes = classpathScanner.scanForClassesInClasspathRoot(tempDir.toUri(),
+			allClasses.withTestIndex());
+
+		assertThat(classes).containsExactly(ClasspathScannerTests.class);
+	}
+
+	private static void copyClassFile(Class<?> clazz, Path classpathRoot) throws IOException {
+		String resourceName = clazz.getName().replace('.', '/') + ".class";
+		Path classFile = classpathRoot.resolve(resourceName);
+		Files.createDirectories(classFile.getParent());
+		try (InputStream in = clazz.getClassLoader().getResourceAsStream(resourceName)) {
+			Files.copy(in, classFile);
+		}
+	}
+
+	private static void writeTestIndex(Path classpathRoot, Class<?>... classes) throws IOException {
+		TestIndexGenerator generator = new TestIndexGenerator();
+		for (Class<?> clazz : classes) {
+			generator.addTestClass(clazz.getName(), emptyList(), emptyList());
+		}
+		generator.writeTo(classpathRoot);
+	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void findAllClassesInPackageWithTestIndexWithinJarFile(@TempDir Path tempDir) throws Exception {
+		Path jarFile = tempDir.resolve("indexed.jar");
+		String classFileName = ClasspathScannerTests.class.getName().replace('.', '/') + ".class";
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jarFile))) {
+			out.putNextEntry(new ZipEntry("org/junit/platform/commons/"));
+			out.putNextEntry(new ZipEntry(classFileName));
+			try (InputStream in = getClass().getClassLoader().getResourceAsStream(classFileName)) {
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = in.read(buffer)) != -1) {
+					out.write(buffer, 0, read);
+				}
+			}
+			out.putNextEntry(new ZipEntry(TestIndex.RESOURCE_NAME));
+			TestIndex.from(asList( //
+				TestIndex.Entry.of(ClasspathScannerTests.class.getName(), emptyList(), singletonList("fast")), //
+				TestIndex.Entry.of(String.class.getName(), emptyList(), emptyList()) //
+			)).write(new OutputStreamWriter(out, UTF_8));
+		}
+
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { jarFile.toUri().toURL() }, null)) {
+			ClassLoader parent = getClass().getClassLoader();
+			ClasspathScanner classpathScanner = new ClasspathScanner(() -> classLoader,
+				(name, loader) -> trackingClassLoader.apply(name, parent));
+
+			List<Class<?>> classes = classpathScanner.scanForClassesInPackage("org.junit.platform.commons",
+				allClasses.withTestIndex());
+
+			assertThat(classes).containsExactly(ClasspathScannerTests.class);
+			assertThat(loadedClasses).containsExactly(ClasspathScannerTests.class);
+		}
+	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void findAllClassesInClasspathRootWithMalformedTestIndexScansClassFiles(@TempDir Path tempDir) throws Exception {
+		Path classFile = Files.createDirectories(tempDir.resolve("org/example")).resolve("NotAClass.class");
+		Files.write(classFile, new byte[0]);
+		Path indexFile = tempDir.resolve(TestIndex.RESOURCE_NAME);
+		Files.createDirectories(indexFile.getParent());
+		Files.write(indexFile, singletonList("a\tb\tc\td"));
+		List<String> classNames = new ArrayList<>();
+		ClasspathScanner classpathScanner = new ClasspathScanner(ClassLoaderUtils::getDefaultClassLoader,
+			(name, loader) -> {
+				classNames.add(name);
+				return ReflectionUtils.tryToLoadClass(name, loader);
+			});
+
+		List<Class<?>> classes = classpathScanner.scanForClassesInClasspathRoot(tempDir.toUri(),
+			allClasses.withTestIndex());
+
+		assertThat(classes).isEmpty();
+		assertThat(classNames).containsExactly("org.example.NotAClass");
+	}
+
 	private boolean inDefaultPackage(Class<?> clazz) {
 		// OpenJDK returns NULL for the default package.
 		Package pkg = clazz.getPackage();
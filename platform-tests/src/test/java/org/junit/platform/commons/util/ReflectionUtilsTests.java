@@ -972,6 +972,19 @@ class ReflectionUtilsTests {
 					GrandparentInterface.class.getMethod("method2"), ParentClass.class.getMethod("method3"));
 	}
 
+	@Test
+	void findMethodsReturnsCachedMethodsPerTraversalMode() {
+		List<Method> topDown = findMethods(ChildClass.class, method -> true, TOP_DOWN);
+		List<Method> bottomUp = findMethods(ChildClass.class, method -> true, BOTTOM_UP);
+
+		List<Method> topDownAgain = findMethods(ChildClass.class, method -> true, TOP_DOWN);
+		assertThat(topDownAgain).hasSameSizeAs(topDown);
+		for (int i = 0; i < topDown.size(); i++) {
+			assertThat(topDownAgain.get(i)).isSameAs(topDown.get(i));
+		}
+		assertThat(bottomUp).containsExactlyInAnyOrderElementsOf(topDown).isNotEqualTo(topDown);
+	}
+
 	@Test
 	void findMethodsWithShadowingUsingHierarchyUpMode() throws Exception {
 		assertThat(findMethods(MethodShadowingChild.class, methodContains1, BOTTOM_UP))//
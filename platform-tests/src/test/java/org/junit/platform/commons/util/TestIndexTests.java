@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.commons.util;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TestIndex}.
+ *
+ * @since 1.4
+ */
+class TestIndexTests {
+
+	@Test
+	void writesOneLinePerEntryAndOmitsEmptyTrailingColumns() throws Exception {
+		TestIndex testIndex = TestIndex.from(asList( //
+			TestIndex.Entry.of("com.example.FirstTests", asList("org.junit.jupiter.api.Test", "a.Composed"),
+				asList("fast", "unit")), //
+			TestIndex.Entry.of("com.example.SecondTests", singletonList("org.junit.jupiter.api.Test"), emptyList()), //
+			TestIndex.Entry.of("com.example.ThirdTests", emptyList(), singletonList("slow")), //
+			TestIndex.Entry.of("com.example.FourthTests", emptyList(), emptyList())));
+
+		StringWriter writer = new StringWriter();
+		testIndex.write(writer);
+
+		assertThat(writer.toString()).isEqualTo("# JUnit Platform test index\n" //
+				+ "com.example.FirstTests\torg.junit.jupiter.api.Test,a.Composed\tfast,unit\n" //
+				+ "com.example.SecondTests\torg.junit.jupiter.api.Test\n" //
+				+ "com.example.ThirdTests\t\tslow\n" //
+				+ "com.example.FourthTests\n");
+	}
+
+	@Test
+	void readsWrittenEntriesAndIgnoresCommentsAndBlankLines() throws Exception {
+		String content = "# comment\n\ncom.example.FirstTests\torg.junit.jupiter.api.Test\tfast, unit\n"
+				+ "  \ncom.example.sub.SecondTests\t\tslow\r\nother.ThirdTests\n";
+
+		TestIndex testIndex = TestIndex.read(new StringReader(content));
+
+		assertThat(testIndex.getEntries()).hasSize(3);
+		TestIndex.Entry first = testIndex.getEntries().get(0);
+		assertThat(first.getClassName()).isEqualTo("com.example.FirstTests");
+		assertThat(first.getAnnotationTypeNames()).containsExactly("org.junit.jupiter.api.Test");
+		assertThat(first.getTags()).containsExactly("fast", "unit");
+		TestIndex.Entry second = testIndex.getEntries().get(1);
+		assertThat(second.getAnnotationTypeNames()).isEmpty();
+		assertThat(second.getTags()).containsExactly("slow");
+		assertThat(testIndex.getClassNames("com.example")).containsExactly("com.example.FirstTests",
+			"com.example.sub.SecondTests");
+		assertThat(testIndex.getClassNames("com.ex")).isEmpty();
+		assertThat(testIndex.getClassNames("")).hasSize(3);
+	}
+
+	@Test
+	void rejectsLinesWithTooManyColumns() {
+		IOException exception = assertThrows(IOException.class,
+			() -> TestIndex.read(new StringReader("com.example.Tests\ta\tb\tc\n")));
+
+		assertThat(exception).hasMessage("Malformed test index entry in line 1: com.example.Tests\ta\tb\tc");
+	}
+
+	@Test
+	void rejectsValuesContainingSeparators() {
+		assertThrows(PreconditionViolationException.class,
+			() -> TestIndex.Entry.of("com.example.Tests", emptyList(), singletonList("a,b")));
+		assertThrows(PreconditionViolationException.class,
+			() -> TestIndex.Entry.of("com.example.Tests", singletonList("a\tb"), emptyList()));
+		assertThrows(PreconditionViolationException.class,
+			() -> TestIndex.Entry.of(" ", emptyList(), emptyList()));
+	}
+
+}
@@ -67,6 +67,7 @@ class PicocliCommandLineOptionsParserTests {
 			() -> assertEquals(emptyList(), options.getExcludedTagExpressions()),
 			() -> assertEquals(emptyList(), options.getAdditionalClasspathEntries()),
 			() -> assertEquals(Optional.empty(), options.getReportsDir()),
+			() -> assertFalse(options.isReportPerClass()),
 			() -> assertEquals(emptyList(), options.getSelectedUris()),
 			() -> assertEquals(emptyList(), options.getSelectedFiles()),
 			() -> assertEquals(emptyList(), options.getSelectedDirectories()),
@@ -269,6 +270,21 @@ class PicocliCommandLineOptionsParserTests {
 		assertOptionWithMissingRequiredArgumentThrowsException("-E", "--exclude-engine");
 	}
 
+	@ParameterizedTest
+	@EnumSource(ArgsType.class)
+	void parseValidShardOptions(ArgsType type) throws IOException {
+		CommandLineOptions options = type.parseArgLine(
+			"--shard-index 2 --shard-count 16 --shard-history-file build/history.txt");
+		// @formatter:off
+		assertAll(
+			() -> assertEquals(Optional.of(2), options.getShardIndex()),
+			() -> assertEquals(Optional.of(16), options.getShardCount()),
+			() -> assertEquals(Optional.of(Paths.get("build", "history.txt")), options.getShardHistoryFile()),
+			() -> assertEquals(Optional.empty(), type.parseArgLine("").getShardIndex())
+		);
+		// @formatter:on
+	}
+
 	@ParameterizedTest
 	@EnumSource(ArgsType.class)
 	void parseValidAdditionalClasspathEntries(ArgsType type) {
@@ -306,6 +322,12 @@ class PicocliCommandLineOptionsParserTests {
 		// @formatter:on
 	}
 
+	@ParameterizedTest
+	@EnumSource(ArgsType.class)
+	void parseValidReportPerClass(ArgsType type) throws IOException {
+		assertTrue(type.parseArgLine("--reports-dir build/test-results --reports-per-class").isReportPerClass());
+	}
+
 	@Test
 	void parseInvalidXmlReportsDirs() {
 		assertOptionWithMissingRequiredArgumentThrowsException("--reports-dir");
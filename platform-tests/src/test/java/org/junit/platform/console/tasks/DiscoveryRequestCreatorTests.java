@@ -184,6 +184,30 @@ class DiscoveryRequestCreatorTests {
 		assertThat(engineFilters.get(1).toString()).contains("excludes", "[engine2]");
 	}
 
+	@Test
+	void convertsShardOptions() {
+		options.setScanClasspath(true);
+		options.setShardIndex(1);
+		options.setShardCount(3);
+
+		LauncherDiscoveryRequest request = convert();
+		List<PostDiscoveryFilter> postDiscoveryFilters = request.getPostDiscoveryFilters();
+
+		assertThat(postDiscoveryFilters).hasSize(1);
+		assertThat(postDiscoveryFilters.get(0).toString()).contains("ShardingFilter", "shardIndex = 1",
+			"shardCount = 3");
+	}
+
+	@Test
+	void doesNotSupportShardIndexWithoutShardCount() {
+		options.setScanClasspath(true);
+		options.setShardIndex(1);
+
+		Throwable cause = assertThrows(PreconditionViolationException.class, this::convert);
+
+		assertThat(cause).hasMessageContaining("--shard-count");
+	}
+
 	@Test
 	void convertsUriSelectors() {
 		options.setSelectedUris(asList(URI.create("a"), URI.create("b")));
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 1.4
+ */
+class AdaptiveParallelismControllerTests {
+
+	private static final int AVAILABLE_PROCESSORS = 4;
+
+	private final AdaptiveParallelismController controller = new AdaptiveParallelismController(
+		new AdaptiveParallelExecutionConfiguration(2, 4, 8, 30), null, () -> emptyList(), AVAILABLE_PROCESSORS);
+
+	@Test
+	void startsWithInitialParallelism() {
+		assertThat(controller.getTargetParallelism()).isEqualTo(4);
+	}
+
+	@Test
+	void growsByNumberOfBlockedWorkersUpToMaximum() {
+		assertThat(controller.adjustTargetParallelism(3, 0, 1.0)).isEqualTo(7);
+		assertThat(controller.adjustTargetParallelism(3, 0, 1.0)).isEqualTo(8);
+	}
+
+	@Test
+	void doesNotGrowWhileForkedTasksAreQueued() {
+		assertThat(controller.adjustTargetParallelism(3, 1, 1.0)).isEqualTo(4);
+	}
+
+	@Test
+	void shrinksDownToMinimumWhileSystemIsOverloaded() {
+		assertThat(controller.adjustTargetParallelism(3, 0, 5.0)).isEqualTo(3);
+		assertThat(controller.adjustTargetParallelism(3, 0, 5.0)).isEqualTo(2);
+		assertThat(controller.adjustTargetParallelism(3, 0, 5.0)).isEqualTo(2);
+	}
+
+	@Test
+	void shrinksBackToInitialParallelismWhenNoWorkersAreBlocked() {
+		controller.adjustTargetParallelism(2, 0, 1.0);
+
+		assertThat(controller.adjustTargetParallelism(0, 0, 1.0)).isEqualTo(5);
+		assertThat(controller.adjustTargetParallelism(0, 0, 1.0)).isEqualTo(4);
+		assertThat(controller.adjustTargetParallelism(0, 0, 1.0)).isEqualTo(4);
+	}
+
+	@Test
+	void ignoresUnavailableSystemLoadAverage() {
+		assertThat(controller.adjustTargetParallelism(1, 0, -1.0)).isEqualTo(5);
+	}
+
+	@Test
+	void limitsNumberOfForkedTasksToOneLessThanTargetParallelism() {
+		assertThat(controller.tryAcquire()).isTrue();
+		assertThat(controller.tryAcquire()).isTrue();
+		assertThat(controller.tryAcquire()).isTrue();
+		assertThat(controller.tryAcquire()).isFalse();
+
+		controller.release();
+
+		assertThat(controller.tryAcquire()).isTrue();
+	}
+
+}
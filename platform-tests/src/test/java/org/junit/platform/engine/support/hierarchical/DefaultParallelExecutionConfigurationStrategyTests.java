@@ -66,6 +66,23 @@ class DefaultParallelExecutionConfigurationStrategyTests {
 		assertThat(configuration.getKeepAliveSeconds()).isEqualTo(30);
 	}
 
+	@Test
+	void adaptiveStrategyCreatesValidConfiguration() {
+		when(configParams.get("adaptive.minParallelism")).thenReturn(Optional.of("1"));
+		when(configParams.get("adaptive.maxParallelism")).thenReturn(Optional.of("1000"));
+
+		ParallelExecutionConfigurationStrategy strategy = DefaultParallelExecutionConfigurationStrategy.ADAPTIVE;
+		ParallelExecutionConfiguration configuration = strategy.createConfiguration(configParams);
+
+		int availableProcessors = Runtime.getRuntime().availableProcessors();
+		assertThat(configuration).isInstanceOf(AdaptiveParallelExecutionConfiguration.class);
+		assertThat(configuration.getParallelism()).isEqualTo(1000);
+		assertThat(configuration.getCorePoolSize()).isEqualTo(availableProcessors);
+		assertThat(configuration.getMinimumRunnable()).isEqualTo(1);
+		assertThat(configuration.getMaxPoolSize()).isEqualTo(256 + 1000);
+		assertThat(configuration.getKeepAliveSeconds()).isEqualTo(30);
+	}
+
 	@Test
 	void customStrategyCreatesValidConfiguration() {
 		when(configParams.get("custom.class")).thenReturn(
@@ -128,6 +145,30 @@ class DefaultParallelExecutionConfigurationStrategyTests {
 		assertThrows(JUnitException.class, () -> strategy.createConfiguration(configParams));
 	}
 
+	@Test
+	void adaptiveStrategyUsesDefaultsWhenPropertiesAreNotPresent() {
+		when(configParams.get("adaptive.minParallelism")).thenReturn(Optional.empty());
+		when(configParams.get("adaptive.maxParallelism")).thenReturn(Optional.empty());
+
+		ParallelExecutionConfigurationStrategy strategy = DefaultParallelExecutionConfigurationStrategy.ADAPTIVE;
+		AdaptiveParallelExecutionConfiguration configuration = //
+			(AdaptiveParallelExecutionConfiguration) strategy.createConfiguration(configParams);
+
+		int availableProcessors = Runtime.getRuntime().availableProcessors();
+		assertThat(configuration.getMinParallelism()).isEqualTo(1);
+		assertThat(configuration.getInitialParallelism()).isEqualTo(availableProcessors);
+		assertThat(configuration.getMaxParallelism()).isEqualTo(4 * availableProcessors);
+	}
+
+	@Test
+	void adaptiveStrategyThrowsExceptionWhenMinimumExceedsMaximum() {
+		when(configParams.get("adaptive.minParallelism")).thenReturn(Optional.of("3"));
+		when(configParams.get("adaptive.maxParallelism")).thenReturn(Optional.of("2"));
+
+		ParallelExecutionConfigurationStrategy strategy = DefaultParallelExecutionConfigurationStrategy.ADAPTIVE;
+		assertThrows(JUnitException.class, () -> strategy.createConfiguration(configParams));
+	}
+
 	@Test
 	void dynamicStrategyThrowsExceptionWhenFactorIsZero() {
 		when(configParams.get("dynamic.factor")).thenReturn(Optional.of("0"));
@@ -26,9 +26,12 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.platform.engine.CancellationToken;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.ExecutionRequest;
 import org.junit.platform.engine.TestDescriptor;
@@ -60,11 +63,12 @@ class HierarchicalTestExecutorTests {
 	EngineExecutionListener listener;
 
 	MyEngineExecutionContext rootContext = new MyEngineExecutionContext();
+	CancellationToken cancellationToken = CancellationToken.create();
 	HierarchicalTestExecutor<MyEngineExecutionContext> executor;
 
 	@BeforeEach
 	void init() {
-		ExecutionRequest request = new ExecutionRequest(root, listener, null);
+		ExecutionRequest request = new ExecutionRequest(root, listener, null, cancellationToken);
 		executor = new MyExecutor(request, rootContext);
 	}
 
@@ -629,6 +633,69 @@ class HierarchicalTestExecutorTests {
 			exceptionInAfter).hasSuppressedException(exceptionInExecute);
 	}
 
+	@Test
+	void cancellationInterruptsRunningTestAndSkipsNodesThatHaveNotBeenStarted() throws Exception {
+
+		MyLeaf first = spy(new MyLeaf(UniqueId.root("leaf", "first")));
+		MyLeaf second = spy(new MyLeaf(UniqueId.root("leaf", "second")));
+		AtomicBoolean interrupted = new AtomicBoolean();
+		when(first.execute(any(), any())).thenAnswer(invocation -> {
+			cancellationToken.cancel();
+			interrupted.set(Thread.currentThread().isInterrupted());
+			return invocation.getArgument(0);
+		});
+		root.addChild(first);
+		root.addChild(second);
+
+		InOrder inOrder = inOrder(listener);
+
+		executor.execute();
+
+		ArgumentCaptor<TestExecutionResult> firstExecutionResult = ArgumentCaptor.forClass(TestExecutionResult.class);
+		inOrder.verify(listener).executionStarted(root);
+		inOrder.verify(listener).executionStarted(first);
+		inOrder.verify(listener).executionFinished(eq(first), firstExecutionResult.capture());
+		inOrder.verify(listener).executionSkipped(second, "Execution was cancelled before this node was started");
+		inOrder.verify(listener).executionFinished(eq(root), any(TestExecutionResult.class));
+		verify(second, never()).shouldBeSkipped(any());
+		verify(listener, never()).executionStarted(second);
+
+		assertThat(interrupted.get()).isTrue();
+		assertThat(firstExecutionResult.getValue().getStatus()).isEqualTo(SUCCESSFUL);
+		assertThat(Thread.currentThread().isInterrupted()).isFalse();
+	}
+
+	@Test
+	void dynamicTestDescriptorsSubmittedAfterCancellationAreSkipped() throws Exception {
+
+		UniqueId leafUniqueId = UniqueId.root("leaf", "child leaf");
+		MyContainer child = spy(new MyContainer(leafUniqueId));
+		MyLeaf dynamicTestDescriptor = spy(new MyLeaf(leafUniqueId.append("dynamic", "child")));
+		AtomicBoolean cancellationRequested = new AtomicBoolean();
+
+		when(child.execute(any(), any())).thenAnswer(invocation -> {
+			DynamicTestExecutor dynamicTestExecutor = invocation.getArgument(1);
+			cancellationToken.cancel();
+			cancellationRequested.set(dynamicTestExecutor.isCancellationRequested());
+			dynamicTestExecutor.execute(dynamicTestDescriptor);
+			return invocation.getArgument(0);
+		});
+		root.addChild(child);
+
+		InOrder inOrder = inOrder(listener);
+
+		executor.execute();
+
+		inOrder.verify(listener).executionStarted(child);
+		inOrder.verify(listener).dynamicTestRegistered(dynamicTestDescriptor);
+		inOrder.verify(listener).executionSkipped(dynamicTestDescriptor,
+			"Execution was cancelled before this node was started");
+		inOrder.verify(listener).executionFinished(eq(child), any(TestExecutionResult.class));
+		verify(dynamicTestDescriptor, never()).execute(any(), any());
+
+		assertThat(cancellationRequested.get()).isTrue();
+	}
+
 	// -------------------------------------------------------------------
 
 	private static class MyEngineExecutionContext implements EngineExecutionContext {
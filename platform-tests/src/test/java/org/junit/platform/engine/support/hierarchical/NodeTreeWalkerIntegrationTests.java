@@ -16,6 +16,7 @@ import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass
 import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
 
 import java.util.Iterator;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -24,6 +25,7 @@ import org.junit.jupiter.engine.JupiterTestEngine;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.support.hierarchical.Node.ExecutionMode;
+import org.junit.platform.fakes.TestDescriptorStub;
 import org.junit.platform.launcher.LauncherDiscoveryRequest;
 
 /**
@@ -69,6 +71,87 @@ class NodeTreeWalkerIntegrationTests {
 		assertThat(advisor.getForcedExecutionMode(nestedTestMethodDescriptor)).contains(ExecutionMode.SAME_THREAD);
 	}
 
+	@Test
+	void keepsExecutionModeOfDescendantsInHierarchicalResourceLockingMode() {
+		TestDescriptor engineDescriptor = discover(TestCaseWithResourceLock.class);
+		NodeExecutionAdvisor advisor = new NodeTreeWalker(ResourceLockingMode.HIERARCHICAL).walk(engineDescriptor);
+
+		TestDescriptor testClassDescriptor = getOnlyElement(engineDescriptor.getChildren());
+		assertThat(advisor.getResourceLock(testClassDescriptor)).isInstanceOf(CompositeLock.class);
+		assertThat(advisor.getForcedExecutionMode(testClassDescriptor)).isEmpty();
+
+		TestDescriptor testMethodDescriptor = getOnlyElement(testClassDescriptor.getChildren());
+		assertThat(advisor.getResourceLock(testMethodDescriptor)).isInstanceOf(SingleLock.class);
+		assertThat(advisor.getForcedExecutionMode(testMethodDescriptor)).isEmpty();
+	}
+
+	@Test
+	void usesLocksScopedToAncestorInHierarchicalResourceLockingMode() {
+		TestDescriptor engineDescriptor = discover(TestCaseWithResourceLock.class);
+		NodeExecutionAdvisor advisor = new NodeTreeWalker(ResourceLockingMode.HIERARCHICAL).walk(engineDescriptor);
+
+		TestDescriptor testClassDescriptor = getOnlyElement(engineDescriptor.getChildren());
+		CompositeLock classLock = (CompositeLock) advisor.getResourceLock(testClassDescriptor);
+		TestDescriptor testMethodDescriptor = getOnlyElement(testClassDescriptor.getChildren());
+		SingleLock methodLock = (SingleLock) advisor.getResourceLock(testMethodDescriptor);
+
+		assertThat(classLock.getLocks()).hasSize(2).doesNotContain(methodLock.getLock());
+	}
+
+	@Test
+	void recordsLockStatisticsOfLocksScopedToAncestorSeparately() throws Exception {
+		ResourceLockStatistics statistics = new ResourceLockStatistics();
+		TestDescriptor engineDescriptor = discover(TestCaseWithResourceLock.class);
+		NodeExecutionAdvisor advisor = new NodeTreeWalker(ResourceLockingMode.HIERARCHICAL,
+			Optional.of(statistics)).walk(engineDescriptor);
+
+		TestDescriptor testClassDescriptor = getOnlyElement(engineDescriptor.getChildren());
+		TestDescriptor testMethodDescriptor = getOnlyElement(testClassDescriptor.getChildren());
+		advisor.getResourceLock(testClassDescriptor).acquire();
+		advisor.getResourceLock(testMethodDescriptor).acquire().release();
+		advisor.getResourceLock(testClassDescriptor).release();
+
+		assertThat(statistics.get("b").getAcquisitions()).isEqualTo(1L);
+		assertThat(statistics.nestedIn(testClassDescriptor.getUniqueId()).get("b").getAcquisitions()).isEqualTo(1L);
+		assertThat(statistics.toReportEntryValues()).containsKeys("resourceLocks.statistics.b",
+			"resourceLocks.statistics.b@" + testClassDescriptor.getUniqueId());
+	}
+
+	@Test
+	void dynamicallyRegisteredDescendantsInheritForcedExecutionModeOfClosestWalkedAncestor() {
+		TestDescriptor engineDescriptor = discover(TestCaseWithResourceLock.class);
+		NodeExecutionAdvisor advisor = new NodeTreeWalker().walk(engineDescriptor);
+
+		TestDescriptor testClassDescriptor = getOnlyElement(engineDescriptor.getChildren());
+		TestDescriptor testMethodDescriptor = getOnlyElement(testClassDescriptor.getChildren());
+		TestDescriptor dynamicContainer = addDynamicChild(testMethodDescriptor, "container");
+		TestDescriptor dynamicTest = addDynamicChild(dynamicContainer, "test");
+
+		assertThat(advisor.getResourceLock(dynamicContainer)).isInstanceOf(NopLock.class);
+		assertThat(advisor.getForcedExecutionMode(dynamicContainer)).contains(ExecutionMode.SAME_THREAD);
+		assertThat(advisor.getResourceLock(dynamicTest)).isInstanceOf(NopLock.class);
+		assertThat(advisor.getForcedExecutionMode(dynamicTest)).contains(ExecutionMode.SAME_THREAD);
+	}
+
+	@Test
+	void dynamicallyRegisteredDescendantsOfUnlockedNodesAreNotForced() {
+		TestDescriptor engineDescriptor = discover(TestCaseWithoutResourceLock.class);
+		NodeExecutionAdvisor advisor = new NodeTreeWalker().walk(engineDescriptor);
+
+		TestDescriptor testClassDescriptor = getOnlyElement(engineDescriptor.getChildren());
+		TestDescriptor dynamicTest = addDynamicChild(testClassDescriptor, "test");
+
+		assertThat(advisor.getResourceLock(dynamicTest)).isInstanceOf(NopLock.class);
+		assertThat(advisor.getForcedExecutionMode(dynamicTest)).isEmpty();
+	}
+
+	private TestDescriptor addDynamicChild(TestDescriptor parent, String segmentValue) {
+		TestDescriptor child = new TestDescriptorStub(parent.getUniqueId().append("dynamic", segmentValue),
+			segmentValue);
+		parent.addChild(child);
+		return child;
+	}
+
 	private TestDescriptor discover(Class<?> testClass) {
 		LauncherDiscoveryRequest discoveryRequest = request().selectors(selectClass(testClass)).build();
 		return new JupiterTestEngine().discover(discoveryRequest, UniqueId.forEngine("junit-jupiter"));
@@ -19,9 +19,14 @@ import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
 import static org.junit.jupiter.engine.Constants.DEFAULT_PARALLEL_EXECUTION_MODE;
+import static org.junit.jupiter.engine.Constants.DYNAMIC_TEST_WINDOW_SIZE_PROPERTY_NAME;
+import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME;
+import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME;
 import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_FIXED_PARALLELISM_PROPERTY_NAME;
 import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME;
 import static org.junit.jupiter.engine.Constants.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME;
+import static org.junit.platform.engine.support.hierarchical.ResourceLockReporting.RESOURCES_REPORT_ENTRY_KEY;
+import static org.junit.platform.engine.support.hierarchical.ResourceLockReporting.WAIT_TIME_REPORT_ENTRY_KEY;
 import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
 import static org.junit.platform.testkit.engine.EventConditions.event;
 import static org.junit.platform.testkit.engine.EventConditions.finishedSuccessfully;
@@ -179,6 +184,54 @@ class ParallelExecutionIntegrationTests {
 		assertThat(ThreadReporter.getThreadNames(events)).hasSize(1);
 	}
 
+	@Test
+	void adaptiveStrategyDoesNotExceedMaxParallelism() {
+		List<Event> events = execute(Map.of( //
+			PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, "adaptive", //
+			PARALLEL_CONFIG_ADAPTIVE_MIN_PARALLELISM_PROPERTY_NAME, "1", //
+			PARALLEL_CONFIG_ADAPTIVE_MAX_PARALLELISM_PROPERTY_NAME, "2"), //
+			ConcurrencyTrackingTestCase.class);
+
+		assertThat(events.stream().filter(event(test(), finishedSuccessfully())::matches)).hasSize(6);
+		assertThat(ConcurrencyTrackingTestCase.maxConcurrency.get()).isBetween(1, 2);
+	}
+
+	@Test
+	void dynamicTestWindowLimitsNumberOfPendingDynamicTests() {
+		List<Event> events = execute(Map.of( //
+			PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, "fixed", //
+			PARALLEL_CONFIG_FIXED_PARALLELISM_PROPERTY_NAME, "4", //
+			DYNAMIC_TEST_WINDOW_SIZE_PROPERTY_NAME, "2"), //
+			WindowedDynamicTestCase.class);
+
+		assertThat(events.stream().filter(event(test(), finishedSuccessfully())::matches)).hasSize(100);
+		// at most two pending dynamic tests plus the one that was just produced
+		assertThat(WindowedDynamicTestCase.maxPendingTests.get()).isBetween(1, 3);
+	}
+
+	@Test
+	void reportsResourceLocksIfEnabled() {
+		List<Event> events = execute(Map.of( //
+			PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, "fixed", //
+			PARALLEL_CONFIG_FIXED_PARALLELISM_PROPERTY_NAME, "3", //
+			ResourceLockReporting.ENABLED_PROPERTY_NAME, "true"), //
+			SuccessfulWithMethodLockTestCase.class);
+
+		List<Map<String, String>> resourceLockEntries = getResourceLockEntries(events);
+		assertThat(resourceLockEntries).hasSize(3);
+		assertThat(resourceLockEntries).allSatisfy(keyValuePairs -> {
+			assertThat(keyValuePairs.get(RESOURCES_REPORT_ENTRY_KEY)).isEqualTo("sharedResource [READ_WRITE]");
+			assertThat(Long.parseLong(keyValuePairs.get(WAIT_TIME_REPORT_ENTRY_KEY))).isNotNegative();
+		});
+	}
+
+	@Test
+	void doesNotReportResourceLocksByDefault() {
+		List<Event> events = execute(3, SuccessfulWithMethodLockTestCase.class);
+
+		assertThat(getResourceLockEntries(events)).isEmpty();
+	}
+
 	private List<Instant> getTimestampsFor(List<Event> events, Condition<Event> condition) {
 		// @formatter:off
 		return events.stream()
@@ -188,14 +241,30 @@ class ParallelExecutionIntegrationTests {
 		// @formatter:on
 	}
 
+	private List<Map<String, String>> getResourceLockEntries(List<Event> events) {
+		// @formatter:off
+		return events.stream()
+				.filter(type(REPORTING_ENTRY_PUBLISHED)::matches)
+				.map(event -> event.getPayload(ReportEntry.class).orElseThrow().getKeyValuePairs())
+				.filter(keyValuePairs -> keyValuePairs.containsKey(RESOURCES_REPORT_ENTRY_KEY))
+				.collect(toList());
+		// @formatter:on
+	}
+
 	private List<Event> execute(int parallelism, Class<?>... testClasses) {
+		return execute(Map.of( //
+			PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, "fixed", //
+			PARALLEL_CONFIG_FIXED_PARALLELISM_PROPERTY_NAME, String.valueOf(parallelism)), //
+			testClasses);
+	}
+
+	private List<Event> execute(Map<String, String> configurationParameters, Class<?>... testClasses) {
 		// @formatter:off
 		LauncherDiscoveryRequest discoveryRequest = request()
 				.selectors(Arrays.stream(testClasses).map(DiscoverySelectors::selectClass).collect(toList()))
 				.configurationParameter(PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, String.valueOf(true))
 				.configurationParameter(DEFAULT_PARALLEL_EXECUTION_MODE, "concurrent")
-				.configurationParameter(PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, "fixed")
-				.configurationParameter(PARALLEL_CONFIG_FIXED_PARALLELISM_PROPERTY_NAME, String.valueOf(parallelism))
+				.configurationParameters(configurationParameters)
 				.build();
 		// @formatter:on
 		return EngineTestKit.execute("junit-jupiter", discoveryRequest).all().list();
@@ -528,6 +597,48 @@ class ParallelExecutionIntegrationTests {
 		return value;
 	}
 
+	static class WindowedDynamicTestCase {
+
+		static AtomicInteger pendingTests;
+		static AtomicInteger maxPendingTests;
+
+		@BeforeAll
+		static void initialize() {
+			pendingTests = new AtomicInteger();
+			maxPendingTests = new AtomicInteger();
+		}
+
+		@TestFactory
+		Stream<DynamicTest> testFactory() {
+			return IntStream.range(0, 100).mapToObj(i -> {
+				maxPendingTests.accumulateAndGet(pendingTests.incrementAndGet(), Math::max);
+				return dynamicTest("test " + i, () -> {
+					Thread.sleep(1);
+					pendingTests.decrementAndGet();
+				});
+			});
+		}
+	}
+
+	static class ConcurrencyTrackingTestCase {
+
+		static AtomicInteger concurrency;
+		static AtomicInteger maxConcurrency;
+
+		@BeforeAll
+		static void initialize() {
+			concurrency = new AtomicInteger();
+			maxConcurrency = new AtomicInteger();
+		}
+
+		@RepeatedTest(6)
+		void test() throws Exception {
+			maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			concurrency.decrementAndGet();
+		}
+	}
+
 	static class ThreadReporter implements AfterTestExecutionCallback {
 
 		private static Stream<String> getLoaderNames(List<Event> events) {
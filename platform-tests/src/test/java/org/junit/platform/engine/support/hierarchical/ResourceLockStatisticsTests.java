@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ;
+import static org.junit.platform.engine.support.hierarchical.ExclusiveResource.LockMode.READ_WRITE;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.hierarchical.ResourceLockStatistics.KeyStatistics;
+
+/**
+ * @since 1.4
+ */
+class ResourceLockStatisticsTests {
+
+	private final ResourceLockStatistics statistics = new ResourceLockStatistics();
+
+	@Test
+	void countsAcquisitionsAndCurrentHolders() {
+		ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+		Lock first = statistics.instrument("key", readWriteLock.readLock());
+		Lock second = statistics.instrument("key", readWriteLock.readLock());
+
+		first.lock();
+		assertThat(second.tryLock()).isTrue();
+		KeyStatistics keyStatistics = statistics.get("key");
+		assertThat(keyStatistics.getAcquisitions()).isEqualTo(2L);
+		assertThat(keyStatistics.getCurrentHolders()).isEqualTo(2);
+
+		second.unlock();
+		first.unlock();
+		assertThat(keyStatistics.getCurrentHolders()).isEqualTo(0);
+		assertThat(keyStatistics.getMaxHolders()).isEqualTo(2);
+	}
+
+	@Test
+	void doesNotCountFailedAttemptsToAcquireLock() {
+		ReentrantLock delegate = new ReentrantLock();
+		Lock lock = statistics.instrument("key", delegate);
+		lock.lock();
+
+		boolean acquired = runInOtherThread(lock::tryLock);
+
+		assertThat(acquired).isFalse();
+		assertThat(statistics.get("key").getAcquisitions()).isEqualTo(1L);
+	}
+
+	@Test
+	void recordsTimeSpentWaitingForLock() throws Exception {
+		Lock lock = statistics.instrument("key", new ReentrantLock());
+		CountDownLatch waiting = new CountDownLatch(1);
+		lock.lock();
+		Thread thread = new Thread(() -> {
+			waiting.countDown();
+			lock.lock();
+			lock.unlock();
+		});
+		thread.start();
+		waiting.await();
+		MILLISECONDS.sleep(50);
+		lock.unlock();
+		thread.join();
+
+		KeyStatistics keyStatistics = statistics.get("key");
+		assertThat(keyStatistics.getAcquisitions()).isEqualTo(2L);
+		assertThat(keyStatistics.getMaxWaitNanos()).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(50));
+		assertThat(keyStatistics.getTotalWaitNanos()).isGreaterThanOrEqualTo(keyStatistics.getMaxWaitNanos());
+		assertThat(keyStatistics.getMaxHolders()).isEqualTo(1);
+	}
+
+	@Test
+	void formatsReportEntryValuesOfAcquiredLocksSortedByKey() {
+		statistics.instrument("unused", new ReentrantLock());
+		Lock b = statistics.instrument("b", new ReentrantLock());
+		Lock a = statistics.instrument("a", new ReentrantLock());
+		assertThat(a.tryLock()).isTrue();
+		a.unlock();
+		assertThat(b.tryLock()).isTrue();
+		b.unlock();
+
+		Map<String, String> values = statistics.toReportEntryValues();
+
+		assertThat(values.keySet()).containsExactly("resourceLocks.statistics.a", "resourceLocks.statistics.b");
+		assertThat(values.values()).containsOnly(
+			"acquisitions=1, totalWaitMicros=0, maxWaitMicros=0, currentHolders=0, maxHolders=1");
+	}
+
+	@Test
+	void reportsCurrentHolders() {
+		Lock lock = statistics.instrument("key", new ReentrantLock());
+		assertThat(lock.tryLock()).isTrue();
+
+		assertThat(statistics.toReportEntryValues()).containsEntry("resourceLocks.statistics.key",
+			"acquisitions=1, totalWaitMicros=0, maxWaitMicros=0, currentHolders=1, maxHolders=1");
+	}
+
+	@Test
+	void recordsStatisticsOfNestedLockManagersSeparately() {
+		UniqueId uniqueId = UniqueId.forEngine("engine").append("class", "Test");
+		ResourceLockStatistics nestedStatistics = statistics.nestedIn(uniqueId);
+		Lock lock = statistics.instrument("key", new ReentrantLock());
+		Lock nestedLock = nestedStatistics.instrument("key", new ReentrantLock());
+
+		assertThat(lock.tryLock()).isTrue();
+		assertThat(nestedLock.tryLock()).isTrue();
+		assertThat(nestedLock.tryLock()).isTrue();
+
+		assertThat(statistics.get("key").getAcquisitions()).isEqualTo(1L);
+		assertThat(nestedStatistics.get("key").getAcquisitions()).isEqualTo(2L);
+		assertThat(nestedStatistics.get("key").getMaxHolders()).isEqualTo(2);
+		assertThat(statistics.toReportEntryValues().keySet()).containsExactly("resourceLocks.statistics.key",
+			"resourceLocks.statistics.key@[engine:engine]/[class:Test]");
+	}
+
+	@Test
+	void lockManagerInstrumentsLocksPerResourceKey() throws Exception {
+		LockManager lockManager = new LockManager(Optional.of(statistics));
+
+		ResourceLock lock = lockManager.getLockForResources(singleton(new ExclusiveResource("a", READ))).acquire();
+		assertThat(statistics.get("a").getCurrentHolders()).isEqualTo(1);
+		lock.release();
+		lockManager.getLockForResources(singleton(new ExclusiveResource("a", READ_WRITE))).acquire().release();
+
+		assertThat(statistics.get("a").getAcquisitions()).isEqualTo(2L);
+		assertThat(statistics.get("a").getCurrentHolders()).isEqualTo(0);
+	}
+
+	private static <T> T runInOtherThread(Callable<T> callable) {
+		FutureTask<T> task = new FutureTask<>(callable);
+		new Thread(task).start();
+		try {
+			return task.get();
+		}
+		catch (Exception e) {
+			throw new AssertionError(e);
+		}
+	}
+
+}
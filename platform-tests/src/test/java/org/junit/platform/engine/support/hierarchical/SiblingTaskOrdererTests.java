@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.TestExecutionResult.Status.FAILED;
+import static org.junit.platform.engine.TestExecutionResult.Status.SUCCESSFUL;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.support.io.TempDirectory;
+import org.junit.jupiter.api.support.io.TempDirectory.TempDir;
+import org.junit.platform.engine.CancellationToken;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.history.ExecutionHistory;
+
+/**
+ * @since 1.4
+ */
+class SiblingTaskOrdererTests {
+
+	private final ExecutionHistory history = ExecutionHistory.empty();
+
+	@Test
+	void retainsDeclarationOrderByDefault() {
+		recordDuration("a", 1);
+		recordDuration("b", 2);
+		List<NodeTestTask<?>> tasks = tasks(concurrent("a"), concurrent("b"));
+
+		new SiblingTaskOrderer(SchedulingMode.DECLARATION_ORDER, history).order(tasks);
+
+		assertThat(names(tasks)).containsExactly("a", "b");
+	}
+
+	@Test
+	void ordersConcurrentTasksLongestFirst() {
+		recordDuration("a", 1);
+		recordDuration("b", 3);
+		recordDuration("c", 2);
+		List<NodeTestTask<?>> tasks = tasks(concurrent("a"), concurrent("b"), concurrent("c"), concurrent("d"));
+
+		new SiblingTaskOrderer(SchedulingMode.LONGEST_FIRST, history).order(tasks);
+
+		assertThat(names(tasks)).containsExactly("d", "b", "c", "a");
+	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void ordersConcurrentTasksFailedFirstFollowedByModifiedOnes(@TempDir Path tempDirectory) {
+		Path file = tempDirectory.resolve("history.txt");
+		ExecutionHistory previous = ExecutionHistory.empty();
+		previous.recordStatus(uniqueId("a"), SUCCESSFUL);
+		previous.recordStatus(uniqueId("d").append("test", "nested"), FAILED);
+		previous.recordStatus(uniqueId("e"), SUCCESSFUL);
+		previous.store(file);
+		TestDescriptor modified = new DemoHierarchicalTestDescriptor(uniqueId("b"), "b",
+			ClassSource.from(SiblingTaskOrdererTests.class), () -> {
+			});
+		List<NodeTestTask<?>> tasks = tasks(concurrent("a"), modified, concurrent("c"), concurrent("d"),
+			concurrent("e"));
+
+		new SiblingTaskOrderer(SchedulingMode.FAILED_FIRST, ExecutionHistory.load(file)).order(tasks);
+
+		assertThat(names(tasks)).containsExactly("d", "b", "a", "c", "e");
+	}
+
+	@Test
+	void retainsPositionsOfSameThreadTasks() {
+		recordDuration("a", 1);
+		recordDuration("b", 5);
+		recordDuration("c", 2);
+		recordDuration("d", 3);
+		List<NodeTestTask<?>> tasks = tasks(concurrent("a"), sameThread("b"), concurrent("c"), sameThread("d"));
+
+		new SiblingTaskOrderer(SchedulingMode.LONGEST_FIRST, history).order(tasks);
+
+		assertThat(names(tasks)).containsExactly("c", "b", "a", "d");
+	}
+
+	private void recordDuration(String name, long millis) {
+		history.recordDuration(uniqueId(name), Duration.ofMillis(millis));
+	}
+
+	private List<NodeTestTask<?>> tasks(TestDescriptor... descriptors) {
+		NodeTestTaskContext taskContext = new NodeTestTaskContext(mock(EngineExecutionListener.class),
+			mock(HierarchicalTestExecutorService.class), OpenTest4JAwareThrowableCollector::new,
+			new NodeExecutionAdvisor(), new SiblingTaskOrderer(SchedulingMode.DECLARATION_ORDER, history),
+			Integer.MAX_VALUE, CancellationToken.create(), Optional.empty());
+		List<NodeTestTask<?>> tasks = new ArrayList<>();
+		for (TestDescriptor descriptor : descriptors) {
+			tasks.add(new NodeTestTask<>(taskContext, descriptor));
+		}
+		return tasks;
+	}
+
+	private static List<String> names(List<NodeTestTask<?>> tasks) {
+		List<String> names = new ArrayList<>();
+		tasks.forEach(task -> names.add(task.getTestDescriptor().getDisplayName()));
+		return names;
+	}
+
+	private static TestDescriptor concurrent(String name) {
+		return new DemoHierarchicalTestDescriptor(uniqueId(name), name, null, () -> {
+		});
+	}
+
+	private static TestDescriptor sameThread(String name) {
+		return new DemoHierarchicalTestDescriptor(uniqueId(name), name, null, () -> {
+		}) {
+			@Override
+			public ExecutionMode getExecutionMode() {
+				return ExecutionMode.SAME_THREAD;
+			}
+		};
+	}
+
+	private static UniqueId uniqueId(String name) {
+		return UniqueId.root("test", name);
+	}
+
+}
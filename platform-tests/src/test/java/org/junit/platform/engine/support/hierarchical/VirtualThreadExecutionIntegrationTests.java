@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.hierarchical;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+import static org.junit.jupiter.engine.Constants.DEFAULT_PARALLEL_EXECUTION_MODE;
+import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_FIXED_PARALLELISM_PROPERTY_NAME;
+import static org.junit.jupiter.engine.Constants.PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME;
+import static org.junit.jupiter.engine.Constants.PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME;
+import static org.junit.jupiter.engine.Constants.PARALLEL_EXECUTION_VIRTUAL_THREADS_ENABLED_PROPERTY_NAME;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.platform.commons.util.ReflectionUtils;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+/**
+ * @since 1.4
+ */
+class VirtualThreadExecutionIntegrationTests {
+
+	@BeforeEach
+	void assumeVirtualThreadsAreSupported() {
+		assumeTrue(ReflectionUtils.findMethod(Thread.class, "ofVirtual").isPresent(),
+			"Virtual threads require Java 21 or later");
+	}
+
+	@Test
+	void blockingTestsRunConcurrentlyBeyondCarrierParallelism() {
+		EngineExecutionResults results = execute(BlockingTestCase.class);
+
+		results.tests().assertStatistics(stats -> stats.succeeded(BlockingTestCase.COUNT));
+		assertThat(BlockingTestCase.maxConcurrency.get()).isEqualTo(BlockingTestCase.COUNT);
+	}
+
+	@Test
+	void resourceLocksAreRespected() {
+		EngineExecutionResults results = execute(ResourceLockTestCase.class);
+
+		results.tests().assertStatistics(stats -> stats.succeeded(10).failed(0));
+		assertThat(ResourceLockTestCase.maxConcurrency.get()).isEqualTo(1);
+	}
+
+	@Test
+	void carrierThreadSystemPropertiesAreNotChanged() {
+		String parallelism = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+		String maxPoolSize = System.getProperty("jdk.virtualThreadScheduler.maxPoolSize");
+
+		execute(ResourceLockTestCase.class);
+
+		assertEquals(parallelism, System.getProperty("jdk.virtualThreadScheduler.parallelism"));
+		assertEquals(maxPoolSize, System.getProperty("jdk.virtualThreadScheduler.maxPoolSize"));
+	}
+
+	private EngineExecutionResults execute(Class<?> testClass) {
+		// @formatter:off
+		LauncherDiscoveryRequest discoveryRequest = request()
+				.selectors(selectClass(testClass))
+				.configurationParameter(PARALLEL_EXECUTION_ENABLED_PROPERTY_NAME, String.valueOf(true))
+				.configurationParameter(PARALLEL_EXECUTION_VIRTUAL_THREADS_ENABLED_PROPERTY_NAME, String.valueOf(true))
+				.configurationParameter(DEFAULT_PARALLEL_EXECUTION_MODE, "concurrent")
+				.configurationParameter(PARALLEL_CONFIG_STRATEGY_PROPERTY_NAME, "fixed")
+				.configurationParameter(PARALLEL_CONFIG_FIXED_PARALLELISM_PROPERTY_NAME, "2")
+				.build();
+		// @formatter:on
+		return EngineTestKit.execute("junit-jupiter", discoveryRequest);
+	}
+
+	// -------------------------------------------------------------------------
+
+	@Execution(CONCURRENT)
+	static class BlockingTestCase {
+
+		static final int COUNT = 50;
+
+		static AtomicInteger concurrency;
+		static AtomicInteger maxConcurrency;
+		static CountDownLatch countDownLatch;
+
+		@BeforeAll
+		static void initialize() {
+			concurrency = new AtomicInteger();
+			maxConcurrency = new AtomicInteger();
+			countDownLatch = new CountDownLatch(COUNT);
+		}
+
+		@RepeatedTest(COUNT)
+		void blockingTest() throws Exception {
+			maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+			countDownLatch.countDown();
+			assertTrue(countDownLatch.await(5, SECONDS));
+			concurrency.decrementAndGet();
+		}
+	}
+
+	@Execution(CONCURRENT)
+	static class ResourceLockTestCase {
+
+		static AtomicInteger concurrency;
+		static AtomicInteger maxConcurrency;
+
+		@BeforeAll
+		static void initialize() {
+			concurrency = new AtomicInteger();
+			maxConcurrency = new AtomicInteger();
+		}
+
+		@RepeatedTest(10)
+		@ResourceLock("a")
+		void lockedTest() throws Exception {
+			int value = concurrency.incrementAndGet();
+			maxConcurrency.accumulateAndGet(value, Math::max);
+			Thread.sleep(10);
+			assertEquals(value, concurrency.getAndDecrement());
+		}
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.engine.support.history;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.TestExecutionResult.Status.FAILED;
+import static org.junit.platform.engine.TestExecutionResult.Status.SUCCESSFUL;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.support.io.TempDirectory;
+import org.junit.jupiter.api.support.io.TempDirectory.TempDir;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.fakes.TestDescriptorStub;
+
+/**
+ * @since 1.4
+ */
+@ExtendWith(TempDirectory.class)
+class ExecutionHistoryTests {
+
+	private final UniqueId first = UniqueId.forEngine("engine").append("test", "first");
+	private final UniqueId second = UniqueId.forEngine("engine").append("test", "second");
+
+	@Test
+	void loadsEmptyHistoryForMissingFile(@TempDir Path tempDirectory) {
+		ExecutionHistory history = ExecutionHistory.load(tempDirectory.resolve("missing.txt"));
+
+		assertThat(history.isEmpty()).isTrue();
+		assertThat(history.getDuration(first)).isEmpty();
+	}
+
+	@Test
+	void storesRecordedDurations(@TempDir Path tempDirectory) {
+		Path file = tempDirectory.resolve("nested").resolve("history.txt");
+		ExecutionHistory history = ExecutionHistory.empty();
+		history.recordDuration(first, Duration.ofMillis(42));
+
+		history.store(file);
+
+		assertThat(ExecutionHistory.load(file).getDuration(first)).contains(Duration.ofMillis(42));
+		assertThat(ExecutionHistory.load(file).getDuration(second)).isEmpty();
+	}
+
+	@Test
+	void retainsEntriesThatHaveNotBeenRecorded(@TempDir Path tempDirectory) {
+		Path file = tempDirectory.resolve("history.txt");
+		ExecutionHistory previous = ExecutionHistory.empty();
+		previous.recordDuration(first, Duration.ofMillis(1));
+		previous.recordDuration(second, Duration.ofMillis(2));
+		previous.store(file);
+
+		ExecutionHistory current = ExecutionHistory.load(file);
+		current.recordDuration(first, Duration.ofMillis(3));
+		current.store(file);
+
+		ExecutionHistory history = ExecutionHistory.load(file);
+		assertThat(history.getDuration(first)).contains(Duration.ofMillis(3));
+		assertThat(history.getDuration(second)).contains(Duration.ofMillis(2));
+	}
+
+	@Test
+	void recordedDurationsTakePrecedenceOverLoadedOnes(@TempDir Path tempDirectory) throws Exception {
+		Path file = tempDirectory.resolve("history.txt");
+		Files.write(file, Arrays.asList("100\t" + first), UTF_8);
+
+		ExecutionHistory history = ExecutionHistory.load(file);
+		assertThat(history.getDuration(first)).contains(Duration.ofMillis(100));
+
+		history.recordDuration(first, Duration.ofMillis(200));
+		assertThat(history.getDuration(first)).contains(Duration.ofMillis(200));
+	}
+
+	@Test
+	void storesRecordedStatusesAndReportsFailedAncestors(@TempDir Path tempDirectory) {
+		Path file = tempDirectory.resolve("history.txt");
+		UniqueId container = UniqueId.forEngine("engine").append("container", "a/[b]");
+		UniqueId failedTest = container.append("test", "failed");
+		ExecutionHistory previous = ExecutionHistory.empty();
+		previous.recordDuration(failedTest, Duration.ofMillis(5));
+		previous.recordStatus(failedTest, FAILED);
+		previous.recordStatus(first, SUCCESSFUL);
+		previous.store(file);
+
+		ExecutionHistory history = ExecutionHistory.load(file);
+
+		assertThat(history.getStatus(failedTest)).contains(FAILED);
+		assertThat(history.getDuration(failedTest)).contains(Duration.ofMillis(5));
+		assertThat(history.hasFailed(failedTest)).isTrue();
+		assertThat(history.hasFailed(container)).isTrue();
+		assertThat(history.hasFailed(UniqueId.forEngine("engine"))).isTrue();
+		assertThat(history.hasFailed(first)).isFalse();
+		assertThat(history.hasFailed(UniqueId.forEngine("engine").append("container", "a"))).isFalse();
+	}
+
+	@Test
+	void detectsModifiedClassFiles(@TempDir Path tempDirectory) {
+		Path file = tempDirectory.resolve("history.txt");
+		TestDescriptor descriptor = new TestDescriptorStub(first, "first") {
+			@Override
+			public Optional<TestSource> getSource() {
+				return Optional.of(ClassSource.from(ExecutionHistoryTests.class));
+			}
+		};
+		TestDescriptor descriptorWithoutSource = new TestDescriptorStub(second, "second");
+
+		ExecutionHistory previous = ExecutionHistory.empty();
+		assertThat(previous.isClassFileModified(descriptor)).isTrue();
+		assertThat(previous.isClassFileModified(descriptorWithoutSource)).isFalse();
+		previous.recordClassFileLastModified(descriptor);
+		previous.store(file);
+
+		assertThat(ExecutionHistory.load(file).isClassFileModified(descriptor)).isFalse();
+	}
+
+	@Test
+	void ignoresCommentsAndMalformedLines(@TempDir Path tempDirectory) throws Exception {
+		Path file = tempDirectory.resolve("history.txt");
+		Files.write(file, Arrays.asList("# comment", "garbage", "abc\t" + first, "7\t" + second), UTF_8);
+
+		ExecutionHistory history = ExecutionHistory.load(file);
+
+		assertThat(history.getDuration(first)).isEmpty();
+		assertThat(history.getDuration(second)).contains(Duration.ofMillis(7));
+	}
+
+}
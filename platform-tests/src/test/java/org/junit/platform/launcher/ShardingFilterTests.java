@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_HISTORY_FILE_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.SHARD_INDEX_PROPERTY_NAME;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+import static org.junit.platform.launcher.core.LauncherFactoryForTestingPurposesOnly.createLauncher;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.support.io.TempDirectory;
+import org.junit.jupiter.api.support.io.TempDirectory.TempDir;
+import org.junit.platform.commons.util.PreconditionViolationException;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.hierarchical.DemoHierarchicalContainerDescriptor;
+import org.junit.platform.engine.support.hierarchical.DemoHierarchicalTestDescriptor;
+import org.junit.platform.engine.support.hierarchical.DemoHierarchicalTestEngine;
+import org.junit.platform.engine.support.history.ExecutionHistory;
+
+/**
+ * @since 1.4
+ */
+class ShardingFilterTests {
+
+	private static final String ENGINE_ID = "engine";
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void assignsLongestContainersFirstToShardWithLowestTotalDuration(@TempDir Path tempDirectory) {
+		Path historyFile = tempDirectory.resolve("history.txt");
+		ExecutionHistory history = ExecutionHistory.empty();
+		history.recordDuration(containerId("a"), Duration.ofMillis(100));
+		history.recordDuration(containerId("b"), Duration.ofMillis(60));
+		history.recordDuration(containerId("c"), Duration.ofMillis(50));
+		history.recordDuration(containerId("d"), Duration.ofMillis(10));
+		history.store(historyFile);
+
+		assertThat(discoverContainers(ShardingFilter.includeShard(0, 2, historyFile))).containsExactly("a", "d");
+		assertThat(discoverContainers(ShardingFilter.includeShard(1, 2, historyFile))).containsExactly("b", "c");
+	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void assumesAverageDurationForContainersWithoutHistory(@TempDir Path tempDirectory) {
+		Path historyFile = tempDirectory.resolve("history.txt");
+		ExecutionHistory history = ExecutionHistory.empty();
+		history.recordDuration(containerId("a"), Duration.ofMillis(90));
+		history.recordDuration(containerId("b"), Duration.ofMillis(30));
+		history.store(historyFile);
+
+		// c and d are assumed to take 60 ms each
+		assertThat(discoverContainers(ShardingFilter.includeShard(0, 2, historyFile))).containsExactly("a", "b");
+		assertThat(discoverContainers(ShardingFilter.includeShard(1, 2, historyFile))).containsExactly("c", "d");
+	}
+
+	@Test
+	void assignsContainersByStableHashWithoutHistory() {
+		Set<String> allContainers = new HashSet<>();
+		int totalContainers = 0;
+		for (int shardIndex = 0; shardIndex < 3; shardIndex++) {
+			List<String> containers = discoverContainers(ShardingFilter.includeShard(shardIndex, 3));
+			for (String container : containers) {
+				assertThat(Math.floorMod(containerId(container).toString().hashCode(), 3)).isEqualTo(shardIndex);
+			}
+			allContainers.addAll(containers);
+			totalContainers += containers.size();
+		}
+
+		assertThat(allContainers).containsExactlyInAnyOrder("a", "b", "c", "d");
+		assertThat(totalContainers).isEqualTo(4);
+	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void launcherAppliesShardingFilterConfiguredViaConfigurationParameters(@TempDir Path tempDirectory) {
+		Path historyFile = tempDirectory.resolve("history.txt");
+		ExecutionHistory history = ExecutionHistory.empty();
+		history.recordDuration(containerId("a"), Duration.ofMillis(10));
+		history.recordDuration(containerId("b"), Duration.ofMillis(10));
+		history.recordDuration(containerId("c"), Duration.ofMillis(100));
+		history.recordDuration(containerId("d"), Duration.ofMillis(10));
+		history.store(historyFile);
+
+		// @formatter:off
+		LauncherDiscoveryRequest request = request()
+				.selectors(selectPackage("any"))
+				.configurationParameter(SHARD_INDEX_PROPERTY_NAME, "0")
+				.configurationParameter(SHARD_COUNT_PROPERTY_NAME, "2")
+				.configurationParameter(SHARD_HISTORY_FILE_PROPERTY_NAME, historyFile.toString())
+				.build();
+		// @formatter:on
+		Launcher launcher = createLauncher(createEngine());
+		TestPlan testPlan = launcher.discover(request);
+
+		assertThat(containers(testPlan)).containsExactly("c");
+	}
+
+	@Test
+	void rejectsInvalidShardIndex() {
+		assertThrows(PreconditionViolationException.class, () -> ShardingFilter.includeShard(2, 2));
+		assertThrows(PreconditionViolationException.class, () -> ShardingFilter.includeShard(-1, 2));
+		assertThrows(PreconditionViolationException.class, () -> ShardingFilter.includeShard(0, 0));
+	}
+
+	private static List<String> discoverContainers(PostDiscoveryFilter filter) {
+		LauncherDiscoveryRequest request = request().selectors(selectPackage("any")).filters(filter).build();
+		Launcher launcher = createLauncher(createEngine());
+		return containers(launcher.discover(request));
+	}
+
+	private static List<String> containers(TestPlan testPlan) {
+		List<String> containers = new ArrayList<>();
+		for (TestIdentifier engine : testPlan.getRoots()) {
+			// Demo containers may register tests dynamically and are therefore not pruned
+			testPlan.getChildren(engine).stream() //
+					.filter(container -> !testPlan.getChildren(container).isEmpty()) //
+					.forEach(container -> containers.add(container.getDisplayName()));
+		}
+		return containers;
+	}
+
+	private static DemoHierarchicalTestEngine createEngine() {
+		DemoHierarchicalTestEngine engine = new DemoHierarchicalTestEngine(ENGINE_ID);
+		for (String name : new String[] { "a", "b", "c", "d" }) {
+			TestDescriptor container = new DemoHierarchicalContainerDescriptor(containerId(name), name, null, null);
+			container.addChild(
+				new DemoHierarchicalTestDescriptor(containerId(name).append("test", "test"), "test", null, () -> {
+				}));
+			engine.getEngineDescriptor().addChild(container);
+		}
+		return engine;
+	}
+
+	private static UniqueId containerId(String name) {
+		return UniqueId.forEngine(ENGINE_ID).append("container", name);
+	}
+
+}
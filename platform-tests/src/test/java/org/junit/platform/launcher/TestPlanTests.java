@@ -12,8 +12,14 @@ package org.junit.platform.launcher;
 
 import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.util.PreconditionViolationException;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestTag;
 import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.support.descriptor.AbstractTestDescriptor;
 import org.junit.platform.engine.support.descriptor.EngineDescriptor;
@@ -71,4 +77,105 @@ class TestPlanTests {
 
 		assertThat(testPlan.containsTests()).as("contains tests").isTrue();
 	}
+
+	@Test
+	void providesChildrenAndDescendantsInOrder() {
+		TestDescriptor container1 = addDescriptor(engineDescriptor, "container1", TestDescriptor.Type.CONTAINER);
+		TestDescriptor test1 = addDescriptor(container1, "test1", TestDescriptor.Type.TEST);
+		TestDescriptor container2 = addDescriptor(engineDescriptor, "container2", TestDescriptor.Type.CONTAINER);
+		TestDescriptor test2 = addDescriptor(container2, "test2", TestDescriptor.Type.TEST);
+
+		TestPlan testPlan = TestPlan.from(singleton(engineDescriptor));
+		TestIdentifier engine = testPlan.getTestIdentifier(engineDescriptor.getUniqueId().toString());
+
+		assertThat(testPlan.getRoots()).containsExactly(engine);
+		assertThat(testPlan.getChildren(engine)).extracting(TestIdentifier::getDisplayName).containsExactly(
+			"container1", "container2");
+		assertThat(testPlan.getDescendants(engine)).extracting(TestIdentifier::getDisplayName).containsExactly(
+			"container1", "container2", "test1", "test2");
+		assertThat(testPlan.getDescendants(engine)).contains(TestIdentifier.from(test2)).doesNotContain(engine);
+		assertThat(testPlan.getChildren(engine)).doesNotContain(TestIdentifier.from(test1));
+		assertThat(testPlan.getParent(testPlan.getTestIdentifier(test1.getUniqueId().toString()))).contains(
+			testPlan.getTestIdentifier(container1.getUniqueId().toString()));
+		assertThat(testPlan.countTestIdentifiers(TestIdentifier::isTest)).isEqualTo(2);
+	}
+
+	@Test
+	void sharesParentIdsAndTagsBetweenIdentifiers() {
+		TestDescriptor test1 = addDescriptor(engineDescriptor, "test1", TestDescriptor.Type.TEST);
+		TestDescriptor test2 = addDescriptor(engineDescriptor, "test2", TestDescriptor.Type.TEST);
+
+		TestPlan testPlan = TestPlan.from(singleton(engineDescriptor));
+		TestIdentifier engine = testPlan.getTestIdentifier(engineDescriptor.getUniqueId().toString());
+		TestIdentifier first = testPlan.getTestIdentifier(test1.getUniqueId().toString());
+		TestIdentifier second = testPlan.getTestIdentifier(test2.getUniqueId().toString());
+
+		assertThat(first.getParentId().get()).isSameAs(engine.getUniqueId());
+		assertThat(second.getParentId().get()).isSameAs(engine.getUniqueId());
+		assertThat(first.getTags()).containsExactly(TestTag.create("tag")).isSameAs(second.getTags());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void linksIdentifiersAddedBeforeTheirParent() {
+		TestDescriptor container = addDescriptor(engineDescriptor, "container", TestDescriptor.Type.CONTAINER);
+		TestDescriptor test = addDescriptor(container, "test", TestDescriptor.Type.TEST);
+		TestPlan testPlan = new TestPlan(true);
+
+		testPlan.add(TestIdentifier.from(test));
+		testPlan.add(TestIdentifier.from(container));
+
+		assertThatThrownBy(() -> testPlan.getTestIdentifier(engineDescriptor.getUniqueId().toString())) //
+				.isInstanceOf(PreconditionViolationException.class);
+		assertThat(testPlan.getChildren(engineDescriptor.getUniqueId().toString())).containsExactly(
+			TestIdentifier.from(container));
+
+		testPlan.add(TestIdentifier.from(engineDescriptor));
+
+		TestIdentifier engine = testPlan.getTestIdentifier(engineDescriptor.getUniqueId().toString());
+		Set<TestIdentifier> descendants = testPlan.getDescendants(engine);
+		assertThat(testPlan.getRoots()).containsExactly(engine);
+		assertThat(descendants).extracting(TestIdentifier::getDisplayName).containsExactly("container", "test");
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void rootsAndChildrenReflectSubsequentModifications() {
+		TestDescriptor container = addDescriptor(engineDescriptor, "container", TestDescriptor.Type.CONTAINER);
+		TestDescriptor test = addDescriptor(container, "test", TestDescriptor.Type.TEST);
+		TestPlan testPlan = new TestPlan(true);
+		Set<TestIdentifier> roots = testPlan.getRoots();
+		Set<TestIdentifier> children = testPlan.getChildren(container.getUniqueId().toString());
+		Set<TestIdentifier> descendants = testPlan.getDescendants(TestIdentifier.from(engineDescriptor));
+
+		assertThat(roots).isEmpty();
+		assertThat(children).isEmpty();
+
+		testPlan.add(TestIdentifier.from(engineDescriptor));
+		testPlan.add(TestIdentifier.from(container));
+		testPlan.add(TestIdentifier.from(test));
+
+		assertThat(roots).containsExactly(TestIdentifier.from(engineDescriptor));
+		assertThat(children).containsExactly(TestIdentifier.from(test));
+		assertThat(children.contains(TestIdentifier.from(test))).isTrue();
+		assertThat(descendants).isEmpty();
+		assertThatThrownBy(() -> children.add(TestIdentifier.from(container))) //
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	private static TestDescriptor addDescriptor(TestDescriptor parent, String name, TestDescriptor.Type type) {
+		TestDescriptor descriptor = new AbstractTestDescriptor(parent.getUniqueId().append("child", name), name) {
+			@Override
+			public Type getType() {
+				return type;
+			}
+
+			@Override
+			public Set<TestTag> getTags() {
+				return type.isTest() ? singleton(TestTag.create("tag")) : super.getTags();
+			}
+		};
+		parent.addChild(descriptor);
+		return descriptor;
+	}
 }
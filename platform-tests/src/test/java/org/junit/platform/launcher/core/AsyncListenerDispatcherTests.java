@@ -0,0 +1,162 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId;
+import static org.junit.platform.launcher.LauncherConstants.ASYNC_LISTENER_DISPATCH_PROPERTY_NAME;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+import static org.junit.platform.launcher.core.LauncherFactoryForTestingPurposesOnly.createLauncher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.hierarchical.DemoHierarchicalTestEngine;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * @since 1.4
+ */
+class AsyncListenerDispatcherTests {
+
+	@Test
+	void dispatchesEventsInReportedOrderInDispatcherThread() {
+		List<Integer> dispatched = new ArrayList<>();
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+		AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher(4);
+		dispatcher.start();
+		IntStream.range(0, 1000).forEach(i -> dispatcher.execute(() -> {
+			threads.add(Thread.currentThread());
+			dispatched.add(i);
+		}));
+		dispatcher.close();
+
+		assertThat(dispatched).hasSize(1000).isSorted();
+		assertThat(threads).hasSize(1).doesNotContain(Thread.currentThread());
+	}
+
+	@Test
+	void continuesDispatchingWhenListenerThrowsExceptionAndRethrowsItOnClose() {
+		List<String> dispatched = new ArrayList<>();
+
+		AsyncListenerDispatcher dispatcher = new AsyncListenerDispatcher(4);
+		dispatcher.start();
+		dispatcher.execute(() -> dispatched.add("first"));
+		dispatcher.execute(() -> {
+			throw new IllegalStateException("first failure");
+		});
+		dispatcher.execute(() -> dispatched.add("second"));
+		dispatcher.execute(() -> {
+			throw new IllegalArgumentException("second failure");
+		});
+
+		IllegalStateException exception = assertThrows(IllegalStateException.class, dispatcher::close);
+
+		assertThat(dispatched).containsExactly("first", "second");
+		assertThat(exception).hasMessage("first failure");
+		assertThat(exception.getSuppressed()).hasSize(1);
+		assertThat(exception.getSuppressed()[0]).hasMessage("second failure");
+	}
+
+	@Test
+	void launcherRethrowsListenerExceptionAfterDispatchingAllEvents() {
+		DemoHierarchicalTestEngine engine = new DemoHierarchicalTestEngine("engine");
+		TestDescriptor test = engine.addTest("test", () -> {
+		});
+		RecordingListener listener = new RecordingListener() {
+			@Override
+			public void executionStarted(TestIdentifier testIdentifier) {
+				super.executionStarted(testIdentifier);
+				throw new IllegalStateException("listener failure");
+			}
+		};
+
+		Launcher launcher = createLauncher(engine);
+		// @formatter:off
+		LauncherDiscoveryRequest request = request()
+				.selectors(selectUniqueId(test.getUniqueId()))
+				.configurationParameter(ASYNC_LISTENER_DISPATCH_PROPERTY_NAME, "true")
+				.build();
+		// @formatter:on
+
+		IllegalStateException exception = assertThrows(IllegalStateException.class,
+			() -> launcher.execute(request, listener));
+
+		assertThat(exception).hasMessage("listener failure");
+		assertThat(listener.events).endsWith("testPlanExecutionFinished");
+	}
+
+	@Test
+	void launcherDispatchesAllEventsBeforeExecuteReturns() {
+		DemoHierarchicalTestEngine engine = new DemoHierarchicalTestEngine("engine");
+		TestDescriptor test = engine.addTest("test", () -> {
+		});
+		RecordingListener listener = new RecordingListener();
+
+		// @formatter:off
+		createLauncher(engine).execute(
+			request()
+				.selectors(selectUniqueId(test.getUniqueId()))
+				.configurationParameter(ASYNC_LISTENER_DISPATCH_PROPERTY_NAME, "true")
+				.build(),
+			listener);
+		// @formatter:on
+
+		assertThat(listener.events).containsExactly("testPlanExecutionStarted", "executionStarted:engine",
+			"executionStarted:test", "executionFinished:test", "executionFinished:engine", "testPlanExecutionFinished");
+		assertThat(listener.threads).hasSize(1).doesNotContain(Thread.currentThread());
+	}
+
+	private static class RecordingListener implements TestExecutionListener {
+
+		final List<String> events = new ArrayList<>();
+		final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+		@Override
+		public void testPlanExecutionStarted(TestPlan testPlan) {
+			record("testPlanExecutionStarted");
+		}
+
+		@Override
+		public void testPlanExecutionFinished(TestPlan testPlan) {
+			record("testPlanExecutionFinished");
+		}
+
+		@Override
+		public void executionStarted(TestIdentifier testIdentifier) {
+			record("executionStarted:" + testIdentifier.getDisplayName());
+		}
+
+		@Override
+		public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+			record("executionFinished:" + testIdentifier.getDisplayName());
+		}
+
+		private void record(String event) {
+			threads.add(Thread.currentThread());
+			events.add(event);
+		}
+
+	}
+
+}
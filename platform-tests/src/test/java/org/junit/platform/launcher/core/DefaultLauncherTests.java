@@ -10,6 +10,7 @@
 
 package org.junit.platform.launcher.core;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -21,6 +22,9 @@ import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPacka
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId;
 import static org.junit.platform.launcher.EngineFilter.excludeEngines;
 import static org.junit.platform.launcher.EngineFilter.includeEngines;
+import static org.junit.platform.launcher.LauncherConstants.CONCURRENT_DISCOVERY_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.CONCURRENT_ENGINES_PROPERTY_NAME;
+import static org.junit.platform.launcher.LauncherConstants.FAIL_FAST_THRESHOLD_PROPERTY_NAME;
 import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
 import static org.junit.platform.launcher.core.LauncherFactoryForTestingPurposesOnly.createLauncher;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,6 +36,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
@@ -54,6 +59,7 @@ import org.junit.platform.engine.support.hierarchical.DemoHierarchicalTestEngine
 import org.junit.platform.fakes.TestDescriptorStub;
 import org.junit.platform.fakes.TestEngineSpy;
 import org.junit.platform.fakes.TestEngineStub;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
 import org.junit.platform.launcher.PostDiscoveryFilter;
 import org.junit.platform.launcher.PostDiscoveryFilterStub;
 import org.junit.platform.launcher.TestExecutionListener;
@@ -205,6 +211,33 @@ class DefaultLauncherTests {
 		assertThat(testPlan.getChildren(UniqueId.forEngine("engine2").toString())).hasSize(1);
 	}
 
+	@Test
+	void discoverTestPlanForMultipleEnginesConcurrentlyIfEnabled() {
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		TestEngine firstEngine = createEngineAwaitingDiscoveryOfOtherEngine("first", barrier, 100);
+		TestEngine secondEngine = createEngineAwaitingDiscoveryOfOtherEngine("second", barrier, 0);
+
+		DefaultLauncher launcher = createLauncher(firstEngine, secondEngine);
+		TestPlan testPlan = launcher.discover(
+			request().configurationParameter(CONCURRENT_DISCOVERY_PROPERTY_NAME, "true").build());
+
+		assertThat(testPlan.getRoots()).extracting(TestIdentifier::getUniqueId).containsExactly(
+			UniqueId.forEngine("first").toString(), UniqueId.forEngine("second").toString());
+	}
+
+	private static TestEngine createEngineAwaitingDiscoveryOfOtherEngine(String id, CyclicBarrier barrier,
+			long delayMillis) {
+		TestEngine engine = mock(TestEngine.class);
+		when(engine.getId()).thenReturn(id);
+		when(engine.discover(any(), any())).thenAnswer(invocation -> {
+			barrier.await(10, SECONDS);
+			Thread.sleep(delayMillis);
+			UniqueId uniqueId = invocation.getArgument(1);
+			return new EngineDescriptor(uniqueId, uniqueId.toString());
+		});
+		return engine;
+	}
+
 	@Test
 	void launcherWillNotExecuteEnginesIfNotIncludedByAnEngineFilter() {
 		DemoHierarchicalTestEngine firstEngine = new DemoHierarchicalTestEngine("first");
@@ -499,6 +532,87 @@ class DefaultLauncherTests {
 		inOrder.verify(listener).testPlanExecutionFinished(same(testPlan));
 	}
 
+	@Test
+	void launcherExecutesEnginesConcurrentlyIfEnabled() {
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		Runnable awaitOtherEngine = () -> {
+			try {
+				barrier.await(10, SECONDS);
+			}
+			catch (Exception e) {
+				throw new AssertionError("engines were not executed concurrently", e);
+			}
+		};
+		DemoHierarchicalTestEngine firstEngine = new DemoHierarchicalTestEngine("first");
+		TestDescriptor test1 = firstEngine.addTest("test1", awaitOtherEngine);
+		DemoHierarchicalTestEngine secondEngine = new DemoHierarchicalTestEngine("second");
+		TestDescriptor test2 = secondEngine.addTest("test2", awaitOtherEngine);
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		DefaultLauncher launcher = createLauncher(firstEngine, secondEngine);
+		// @formatter:off
+		launcher.execute(
+			request()
+				.selectors(selectUniqueId(test1.getUniqueId()), selectUniqueId(test2.getUniqueId()))
+				.configurationParameter(CONCURRENT_ENGINES_PROPERTY_NAME, "true")
+				.build(),
+			listener);
+		// @formatter:on
+
+		assertThat(listener.getSummary().getContainersSucceededCount()).isEqualTo(2);
+		assertThat(listener.getSummary().getTestsSucceededCount()).isEqualTo(2);
+	}
+
+	@Test
+	void launcherCancelsExecutionOnceFailFastThresholdIsReached() {
+		Runnable fail = () -> {
+			throw new AssertionError("failure");
+		};
+		DemoHierarchicalTestEngine firstEngine = new DemoHierarchicalTestEngine("first");
+		TestDescriptor test1 = firstEngine.addTest("test1", fail);
+		TestDescriptor test2 = firstEngine.addTest("test2", fail);
+		TestDescriptor test3 = firstEngine.addTest("test3", fail);
+		DemoHierarchicalTestEngine secondEngine = new DemoHierarchicalTestEngine("second");
+		TestDescriptor test4 = secondEngine.addTest("test4", () -> {
+		});
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+
+		DefaultLauncher launcher = createLauncher(firstEngine, secondEngine);
+		// @formatter:off
+		launcher.execute(
+			request()
+				.selectors(selectUniqueId(test1.getUniqueId()), selectUniqueId(test2.getUniqueId()),
+					selectUniqueId(test3.getUniqueId()), selectUniqueId(test4.getUniqueId()))
+				.configurationParameter(FAIL_FAST_THRESHOLD_PROPERTY_NAME, "2")
+				.build(),
+			listener);
+		// @formatter:on
+
+		assertThat(listener.getSummary().getTestsFailedCount()).isEqualTo(2);
+		assertThat(listener.getSummary().getTestsSkippedCount()).isEqualTo(2);
+		assertThat(listener.getSummary().getContainersSucceededCount()).isEqualTo(1);
+		assertThat(listener.getSummary().getContainersSkippedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void launcherRejectsNegativeFailFastThreshold() {
+		DemoHierarchicalTestEngine engine = new DemoHierarchicalTestEngine("engine");
+		TestDescriptor test = engine.addTest("test", () -> {
+		});
+
+		DefaultLauncher launcher = createLauncher(engine);
+		// @formatter:off
+		LauncherDiscoveryRequest request = request()
+				.selectors(selectUniqueId(test.getUniqueId()))
+				.configurationParameter(FAIL_FAST_THRESHOLD_PROPERTY_NAME, "-1")
+				.build();
+		// @formatter:on
+
+		PreconditionViolationException exception = assertThrows(PreconditionViolationException.class,
+			() -> launcher.execute(request));
+		assertThat(exception).hasMessageContaining(FAIL_FAST_THRESHOLD_PROPERTY_NAME);
+	}
+
 	@Test
 	void launcherCanExecuteTestPlan() {
 		TestEngine engine = mock(TestEngine.class);
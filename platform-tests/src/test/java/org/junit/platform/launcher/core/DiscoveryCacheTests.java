@@ -0,0 +1,293 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.FilterResult.included;
+import static org.junit.platform.engine.discovery.ClassNameFilter.includeClassNamePatterns;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+import static org.junit.platform.launcher.LauncherConstants.DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+import static org.junit.platform.launcher.core.LauncherFactoryForTestingPurposesOnly.createLauncher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.support.io.TempDirectory;
+import org.junit.jupiter.api.support.io.TempDirectory.TempDir;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.EngineDiscoveryRequest;
+import org.junit.platform.engine.Filter;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.discovery.PackageSelector;
+import org.junit.platform.engine.discovery.UniqueIdSelector;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.fakes.TestDescriptorStub;
+import org.junit.platform.fakes.TestEngineStub;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * @since 1.4
+ */
+@ExtendWith(TempDirectory.class)
+class DiscoveryCacheTests {
+
+	private final ScanningTestEngine engine = new ScanningTestEngine();
+
+	@Test
+	void discoversCachedUniqueIdsInsteadOfOriginalSelectors(@TempDir Path tempDirectory) {
+		TestPlan first = discover(tempDirectory, "foo");
+		TestPlan second = discover(tempDirectory, "foo");
+
+		assertThat(engine.selectors).hasSize(2);
+		assertThat(engine.selectors.get(0)).hasOnlyElementsOfType(PackageSelector.class);
+		assertThat(engine.selectors.get(1)).hasOnlyElementsOfType(UniqueIdSelector.class).hasSize(2);
+		assertThat(uniqueIds(second)).isEqualTo(uniqueIds(first));
+	}
+
+	@Test
+	void discoversOriginalSelectorsForDifferentRequest(@TempDir Path tempDirectory) {
+		discover(tempDirectory, "foo");
+		discover(tempDirectory, "bar");
+
+		assertThat(engine.selectors).hasSize(2);
+		assertThat(engine.selectors.get(1)).hasOnlyElementsOfType(PackageSelector.class);
+	}
+
+	@Test
+	void cachesEnginesWithoutTests(@TempDir Path tempDirectory) {
+		discover(tempDirectory, "empty");
+		TestPlan testPlan = discover(tempDirectory, "empty");
+
+		assertThat(engine.selectors.get(1)).isEmpty();
+		assertThat(testPlan.containsTests()).isFalse();
+	}
+
+	@Test
+	void discoversCachedUniqueIdsForFiltersOfThePlatform(@TempDir Path tempDirectory) {
+		discover(tempDirectory, "foo", includeClassNamePatterns(".*Tests"));
+		discover(tempDirectory, "foo", includeClassNamePatterns(".*Tests"));
+
+		assertThat(engine.selectors.get(1)).hasOnlyElementsOfType(UniqueIdSelector.class);
+	}
+
+	@Test
+	void discoversOriginalSelectorsForFiltersWithoutWellDefinedIdentity(@TempDir Path tempDirectory) {
+		ClassNameFilter filter = className -> included("always");
+
+		discover(tempDirectory, "foo", filter);
+		discover(tempDirectory, "foo", filter);
+
+		assertThat(engine.selectors.get(1)).hasOnlyElementsOfType(PackageSelector.class);
+		assertThat(cacheFiles(tempDirectory)).isEmpty();
+	}
+
+	@Test
+	void discoversOriginalSelectorsWhenClassFileInClasspathDirectoryChanges(@TempDir Path tempDirectory)
+			throws Exception {
+		Path cacheDirectory = Files.createDirectory(tempDirectory.resolve("cache"));
+		Path packageDirectory = Files.createDirectories(tempDirectory.resolve("classes/foo"));
+		Path classFile = createClassFile(packageDirectory.resolve("FooTests.class"), 1000);
+		FileTime packageDirectoryLastModified = Files.getLastModifiedTime(packageDirectory);
+
+		try (URLClassLoader classLoader = newClassLoader(tempDirectory.resolve("classes"))) {
+			discoverWithContextClassLoader(classLoader, cacheDirectory, "foo");
+			discoverWithContextClassLoader(classLoader, cacheDirectory, "foo");
+
+			// recompiled in place
+			Files.write(classFile, new byte[] { 1, 2 });
+			Files.setLastModifiedTime(classFile, FileTime.fromMillis(2000));
+			discoverWithContextClassLoader(classLoader, cacheDirectory, "foo");
+
+			// added to an existing package without changing the directory's modification time
+			createClassFile(packageDirectory.resolve("BarTests.class"), 1000);
+			Files.setLastModifiedTime(packageDirectory, packageDirectoryLastModified);
+			discoverWithContextClassLoader(classLoader, cacheDirectory, "foo");
+		}
+
+		assertThat(engine.selectors).hasSize(4);
+		assertThat(engine.selectors.get(1)).hasOnlyElementsOfType(UniqueIdSelector.class);
+		assertThat(engine.selectors.get(2)).hasOnlyElementsOfType(PackageSelector.class);
+		assertThat(engine.selectors.get(3)).hasOnlyElementsOfType(PackageSelector.class);
+	}
+
+	@Test
+	void includesEntriesReferencedByManifestOfJarFilesInKey(@TempDir Path tempDirectory) throws Exception {
+		Path cacheDirectory = Files.createDirectory(tempDirectory.resolve("cache"));
+		Path classFile = createClassFile(
+			Files.createDirectories(tempDirectory.resolve("classes/foo")).resolve("FooTests.class"), 1000);
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, "classes/");
+		Path manifestOnlyJar = tempDirectory.resolve("classpath.jar");
+		new JarOutputStream(Files.newOutputStream(manifestOnlyJar), manifest).close();
+
+		try (URLClassLoader classLoader = newClassLoader(manifestOnlyJar)) {
+			discoverWithContextClassLoader(classLoader, cacheDirectory, "foo");
+			Files.setLastModifiedTime(classFile, FileTime.fromMillis(2000));
+			discoverWithContextClassLoader(classLoader, cacheDirectory, "foo");
+		}
+
+		assertThat(engine.selectors).hasSize(2);
+		assertThat(engine.selectors.get(1)).hasOnlyElementsOfType(PackageSelector.class);
+	}
+
+	@Test
+	void discoversOriginalSelectorsWhenClasspathCannotBeDetermined(@TempDir Path tempDirectory) {
+		ClassLoader classLoader = new ClassLoader(ClassLoader.getSystemClassLoader()) {
+		};
+
+		discoverWithContextClassLoader(classLoader, tempDirectory, "foo");
+		discoverWithContextClassLoader(classLoader, tempDirectory, "foo");
+
+		assertThat(engine.selectors.get(1)).hasOnlyElementsOfType(PackageSelector.class);
+		assertThat(cacheFiles(tempDirectory)).isEmpty();
+	}
+
+	@Test
+	void evictsStaleAndLeastRecentlyUsedCacheFiles(@TempDir Path tempDirectory) throws Exception {
+		long now = System.currentTimeMillis();
+		Path stale = createCacheFile(tempDirectory, "stale",
+			now - DiscoveryCache.MAX_FILE_AGE.toMillis() - 1000);
+		for (int i = 0; i < DiscoveryCache.MAX_FILE_COUNT; i++) {
+			createCacheFile(tempDirectory, "recent" + i, now - i * 1000);
+		}
+		Path leastRecentlyUsed = createCacheFile(tempDirectory, "leastRecentlyUsed",
+			now - DiscoveryCache.MAX_FILE_COUNT * 1000);
+		Path unrelated = Files.createFile(tempDirectory.resolve("unrelated.txt"));
+
+		DiscoveryCache.evictStaleFiles(tempDirectory);
+
+		assertThat(cacheFiles(tempDirectory)).hasSize(DiscoveryCache.MAX_FILE_COUNT);
+		assertThat(stale).doesNotExist();
+		assertThat(leastRecentlyUsed).doesNotExist();
+		assertThat(unrelated).exists();
+	}
+
+	private TestPlan discover(Path cacheDirectory, String packageName, Filter<?>... filters) {
+		// @formatter:off
+		LauncherDiscoveryRequest request = request()
+				.selectors(selectPackage(packageName))
+				.filters(filters)
+				.configurationParameter(DISCOVERY_CACHE_DIRECTORY_PROPERTY_NAME, cacheDirectory.toString())
+				.build();
+		// @formatter:on
+		return createLauncher(engine).discover(request);
+	}
+
+	private void discoverWithContextClassLoader(ClassLoader classLoader, Path cacheDirectory, String packageName) {
+		Thread currentThread = Thread.currentThread();
+		ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+		currentThread.setContextClassLoader(classLoader);
+		try {
+			discover(cacheDirectory, packageName);
+		}
+		finally {
+			currentThread.setContextClassLoader(originalClassLoader);
+		}
+	}
+
+	private static URLClassLoader newClassLoader(Path entry) throws MalformedURLException {
+		return new URLClassLoader(new URL[] { entry.toUri().toURL() }, ClassLoader.getSystemClassLoader());
+	}
+
+	private static Path createClassFile(Path file, long lastModifiedMillis) throws IOException {
+		Files.write(file, new byte[] { 1 });
+		Files.setLastModifiedTime(file, FileTime.fromMillis(lastModifiedMillis));
+		return file;
+	}
+
+	private static Path createCacheFile(Path directory, String name, long lastModifiedMillis) throws IOException {
+		Path file = Files.createFile(directory.resolve(name + ".discovery"));
+		Files.setLastModifiedTime(file, FileTime.fromMillis(lastModifiedMillis));
+		return file;
+	}
+
+	private static List<Path> cacheFiles(Path directory) {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.toString().endsWith(".discovery")).collect(toList());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static List<String> uniqueIds(TestPlan testPlan) {
+		List<String> uniqueIds = new ArrayList<>();
+		for (TestIdentifier root : testPlan.getRoots()) {
+			testPlan.getDescendants(root).forEach(descendant -> uniqueIds.add(descendant.getUniqueId()));
+		}
+		uniqueIds.sort(String::compareTo);
+		return uniqueIds;
+	}
+
+	/**
+	 * Engine that discovers two tests in a container for each selected
+	 * package other than {@code empty} and the selected unique IDs.
+	 */
+	private static class ScanningTestEngine extends TestEngineStub {
+
+		final List<List<DiscoverySelector>> selectors = new ArrayList<>();
+
+		ScanningTestEngine() {
+			super("scanning");
+		}
+
+		@Override
+		public TestDescriptor discover(EngineDiscoveryRequest discoveryRequest, UniqueId uniqueId) {
+			selectors.add(discoveryRequest.getSelectorsByType(DiscoverySelector.class));
+			TestDescriptor engineDescriptor = new EngineDescriptor(uniqueId, getId());
+			for (PackageSelector selector : discoveryRequest.getSelectorsByType(PackageSelector.class)) {
+				if (!selector.getPackageName().equals("empty")) {
+					UniqueId containerId = uniqueId.append("package", selector.getPackageName());
+					addTest(engineDescriptor, containerId.append("test", "a"));
+					addTest(engineDescriptor, containerId.append("test", "b"));
+				}
+			}
+			for (UniqueIdSelector selector : discoveryRequest.getSelectorsByType(UniqueIdSelector.class)) {
+				addTest(engineDescriptor, selector.getUniqueId());
+			}
+			return engineDescriptor;
+		}
+
+		private static void addTest(TestDescriptor engineDescriptor, UniqueId testId) {
+			UniqueId containerId = engineDescriptor.getUniqueId().append(testId.getSegments().get(1));
+			TestDescriptor container = engineDescriptor.findByUniqueId(containerId).map(
+				TestDescriptor.class::cast).orElseGet(() -> {
+					TestDescriptor descriptor = new TestDescriptorStub(containerId, containerId.toString());
+					engineDescriptor.addChild(descriptor);
+					return descriptor;
+				});
+			container.addChild(new TestDescriptorStub(testId, testId.toString()));
+		}
+
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * @since 1.4
+ */
+class ForkedObjectInputStreamTests {
+
+	@Test
+	void deserializesExchangedMessages() throws Exception {
+		ForkedExecutionEvent event = ForkedExecutionEvent.executionFinished(null,
+			TestExecutionResult.failed(new AssertionFailedError("failure", 1, 2)));
+		ClassSource source = ClassSource.from(ForkedObjectInputStreamTests.class);
+
+		assertThat(roundTrip(event)).isInstanceOf(ForkedExecutionEvent.class);
+		assertThat(roundTrip(source)).isEqualTo(source);
+		assertThat(roundTrip(Collections.singletonMap("key", "value"))).isEqualTo(
+			Collections.singletonMap("key", "value"));
+	}
+
+	@Test
+	void rejectsClassesThatAreNotExchanged() {
+		InvalidClassException exception = assertThrows(InvalidClassException.class,
+			() -> roundTrip(new AtomicInteger(42)));
+
+		assertThat(exception).hasMessageContaining(AtomicInteger.class.getName());
+	}
+
+	@Test
+	void replacesThrowablesThatReferenceClassesThatAreNotExchanged() throws Exception {
+		CounterException failure = new CounterException(new AtomicInteger(42));
+		ForkedExecutionEvent event = ForkedExecutionEvent.executionFinished(null,
+			TestExecutionResult.failed(failure));
+
+		ForkedExecutionEvent deserialized = (ForkedExecutionEvent) roundTrip(event);
+
+		Throwable throwable = deserialized.getResult().getThrowable().orElseThrow(AssertionError::new);
+		assertThat(throwable).isInstanceOf(JUnitException.class).hasMessage(failure.toString());
+		assertThat(throwable.getStackTrace()).isEqualTo(failure.getStackTrace());
+	}
+
+	private static Object roundTrip(Object object) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(object);
+		}
+		try (ForkedObjectInputStream in = new ForkedObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return in.readObject();
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static class CounterException extends RuntimeException {
+
+		private final AtomicInteger counter;
+
+		CounterException(AtomicInteger counter) {
+			super("counter: " + counter);
+			this.counter = counter;
+		}
+
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.launcher.core;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.platform.engine.TestExecutionResult.Status.FAILED;
+import static org.junit.platform.engine.TestExecutionResult.Status.SUCCESSFUL;
+import static org.junit.platform.launcher.LauncherConstants.FORK_COUNT_PROPERTY_NAME;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+import static org.junit.platform.launcher.core.LauncherFactoryForTestingPurposesOnly.createLauncher;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.engine.JupiterTestEngine;
+import org.junit.platform.commons.JUnitException;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * @since 1.4
+ */
+class ForkedTestExecutorIntegrationTests {
+
+	@Test
+	void executesTopLevelContainersInForkedWorkerJvms() {
+		RecordingListener listener = execute(2, FirstForkedTestCase.class, SecondForkedTestCase.class);
+
+		assertThat(listener.results).containsEntry("[engine:junit-jupiter]", SUCCESSFUL);
+		assertThat(listener.results).containsEntry("first(TestReporter)", SUCCESSFUL).containsEntry(
+			"second(TestReporter)", SUCCESSFUL);
+		assertThat(listener.processIds).hasSize(2).doesNotContain(String.valueOf(ProcessHandle.current().pid()));
+	}
+
+	@Test
+	void reportsDynamicTestsAndFailuresOfForkedWorkerJvms() {
+		RecordingListener listener = execute(1, FailingForkedTestCase.class);
+
+		assertThat(listener.dynamicTests).containsExactly("dynamic");
+		assertThat(listener.results).containsEntry("dynamic", SUCCESSFUL).containsEntry("failing()", FAILED);
+		assertThat(listener.throwables.get("failing()")).isInstanceOf(AssertionFailedError.class).hasMessage(
+			"expected failure");
+	}
+
+	@Test
+	void reportsUnfinishedTestsAsFailedWhenWorkerJvmTerminates() {
+		RecordingListener listener = execute(1, TerminatingForkedTestCase.class, FirstForkedTestCase.class);
+
+		assertThat(listener.results).containsEntry("terminating()", FAILED).containsEntry(
+			"ForkedTestExecutorIntegrationTests$TerminatingForkedTestCase", FAILED);
+		assertThat(listener.throwables.get("terminating()")).hasMessageContaining("terminated unexpectedly");
+		assertThat(listener.results).containsEntry("ForkedTestExecutorIntegrationTests$FirstForkedTestCase", FAILED);
+		assertThat(listener.throwables.get("ForkedTestExecutorIntegrationTests$FirstForkedTestCase")) //
+				.hasMessageContaining("No forked worker JVM");
+	}
+
+	@Test
+	void workerClasspathIncludesEntriesOfDefaultClassLoader() throws Exception {
+		Path entry = Paths.get("forked-classes").toAbsolutePath();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] { entry.toUri().toURL() },
+			ClassLoader.getSystemClassLoader())) {
+
+			String classpath = ForkedTestExecutor.getClasspath(classLoader);
+
+			assertThat(classpath).startsWith(System.getProperty("java.class.path")).endsWith(
+				File.pathSeparator + entry);
+		}
+	}
+
+	@Test
+	void failsWhenWorkerClasspathCannotBeDetermined() {
+		ClassLoader classLoader = new ClassLoader(ClassLoader.getSystemClassLoader()) {
+		};
+
+		JUnitException exception = assertThrows(JUnitException.class,
+			() -> ForkedTestExecutor.getClasspath(classLoader));
+
+		assertThat(exception).hasMessageContaining("is not a URLClassLoader");
+	}
+
+	private static RecordingListener execute(int forkCount, Class<?>... testClasses) {
+		// @formatter:off
+		LauncherDiscoveryRequest request = request()
+				.selectors(Arrays.stream(testClasses).map(DiscoverySelectors::selectClass).collect(toList()))
+				.configurationParameter(FORK_COUNT_PROPERTY_NAME, String.valueOf(forkCount))
+				.build();
+		// @formatter:on
+		RecordingListener listener = new RecordingListener();
+		createLauncher(new JupiterTestEngine()).execute(request, listener);
+		return listener;
+	}
+
+	private static class RecordingListener implements TestExecutionListener {
+
+		final List<String> dynamicTests = new ArrayList<>();
+		final Map<String, TestExecutionResult.Status> results = new LinkedHashMap<>();
+		final Map<String, Throwable> throwables = new LinkedHashMap<>();
+		final List<String> processIds = new ArrayList<>();
+
+		@Override
+		public void dynamicTestRegistered(TestIdentifier testIdentifier) {
+			dynamicTests.add(testIdentifier.getDisplayName());
+		}
+
+		@Override
+		public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+			String name = testIdentifier.getParentId().isPresent() ? testIdentifier.getDisplayName()
+					: testIdentifier.getUniqueId();
+			results.put(name, testExecutionResult.getStatus());
+			testExecutionResult.getThrowable().ifPresent(throwable -> throwables.put(name, throwable));
+		}
+
+		@Override
+		public void reportingEntryPublished(TestIdentifier testIdentifier, ReportEntry entry) {
+			processIds.add(entry.getKeyValuePairs().get("pid"));
+		}
+
+	}
+
+	static class FirstForkedTestCase {
+
+		@Test
+		void first(TestReporter reporter) {
+			reporter.publishEntry("pid", String.valueOf(ProcessHandle.current().pid()));
+		}
+
+	}
+
+	static class SecondForkedTestCase {
+
+		@Test
+		void second(TestReporter reporter) {
+			reporter.publishEntry("pid", String.valueOf(ProcessHandle.current().pid()));
+		}
+
+	}
+
+	static class FailingForkedTestCase {
+
+		@TestFactory
+		Stream<DynamicTest> factory() {
+			return Stream.of(DynamicTest.dynamicTest("dynamic", () -> {
+			}));
+		}
+
+		@Test
+		void failing() {
+			throw new AssertionFailedError("expected failure");
+		}
+
+	}
+
+	static class TerminatingForkedTestCase {
+
+		@Test
+		void terminating() {
+			Runtime.getRuntime().halt(1);
+		}
+
+	}
+
+}
@@ -12,15 +12,25 @@ package org.junit.platform.launcher.core;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.support.io.TempDirectory;
+import org.junit.jupiter.api.support.io.TempDirectory.TempDir;
+import org.junit.platform.launcher.core.StreamInterceptor.CapturedOutput;
 
 /**
  * @since 1.3
@@ -100,4 +110,69 @@ class StreamInterceptorTests {
 			() -> assertEquals("innermost", innermost) //
 		);
 	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void spillsOutputExceedingMaxBufferToFile(@TempDir Path spillDirectory) throws IOException {
+		StreamInterceptor streamInterceptor = StreamInterceptor.register(targetStream,
+			newStream -> this.targetStream = newStream, 3, "stdout", Optional.of(spillDirectory)).orElseThrow(
+				RuntimeException::new);
+
+		streamInterceptor.capture();
+		streamInterceptor.print("abc");
+		CapturedOutput fitting = streamInterceptor.consumeOutput();
+
+		streamInterceptor.capture();
+		streamInterceptor.print("abcdef");
+		streamInterceptor.write('g');
+		CapturedOutput spilled = streamInterceptor.consumeOutput();
+
+		assertEquals("abc", fitting.getContent());
+		assertFalse(fitting.getFile().isPresent());
+		assertEquals("abc", spilled.getContent());
+		assertTrue(spilled.getFile().isPresent());
+		assertEquals("abcdefg", new String(Files.readAllBytes(spilled.getFile().get())));
+		assertEquals("abcabcdefg", originalOut.toString());
+	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void handlesNestedCapturesWhenSpilling(@TempDir Path spillDirectory) throws IOException {
+		StreamInterceptor streamInterceptor = StreamInterceptor.register(targetStream,
+			newStream -> this.targetStream = newStream, 4, "stdout", Optional.of(spillDirectory)).orElseThrow(
+				RuntimeException::new);
+
+		streamInterceptor.capture();
+		streamInterceptor.print("outer-");
+		streamInterceptor.capture();
+		streamInterceptor.print("inner");
+		CapturedOutput inner = streamInterceptor.consumeOutput();
+		streamInterceptor.print("-outer");
+		CapturedOutput outer = streamInterceptor.consumeOutput();
+
+		assertEquals("", inner.getContent());
+		assertEquals("inner", new String(Files.readAllBytes(inner.getFile().get())));
+		assertEquals("oute", outer.getContent());
+		assertEquals("outer--outer", new String(Files.readAllBytes(outer.getFile().get())));
+	}
+
+	@Test
+	@ExtendWith(TempDirectory.class)
+	void unregisterDeletesFilesContainingCompleteOutput(@TempDir Path spillDirectory) throws IOException {
+		StreamInterceptor streamInterceptor = StreamInterceptor.register(targetStream,
+			newStream -> this.targetStream = newStream, 1, "stdout", Optional.of(spillDirectory)).orElseThrow(
+				RuntimeException::new);
+
+		streamInterceptor.capture();
+		streamInterceptor.print("spilled");
+		Path file = streamInterceptor.consumeOutput().getFile().get();
+		assertTrue(Files.exists(file));
+
+		streamInterceptor.unregister();
+
+		assertFalse(Files.exists(file));
+		try (Stream<Path> files = Files.list(spillDirectory)) {
+			assertEquals(0, files.count());
+		}
+	}
 }
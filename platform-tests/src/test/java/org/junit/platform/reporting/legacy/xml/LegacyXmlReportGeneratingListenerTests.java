@@ -47,7 +47,9 @@ import org.junit.jupiter.api.support.io.TempDirectory.TempDir;
 import org.junit.platform.engine.TestEngine;
 import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.support.descriptor.ClassSource;
 import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.engine.support.hierarchical.DemoHierarchicalContainerDescriptor;
 import org.junit.platform.engine.support.hierarchical.DemoHierarchicalTestDescriptor;
 import org.junit.platform.engine.support.hierarchical.DemoHierarchicalTestEngine;
 import org.junit.platform.fakes.TestDescriptorStub;
@@ -412,14 +414,92 @@ class LegacyXmlReportGeneratingListenerTests {
 		//@formatter:on
 	}
 
+	@Test
+	void writesFileForEachClassAsSoonAsItHasFinishedIfReportingPerClass(@TempDir Path tempDirectory)
+			throws Exception {
+		DemoHierarchicalTestEngine engine = new DemoHierarchicalTestEngine("dummy");
+		DemoHierarchicalContainerDescriptor firstClass = engine.addContainer("first", "First",
+			ClassSource.from("com.example.FirstTests"));
+		addTest(firstClass, "succeedingTest", () -> {
+		});
+		addTest(firstClass, "failingTest", () -> fail("expected to fail"));
+		DemoHierarchicalContainerDescriptor secondClass = engine.addContainer("second", "Second",
+			ClassSource.from("com.example.SecondTests"));
+		addTest(secondClass, "test", () -> assertTrue(
+			Files.exists(tempDirectory.resolve("TEST-dummy-com.example.FirstTests.xml")), "not yet written"));
+		engine.addTest("standaloneTest", () -> {
+		});
+
+		executeTests(engine, tempDirectory, Clock.systemDefaultZone(), true);
+
+		String firstContent = readValidXmlFile(tempDirectory.resolve("TEST-dummy-com.example.FirstTests.xml"));
+		String secondContent = readValidXmlFile(tempDirectory.resolve("TEST-dummy-com.example.SecondTests.xml"));
+		String rootContent = readValidXmlFile(tempDirectory.resolve("TEST-dummy.xml"));
+
+		//@formatter:off
+		assertThat(firstContent)
+			.containsSubsequence(
+				"<testsuite name=\"First\" tests=\"2\" skipped=\"0\" failures=\"1\" errors=\"0\"",
+				"<testcase name=\"succeedingTest\"",
+				"<testcase name=\"failingTest\"",
+				"<failure message=\"expected to fail\"",
+				"</testsuite>");
+		assertThat(secondContent)
+			.containsSubsequence(
+				"<testsuite name=\"Second\" tests=\"1\" skipped=\"0\" failures=\"0\" errors=\"0\"",
+				"<testcase name=\"test\"",
+				"</testsuite>")
+			.doesNotContain("<failure");
+		assertThat(rootContent)
+			.containsSubsequence(
+				"<testsuite name=\"dummy\" tests=\"1\" skipped=\"0\" failures=\"0\" errors=\"0\"",
+				"<testcase name=\"standaloneTest\"",
+				"</testsuite>")
+			.doesNotContain("succeedingTest", "failingTest");
+		//@formatter:on
+	}
+
+	@Test
+	void writesTestsOfClassesThatWereNotExecutedToFileOfRootIfReportingPerClass(@TempDir Path tempDirectory)
+			throws Exception {
+		DemoHierarchicalTestEngine engine = new DemoHierarchicalTestEngine("dummy");
+		DemoHierarchicalContainerDescriptor testClass = engine.addContainer("class", "Class",
+			ClassSource.from("com.example.Tests"));
+		addTest(testClass, "test", () -> fail("never called"));
+		engine.getEngineDescriptor().markSkipped("should be skipped");
+
+		executeTests(engine, tempDirectory, Clock.systemDefaultZone(), true);
+
+		assertThat(Files.exists(tempDirectory.resolve("TEST-dummy-com.example.Tests.xml"))).isFalse();
+		String content = readValidXmlFile(tempDirectory.resolve("TEST-dummy.xml"));
+
+		//@formatter:off
+		assertThat(content)
+			.containsSubsequence(
+				"<testsuite name=\"dummy\" tests=\"1\" skipped=\"1\" failures=\"0\" errors=\"0\"",
+				"<testcase name=\"test\"",
+				"parent was skipped: should be skipped",
+				"</testsuite>");
+		//@formatter:on
+	}
+
+	private void addTest(DemoHierarchicalContainerDescriptor container, String uniqueName, Runnable executeBlock) {
+		UniqueId uniqueId = container.getUniqueId().append("test", uniqueName);
+		container.addChild(new DemoHierarchicalTestDescriptor(uniqueId, uniqueName, null, executeBlock));
+	}
+
 	private void executeTests(TestEngine engine, Path tempDirectory) {
 		executeTests(engine, tempDirectory, Clock.systemDefaultZone());
 	}
 
 	private void executeTests(TestEngine engine, Path tempDirectory, Clock clock) {
+		executeTests(engine, tempDirectory, clock, false);
+	}
+
+	private void executeTests(TestEngine engine, Path tempDirectory, Clock clock, boolean reportPerClass) {
 		PrintWriter out = new PrintWriter(new StringWriter());
 		LegacyXmlReportGeneratingListener reportListener = new LegacyXmlReportGeneratingListener(
-			tempDirectory.toString(), out, clock);
+			tempDirectory.toString(), out, clock, reportPerClass);
 		Launcher launcher = createLauncher(engine);
 		launcher.registerTestExecutionListeners(reportListener);
 		launcher.execute(request().selectors(selectUniqueId(UniqueId.forEngine(engine.getId()))).build(),
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015-2018 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+
+package org.junit.platform.reporting.trace;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.platform.engine.TestExecutionResult.successful;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectUniqueId;
+import static org.junit.platform.engine.support.hierarchical.ResourceLockReporting.RESOURCES_REPORT_ENTRY_KEY;
+import static org.junit.platform.engine.support.hierarchical.ResourceLockReporting.WAIT_TIME_REPORT_ENTRY_KEY;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+import static org.junit.platform.launcher.core.LauncherFactoryForTestingPurposesOnly.createLauncher;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.support.io.TempDirectory;
+import org.junit.jupiter.api.support.io.TempDirectory.TempDir;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+import org.junit.platform.engine.support.hierarchical.DemoHierarchicalTestEngine;
+import org.junit.platform.fakes.TestDescriptorStub;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Tests for {@link TraceEventReportGeneratingListener}.
+ *
+ * @since 1.4
+ */
+@ExtendWith(TempDirectory.class)
+class TraceEventReportGeneratingListenerTests {
+
+	@Test
+	void writesSlicesForExecutedTestsAndInstantEventsForSkippedTests(@TempDir Path tempDirectory) throws Exception {
+		DemoHierarchicalTestEngine engine = new DemoHierarchicalTestEngine("dummy");
+		engine.addTest("succeedingTest", "display \"Name\"", () -> {
+		});
+		engine.addTest("failingTest", () -> fail("expected to fail"));
+		engine.addTest("skippedTest", () -> fail("should be skipped")).markSkipped("should be skipped");
+
+		Launcher launcher = createLauncher(engine);
+		launcher.registerTestExecutionListeners(
+			new TraceEventReportGeneratingListener(tempDirectory, new PrintWriter(new StringWriter())));
+		launcher.execute(request().selectors(selectUniqueId(UniqueId.forEngine(engine.getId()))).build(),
+			new TestExecutionListener[0]);
+
+		String content = readTraceFile(tempDirectory);
+		assertThat(content).startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+		assertThat(content).endsWith("]}\n");
+		assertThat(content).contains(
+			"\"name\":\"thread_name\",\"ph\":\"M\",\"ts\":0,\"pid\":1,\"tid\":" + Thread.currentThread().getId()
+					+ ",\"args\":{\"name\":\"" + Thread.currentThread().getName() + "\"}");
+		assertThat(content).contains("{\"name\":\"display \\\"Name\\\"\",\"cat\":\"test\",\"ph\":\"X\"");
+		assertThat(content).contains("\"uniqueId\":\"[engine:dummy]/[test:succeedingTest]\",\"status\":\"SUCCESSFUL\"",
+			"\"uniqueId\":\"[engine:dummy]/[test:failingTest]\",\"status\":\"FAILED\"");
+		assertThat(content).contains("{\"name\":\"skippedTest\",\"cat\":\"test\",\"ph\":\"i\"");
+		assertThat(content).contains("\"reason\":\"should be skipped\"");
+		assertThat(content).contains("{\"name\":\"dummy\",\"cat\":\"container\",\"ph\":\"X\"");
+	}
+
+	@Test
+	void writesSliceForTimeSpentWaitingForResourceLocks(@TempDir Path tempDirectory) throws Exception {
+		EngineDescriptor engineDescriptor = new EngineDescriptor(UniqueId.forEngine("engine"), "Engine");
+		TestDescriptor testDescriptor = new TestDescriptorStub(engineDescriptor.getUniqueId().append("test", "test"),
+			"test");
+		engineDescriptor.addChild(testDescriptor);
+		TestPlan testPlan = TestPlan.from(singleton(engineDescriptor));
+		TestIdentifier testIdentifier = testPlan.getTestIdentifier(testDescriptor.getUniqueId().toString());
+		Map<String, String> values = new LinkedHashMap<>();
+		values.put(RESOURCES_REPORT_ENTRY_KEY, "a [READ], b [READ_WRITE]");
+		values.put(WAIT_TIME_REPORT_ENTRY_KEY, "1234");
+
+		TraceEventReportGeneratingListener listener = new TraceEventReportGeneratingListener(tempDirectory,
+			new PrintWriter(new StringWriter()));
+		listener.testPlanExecutionStarted(testPlan);
+		listener.executionStarted(testIdentifier);
+		listener.reportingEntryPublished(testIdentifier, ReportEntry.from(values));
+		listener.executionFinished(testIdentifier, successful());
+		listener.testPlanExecutionFinished(testPlan);
+
+		String content = readTraceFile(tempDirectory);
+		assertThat(content).contains(
+			"{\"name\":\"Waiting for resource locks\",\"cat\":\"lock\",\"ph\":\"X\",\"ts\":");
+		assertThat(content).contains("\"dur\":1234,");
+		assertThat(content).contains("\"args\":{\"resourceLocks\":\"a [READ], b [READ_WRITE]\"}");
+		assertThat(content).contains("\"status\":\"SUCCESSFUL\",\"resourceLocks\":\"a [READ], b [READ_WRITE]\"",
+			"\"resourceLockWaitMicros\":\"1234\"");
+	}
+
+	@Test
+	void reportsFailureToCreateTraceFile(@TempDir Path tempDirectory) throws Exception {
+		Path file = Files.createFile(tempDirectory.resolve("file"));
+		StringWriter out = new StringWriter();
+		TestPlan testPlan = TestPlan.from(emptySet());
+
+		TraceEventReportGeneratingListener listener = new TraceEventReportGeneratingListener(file,
+			new PrintWriter(out));
+		listener.testPlanExecutionStarted(testPlan);
+		listener.testPlanExecutionFinished(testPlan);
+
+		assertThat(out.toString()).startsWith(
+			"Could not create trace file: " + file.resolve(TraceEventReportGeneratingListener.TRACE_FILE_NAME));
+	}
+
+	private String readTraceFile(Path tempDirectory) throws Exception {
+		Path traceFile = tempDirectory.resolve(TraceEventReportGeneratingListener.TRACE_FILE_NAME);
+		assertThat(Files.exists(traceFile)).isTrue();
+		return new String(Files.readAllBytes(traceFile), UTF_8);
+	}
+
+}